@@ -16,6 +16,12 @@ public class Constants {
         public static final int maxRequestsPerHost = 2048;
         public static final int keepAliveSeconds = 3;
         public static final int maxIdleConnections = 512;
+        //设置了截止时间的请求，剩余时间少于该值时不再发出
+        public static final long minDeadlineRemainingMillis = 10L;
+        //ExecutionMode.PLATFORM 时 executeAsync 的最大线程数，请求在线程上同步收发，不需要和 maxRequests 一样多
+        public static final int asyncThreads = 64;
+        //ExecutionMode.PLATFORM 时 executeAsync 排队等待线程的最大任务数
+        public static final int asyncQueueSize = 4096;
     }
 
     public static class Retry {
@@ -24,11 +30,31 @@ public class Constants {
 
         public static final RetryPolicy retryOn502 = new DefaultRetryPolicy(maxRetry, true);
         public static final RetryPolicy notRetryOn502 = new DefaultRetryPolicy(maxRetry, false);
+
+        //重试预算，默认关闭，开启后重试量最多为成功请求量的20%，另外每秒保底10次
+        public static final boolean budgetEnable = false;
+        public static final double budgetRatio = 0.2;
+        public static final int budgetMinRetriesPerSecond = 10;
+        public static final int budgetMaxTokens = 100;
+    }
+
+    public static class Bulkhead {
+        public static final int maxConcurrentRequests = 64;
+        public static final int maxQueuedRequests = 256;
+        public static final long maxWaitMillis = 1000L;
+        public static final long agingMillis = 200L;
     }
 
     public static class Metric {
         public static final boolean enable = true;
         public static final int collectIntervalSeconds = 60;
+        //uri维度和endpoint维度各自的监控项上限
+        public static final int maxSeries = 2000;
+        //MetricsCallback 待推送的 Stats 个数上限，超过后丢弃最旧的
+        public static final int callbackQueueSize = 4;
+        //所有collector共用的回调线程数和排队任务数，MetricsCallback/SloCallback 阻塞时不会无限创建线程
+        public static final int callbackThreads = 4;
+        public static final int callbackExecutorQueueSize = 64;
     }
 
     public static class Endpoint {
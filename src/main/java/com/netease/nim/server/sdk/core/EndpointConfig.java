@@ -1,6 +1,7 @@
 package com.netease.nim.server.sdk.core;
 
 import com.netease.nim.server.sdk.core.endpoint.EndpointSelector;
+import com.netease.nim.server.sdk.core.endpoint.RetryBudgetConfig;
 import com.netease.nim.server.sdk.core.endpoint.RetryPolicy;
 
 
@@ -11,6 +12,7 @@ public class EndpointConfig {
 
     private RetryPolicy retryPolicy = Constants.Retry.retryPolicy;
     private EndpointSelector endpointSelector;
+    private RetryBudgetConfig retryBudgetConfig = new RetryBudgetConfig();
 
     public RetryPolicy getRetryPolicy() {
         return retryPolicy;
@@ -27,4 +29,12 @@ public class EndpointConfig {
     public void setEndpointSelector(EndpointSelector endpointSelector) {
         this.endpointSelector = endpointSelector;
     }
+
+    public RetryBudgetConfig getRetryBudgetConfig() {
+        return retryBudgetConfig;
+    }
+
+    public void setRetryBudgetConfig(RetryBudgetConfig retryBudgetConfig) {
+        this.retryBudgetConfig = retryBudgetConfig;
+    }
 }
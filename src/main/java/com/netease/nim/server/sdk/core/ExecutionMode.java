@@ -0,0 +1,18 @@
+package com.netease.nim.server.sdk.core;
+
+/**
+ * 异步调用（executeAsync，以及 executePublisher 的okhttp回调）使用的线程
+ */
+public enum ExecutionMode {
+
+    /**
+     * 平台线程，按需创建、空闲60s后回收，最多 asyncThreads（默认64）个，超出后排队，队列（asyncQueueSize）满时拒绝
+     */
+    PLATFORM,
+
+    /**
+     * 每个任务一个虚拟线程，okhttp dispatcher 也使用虚拟线程，需要 java21+ 并使用 multi-release jar，否则退化为 PLATFORM
+     */
+    VIRTUAL_THREAD,
+    ;
+}
@@ -3,9 +3,11 @@ package com.netease.nim.server.sdk.core;
 
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
 import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.core.http.HttpMethod;
 import com.netease.nim.server.sdk.core.http.HttpResponse;
 import com.netease.nim.server.sdk.core.metrics.Stats;
+import com.netease.nim.server.sdk.core.metrics.StatsWindow;
 import com.netease.nim.server.sdk.core.trace.ApiVersion;
 
 import java.util.Map;
@@ -30,6 +32,23 @@ public interface HttpClient {
     HttpResponse execute(HttpMethod method, ContextType contextType, ApiVersion apiVersion,
                          String uri, String path, Map<String, String> queryString, String data) throws YunxinSdkException;
 
+    /**
+     * execute http request with a form body which is already encoded
+     * @param method http method
+     * @param contextType content-type
+     * @param apiVersion api-version
+     * @param uri uri, only for metrics
+     * @param path path
+     * @param queryString query string
+     * @param form form body
+     * @return http response
+     * @throws YunxinSdkException exception
+     */
+    default HttpResponse execute(HttpMethod method, ContextType contextType, ApiVersion apiVersion,
+                                 String uri, String path, Map<String, String> queryString, FormUrlEncodedWriter form) throws YunxinSdkException {
+        return execute(method, contextType, apiVersion, uri, path, queryString, form.toString());
+    }
+
     /**
      * shutdown
      */
@@ -40,4 +59,20 @@ public interface HttpClient {
      * @return status bean
      */
     Stats getStats();
+
+    /**
+     * get status bean of the window
+     * 默认实现只支持 INTERVAL（同 getStats()），其他窗口需要实现类覆盖
+     * @param window window
+     * @return status bean
+     */
+    default Stats getStats(StatsWindow window) {
+        if (window == null) {
+            throw new IllegalArgumentException("window is null");
+        }
+        if (window == StatsWindow.INTERVAL) {
+            return getStats();
+        }
+        throw new UnsupportedOperationException("stats window " + window + " is not supported by " + getClass().getName());
+    }
 }
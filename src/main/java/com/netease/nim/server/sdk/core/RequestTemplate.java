@@ -0,0 +1,160 @@
+package com.netease.nim.server.sdk.core;
+
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.trace.ApiVersion;
+import com.netease.nim.server.sdk.core.version.YunxinApiSdkVersion;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预编译的请求模板，按 (endpoint, uri, contextType, apiVersion) 缓存
+ * 包含解析好的 HttpUrl、共享的 MediaType 和静态 Headers（AppKey/User-Agent），每次请求只需要填充动态部分
+ */
+final class RequestTemplate {
+
+    private static final String APPKEY = "AppKey";
+    private static final String USER_AGENT = "User-Agent";
+    private static final String X_CUSTOM_TRACE_ID = "X-custom-traceid";
+    private static final String REQUEST_ID = "RequestId";
+
+    //uri通常是有限的常量，超过上限（比如调用方把动态参数拼进了uri）则不再缓存
+    private static final int MAX_URI_PER_ENDPOINT = 4096;
+
+    private static final MediaType[] MEDIA_TYPES = new MediaType[ContextType.values().length];
+    static {
+        for (ContextType contextType : ContextType.values()) {
+            MEDIA_TYPES[contextType.ordinal()] = MediaType.get(contextType.getValue());
+        }
+    }
+
+    private final String endpoint;
+    private final HttpUrl base;
+    private final String basePath;
+    //lazily resolved, uri is only used for monitoring and may not be a valid path when path differs
+    private HttpUrl url;
+    private final String uri;
+    private final MediaType mediaType;
+    private final Headers headers;
+    private final String traceIdHeader;
+
+    private RequestTemplate(EndpointTemplates templates, String uri, MediaType mediaType, Headers headers, String traceIdHeader) {
+        this.endpoint = templates.endpoint;
+        this.base = templates.base;
+        this.basePath = templates.basePath;
+        this.uri = uri;
+        this.mediaType = mediaType;
+        this.headers = headers;
+        this.traceIdHeader = traceIdHeader;
+    }
+
+    /**
+     * 请求url，path与uri相同时使用预解析的url，否则基于endpoint的base url填充path
+     * @param path 实际path（uri模板填充后的结果）
+     * @param encodedQuery 已编码的query，可以为null
+     * @return url
+     */
+    HttpUrl url(String path, String encodedQuery) {
+        HttpUrl resolved;
+        if (uri.equals(path)) {
+            resolved = url;
+            if (resolved == null) {
+                //benign race, HttpUrl is immutable
+                resolved = resolve(path);
+                url = resolved;
+            }
+        } else {
+            resolved = resolve(path);
+        }
+        if (encodedQuery == null) {
+            return resolved;
+        }
+        return resolved.newBuilder().encodedQuery(encodedQuery).build();
+    }
+
+    private HttpUrl resolve(String path) {
+        if (path.startsWith("/") && path.indexOf('?') < 0 && path.indexOf('#') < 0) {
+            return base.newBuilder().encodedPath(basePath + path).build();
+        }
+        return HttpUrl.get(endpoint + path);
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    Headers headers() {
+        return headers;
+    }
+
+    String traceIdHeader() {
+        return traceIdHeader;
+    }
+
+    static class Cache {
+        private final BizName bizName;
+        private final Headers headers;
+        private final ConcurrentHashMap<String, EndpointTemplates> map = new ConcurrentHashMap<>();
+
+        Cache(BizName bizName, String appkey) {
+            this.bizName = bizName;
+            this.headers = new Headers.Builder()
+                    .add(APPKEY, appkey)
+                    .add(USER_AGENT, "yunxin-server-sdk/" + YunxinApiSdkVersion.version)
+                    .build();
+        }
+
+        RequestTemplate get(String endpoint, String uri, String path, ContextType contextType, ApiVersion apiVersion) {
+            if (uri == null) {
+                uri = path;
+            }
+            EndpointTemplates templates = map.get(endpoint);
+            if (templates == null) {
+                templates = map.computeIfAbsent(endpoint, EndpointTemplates::new);
+            }
+            int index = contextType.ordinal() * ApiVersion.values().length + apiVersion.ordinal();
+            RequestTemplate[] array = templates.uris.get(uri);
+            if (array != null) {
+                RequestTemplate template = array[index];
+                if (template != null) {
+                    return template;
+                }
+            }
+            RequestTemplate template = new RequestTemplate(templates, uri,
+                    MEDIA_TYPES[contextType.ordinal()], headers, traceIdHeader(apiVersion));
+            if (array == null) {
+                if (templates.uris.size() >= MAX_URI_PER_ENDPOINT) {
+                    return template;
+                }
+                array = templates.uris.computeIfAbsent(uri, k -> new RequestTemplate[ContextType.values().length * ApiVersion.values().length]);
+            }
+            //benign race, templates are immutable and equivalent
+            array[index] = template;
+            return template;
+        }
+
+        private String traceIdHeader(ApiVersion apiVersion) {
+            if (bizName == BizName.IM && apiVersion == ApiVersion.V1) {
+                return REQUEST_ID;
+            }
+            return X_CUSTOM_TRACE_ID;
+        }
+    }
+
+    private static class EndpointTemplates {
+        private final String endpoint;
+        private final HttpUrl base;
+        private final String basePath;
+        private final ConcurrentHashMap<String, RequestTemplate[]> uris = new ConcurrentHashMap<>();
+
+        EndpointTemplates(String endpoint) {
+            this.endpoint = endpoint;
+            this.base = HttpUrl.get(endpoint);
+            String path = base.encodedPath();
+            //与 endpoint + path 字符串拼接保持一致，不带path的endpoint解析后为 "/"
+            this.basePath = path.equals("/") && !endpoint.endsWith("/") ? "" : path;
+        }
+    }
+}
@@ -1,20 +1,39 @@
 package com.netease.nim.server.sdk.core;
 
+import com.netease.nim.server.sdk.core.bulkhead.BulkheadConfig;
 import com.netease.nim.server.sdk.core.endpoint.*;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
 import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.core.http.HttpMethod;
 import com.netease.nim.server.sdk.core.http.HttpResponse;
 import com.netease.nim.server.sdk.core.http.ParamBuilder;
+import com.netease.nim.server.sdk.core.http.UriTemplate;
 import com.netease.nim.server.sdk.core.metrics.MetricsConfig;
 import com.netease.nim.server.sdk.core.metrics.Stats;
+import com.netease.nim.server.sdk.core.metrics.StatsWindow;
+import com.netease.nim.server.sdk.core.metrics.YunxinApiSdkMetricsCollector;
 import com.netease.nim.server.sdk.core.metrics.MetricsCallback;
+import com.netease.nim.server.sdk.core.metrics.SloAlert;
+import com.netease.nim.server.sdk.core.metrics.SloBurnRule;
+import com.netease.nim.server.sdk.core.metrics.SloCallback;
+import com.netease.nim.server.sdk.core.metrics.SloObjective;
+import com.netease.nim.server.sdk.core.reactive.CallPublisher;
+import com.netease.nim.server.sdk.core.reactive.PagePublisher;
+import com.netease.nim.server.sdk.core.reactive.Publisher;
 import com.netease.nim.server.sdk.core.trace.ApiVersion;
+import com.netease.nim.server.sdk.core.trace.SlowRequestCapture;
+import com.netease.nim.server.sdk.core.trace.SlowRequestConfig;
 
 import java.net.Proxy;
 import java.net.ProxySelector;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Created by caojiajun on 2024/12/9
@@ -24,13 +43,15 @@ public class YunxinApiHttpClient {
     private static final ConcurrentHashMap<String, YunxinApiHttpClient> clientMap = new ConcurrentHashMap<>();
 
     private final BizName bizName;
+    private final String appkey;
     private final YunxinHttpClient httpClient;
     private final String duplicateKey;
 
     private YunxinApiHttpClient(BizName bizName, String appkey, String appsecret, EndpointConfig endpointConfig,
-                                YunxinHttpClientConfig httpClientConfig, MetricsConfig metricsConfig) {
+                                YunxinHttpClientConfig httpClientConfig, MetricsConfig metricsConfig, SlowRequestConfig slowRequestConfig) {
         this.bizName = bizName;
-        this.httpClient = new YunxinHttpClient(bizName, appkey, appsecret, endpointConfig, httpClientConfig, metricsConfig);
+        this.appkey = appkey;
+        this.httpClient = new YunxinHttpClient(bizName, appkey, appsecret, endpointConfig, httpClientConfig, metricsConfig, slowRequestConfig);
         this.duplicateKey = appkey + "/" + appsecret + "/" + bizName.getValue();
     }
 
@@ -42,6 +63,7 @@ public class YunxinApiHttpClient {
         private final EndpointConfig endpointConfig = new EndpointConfig();
         private YunxinHttpClientConfig httpClientConfig = new YunxinHttpClientConfig();
         private final MetricsConfig metricsConfig = new MetricsConfig();
+        private SlowRequestConfig slowRequestConfig;
         private Region region;
 
         public Builder(BizName bizName, String appkey, String appsecret) {
@@ -70,6 +92,28 @@ public class YunxinApiHttpClient {
             return this;
         }
 
+        /**
+         * 重试预算，默认开启（重试量最多为成功请求量的20%，另外每秒保底10次），setEnable(false) 可以关闭
+         * @param retryBudgetConfig config
+         * @return builder
+         */
+        public Builder retryBudgetConfig(RetryBudgetConfig retryBudgetConfig) {
+            if (retryBudgetConfig == null) {
+                throw new IllegalArgumentException("retryBudgetConfig is null");
+            }
+            if (!(retryBudgetConfig.getRatio() >= 0 && retryBudgetConfig.getRatio() <= 1)) {
+                throw new IllegalArgumentException("illegal ratio");
+            }
+            if (retryBudgetConfig.getMinRetriesPerSecond() < 0) {
+                throw new IllegalArgumentException("illegal minRetriesPerSecond");
+            }
+            if (retryBudgetConfig.getMaxTokens() <= 0) {
+                throw new IllegalArgumentException("illegal maxTokens");
+            }
+            endpointConfig.setRetryBudgetConfig(retryBudgetConfig);
+            return this;
+        }
+
         public Builder endpoint(String endpoint) {
             if (endpoint == null) {
                 throw new IllegalArgumentException("retry policy null");
@@ -120,6 +164,32 @@ public class YunxinApiHttpClient {
             return this;
         }
 
+        /**
+         * 添加一个舱壁，请求按 BulkheadSetter 指定的名字或者uri模板匹配，不同舱壁之间的并发互不影响
+         * @param bulkheadConfig config
+         * @return builder
+         */
+        public Builder bulkhead(BulkheadConfig bulkheadConfig) {
+            if (bulkheadConfig == null) {
+                throw new IllegalArgumentException("bulkheadConfig is null");
+            }
+            httpClientConfig.getBulkheadConfigs().add(bulkheadConfig);
+            return this;
+        }
+
+        /**
+         * executeAsync 使用的线程，VIRTUAL_THREAD 需要 java21+，否则退化为平台线程
+         * @param executionMode mode
+         * @return builder
+         */
+        public Builder executionMode(ExecutionMode executionMode) {
+            if (executionMode == null) {
+                throw new IllegalArgumentException("executionMode is null");
+            }
+            httpClientConfig.setExecutionMode(executionMode);
+            return this;
+        }
+
         public Builder metricEnable(boolean enable) {
             this.metricsConfig.setEnable(enable);
             return this;
@@ -133,11 +203,71 @@ public class YunxinApiHttpClient {
             return this;
         }
 
+        public Builder metricMaxSeries(int maxSeries) {
+            if (maxSeries <= 0) {
+                throw new IllegalArgumentException("illegal maxSeries");
+            }
+            this.metricsConfig.setMaxSeries(maxSeries);
+            return this;
+        }
+
         public Builder metricsCallback(MetricsCallback metricsCallback) {
             this.metricsConfig.setMetricsCallback(metricsCallback);
             return this;
         }
 
+        public Builder metricsCallbackQueueSize(int callbackQueueSize) {
+            if (callbackQueueSize <= 0) {
+                throw new IllegalArgumentException("illegal callbackQueueSize");
+            }
+            this.metricsConfig.setCallbackQueueSize(callbackQueueSize);
+            return this;
+        }
+
+        /**
+         * 添加uri维度的服务目标，可以多次调用
+         * @param objective objective
+         * @return builder
+         */
+        public Builder sloObjective(SloObjective objective) {
+            if (objective == null) {
+                throw new IllegalArgumentException("objective is null");
+            }
+            this.metricsConfig.getSloObjectives().add(objective);
+            return this;
+        }
+
+        /**
+         * 燃烧率告警规则，默认为 SloBurnRule.DEFAULT_RULES
+         * @param rules rules
+         * @return builder
+         */
+        public Builder sloBurnRules(List<SloBurnRule> rules) {
+            if (rules == null || rules.isEmpty()) {
+                throw new IllegalArgumentException("rules is empty");
+            }
+            this.metricsConfig.setSloBurnRules(new ArrayList<>(rules));
+            return this;
+        }
+
+        public Builder sloCallback(SloCallback sloCallback) {
+            this.metricsConfig.setSloCallback(sloCallback);
+            return this;
+        }
+
+        /**
+         * 开启慢请求/失败请求采集
+         * @param slowRequestConfig config
+         * @return builder
+         */
+        public Builder slowRequestConfig(SlowRequestConfig slowRequestConfig) {
+            if (slowRequestConfig == null) {
+                throw new IllegalArgumentException("slowRequestConfig is null");
+            }
+            this.slowRequestConfig = slowRequestConfig;
+            return this;
+        }
+
         public Builder region(Region region) {
             this.region = region;
             return this;
@@ -160,7 +290,7 @@ public class YunxinApiHttpClient {
                 EndpointSelector endpointSelector = new DynamicEndpointSelector(bizName, new DynamicEndpointFetcher(bizName, appkey, region));
                 endpointConfig.setEndpointSelector(endpointSelector);
             }
-            YunxinApiHttpClient yunxinApiHttpClient = new YunxinApiHttpClient(bizName, appkey, appsecret, endpointConfig, httpClientConfig, metricsConfig);
+            YunxinApiHttpClient yunxinApiHttpClient = new YunxinApiHttpClient(bizName, appkey, appsecret, endpointConfig, httpClientConfig, metricsConfig, slowRequestConfig);
             if (bizName != BizName.CUSTOM) {
                 clientMap.put(cacheKey, yunxinApiHttpClient);
             }
@@ -188,6 +318,22 @@ public class YunxinApiHttpClient {
         return new YunxinApiResponse(response.getEndpoint(), response.getHttpCode(), response.getData(), response.getTraceId());
     }
 
+    /**
+     * yunxin im v1 api
+     * post method with form_url_encoded
+     * @param path 请求的路径
+     * @param form 已编码的form表单，见 YunxinParamUtils.encode
+     * @return response
+     * @throws YunxinSdkException exception
+     */
+    public final YunxinApiResponse executeV1Api(String path, FormUrlEncodedWriter form) throws YunxinSdkException {
+        if (bizName != BizName.IM) {
+            throw new IllegalStateException("only support bizName = IM");
+        }
+        HttpResponse response = httpClient.execute(HttpMethod.POST, ContextType.form_url_encoded, ApiVersion.V1, path, path, null, form);
+        return new YunxinApiResponse(response.getEndpoint(), response.getHttpCode(), response.getData(), response.getTraceId());
+    }
+
     /**
      * yunxin im v2 api
      * @param method http method
@@ -206,6 +352,20 @@ public class YunxinApiHttpClient {
         return new YunxinApiResponse(response.getEndpoint(), response.getHttpCode(), response.getData(), response.getTraceId());
     }
 
+    /**
+     * yunxin im v2 api
+     * @param method http method
+     * @param uri uri模板，监控使用 uri.getTemplate()
+     * @param path 请求的路径，一般为 uri.expand(...) 的结果
+     * @param queryString query string
+     * @param data data
+     * @return response
+     * @throws YunxinSdkException exception
+     */
+    public final YunxinApiResponse executeV2Api(HttpMethod method, UriTemplate uri, String path, Map<String, String> queryString, String data) throws YunxinSdkException {
+        return executeV2Api(method, uri.getTemplate(), path, queryString, data);
+    }
+
     /**
      * execute api request
      * @param method http-method
@@ -222,6 +382,81 @@ public class YunxinApiHttpClient {
         return new YunxinApiResponse(response.getEndpoint(), response.getHttpCode(), response.getData(), response.getTraceId());
     }
 
+    /**
+     * execute api request asynchronously, on a virtual thread if ExecutionMode.VIRTUAL_THREAD is enabled
+     * YunxinTraceId/TimeoutSetter/BulkheadSetter/PrioritySetter/DeadlineSetter of the calling thread are passed to the request
+     * @param method http-method
+     * @param contextType content-Type
+     * @param uri 仅用于监控，一般来说uri和path是一样的，如果path中有路径参数，则每个请求的path都可能不一样，uri则相同，如，uri可能叫：/xxx/{id}，而path为：/xxx/123
+     * @param path 请求的路径
+     * @param queryString query string
+     * @param data data
+     * @return future of response, completed exceptionally with YunxinSdkException
+     */
+    public final CompletableFuture<YunxinApiResponse> executeAsync(HttpMethod method, ContextType contextType, String uri, String path, Map<String, String> queryString, String data) {
+        return httpClient.executeAsync(method, contextType, ApiVersion.V1, uri, path, queryString, data)
+                .thenApply(response -> new YunxinApiResponse(response.getEndpoint(), response.getHttpCode(), response.getData(), response.getTraceId()));
+    }
+
+    /**
+     * execute api request as a cold Publisher, the request is sent on subscribe and request, cancel aborts the http call
+     * YunxinTraceId/TimeoutSetter/BulkheadSetter/PrioritySetter/DeadlineSetter of the calling thread are read when the publisher is created
+     * @param method http-method
+     * @param contextType content-Type
+     * @param uri 仅用于监控，一般来说uri和path是一样的，如果path中有路径参数，则每个请求的path都可能不一样，uri则相同，如，uri可能叫：/xxx/{id}，而path为：/xxx/123
+     * @param path 请求的路径
+     * @param queryString query string
+     * @param data data
+     * @return publisher of response, onError with YunxinSdkException
+     */
+    public final CallPublisher<YunxinApiResponse> executePublisher(HttpMethod method, ContextType contextType, String uri, String path, Map<String, String> queryString, String data) {
+        return httpClient.executePublisher(method, contextType, ApiVersion.V1, uri, path, queryString, data)
+                .map(response -> new YunxinApiResponse(response.getEndpoint(), response.getHttpCode(), response.getData(), response.getTraceId()));
+    }
+
+    /**
+     * yunxin im v2 api, as a cold Publisher, see executePublisher
+     * @param method http method
+     * @param uri 仅用于监控，一般来说uri和path是一样的，如果path中有路径参数，则每个请求的path都可能不一样，uri则相同，如，uri可能叫：/xxx/{id}，而path为：/xxx/123
+     * @param path 请求的路径
+     * @param queryString query string
+     * @param data data
+     * @return publisher of response, onError with YunxinSdkException
+     */
+    public final CallPublisher<YunxinApiResponse> executeV2ApiPublisher(HttpMethod method, String uri, String path, Map<String, String> queryString, String data) {
+        if (bizName != BizName.IM) {
+            throw new IllegalStateException("only support bizName = IM");
+        }
+        return httpClient.executePublisher(method, ContextType.json, ApiVersion.V2, uri, path, queryString, data)
+                .map(response -> new YunxinApiResponse(response.getEndpoint(), response.getHttpCode(), response.getData(), response.getTraceId()));
+    }
+
+    /**
+     * yunxin im v2 api, as a cold Publisher, see executePublisher
+     * @param method http method
+     * @param uri uri模板，监控使用 uri.getTemplate()
+     * @param path 请求的路径，一般为 uri.expand(...) 的结果
+     * @param queryString query string
+     * @param data data
+     * @return publisher of response, onError with YunxinSdkException
+     */
+    public final CallPublisher<YunxinApiResponse> executeV2ApiPublisher(HttpMethod method, UriTemplate uri, String path, Map<String, String> queryString, String data) {
+        return executeV2ApiPublisher(method, uri.getTemplate(), path, queryString, data);
+    }
+
+    /**
+     * Publisher of a paginated api, one element per page, the next page is requested only when the subscriber asks for it
+     * TimeoutSetter/BulkheadSetter/PrioritySetter/DeadlineSetter of the calling thread apply to every page, each page has its own trace-id
+     * @param firstPageToken page token of the first page, nullable
+     * @param pageLoader load a page by the page token, usually by executeV2ApiPublisher
+     * @param nextPageToken page token of the next page, null or empty if it is the last page
+     * @param <T> page type
+     * @return publisher of pages
+     */
+    public final <T> PagePublisher<T> pagePublisher(String firstPageToken, Function<String, Publisher<T>> pageLoader, Function<? super T, String> nextPageToken) {
+        return httpClient.pagePublisher(firstPageToken, pageLoader, nextPageToken);
+    }
+
     /**
      * execute api request for content-type=application/json
      * @param method http-method
@@ -288,6 +523,48 @@ public class YunxinApiHttpClient {
         return httpClient.getStats();
     }
 
+    /**
+     * get stats bean of the window, such as 1m/5m/15m rolling window or lifetime
+     * @param window window
+     * @return stats
+     */
+    public final Stats getStats(StatsWindow window) {
+        return httpClient.getStats(window);
+    }
+
+    /**
+     * metrics collector, used by PrometheusScrapeServer
+     * @return collector, null if metrics is disabled
+     */
+    public final YunxinApiSdkMetricsCollector getMetricsCollector() {
+        return httpClient.getMetricsCollector();
+    }
+
+    /**
+     * slow request capture
+     * @return capture, null if slowRequestConfig is not set
+     */
+    public final SlowRequestCapture getSlowRequestCapture() {
+        return httpClient.getSlowRequestCapture();
+    }
+
+    /**
+     * current burn rates and alert states of slo objectives
+     * @return list, empty if metrics is disabled or no objective is configured
+     */
+    public final List<SloAlert> getSloStatus() {
+        YunxinApiSdkMetricsCollector collector = httpClient.getMetricsCollector();
+        return collector == null ? Collections.emptyList() : collector.getSloStatus();
+    }
+
+    public final BizName getBizName() {
+        return bizName;
+    }
+
+    public final String getAppkey() {
+        return appkey;
+    }
+
     /**
      * shutdown
      */
@@ -1,29 +1,66 @@
 package com.netease.nim.server.sdk.core;
 
+import com.netease.nim.server.sdk.core.bulkhead.Bulkhead;
+import com.netease.nim.server.sdk.core.bulkhead.BulkheadConfig;
+import com.netease.nim.server.sdk.core.bulkhead.Bulkheads;
+import com.netease.nim.server.sdk.core.bulkhead.Priority;
 import com.netease.nim.server.sdk.core.endpoint.EndpointSelector;
 import com.netease.nim.server.sdk.core.endpoint.ExecuteContext;
 import com.netease.nim.server.sdk.core.endpoint.RequestResult;
+import com.netease.nim.server.sdk.core.endpoint.RetryBudget;
+import com.netease.nim.server.sdk.core.endpoint.RetryBudgetConfig;
 import com.netease.nim.server.sdk.core.endpoint.RetryPolicy;
+import com.netease.nim.server.sdk.core.endpoint.ServerResponse;
+import com.netease.nim.server.sdk.core.exception.BulkheadFullException;
+import com.netease.nim.server.sdk.core.exception.DeadlineExceededException;
 import com.netease.nim.server.sdk.core.exception.HttpCodeException;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
 import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.core.http.HttpMethod;
 import com.netease.nim.server.sdk.core.http.HttpResponse;
-import com.netease.nim.server.sdk.core.http.ParamBuilder;
+import com.netease.nim.server.sdk.core.metrics.BulkheadRecorder;
+import com.netease.nim.server.sdk.core.metrics.ClientGauges;
 import com.netease.nim.server.sdk.core.metrics.MetricsConfig;
+import com.netease.nim.server.sdk.core.metrics.MetricsRecorder;
+import com.netease.nim.server.sdk.core.metrics.MetricsResult;
+import com.netease.nim.server.sdk.core.metrics.ResponseBodyBytes;
+import com.netease.nim.server.sdk.core.metrics.ShedStage;
 import com.netease.nim.server.sdk.core.metrics.Stats;
+import com.netease.nim.server.sdk.core.metrics.StatsWindow;
+import com.netease.nim.server.sdk.core.metrics.TransportRecorder;
 import com.netease.nim.server.sdk.core.metrics.YunxinApiSdkMetricsCollector;
+import com.netease.nim.server.sdk.core.reactive.CallPublisher;
+import com.netease.nim.server.sdk.core.reactive.Cancellation;
+import com.netease.nim.server.sdk.core.reactive.PagePublisher;
+import com.netease.nim.server.sdk.core.reactive.Publisher;
 import com.netease.nim.server.sdk.core.trace.*;
 import com.netease.nim.server.sdk.core.utils.CheckSumBuilder;
+import com.netease.nim.server.sdk.core.utils.CurTimeUtils;
 import com.netease.nim.server.sdk.core.utils.ExceptionUtils;
-import com.netease.nim.server.sdk.core.version.YunxinApiSdkVersion;
+import com.netease.nim.server.sdk.core.utils.NamedThreadFactory;
+import com.netease.nim.server.sdk.core.utils.RandomUtils;
+import com.netease.nim.server.sdk.core.utils.VirtualThreads;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * Created by caojiajun on 2024/11/27
@@ -32,42 +69,109 @@ public class YunxinHttpClient implements HttpClient {
 
     private static final Logger logger = LoggerFactory.getLogger(YunxinHttpClient.class);
 
-    private static final String APPKEY = "AppKey";
     private static final String NONCE = "Nonce";
     private static final String CURTIME = "CurTime";
     private static final String CHECKSUM = "CheckSum";
-    private static final String X_CUSTOM_TRACE_ID = "X-custom-traceid";
-    private static final String REQUEST_ID = "RequestId";
 
     private final BizName bizName;
-    private final String appkey;
     private final String appsecret;
     private final OkHttpClient okHttpClient;
     private final RetryPolicy retryPolicy;
     private final EndpointSelector endpointSelector;
+    private final RequestTemplate.Cache requestTemplates;
+    //重试预算，client维度和endpoint维度，未开启时为null
+    private final RetryBudgetConfig retryBudgetConfig;
+    private final RetryBudget retryBudget;
+    private final ConcurrentHashMap<String, RetryBudget> endpointRetryBudgets = new ConcurrentHashMap<>();
+    //未配置舱壁时为null
+    private final Bulkheads bulkheads;
+    private final long minDeadlineRemainingMillis;
+    //executeAsync 使用
+    private final ExecutorService callExecutor;
+    //executePublisher 的重试等待和舱壁排队超时使用
+    private final ScheduledThreadPoolExecutor retryScheduler;
 
     private YunxinApiSdkMetricsCollector metricsCollector;
+    private ClientGauges clientGauges;
+    private SlowRequestCapture slowRequestCapture;
     private boolean running = true;
 
     public YunxinHttpClient(BizName bizName, String appkey, String appsecret, EndpointConfig endpointConfig,
                             YunxinHttpClientConfig httpClientConfig, MetricsConfig metricsConfig) {
+        this(bizName, appkey, appsecret, endpointConfig, httpClientConfig, metricsConfig, null);
+    }
+
+    public YunxinHttpClient(BizName bizName, String appkey, String appsecret, EndpointConfig endpointConfig,
+                            YunxinHttpClientConfig httpClientConfig, MetricsConfig metricsConfig, SlowRequestConfig slowRequestConfig) {
         this.bizName = bizName;
-        this.appkey = appkey;
         this.appsecret = appsecret;
         this.retryPolicy = endpointConfig.getRetryPolicy();
         this.endpointSelector = endpointConfig.getEndpointSelector();
+        this.requestTemplates = new RequestTemplate.Cache(bizName, appkey);
+        RetryBudgetConfig retryBudgetConfig = endpointConfig.getRetryBudgetConfig();
+        if (retryBudgetConfig != null && retryBudgetConfig.isEnable()) {
+            this.retryBudgetConfig = retryBudgetConfig;
+            this.retryBudget = new RetryBudget(retryBudgetConfig);
+        } else {
+            this.retryBudgetConfig = null;
+            this.retryBudget = null;
+        }
+        List<BulkheadConfig> bulkheadConfigs = httpClientConfig.getBulkheadConfigs();
+        this.bulkheads = bulkheadConfigs == null || bulkheadConfigs.isEmpty() ? null : new Bulkheads(bulkheadConfigs);
+        this.minDeadlineRemainingMillis = httpClientConfig.getMinDeadlineRemainingMillis();
         if (metricsConfig.isEnable()) {
-            metricsCollector = new YunxinApiSdkMetricsCollector(bizName, metricsConfig.getCollectIntervalSeconds(), metricsConfig.getMetricsCallback());
+            metricsCollector = new YunxinApiSdkMetricsCollector(bizName, metricsConfig);
+        }
+        if (slowRequestConfig != null) {
+            slowRequestCapture = new SlowRequestCapture(slowRequestConfig);
+        }
+        boolean virtualThread = httpClientConfig.getExecutionMode() == ExecutionMode.VIRTUAL_THREAD;
+        if (virtualThread && !VirtualThreads.isSupported()) {
+            logger.warn("virtual threads are not supported by the current jdk or the jar is not multi-release, fallback to platform threads");
+            virtualThread = false;
+        }
+        if (virtualThread) {
+            this.callExecutor = VirtualThreads.newThreadPerTaskExecutor("yunxin-sdk-call");
+        } else {
+            //bounded, a burst of async calls queues up instead of creating a thread per call
+            int maxThreads = Math.max(1, httpClientConfig.getAsyncThreads());
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(Math.max(1, httpClientConfig.getAsyncQueueSize())), new NamedThreadFactory("yunxin-sdk-call", true));
+            executor.allowCoreThreadTimeOut(true);
+            this.callExecutor = executor;
         }
-        Dispatcher dispatcher = new Dispatcher();
+        this.retryScheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("yunxin-sdk-retry", true));
+        this.retryScheduler.setRemoveOnCancelPolicy(true);
+        //publishers enqueue calls, at most maxRequests at a time, in VIRTUAL_THREAD mode each on its own virtual thread
+        Dispatcher dispatcher = virtualThread ? new Dispatcher(callExecutor) : new Dispatcher();
         dispatcher.setMaxRequests(httpClientConfig.getMaxRequests());
         dispatcher.setMaxRequestsPerHost(httpClientConfig.getMaxRequestsPerHost());
+        ConnectionPool connectionPool = new ConnectionPool(httpClientConfig.getMaxIdleConnections(), httpClientConfig.getKeepAliveSeconds(), TimeUnit.SECONDS);
         OkHttpClient.Builder builder = new OkHttpClient.Builder()
                 .connectTimeout(httpClientConfig.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
                 .readTimeout(httpClientConfig.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
                 .writeTimeout(httpClientConfig.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
                 .dispatcher(dispatcher)
-                .connectionPool(new ConnectionPool(httpClientConfig.getMaxIdleConnections(), httpClientConfig.getKeepAliveSeconds(), TimeUnit.SECONDS));
+                .connectionPool(connectionPool)
+                .addInterceptor(chain -> {
+                    //enqueued calls may wait in the dispatcher queue, check the deadline again when the call starts
+                    Execution execution = chain.request().tag(Execution.class);
+                    if (execution != null) {
+                        execution.dispatched();
+                    }
+                    return chain.proceed(chain.request());
+                });
+        if (metricsCollector != null) {
+            builder.eventListenerFactory(metricsCollector.eventListenerFactory());
+            clientGauges = new ClientGauges(dispatcher, connectionPool);
+            if (bulkheads != null) {
+                clientGauges.setBulkheads(bulkheads.list());
+            }
+            metricsCollector.setClientGauges(clientGauges);
+        } else {
+            //only fills in the wire size of response bodies for the jfr attempt event
+            builder.eventListenerFactory(ResponseBodyBytes.eventListenerFactory());
+        }
         if (httpClientConfig.getProxy() != null) {
             builder.proxy(httpClientConfig.getProxy());
         }
@@ -81,129 +185,381 @@ public class YunxinHttpClient implements HttpClient {
     @Override
     public HttpResponse execute(HttpMethod method, ContextType contextType, ApiVersion apiVersion,
                                 String uri, String path, Map<String, String> queryString, String data) throws YunxinSdkException {
+        return execute(method, contextType, apiVersion, uri, path, queryString, data, null, 0);
+    }
+
+    @Override
+    public HttpResponse execute(HttpMethod method, ContextType contextType, ApiVersion apiVersion,
+                                String uri, String path, Map<String, String> queryString, FormUrlEncodedWriter form) throws YunxinSdkException {
+        return execute(method, contextType, apiVersion, uri, path, queryString, null, form.buffer(), form.size());
+    }
+
+    private HttpResponse execute(HttpMethod method, ContextType contextType, ApiVersion apiVersion, String uri, String path,
+                                 Map<String, String> queryString, String data, byte[] body, int bodyLength) throws YunxinSdkException {
         if (!running) {
             throw new IllegalStateException("yunxin http client has bean shutdown.");
         }
-        //trace-id
-        String traceId = YunxinTraceId.get();
-        if (traceId == null) {
-            traceId = TraceIdUtils.gen();
-        }
         try {
-            //select endpoint
-            String endpoint = endpointSelector.selectEndpoint(null);
-            //context
-            ExecuteContext executeContext = new ExecuteContext(bizName, endpoint, method, contextType, apiVersion, uri, path, queryString, data, traceId);
-            String url;
-            if (queryString == null || queryString.isEmpty()) {
-                url = path;
-            } else {
-                ParamBuilder query = new ParamBuilder();
-                for (Map.Entry<String, String> entry : queryString.entrySet()) {
-                    query.addParam(entry.getKey(), entry.getValue());
-                }
-                url = path + "?" + query.build();
-            }
-            //exception
-            YunxinSdkException exception = null;
-            int maxRetry = retryPolicy.maxRetry();
-            if (maxRetry <= 0) {
-                maxRetry = 0;
-            }
-            if (maxRetry > 128) {
-                maxRetry = 128;
-            }
-            Long timeoutMillis = TimeoutSetter.getAndClear();
-            OkHttpClient client = client(timeoutMillis);
-
-            for (int i=0; i<=maxRetry; i++) {
-                //request
-                Request.Builder builder = new Request.Builder();
-                if (method == HttpMethod.GET) {
-                    builder.get();
-                } else {
-                    builder.method(method.name(), RequestBody.create(MediaType.parse(contextType.getValue()), data == null ? "" : data));
-                }
-                builder.url(endpoint + url);
-                //add headers
-                addHeaders(builder, apiVersion, traceId);
-                //build request
-                Request request = builder.build();
-                //invoke
-                long startTime = System.currentTimeMillis();
-                if (logger.isDebugEnabled()) {
-                    logger.debug("execute, bizName = {}, endpoint = {}, method = {}, contextType = {}, apiVersion= {}, uri = {}, path = {}, traceId = {}, queryString = {}, data = {}",
-                            bizName, endpoint, method, contextType, apiVersion, uri, path, traceId, queryString, data);
-                }
-                try (Response response = client.newCall(request).execute()) {
-                    int code = response.code();
-                    String string = response.body().string();
-                    if (bizName.isHttpCodeAlways200()) {
-                        if (code != 200) {
-                            throw new HttpCodeException(bizName, endpoint, code, string);
-                        }
+            Execution execution = new Execution(method, contextType, apiVersion, uri, path, queryString, data, body, bodyLength, CallScope.capture(), null);
+            while (true) {
+                Request request = execution.newRequest();
+                //bulkhead permit is held by each attempt, not across the retry interval
+                long queueWaitMs = 0;
+                if (execution.bulkhead != null) {
+                    try {
+                        queueWaitMs = execution.bulkhead.acquire(execution.priority, execution.permitDeadline());
+                    } catch (BulkheadFullException | DeadlineExceededException e) {
+                        throw execution.rejected(e);
                     }
-                    endpointSelector.update(endpoint, RequestResult.SUCCESS);
-                    if (metricsCollector != null) {
-                        metricsCollector.collect(endpoint, method, contextType, apiVersion, uri, "success", System.currentTimeMillis() - startTime);
+                }
+                Exception error = null;
+                //nothing may run between acquiring the permit and entering the try that releases it
+                try {
+                    Call call = execution.newCall(request, queueWaitMs);
+                    execution.enter();
+                    try (Response response = call.execute()) {
+                        execution.read(response);
+                    } finally {
+                        execution.exit();
                     }
-                    return new HttpResponse(endpoint, code, string, traceId);
                 } catch (Exception e) {
-                    RequestResult requestResult;
-                    String result;
-                    if (e instanceof HttpCodeException) {
-                        int code = ((HttpCodeException) e).getCode();
-                        result = "http_code_" + code;
-                        if (code == 502) {
-                            requestResult = RequestResult.HTTP_CODE_502;
-                        } else if (code == 500) {
-                            requestResult = RequestResult.HTTP_CODE_500;
-                        } else if (code == 400) {
-                            requestResult = RequestResult.HTTP_CODE_400;
-                        } else {
-                            requestResult = RequestResult.HTTP_CODE_NOT_200;
-                        }
-                    } else {
-                        result = e.toString();
-                        boolean connectError = ExceptionUtils.isConnectError(e);
-                        if (connectError) {
-                            requestResult = RequestResult.CONNECT_TIMEOUT;
-                        } else {
-                            if (ExceptionUtils.isTimeoutError(e)) {
-                                requestResult = RequestResult.READ_WRITE_TIMEOUT;
-                            } else {
-                                requestResult = RequestResult.OTHER_ERRORS;
-                            }
-                        }
-                    }
-                    endpointSelector.update(endpoint, requestResult);
-                    if (metricsCollector != null) {
-                        metricsCollector.collect(endpoint, method, contextType, apiVersion, uri, result, System.currentTimeMillis() - startTime);
-                    }
-                    exception = new YunxinSdkException(executeContext, e);
-                    RetryPolicy.RetryAction retryAction = retryPolicy.onError(executeContext, i, e);
-                    if (!retryAction.isRetry()) {
-                        throw exception;
+                    error = e;
+                } finally {
+                    execution.release();
+                }
+                HttpResponse response = execution.complete(error);
+                if (response != null) {
+                    return response;
+                }
+                long interval = execution.retryInterval();
+                if (interval > 0) {
+                    if (clientGauges != null) {
+                        clientGauges.pendingRetries().incrementAndGet();
                     }
-                    long interval = retryPolicy.retryInterval(executeContext, i);
-                    if (interval > 0) {
-                        try {
-                            TimeUnit.MILLISECONDS.sleep(interval);
-                        } catch (InterruptedException ex) {
-                            logger.error(ex.getMessage(), ex);
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(interval);
+                    } catch (InterruptedException e) {
+                        //the caller wants to stop, keep the interrupt and do not retry
+                        Thread.currentThread().interrupt();
+                        throw new YunxinSdkException(execution.executeContext, e);
+                    } finally {
+                        if (clientGauges != null) {
+                            clientGauges.pendingRetries().decrementAndGet();
                         }
                     }
-                    if (retryAction.isNextEndpoint()) {
-                        endpoint = endpointSelector.selectEndpoint(endpoint);
-                    }
                 }
+                execution.next();
             }
-            throw exception;
         } finally {
             YunxinTraceId.clear();
         }
     }
 
+    /**
+     * 在 callExecutor 上执行，调用线程上的 YunxinTraceId/TimeoutSetter/BulkheadSetter/PrioritySetter/DeadlineSetter 会传递给本次调用
+     * @return future，失败时为 YunxinSdkException 等
+     */
+    public CompletableFuture<HttpResponse> executeAsync(HttpMethod method, ContextType contextType, ApiVersion apiVersion,
+                                                        String uri, String path, Map<String, String> queryString, String data) {
+        if (!running) {
+            throw new IllegalStateException("yunxin http client has bean shutdown.");
+        }
+        return submit(CallScope.capture(), method, contextType, apiVersion, uri, path, queryString, data);
+    }
+
+    /**
+     * 冷启动的 Publisher，每次订阅时异步执行，舱壁排队、http请求和重试等待都不占用线程，cancel会中止当前所处的阶段
+     * 调用线程上的 YunxinTraceId/TimeoutSetter/BulkheadSetter/PrioritySetter/DeadlineSetter 在创建时读取，对每次订阅生效
+     * @return publisher，失败时为 YunxinSdkException 等
+     */
+    public CallPublisher<HttpResponse> executePublisher(HttpMethod method, ContextType contextType, ApiVersion apiVersion,
+                                                       String uri, String path, Map<String, String> queryString, String data) {
+        if (!running) {
+            throw new IllegalStateException("yunxin http client has bean shutdown.");
+        }
+        CallScope scope = CallScope.capture();
+        return new CallPublisher<>(cancellation -> enqueue(scope, method, contextType, apiVersion, uri, path, queryString, data, cancellation));
+    }
+
+    /**
+     * 分页接口的 Publisher，每一页由 pageLoader 通过 executePublisher 请求
+     * 调用线程上的 TimeoutSetter/BulkheadSetter/PrioritySetter/DeadlineSetter 在创建时读取，对每一页生效，traceId每一页单独生成
+     * @param firstPageToken 第一页的token，可以为null
+     * @param pageLoader 根据page token请求一页
+     * @param nextPageToken 下一页的token，返回null或者空字符串时结束
+     * @return publisher
+     */
+    public <T> PagePublisher<T> pagePublisher(String firstPageToken, Function<String, Publisher<T>> pageLoader,
+                                              Function<? super T, String> nextPageToken) {
+        if (!running) {
+            throw new IllegalStateException("yunxin http client has bean shutdown.");
+        }
+        CallScope scope = CallScope.capture().withoutTraceId();
+        return new PagePublisher<>(firstPageToken, pageToken -> {
+            //pageLoader captures the scope in executePublisher, keep what the current thread has set
+            CallScope current = CallScope.capture();
+            scope.apply();
+            try {
+                return pageLoader.apply(pageToken);
+            } finally {
+                CallScope.clear();
+                current.apply();
+            }
+        }, nextPageToken);
+    }
+
+    private CompletableFuture<HttpResponse> submit(CallScope scope, HttpMethod method, ContextType contextType, ApiVersion apiVersion,
+                                                   String uri, String path, Map<String, String> queryString, String data) {
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        try {
+            callExecutor.execute(() -> {
+                scope.apply();
+                try {
+                    future.complete(execute(method, contextType, apiVersion, uri, path, queryString, data, null, 0));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    //platform threads are pooled, never leak the scope into the next task
+                    CallScope.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 异步执行，舱壁排队使用 Bulkhead.acquireAsync，http请求使用 okhttp enqueue，重试等待使用 retryScheduler，都不阻塞线程
+     */
+    private CompletableFuture<HttpResponse> enqueue(CallScope scope, HttpMethod method, ContextType contextType, ApiVersion apiVersion,
+                                                    String uri, String path, Map<String, String> queryString, String data,
+                                                    Cancellation cancellation) {
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new IllegalStateException("yunxin http client has bean shutdown."));
+            return future;
+        }
+        Execution execution;
+        try {
+            execution = new Execution(method, contextType, apiVersion, uri, path, queryString, data, null, 0, scope, cancellation);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        attempt(execution, future);
+        return future;
+    }
+
+    private void attempt(Execution execution, CompletableFuture<HttpResponse> future) {
+        Request request;
+        try {
+            request = execution.newRequest();
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        if (execution.bulkhead == null) {
+            send(execution, request, 0, future);
+            return;
+        }
+        CompletableFuture<Long> permit = execution.bulkhead.acquireAsync(execution.priority, execution.permitDeadline(), retryScheduler);
+        execution.onCancel(() -> permit.cancel(false));
+        permit.whenComplete((queueWaitMs, error) -> {
+            if (error == null) {
+                send(execution, request, queueWaitMs, future);
+            } else if (execution.isCancelled()) {
+                future.completeExceptionally(execution.cancelled());
+            } else if (error instanceof Exception) {
+                future.completeExceptionally(execution.rejected((Exception) error));
+            } else {
+                future.completeExceptionally(error);
+            }
+        });
+    }
+
+    private void send(Execution execution, Request request, long queueWaitMs, CompletableFuture<HttpResponse> future) {
+        Call call;
+        try {
+            call = execution.newCall(request, queueWaitMs);
+        } catch (Exception e) {
+            execution.release();
+            complete(execution, e, future);
+            return;
+        }
+        execution.enter();
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                execution.exit();
+                execution.release();
+                complete(execution, e, future);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                Exception error = null;
+                try (Response r = response) {
+                    execution.read(r);
+                } catch (Exception e) {
+                    error = e;
+                } finally {
+                    execution.exit();
+                    execution.release();
+                }
+                complete(execution, error, future);
+            }
+        });
+    }
+
+    private void complete(Execution execution, Exception error, CompletableFuture<HttpResponse> future) {
+        long interval;
+        try {
+            HttpResponse response = execution.complete(error);
+            if (response != null) {
+                future.complete(response);
+                return;
+            }
+            interval = execution.retryInterval();
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        if (interval <= 0) {
+            retry(execution, future);
+            return;
+        }
+        AtomicInteger pendingRetries = clientGauges == null ? null : clientGauges.pendingRetries();
+        if (pendingRetries != null) {
+            pendingRetries.incrementAndGet();
+        }
+        ScheduledFuture<?> backoff;
+        try {
+            backoff = retryScheduler.schedule(() -> {
+                if (pendingRetries != null) {
+                    pendingRetries.decrementAndGet();
+                }
+                retry(execution, future);
+            }, interval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (pendingRetries != null) {
+                pendingRetries.decrementAndGet();
+            }
+            future.completeExceptionally(new YunxinSdkException(execution.executeContext, e));
+            return;
+        }
+        execution.onCancel(() -> {
+            if (backoff.cancel(false)) {
+                if (pendingRetries != null) {
+                    pendingRetries.decrementAndGet();
+                }
+                future.completeExceptionally(execution.cancelled());
+            }
+        });
+    }
+
+    private void retry(Execution execution, CompletableFuture<HttpResponse> future) {
+        try {
+            execution.next();
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        attempt(execution, future);
+    }
+
+    private Bulkhead selectBulkhead(String uri, String name) {
+        if (bulkheads == null) {
+            if (name != null) {
+                throw new IllegalArgumentException("unknown bulkhead: " + name);
+            }
+            return null;
+        }
+        return bulkheads.select(uri, name);
+    }
+
+    /**
+     * 确定重试间隔，策略可以给出间隔（如 Retry-After），否则使用 retryInterval
+     * 设置了截止时间、重试等待后已经来不及完成时改为不重试
+     */
+    private RetryPolicy.RetryAction resolveRetry(RetryPolicy.RetryAction retryAction, ExecuteContext executeContext, int retry,
+                                                 long deadline, String endpoint, String uri, String traceId) {
+        if (!retryAction.isRetry()) {
+            return retryAction;
+        }
+        long interval = retryAction.getIntervalMillis() >= 0 ? retryAction.getIntervalMillis() : retryPolicy.retryInterval(executeContext, retry);
+        if (deadline > 0 && System.currentTimeMillis() + interval + minDeadlineRemainingMillis > deadline) {
+            shed(ShedStage.RETRY, endpoint, uri, traceId);
+            return RetryPolicy.RetryAction.NO_RETRY;
+        }
+        return retryAction.isNextEndpoint() ? RetryPolicy.RetryAction.retryNext(interval) : RetryPolicy.RetryAction.retryCurrent(interval);
+    }
+
+    private void shed(ShedStage stage, String endpoint, String uri, String traceId) {
+        if (metricsCollector != null) {
+            metricsCollector.shed(stage);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("request shed by deadline, stage = {}, bizName = {}, endpoint = {}, uri = {}, traceId = {}",
+                    stage.getLabel(), bizName, endpoint, uri, traceId);
+        }
+    }
+
+    private RetryBudget endpointRetryBudget(String endpoint) {
+        RetryBudget budget = endpointRetryBudgets.get(endpoint);
+        if (budget == null) {
+            budget = endpointRetryBudgets.computeIfAbsent(endpoint, k -> new RetryBudget(retryBudgetConfig));
+        }
+        return budget;
+    }
+
+    /**
+     * 重试预算不足时改为不重试
+     */
+    private RetryPolicy.RetryAction checkRetryBudget(RetryPolicy.RetryAction retryAction, String endpoint, String uri, String traceId) {
+        if (!retryAction.isRetry() || tryAcquireRetryBudget(endpoint)) {
+            return retryAction;
+        }
+        if (metricsCollector != null) {
+            metricsCollector.retrySuppressed();
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("retry suppressed by retry budget, bizName = {}, endpoint = {}, uri = {}, traceId = {}",
+                    bizName, endpoint, uri, traceId);
+        }
+        return RetryPolicy.RetryAction.NO_RETRY;
+    }
+
+    /**
+     * client维度和endpoint维度都有令牌时才允许重试
+     */
+    private boolean tryAcquireRetryBudget(String endpoint) {
+        if (retryBudget == null) {
+            return true;
+        }
+        RetryBudget budget = endpointRetryBudget(endpoint);
+        RetryBudget.Withdrawal withdrawal = budget.withdraw();
+        if (withdrawal == null) {
+            return false;
+        }
+        if (!retryBudget.tryWithdraw()) {
+            budget.refund(withdrawal);
+            return false;
+        }
+        return true;
+    }
+
+    private static long contentLength(RequestBody requestBody) {
+        if (requestBody == null) {
+            return 0;
+        }
+        try {
+            return requestBody.contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
     private OkHttpClient client(Long timeoutMillis) {
         if (timeoutMillis == null) {
             return okHttpClient;
@@ -226,6 +582,25 @@ public class YunxinHttpClient implements HttpClient {
         return metricsCollector.getStats();
     }
 
+    @Override
+    public Stats getStats(StatsWindow window) {
+        if (!running) {
+            throw new IllegalStateException("yunxin http client has bean shutdown.");
+        }
+        if (metricsCollector == null) {
+            return null;
+        }
+        return metricsCollector.getStats(window);
+    }
+
+    public YunxinApiSdkMetricsCollector getMetricsCollector() {
+        return metricsCollector;
+    }
+
+    public SlowRequestCapture getSlowRequestCapture() {
+        return slowRequestCapture;
+    }
+
     @Override
     public void shutdown() {
         if (metricsCollector != null) {
@@ -234,25 +609,463 @@ public class YunxinHttpClient implements HttpClient {
         if (endpointSelector != null) {
             endpointSelector.shutdown();
         }
+        if (slowRequestCapture != null) {
+            slowRequestCapture.shutdown();
+        }
+        callExecutor.shutdown();
+        retryScheduler.shutdown();
         running = false;
     }
 
-    private void addHeaders(Request.Builder builder, ApiVersion apiVersion, String traceId) {
-        String curTime = String.valueOf(System.currentTimeMillis() / 1000);
-        String nonce = UUID.randomUUID().toString().replace("-", "");
-        builder.addHeader(APPKEY, appkey);
+    private void addHeaders(Request.Builder builder, RequestTemplate template, String traceId) {
+        String curTime = CurTimeUtils.curTime();
+        String nonce = RandomUtils.randomHex128();
         builder.addHeader(CURTIME, curTime);
         builder.addHeader(NONCE, nonce);
         builder.addHeader(CHECKSUM, CheckSumBuilder.getCheckSum(appsecret, nonce, curTime));
-        if (bizName == BizName.IM) {
-            if (apiVersion == ApiVersion.V1) {
-                builder.addHeader(REQUEST_ID, traceId);
-            } else if (apiVersion == ApiVersion.V2) {
-                builder.addHeader(X_CUSTOM_TRACE_ID, traceId);
+        builder.addHeader(template.traceIdHeader(), traceId);
+    }
+
+    /**
+     * 一次调用的状态，同步调用和 executePublisher 的异步调用共用
+     * 每次请求（重试单独计）依次为 newRequest、获取舱壁许可、newCall、enter/read/exit、release、complete，需要重试时 retryInterval、next
+     * 异步调用时各阶段在不同线程上执行，阶段之间通过 enqueue/CompletableFuture/ScheduledExecutorService 交接，保证可见性
+     */
+    private final class Execution {
+        private final HttpMethod method;
+        private final ContextType contextType;
+        private final ApiVersion apiVersion;
+        private final String uri;
+        private final String path;
+        private final Map<String, String> queryString;
+        private final String data;
+        private final byte[] body;
+        private final int bodyLength;
+        private final String traceId;
+        private final ExecuteContext executeContext;
+        private final String encodedQuery;
+        private final int maxRetry;
+        private final OkHttpClient client;
+        private final Bulkhead bulkhead;
+        private final long deadline;
+        private final Priority priority;
+        private final BulkheadRecorder bulkheadRecorder;
+        private final MetricsRecorder metricsRecorder;
+        //同步调用时为null
+        private final Cancellation cancellation;
+        //request body, byte[] based body can be written again when retry
+        private RequestBody requestBody;
+        private String endpoint;
+        private int retry;
+        //当前这次请求
+        private RetryPolicy.RetryAction retryAction;
+        private Throwable error;
+        private long startTime;
+        private AtomicInteger inFlight;
+        private int code;
+        private String string;
+        private Headers headers;
+        //jfr attempt 事件没有开启时为null
+        private ResponseBodyBytes responseBodyBytes;
+        private boolean dispatchExpired;
+
+        Execution(HttpMethod method, ContextType contextType, ApiVersion apiVersion, String uri, String path,
+                  Map<String, String> queryString, String data, byte[] body, int bodyLength, CallScope scope, Cancellation cancellation) {
+            this.method = method;
+            this.contextType = contextType;
+            this.apiVersion = apiVersion;
+            this.uri = uri;
+            this.path = path;
+            this.queryString = queryString;
+            this.data = data;
+            this.body = body;
+            this.bodyLength = bodyLength;
+            this.cancellation = cancellation;
+            //trace-id
+            this.traceId = scope.traceId == null ? TraceIdUtils.gen() : scope.traceId;
+            //select endpoint
+            this.endpoint = endpointSelector.selectEndpoint(null);
+            //context
+            this.executeContext = new ExecuteContext(bizName, endpoint, method, contextType, apiVersion, uri, path, queryString, data, body, bodyLength, this.traceId);
+            String encodedQuery = null;
+            if (queryString != null && !queryString.isEmpty()) {
+                FormUrlEncodedWriter query = new FormUrlEncodedWriter(64);
+                for (Map.Entry<String, String> entry : queryString.entrySet()) {
+                    query.add(entry.getKey(), entry.getValue());
+                }
+                encodedQuery = query.toString();
+            }
+            this.encodedQuery = encodedQuery;
+            int maxRetry = retryPolicy.maxRetry();
+            if (maxRetry <= 0) {
+                maxRetry = 0;
+            }
+            if (maxRetry > 128) {
+                maxRetry = 128;
+            }
+            this.maxRetry = maxRetry;
+            //the thread-locals are already read and cleared by CallScope.capture, an invalid value does not leak into the next call
+            this.bulkhead = selectBulkhead(uri == null ? path : uri, scope.bulkhead);
+            this.deadline = scope.deadlineMillis == null ? 0 : scope.deadlineMillis;
+            this.priority = scope.priority == null ? Priority.NORMAL : scope.priority;
+            this.bulkheadRecorder = bulkhead == null || metricsCollector == null ? null : metricsCollector.bulkheadRecorder(bulkhead.getName());
+            this.client = client(scope.timeoutMillis);
+            this.metricsRecorder = metricsCollector == null ? null : metricsCollector.recorder(method, contextType, apiVersion, uri == null ? path : uri);
+        }
+
+        Request newRequest() throws YunxinSdkException {
+            if (isCancelled()) {
+                throw cancelled();
+            }
+            //request
+            RequestTemplate template = requestTemplates.get(endpoint, uri, path, contextType, apiVersion);
+            Request.Builder builder = new Request.Builder()
+                    .url(template.url(path, encodedQuery))
+                    .headers(template.headers());
+            if (metricsCollector != null) {
+                builder.tag(TransportRecorder.class, metricsCollector.transportRecorder(endpoint));
+                builder.tag(MetricsRecorder.class, metricsRecorder);
+            }
+            if (cancellation != null) {
+                builder.tag(Execution.class, this);
+            }
+            //content-length is -1 for chunked or gzipped responses, take the bytes read from the wire instead
+            responseBodyBytes = JfrEvents.isAttemptEnabled() ? new ResponseBodyBytes() : null;
+            if (responseBodyBytes != null) {
+                builder.tag(ResponseBodyBytes.class, responseBodyBytes);
+            }
+            if (method == HttpMethod.GET) {
+                builder.get();
+            } else {
+                if (requestBody == null) {
+                    if (body != null) {
+                        requestBody = RequestBody.create(body, template.mediaType(), 0, bodyLength);
+                    } else {
+                        requestBody = RequestBody.create(data == null ? "" : data, template.mediaType());
+                    }
+                }
+                builder.method(method.name(), requestBody);
+            }
+            //add headers
+            addHeaders(builder, template, traceId);
+            //build request
+            Request request = builder.build();
+            //admission control, do not send work that cannot finish before the deadline
+            if (deadline > 0 && deadline - System.currentTimeMillis() < minDeadlineRemainingMillis) {
+                shed(ShedStage.ADMISSION, endpoint, uri, traceId);
+                throw new YunxinSdkException(executeContext, new DeadlineExceededException(deadline, "not enough time left to send"));
+            }
+            return request;
+        }
+
+        /**
+         * @return 最晚获取舱壁许可的时间，0表示没有截止时间
+         */
+        long permitDeadline() {
+            return deadline > 0 ? deadline - minDeadlineRemainingMillis : 0;
+        }
+
+        /**
+         * 没有获取到舱壁许可
+         */
+        YunxinSdkException rejected(Exception e) {
+            if (e instanceof DeadlineExceededException) {
+                shed(ShedStage.QUEUE, endpoint, uri, traceId);
+            } else if (e instanceof BulkheadFullException && bulkheadRecorder != null) {
+                bulkheadRecorder.recordRejected(priority);
+            }
+            return new YunxinSdkException(executeContext, e);
+        }
+
+        Call newCall(Request request, long queueWaitMs) {
+            startTime = System.currentTimeMillis();
+            code = 0;
+            string = null;
+            headers = null;
+            dispatchExpired = false;
+            if (bulkheadRecorder != null) {
+                bulkheadRecorder.recordQueueWait(priority, queueWaitMs);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("execute, bizName = {}, endpoint = {}, method = {}, contextType = {}, apiVersion= {}, uri = {}, path = {}, traceId = {}, queryString = {}, data = {}",
+                        bizName, endpoint, method, contextType, apiVersion, uri, path, traceId, queryString, executeContext.getData());
+            }
+            Call call = client.newCall(request);
+            if (deadline > 0) {
+                //the whole call must finish before the deadline
+                call.timeout().timeout(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+            onCancel(call::cancel);
+            return call;
+        }
+
+        /**
+         * enqueue 的请求开始执行，call.timeout() 从这里才开始计时，在 dispatcher 排队期间可能已经来不及完成
+         */
+        void dispatched() throws IOException {
+            if (deadline > 0 && deadline - System.currentTimeMillis() < minDeadlineRemainingMillis) {
+                dispatchExpired = true;
+                throw new InterruptedIOException("expired in the dispatcher queue");
+            }
+        }
+
+        void enter() {
+            inFlight = clientGauges == null ? null : clientGauges.inFlight(endpoint);
+            if (inFlight != null) {
+                inFlight.incrementAndGet();
+            }
+        }
+
+        /**
+         * 只读取响应，是否重试在 complete 中判断
+         */
+        void read(Response response) throws IOException {
+            code = response.code();
+            string = response.body().string();
+            headers = response.headers();
+        }
+
+        void exit() {
+            if (inFlight != null) {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        void release() {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+
+        /**
+         * 一次请求结束，且已经释放舱壁许可
+         * @param e 请求的异常，没有时为null
+         * @return 响应，需要重试时为null
+         * @throws YunxinSdkException 失败且不再重试
+         */
+        HttpResponse complete(Exception e) throws YunxinSdkException {
+            if (e == null && bizName.isHttpCodeAlways200() && code != 200) {
+                e = new HttpCodeException(bizName, endpoint, code, string, headers.toMultimap());
+            }
+            if (e != null) {
+                onError(e);
+                return null;
+            }
+            return onResponse();
+        }
+
+        private void onError(Exception e) throws YunxinSdkException {
+            //cancelled by the caller, not a failure of the endpoint
+            if (isCancelled()) {
+                throw cancelled();
+            }
+            //not sent, same as expiring in the bulkhead queue
+            if (dispatchExpired) {
+                shed(ShedStage.QUEUE, endpoint, uri, traceId);
+                throw new YunxinSdkException(executeContext, new DeadlineExceededException(deadline, "expired in the dispatcher queue", e));
+            }
+            //timed out by the caller's deadline, not a failure of the endpoint and there is no time left to retry
+            if (deadline > 0 && e instanceof InterruptedIOException && deadline - System.currentTimeMillis() < minDeadlineRemainingMillis) {
+                shed(ShedStage.TRANSPORT, endpoint, uri, traceId);
+                throw new YunxinSdkException(executeContext, new DeadlineExceededException(deadline, "timed out in transport", e));
+            }
+            RequestResult requestResult;
+            if (e instanceof HttpCodeException) {
+                int httpCode = ((HttpCodeException) e).getCode();
+                if (httpCode == 502) {
+                    requestResult = RequestResult.HTTP_CODE_502;
+                } else if (httpCode == 500) {
+                    requestResult = RequestResult.HTTP_CODE_500;
+                } else if (httpCode == 400) {
+                    requestResult = RequestResult.HTTP_CODE_400;
+                } else {
+                    requestResult = RequestResult.HTTP_CODE_NOT_200;
+                }
+            } else {
+                boolean connectError = ExceptionUtils.isConnectError(e);
+                if (connectError) {
+                    requestResult = RequestResult.CONNECT_TIMEOUT;
+                } else {
+                    if (ExceptionUtils.isTimeoutError(e)) {
+                        requestResult = RequestResult.READ_WRITE_TIMEOUT;
+                    } else {
+                        requestResult = RequestResult.OTHER_ERRORS;
+                    }
+                }
+            }
+            endpointSelector.update(endpoint, requestResult);
+            long spendMs = System.currentTimeMillis() - startTime;
+            MetricsResult metricsResult = MetricsResult.ofError(e);
+            if (metricsRecorder != null) {
+                metricsRecorder.record(endpoint, metricsResult, spendMs);
+            }
+            if (JfrEvents.isAttemptEnabled()) {
+                JfrEvents.attempt(uri == null ? path : uri, endpoint, traceId, retry, metricsResult.getLabel(),
+                        contentLength(requestBody), -1, spendMs);
+            }
+            if (slowRequestCapture != null) {
+                int httpCode = e instanceof HttpCodeException ? ((HttpCodeException) e).getCode() : 0;
+                slowRequestCapture.onError(executeContext, endpoint, retry, startTime, spendMs, metricsResult.getLabel(), httpCode, e);
+            }
+            YunxinSdkException exception = new YunxinSdkException(executeContext, e);
+            retryAction = retryPolicy.onError(executeContext, retry, e);
+            //no more attempts left, do not take a retry token or sleep
+            retryAction = retry < maxRetry ? checkRetryBudget(resolveRetry(retryAction, executeContext, retry, deadline, endpoint, uri, traceId), endpoint, uri, traceId)
+                    : RetryPolicy.RetryAction.NO_RETRY;
+            if (!retryAction.isRetry()) {
+                if (JfrEvents.isRetryEnabled()) {
+                    JfrEvents.retry(uri == null ? path : uri, endpoint, traceId, retry, false, false, 0, e);
+                }
+                throw exception;
+            }
+            error = e;
+        }
+
+        private HttpResponse onResponse() throws YunxinSdkException {
+            error = null;
+            retryAction = RetryPolicy.RetryAction.NO_RETRY;
+            RuntimeException policyError = null;
+            try {
+                //frequency control or overload, the policy may ask to back off and retry
+                retryAction = retryPolicy.onResponse(executeContext, retry, new ServerResponse(endpoint, code, string, headers));
+            } catch (RuntimeException e) {
+                policyError = e;
+            }
+            //a throttled response is neither a failure of the endpoint nor a success to be paid into the retry budget
+            MetricsResult metricsResult = policyError == null && retryAction.isRetry() ? MetricsResult.THROTTLED : MetricsResult.SUCCESS;
+            if (metricsResult == MetricsResult.SUCCESS) {
+                endpointSelector.update(endpoint, RequestResult.SUCCESS);
+                if (retryBudget != null) {
+                    retryBudget.deposit();
+                    endpointRetryBudget(endpoint).deposit();
+                }
+            }
+            long spendMs = System.currentTimeMillis() - startTime;
+            if (metricsRecorder != null) {
+                metricsRecorder.record(endpoint, metricsResult, spendMs);
+            }
+            if (JfrEvents.isAttemptEnabled()) {
+                JfrEvents.attempt(uri == null ? path : uri, endpoint, traceId, retry, metricsResult.getLabel(),
+                        contentLength(requestBody), responseBodyBytes == null ? -1 : responseBodyBytes.get(), spendMs);
+            }
+            if (slowRequestCapture != null) {
+                slowRequestCapture.onResponse(executeContext, endpoint, retry, startTime, spendMs, code, string);
+            }
+            if (policyError != null) {
+                throw new YunxinSdkException(executeContext, policyError);
+            }
+            if (retry < maxRetry) {
+                try {
+                    retryAction = checkRetryBudget(resolveRetry(retryAction, executeContext, retry, deadline, endpoint, uri, traceId), endpoint, uri, traceId);
+                } catch (RuntimeException e) {
+                    throw new YunxinSdkException(executeContext, e);
+                }
+            } else {
+                retryAction = RetryPolicy.RetryAction.NO_RETRY;
+            }
+            if (!retryAction.isRetry()) {
+                return new HttpResponse(endpoint, code, string, traceId);
+            }
+            return null;
+        }
+
+        /**
+         * 需要重试，interval 已经由 resolveRetry 确定
+         * @return 重试前等待的时间（ms）
+         */
+        long retryInterval() {
+            long interval = retryAction.getIntervalMillis();
+            executeContext.setLastRetryInterval(interval);
+            if (JfrEvents.isRetryEnabled()) {
+                JfrEvents.retry(uri == null ? path : uri, endpoint, traceId, retry, true, retryAction.isNextEndpoint(), interval, error);
+            }
+            return interval;
+        }
+
+        void next() {
+            if (retryAction.isNextEndpoint()) {
+                endpoint = endpointSelector.selectEndpoint(endpoint);
+            }
+            retry++;
+        }
+
+        boolean isCancelled() {
+            return cancellation != null && cancellation.isCancelled();
+        }
+
+        void onCancel(Runnable hook) {
+            if (cancellation != null) {
+                cancellation.onCancel(hook);
+            }
+        }
+
+        YunxinSdkException cancelled() {
+            return new YunxinSdkException(executeContext, new CancellationException("call cancelled"));
+        }
+    }
+
+    /**
+     * 只对下一次调用生效的线程变量，异步调用时从调用线程传递到执行线程
+     */
+    private static final class CallScope {
+        private final String traceId;
+        private final Long timeoutMillis;
+        private final String bulkhead;
+        private final Priority priority;
+        private final Long deadlineMillis;
+
+        private CallScope(String traceId, Long timeoutMillis, String bulkhead, Priority priority, Long deadlineMillis) {
+            this.traceId = traceId;
+            this.timeoutMillis = timeoutMillis;
+            this.bulkhead = bulkhead;
+            this.priority = priority;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        /**
+         * 去掉 traceId，会发出多个请求时每个请求使用各自的 traceId
+         */
+        CallScope withoutTraceId() {
+            return new CallScope(null, timeoutMillis, bulkhead, priority, deadlineMillis);
+        }
+
+        /**
+         * 读取并清空当前线程的设置
+         */
+        static CallScope capture() {
+            String traceId = YunxinTraceId.get();
+            YunxinTraceId.clear();
+            return new CallScope(traceId, TimeoutSetter.getAndClear(), BulkheadSetter.getAndClear(),
+                    PrioritySetter.getAndClear(), DeadlineSetter.getAndClear());
+        }
+
+        /**
+         * 只清空当前线程的设置
+         */
+        static void clear() {
+            YunxinTraceId.clear();
+            TimeoutSetter.getAndClear();
+            BulkheadSetter.getAndClear();
+            PrioritySetter.getAndClear();
+            DeadlineSetter.getAndClear();
+        }
+
+        void apply() {
+            if (traceId != null) {
+                YunxinTraceId.set(traceId);
+            }
+            if (timeoutMillis != null) {
+                TimeoutSetter.setTimeout(timeoutMillis);
+            }
+            if (bulkhead != null) {
+                BulkheadSetter.setBulkhead(bulkhead);
+            }
+            if (priority != null) {
+                PrioritySetter.setPriority(priority);
+            }
+            if (deadlineMillis != null) {
+                DeadlineSetter.setDeadline(deadlineMillis);
             }
-        } else {
-            builder.addHeader(X_CUSTOM_TRACE_ID, traceId);
         }
-        builder.addHeader("User-Agent", "yunxin-server-sdk/" + YunxinApiSdkVersion.version);
     }
 }
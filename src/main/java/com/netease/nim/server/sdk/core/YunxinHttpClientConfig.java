@@ -1,8 +1,12 @@
 package com.netease.nim.server.sdk.core;
 
 
+import com.netease.nim.server.sdk.core.bulkhead.BulkheadConfig;
+
 import java.net.Proxy;
 import java.net.ProxySelector;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created by caojiajun on 2024/11/27
@@ -18,6 +22,15 @@ public class YunxinHttpClientConfig {
     private int maxIdleConnections = Constants.Http.maxIdleConnections;
     private Proxy proxy;
     private ProxySelector proxySelector;
+    private List<BulkheadConfig> bulkheadConfigs = new ArrayList<>();
+    //设置了截止时间（DeadlineSetter）的请求，剩余时间少于该值时不再发出
+    private long minDeadlineRemainingMillis = Constants.Http.minDeadlineRemainingMillis;
+    //executeAsync 使用的线程
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    //ExecutionMode.PLATFORM 时 executeAsync 最多使用的线程数
+    private int asyncThreads = Constants.Http.asyncThreads;
+    //ExecutionMode.PLATFORM 时最多 asyncThreads 个线程，超出后排队，队列满时 executeAsync 失败
+    private int asyncQueueSize = Constants.Http.asyncQueueSize;
 
     public long getConnectTimeoutMillis() {
         return connectTimeoutMillis;
@@ -90,4 +103,44 @@ public class YunxinHttpClientConfig {
     public void setProxySelector(ProxySelector proxySelector) {
         this.proxySelector = proxySelector;
     }
+
+    public List<BulkheadConfig> getBulkheadConfigs() {
+        return bulkheadConfigs;
+    }
+
+    public void setBulkheadConfigs(List<BulkheadConfig> bulkheadConfigs) {
+        this.bulkheadConfigs = bulkheadConfigs;
+    }
+
+    public long getMinDeadlineRemainingMillis() {
+        return minDeadlineRemainingMillis;
+    }
+
+    public void setMinDeadlineRemainingMillis(long minDeadlineRemainingMillis) {
+        this.minDeadlineRemainingMillis = minDeadlineRemainingMillis;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    public int getAsyncThreads() {
+        return asyncThreads;
+    }
+
+    public void setAsyncThreads(int asyncThreads) {
+        this.asyncThreads = asyncThreads;
+    }
+
+    public int getAsyncQueueSize() {
+        return asyncQueueSize;
+    }
+
+    public void setAsyncQueueSize(int asyncQueueSize) {
+        this.asyncQueueSize = asyncQueueSize;
+    }
 }
@@ -0,0 +1,423 @@
+package com.netease.nim.server.sdk.core.bulkhead;
+
+import com.netease.nim.server.sdk.core.exception.BulkheadFullException;
+import com.netease.nim.server.sdk.core.exception.DeadlineExceededException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 舱壁，限制一组请求的并发数，超过后在调用线程上排队（acquireAsync 不阻塞调用线程，获取到许可时完成future）
+ * 排队的请求按优先级分队列，同一优先级内先进先出；许可释放时直接交给选中的排队请求，新来的请求不会插队
+ * 带截止时间的请求最多排队到截止时间，已经到期的排队请求在调度时直接丢弃
+ * 每次http请求（重试单独计）执行前 acquire，结束后 release，重试间隔期间不占用
+ */
+public final class Bulkhead {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final String name;
+    private final int maxConcurrentRequests;
+    private final int maxQueuedRequests;
+    private final long maxWaitMillis;
+    private final List<String> uriPatterns;
+    private final SchedulingMode schedulingMode;
+    //下标为 Priority.ordinal
+    private final int[] weights = new int[PRIORITIES.length];
+    private final long agingNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    //以下字段由 lock 保护，active/queued 另外允许无锁读
+    private final ArrayDeque<Waiter>[] queues;
+    //WEIGHTED_FAIR 模式下平滑加权轮询的当前权重
+    private final long[] currentWeights = new long[PRIORITIES.length];
+    private volatile int active;
+    private volatile int queued;
+
+    @SuppressWarnings("unchecked")
+    public Bulkhead(BulkheadConfig config) {
+        if (config.getName() == null || config.getName().isEmpty()) {
+            throw new IllegalArgumentException("bulkhead name is empty");
+        }
+        if (config.getMaxConcurrentRequests() <= 0) {
+            throw new IllegalArgumentException("illegal maxConcurrentRequests");
+        }
+        if (config.getMaxQueuedRequests() < 0) {
+            throw new IllegalArgumentException("illegal maxQueuedRequests");
+        }
+        if (config.getMaxWaitMillis() < 0) {
+            throw new IllegalArgumentException("illegal maxWaitMillis");
+        }
+        if (config.getAgingMillis() < 0) {
+            throw new IllegalArgumentException("illegal agingMillis");
+        }
+        this.name = config.getName();
+        this.maxConcurrentRequests = config.getMaxConcurrentRequests();
+        this.maxQueuedRequests = config.getMaxQueuedRequests();
+        this.maxWaitMillis = config.getMaxWaitMillis();
+        this.uriPatterns = config.getUriPatterns() == null ? new ArrayList<>() : new ArrayList<>(config.getUriPatterns());
+        this.schedulingMode = config.getSchedulingMode() == null ? SchedulingMode.STRICT : config.getSchedulingMode();
+        Map<Priority, Integer> priorityWeights = config.getPriorityWeights();
+        for (Priority priority : PRIORITIES) {
+            Integer weight = priorityWeights == null ? null : priorityWeights.get(priority);
+            if (weight != null && weight <= 0) {
+                throw new IllegalArgumentException("illegal weight of " + priority);
+            }
+            weights[priority.ordinal()] = weight == null ? priority.getDefaultWeight() : weight;
+        }
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(config.getAgingMillis());
+        this.queues = new ArrayDeque[PRIORITIES.length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * 以 NORMAL 优先级获取执行许可
+     * @see #acquire(Priority)
+     */
+    public long acquire() throws BulkheadFullException {
+        return acquire(Priority.NORMAL);
+    }
+
+    /**
+     * 获取执行许可，需要排队时阻塞调用线程
+     * @param priority 优先级，为null时为 NORMAL
+     * @return 排队等待的时间（ms）
+     * @throws BulkheadFullException 排队数已满，或者等待超时
+     */
+    public long acquire(Priority priority) throws BulkheadFullException {
+        return acquire(priority, 0);
+    }
+
+    /**
+     * 获取执行许可，需要排队时阻塞调用线程，最多排队到截止时间
+     * @param priority 优先级，为null时为 NORMAL
+     * @param deadlineMillis 最晚的获取时间（System.currentTimeMillis），0表示没有截止时间
+     * @return 排队等待的时间（ms）
+     * @throws BulkheadFullException 排队数已满，或者等待超时
+     * @throws DeadlineExceededException 排队到截止时间仍没有获取到许可
+     */
+    public long acquire(Priority priority, long deadlineMillis) throws BulkheadFullException, DeadlineExceededException {
+        if (priority == null) {
+            priority = Priority.NORMAL;
+        }
+        List<Waiter> wakeups = null;
+        lock.lock();
+        try {
+            if (active < maxConcurrentRequests) {
+                active++;
+                return 0;
+            }
+            long remaining = queueTimeoutNanos(deadlineMillis);
+            boolean deadlineBound = remaining < TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+            long now = System.nanoTime();
+            Waiter waiter = new Waiter(priority.ordinal(), lock.newCondition(), null, now, deadlineBound ? now + remaining : 0, deadlineMillis);
+            queues[waiter.level].addLast(waiter);
+            queued++;
+            try {
+                while (!waiter.granted) {
+                    if (waiter.expired) {
+                        throw new DeadlineExceededException(deadlineMillis, "expired in the queue of bulkhead " + name);
+                    }
+                    if (remaining <= 0) {
+                        remove(waiter);
+                        throw waitTimeout(waiter);
+                    }
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    //hand the permit over to the next waiter
+                    wakeups = releaseLocked();
+                } else if (!waiter.expired) {
+                    remove(waiter);
+                }
+                Thread.currentThread().interrupt();
+                throw new BulkheadFullException(name, "interrupted");
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waiter.enqueueNanos);
+        } finally {
+            lock.unlock();
+            wakeup(wakeups);
+        }
+    }
+
+    /**
+     * 获取执行许可，不阻塞调用线程，最多排队到截止时间
+     * 获取到许可之前取消返回的future会退出排队；future在获取到许可后才被取消时，许可会交给下一个排队的请求
+     * @param priority 优先级，为null时为 NORMAL
+     * @param deadlineMillis 最晚的获取时间（System.currentTimeMillis），0表示没有截止时间
+     * @param scheduler 用于排队超时
+     * @return 排队等待的时间（ms），失败时为 BulkheadFullException 或者 DeadlineExceededException
+     */
+    public CompletableFuture<Long> acquireAsync(Priority priority, long deadlineMillis, ScheduledExecutorService scheduler) {
+        if (priority == null) {
+            priority = Priority.NORMAL;
+        }
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        Waiter waiter;
+        long remaining;
+        lock.lock();
+        try {
+            if (active < maxConcurrentRequests) {
+                active++;
+                future.complete(0L);
+                return future;
+            }
+            remaining = queueTimeoutNanos(deadlineMillis);
+            boolean deadlineBound = remaining < TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+            long now = System.nanoTime();
+            waiter = new Waiter(priority.ordinal(), null, future, now, deadlineBound ? now + remaining : 0, deadlineMillis);
+            queues[waiter.level].addLast(waiter);
+            queued++;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> timeout(waiter), remaining, TimeUnit.NANOSECONDS);
+            future.whenComplete((waitMs, error) -> timeout.cancel(false));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        //cancelled or timed out by the caller before a permit is granted
+        future.whenComplete((waitMs, error) -> {
+            if (error != null) {
+                lock.lock();
+                try {
+                    remove(waiter);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+        return future;
+    }
+
+    private void timeout(Waiter waiter) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            waiter.future.completeExceptionally(waitTimeout(waiter));
+        }
+    }
+
+    public void release() {
+        List<Waiter> wakeups;
+        lock.lock();
+        try {
+            wakeups = releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+        wakeup(wakeups);
+    }
+
+    /**
+     * 需要在 lock 中调用
+     * @return 需要在 lock 之外完成的 acquireAsync 请求，没有时为null
+     */
+    private List<Waiter> releaseLocked() {
+        long now = System.nanoTime();
+        List<Waiter> wakeups = null;
+        while (queued > 0) {
+            Waiter next = next(now);
+            queues[next.level].pollFirst();
+            queued--;
+            if (next.deadlineNanos != 0 && now - next.deadlineNanos >= 0) {
+                //drop expired work instead of sending it
+                next.expired = true;
+                wakeups = signal(next, wakeups);
+                continue;
+            }
+            next.granted = true;
+            return signal(next, wakeups);
+        }
+        active--;
+        return wakeups;
+    }
+
+    private static List<Waiter> signal(Waiter waiter, List<Waiter> wakeups) {
+        if (waiter.condition != null) {
+            waiter.condition.signal();
+            return wakeups;
+        }
+        if (wakeups == null) {
+            wakeups = new ArrayList<>(2);
+        }
+        wakeups.add(waiter);
+        return wakeups;
+    }
+
+    /**
+     * 在 lock 之外完成future，避免在持有锁时执行回调
+     */
+    private void wakeup(List<Waiter> wakeups) {
+        if (wakeups == null) {
+            return;
+        }
+        for (Waiter waiter : wakeups) {
+            if (waiter.expired) {
+                waiter.future.completeExceptionally(new DeadlineExceededException(waiter.deadlineMillis, "expired in the queue of bulkhead " + name));
+            } else if (!waiter.future.complete(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waiter.enqueueNanos))) {
+                //cancelled after the permit was granted
+                release();
+            }
+        }
+    }
+
+    /**
+     * 需要在 lock 中调用，排队已满或者已经到截止时间时抛出异常
+     * @return 最多排队的时间（ns）
+     */
+    private long queueTimeoutNanos(long deadlineMillis) {
+        if (queued >= maxQueuedRequests) {
+            throw new BulkheadFullException(name, "queue is full");
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        if (deadlineMillis > 0) {
+            long untilDeadline = TimeUnit.MILLISECONDS.toNanos(deadlineMillis - System.currentTimeMillis());
+            if (untilDeadline <= 0) {
+                throw new DeadlineExceededException(deadlineMillis, "no permit of bulkhead " + name);
+            }
+            remaining = Math.min(remaining, untilDeadline);
+        }
+        return remaining;
+    }
+
+    private RuntimeException waitTimeout(Waiter waiter) {
+        if (waiter.deadlineNanos != 0) {
+            return new DeadlineExceededException(waiter.deadlineMillis, "expired in the queue of bulkhead " + name);
+        }
+        return new BulkheadFullException(name, "wait timeout");
+    }
+
+    private boolean remove(Waiter waiter) {
+        if (queues[waiter.level].remove(waiter)) {
+            queued--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 只需要比较每个队列的队首，同一队列里队首等待最久、老化后的优先级最高
+     */
+    private Waiter next(long now) {
+        if (schedulingMode == SchedulingMode.STRICT) {
+            Waiter best = null;
+            int bestLevel = 0;
+            for (ArrayDeque<Waiter> queue : queues) {
+                Waiter head = queue.peekFirst();
+                if (head == null) {
+                    continue;
+                }
+                int level = effectiveLevel(head, now);
+                if (best == null || level < bestLevel || (level == bestLevel && head.enqueueNanos - best.enqueueNanos < 0)) {
+                    best = head;
+                    bestLevel = level;
+                }
+            }
+            return best;
+        }
+        //smooth weighted round-robin, an aged request borrows the weight of its promoted level
+        int best = -1;
+        long total = 0;
+        for (int i = 0; i < queues.length; i++) {
+            Waiter head = queues[i].peekFirst();
+            if (head == null) {
+                currentWeights[i] = 0;
+                continue;
+            }
+            int weight = weights[effectiveLevel(head, now)];
+            currentWeights[i] += weight;
+            total += weight;
+            if (best < 0 || currentWeights[i] > currentWeights[best]) {
+                best = i;
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+        currentWeights[best] -= total;
+        return queues[best].peekFirst();
+    }
+
+    private int effectiveLevel(Waiter waiter, long now) {
+        if (agingNanos <= 0 || waiter.level == 0) {
+            return waiter.level;
+        }
+        long promoted = (now - waiter.enqueueNanos) / agingNanos;
+        return (int) Math.max(0, waiter.level - promoted);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public SchedulingMode getSchedulingMode() {
+        return schedulingMode;
+    }
+
+    List<String> getUriPatterns() {
+        return uriPatterns;
+    }
+
+    /**
+     * @return 正在执行的请求数
+     */
+    public int getActiveRequests() {
+        return active;
+    }
+
+    /**
+     * @return 正在排队的请求数
+     */
+    public int getQueuedRequests() {
+        return queued;
+    }
+
+    private static final class Waiter {
+        private final int level;
+        //acquire 使用 condition，acquireAsync 使用 future，二者只有一个不为null
+        private final Condition condition;
+        private final CompletableFuture<Long> future;
+        private final long enqueueNanos;
+        //0表示没有截止时间，或者截止时间晚于 maxWaitMillis
+        private final long deadlineNanos;
+        private final long deadlineMillis;
+        //由 lock 保护
+        private boolean granted;
+        private boolean expired;
+
+        Waiter(int level, Condition condition, CompletableFuture<Long> future, long enqueueNanos, long deadlineNanos, long deadlineMillis) {
+            this.level = level;
+            this.condition = condition;
+            this.future = future;
+            this.enqueueNanos = enqueueNanos;
+            this.deadlineNanos = deadlineNanos;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
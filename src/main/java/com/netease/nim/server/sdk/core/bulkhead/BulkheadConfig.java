@@ -0,0 +1,113 @@
+package com.netease.nim.server.sdk.core.bulkhead;
+
+import com.netease.nim.server.sdk.core.Constants;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 舱壁隔离配置，每个舱壁有独立的并发上限和排队上限
+ * 请求按 BulkheadSetter 指定的名字选择舱壁，未指定时按uri（模板）匹配 uriPatterns，都不匹配时不限制
+ * 排队的请求按 PrioritySetter 指定的优先级调度
+ */
+public class BulkheadConfig {
+
+    private String name;
+    //同时执行的请求数上限
+    private int maxConcurrentRequests = Constants.Bulkhead.maxConcurrentRequests;
+    //排队等待的请求数上限，超过后直接拒绝
+    private int maxQueuedRequests = Constants.Bulkhead.maxQueuedRequests;
+    //排队等待的最长时间，超过后拒绝
+    private long maxWaitMillis = Constants.Bulkhead.maxWaitMillis;
+    //uri模板，如 /im/v2/conversations/{conversation_id}/messages，以*结尾时按前缀匹配，如 /nimserver/history/*
+    private List<String> uriPatterns = new ArrayList<>();
+    //排队请求的调度方式
+    private SchedulingMode schedulingMode = SchedulingMode.STRICT;
+    //WEIGHTED_FAIR 模式下各优先级的权重，未设置的使用 Priority.defaultWeight
+    private Map<Priority, Integer> priorityWeights = new EnumMap<>(Priority.class);
+    //老化时间，排队每超过一次 agingMillis 优先级提升一级，避免低优先级饿死，0表示不老化
+    private long agingMillis = Constants.Bulkhead.agingMillis;
+
+    public BulkheadConfig() {
+    }
+
+    public BulkheadConfig(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public int getMaxQueuedRequests() {
+        return maxQueuedRequests;
+    }
+
+    public void setMaxQueuedRequests(int maxQueuedRequests) {
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public List<String> getUriPatterns() {
+        return uriPatterns;
+    }
+
+    public void setUriPatterns(List<String> uriPatterns) {
+        this.uriPatterns = uriPatterns;
+    }
+
+    public SchedulingMode getSchedulingMode() {
+        return schedulingMode;
+    }
+
+    public void setSchedulingMode(SchedulingMode schedulingMode) {
+        this.schedulingMode = schedulingMode;
+    }
+
+    public Map<Priority, Integer> getPriorityWeights() {
+        return priorityWeights;
+    }
+
+    public void setPriorityWeights(Map<Priority, Integer> priorityWeights) {
+        this.priorityWeights = priorityWeights;
+    }
+
+    public long getAgingMillis() {
+        return agingMillis;
+    }
+
+    public void setAgingMillis(long agingMillis) {
+        this.agingMillis = agingMillis;
+    }
+
+    public BulkheadConfig priorityWeight(Priority priority, int weight) {
+        this.priorityWeights.put(priority, weight);
+        return this;
+    }
+
+    public BulkheadConfig addUriPattern(String uriPattern) {
+        this.uriPatterns.add(uriPattern);
+        return this;
+    }
+}
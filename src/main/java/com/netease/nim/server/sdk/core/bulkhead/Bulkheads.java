@@ -0,0 +1,73 @@
+package com.netease.nim.server.sdk.core.bulkhead;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * client的所有舱壁，按名字或uri选择
+ * uri的匹配结果会缓存，uri应为模板而不是带参数的path
+ */
+public final class Bulkheads {
+
+    //uri缓存上限，超过后不再缓存
+    private static final int MAX_CACHED_URIS = 4096;
+    private static final Object NONE = new Object();
+
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+    private final ConcurrentHashMap<String, Object> uriCache = new ConcurrentHashMap<>();
+
+    public Bulkheads(List<BulkheadConfig> configs) {
+        for (BulkheadConfig config : configs) {
+            Bulkhead bulkhead = new Bulkhead(config);
+            if (bulkheads.put(bulkhead.getName(), bulkhead) != null) {
+                throw new IllegalArgumentException("duplicate bulkhead name: " + bulkhead.getName());
+            }
+        }
+    }
+
+    /**
+     * @param uri uri模板
+     * @param name BulkheadSetter 指定的名字，可以为null
+     * @return 舱壁，不需要限制时返回null
+     */
+    public Bulkhead select(String uri, String name) {
+        if (name != null) {
+            Bulkhead bulkhead = bulkheads.get(name);
+            if (bulkhead == null) {
+                throw new IllegalArgumentException("unknown bulkhead: " + name);
+            }
+            return bulkhead;
+        }
+        if (uri == null) {
+            return null;
+        }
+        Object cached = uriCache.get(uri);
+        if (cached == null) {
+            Bulkhead bulkhead = match(uri);
+            cached = bulkhead == null ? NONE : bulkhead;
+            if (uriCache.size() < MAX_CACHED_URIS) {
+                uriCache.put(uri, cached);
+            }
+        }
+        return cached == NONE ? null : (Bulkhead) cached;
+    }
+
+    private Bulkhead match(String uri) {
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            for (String pattern : bulkhead.getUriPatterns()) {
+                if (pattern.endsWith("*") ? uri.startsWith(pattern.substring(0, pattern.length() - 1)) : uri.equals(pattern)) {
+                    return bulkhead;
+                }
+            }
+        }
+        return null;
+    }
+
+    public List<Bulkhead> list() {
+        return Collections.unmodifiableList(new ArrayList<>(bulkheads.values()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.netease.nim.server.sdk.core.bulkhead;
+
+/**
+ * 请求在舱壁内排队时的优先级，通过 PrioritySetter 为单次调用指定，默认 NORMAL
+ */
+public enum Priority {
+
+    HIGH("high", 8),
+    NORMAL("normal", 4),
+    LOW("low", 1),
+    ;
+
+    private final String label;
+    //WEIGHTED_FAIR 模式下的默认权重
+    private final int defaultWeight;
+
+    Priority(String label, int defaultWeight) {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -0,0 +1,18 @@
+package com.netease.nim.server.sdk.core.bulkhead;
+
+/**
+ * 舱壁内排队请求的调度方式
+ */
+public enum SchedulingMode {
+
+    /**
+     * 严格优先级，有高优先级的请求在排队时，低优先级的请求不会被调度（老化除外）
+     */
+    STRICT,
+
+    /**
+     * 按优先级权重分配许可，如默认权重 8:4:1，各优先级都在排队时按该比例调度
+     */
+    WEIGHTED_FAIR,
+    ;
+}
@@ -3,6 +3,7 @@ package com.netease.nim.server.sdk.core.endpoint;
 import com.netease.nim.server.sdk.core.Constants;
 import com.netease.nim.server.sdk.core.exception.EndpointFetchException;
 import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.trace.JfrEvents;
 import com.netease.nim.server.sdk.core.utils.NamedThreadFactory;
 import okhttp3.*;
 import org.slf4j.Logger;
@@ -166,7 +167,12 @@ public class DynamicEndpointSelector implements EndpointSelector {
                             entry.endpoint, entry.defaultEndpoint, entry.ratio, entry.latency);
                 }
             }
+            List<String> before = this.orderedEndpoints;
             this.orderedEndpoints = result;
+            if (JfrEvents.isEndpointReorderEnabled() && !result.equals(before)) {
+                Entry first = list.get(0);
+                JfrEvents.endpointReorder(before, result, first.ratio, first.latency);
+            }
         } catch (Exception e) {
             logger.error("schedule result error", e);
         }
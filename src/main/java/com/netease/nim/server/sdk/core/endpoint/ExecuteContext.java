@@ -5,6 +5,7 @@ import com.netease.nim.server.sdk.core.http.HttpMethod;
 import com.netease.nim.server.sdk.core.trace.ApiVersion;
 import com.netease.nim.server.sdk.core.BizName;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -19,11 +20,20 @@ public class ExecuteContext {
     private final String uri;
     private final String path;
     private final Map<String, String> queryString;
-    private final String data;
+    private String data;
+    private final byte[] body;
+    private final int bodyLength;
     private final String traceId;
+    //上一次重试的间隔，没有重试过时为-1
+    private long lastRetryInterval = -1;
 
     public ExecuteContext(BizName bizName, String endpoint, HttpMethod httpMethod, ContextType contextType, ApiVersion apiVersion,
                           String uri, String path, Map<String, String> queryString, String data, String traceId) {
+        this(bizName, endpoint, httpMethod, contextType, apiVersion, uri, path, queryString, data, null, 0, traceId);
+    }
+
+    public ExecuteContext(BizName bizName, String endpoint, HttpMethod httpMethod, ContextType contextType, ApiVersion apiVersion,
+                          String uri, String path, Map<String, String> queryString, String data, byte[] body, int bodyLength, String traceId) {
         this.bizName = bizName;
         this.endpoint = endpoint;
         this.httpMethod = httpMethod;
@@ -33,6 +43,8 @@ public class ExecuteContext {
         this.path = path;
         this.queryString = queryString;
         this.data = data;
+        this.body = body;
+        this.bodyLength = bodyLength;
         this.traceId = traceId;
     }
 
@@ -69,10 +81,41 @@ public class ExecuteContext {
     }
 
     public String getData() {
+        if (data == null && body != null) {
+            //form body is url-encoded, so it is pure ascii
+            data = new String(body, 0, bodyLength, StandardCharsets.US_ASCII);
+        }
+        return data;
+    }
+
+    /**
+     * 只解码前 maxLength 个字符，用于日志等需要截断的场景
+     * @param maxLength 最大长度
+     * @return data
+     */
+    public String getData(int maxLength) {
+        if (data == null && body != null) {
+            return new String(body, 0, Math.min(bodyLength, maxLength), StandardCharsets.US_ASCII);
+        }
+        if (data != null && data.length() > maxLength) {
+            return data.substring(0, maxLength);
+        }
         return data;
     }
 
     public String getTraceId() {
         return traceId;
     }
+
+    /**
+     * 上一次重试的间隔（ms），用于 decorrelated jitter 等依赖上一次间隔的退避算法
+     * @return 间隔，没有重试过时为-1
+     */
+    public long getLastRetryInterval() {
+        return lastRetryInterval;
+    }
+
+    public void setLastRetryInterval(long lastRetryInterval) {
+        this.lastRetryInterval = lastRetryInterval;
+    }
 }
@@ -0,0 +1,150 @@
+package com.netease.nim.server.sdk.core.endpoint;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 重试预算（令牌桶），避免故障期间重试把请求量放大
+ * 每次成功的请求存入 ratio 个令牌（上限 maxTokens），每次重试取出1个令牌；另有每秒 minRetriesPerSecond 个的保底令牌，保证低流量时也能重试
+ * 令牌以千分之一为单位保存，成功路径只有一次CAS
+ */
+public final class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long maxTokens;
+    private final int minRetriesPerSecond;
+    private final AtomicLong tokens = new AtomicLong();
+
+    //not synchronized, a virtual thread must not be pinned on the retry path
+    private final ReentrantLock reserveLock = new ReentrantLock();
+    //以下字段由 reserveLock 保护
+    private double reserve;
+    private long lastRefillNanos = System.nanoTime();
+
+    public RetryBudget(RetryBudgetConfig config) {
+        this(config.getRatio(), config.getMinRetriesPerSecond(), config.getMaxTokens());
+    }
+
+    public RetryBudget(double ratio, int minRetriesPerSecond, int maxTokens) {
+        if (!(ratio >= 0 && ratio <= 1)) {
+            throw new IllegalArgumentException("illegal ratio");
+        }
+        if (minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("illegal minRetriesPerSecond");
+        }
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("illegal maxTokens");
+        }
+        this.deposit = Math.round(ratio * SCALE);
+        this.maxTokens = maxTokens * SCALE;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.reserve = minRetriesPerSecond;
+    }
+
+    /**
+     * 请求成功时调用
+     */
+    public void deposit() {
+        if (deposit == 0) {
+            return;
+        }
+        while (true) {
+            long current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+            if (tokens.compareAndSet(current, Math.min(maxTokens, current + deposit))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 尝试为一次重试取出令牌
+     * @return 预算不足时返回false
+     */
+    public boolean tryWithdraw() {
+        return withdraw() != null;
+    }
+
+    /**
+     * 为一次重试取出令牌，先取令牌桶，不足时取保底令牌
+     * @return 令牌的来源，预算不足时返回null
+     */
+    public Withdrawal withdraw() {
+        while (true) {
+            long current = tokens.get();
+            if (current < SCALE) {
+                break;
+            }
+            if (tokens.compareAndSet(current, current - SCALE)) {
+                return Withdrawal.BUCKET;
+            }
+        }
+        return tryWithdrawReserve() ? Withdrawal.RESERVE : null;
+    }
+
+    /**
+     * 归还 withdraw 取出的令牌，用于多个预算同时检查时的回滚，令牌归还到原来的位置，且不超过上限
+     * @param withdrawal withdraw 的返回值
+     */
+    public void refund(Withdrawal withdrawal) {
+        if (withdrawal == Withdrawal.BUCKET) {
+            while (true) {
+                long current = tokens.get();
+                if (current >= maxTokens) {
+                    return;
+                }
+                if (tokens.compareAndSet(current, Math.min(maxTokens, current + SCALE))) {
+                    return;
+                }
+            }
+        }
+        if (withdrawal == Withdrawal.RESERVE) {
+            reserveLock.lock();
+            try {
+                reserve = Math.min(minRetriesPerSecond, reserve + 1);
+            } finally {
+                reserveLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return 当前可用的令牌数（不含保底令牌）
+     */
+    public double tokens() {
+        return (double) tokens.get() / SCALE;
+    }
+
+    private boolean tryWithdrawReserve() {
+        if (minRetriesPerSecond == 0) {
+            return false;
+        }
+        reserveLock.lock();
+        try {
+            long now = System.nanoTime();
+            reserve = Math.min(minRetriesPerSecond, reserve + (now - lastRefillNanos) / 1e9 * minRetriesPerSecond);
+            lastRefillNanos = now;
+            if (reserve < 1) {
+                return false;
+            }
+            reserve -= 1;
+            return true;
+        } finally {
+            reserveLock.unlock();
+        }
+    }
+
+    /**
+     * 令牌的来源
+     */
+    public enum Withdrawal {
+        //按成功请求存入的令牌
+        BUCKET,
+        //每秒补充的保底令牌
+        RESERVE,
+    }
+}
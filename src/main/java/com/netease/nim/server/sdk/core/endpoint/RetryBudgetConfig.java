@@ -0,0 +1,50 @@
+package com.netease.nim.server.sdk.core.endpoint;
+
+import com.netease.nim.server.sdk.core.Constants;
+
+/**
+ * 重试预算，client维度和endpoint维度各一个令牌桶，两者都有令牌时才允许重试
+ * 只限制 RetryPolicy 决定要重试的请求，不影响首次请求
+ */
+public class RetryBudgetConfig {
+
+    private boolean enable = Constants.Retry.budgetEnable;
+    //每次成功请求存入的令牌数，即重试量最多为成功请求量的 ratio 倍
+    private double ratio = Constants.Retry.budgetRatio;
+    //保底的每秒重试次数
+    private int minRetriesPerSecond = Constants.Retry.budgetMinRetriesPerSecond;
+    //令牌上限，避免长时间正常运行后积累过多令牌
+    private int maxTokens = Constants.Retry.budgetMaxTokens;
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public void setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+}
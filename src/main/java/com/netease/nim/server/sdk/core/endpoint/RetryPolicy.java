@@ -42,6 +42,19 @@ public interface RetryPolicy {
         return RetryAction.NO_RETRY;
     }
 
+    /**
+     * 收到响应后是否要重试，如响应体中为频率控制的code，或者 http.code 为429/503 并带有 Retry-After
+     * 每次收到响应都会调用，返回重试时该次请求在监控中记为 throttled；http.code 非200且 BizName.isHttpCodeAlways200 时按异常处理，走 onError
+     * 重试次数用完时不再重试，返回最后一次的响应
+     * @param retryContext 重试上下文
+     * @param retry 第几次重试，从0开始
+     * @param response 响应
+     * @return 重试操作
+     */
+    default RetryAction onResponse(ExecuteContext retryContext, int retry, ServerResponse response) {
+        return RetryAction.NO_RETRY;
+    }
+
     class RetryAction {
 
         public static RetryAction NO_RETRY = new RetryAction(false, false);
@@ -50,10 +63,29 @@ public interface RetryPolicy {
 
         private final boolean retry;
         private final boolean nextEndpoint;
+        private final long intervalMillis;
 
         public RetryAction(boolean retry, boolean nextEndpoint) {
+            this(retry, nextEndpoint, -1);
+        }
+
+        /**
+         * @param retry 是否重试
+         * @param nextEndpoint 是否切换endpoint
+         * @param intervalMillis 重试间隔，小于0时使用 retryInterval
+         */
+        public RetryAction(boolean retry, boolean nextEndpoint, long intervalMillis) {
             this.retry = retry;
             this.nextEndpoint = nextEndpoint;
+            this.intervalMillis = intervalMillis;
+        }
+
+        public static RetryAction retryCurrent(long intervalMillis) {
+            return new RetryAction(true, false, intervalMillis);
+        }
+
+        public static RetryAction retryNext(long intervalMillis) {
+            return new RetryAction(true, true, intervalMillis);
         }
 
         public boolean isRetry() {
@@ -63,5 +95,9 @@ public interface RetryPolicy {
         public boolean isNextEndpoint() {
             return nextEndpoint;
         }
+
+        public long getIntervalMillis() {
+            return intervalMillis;
+        }
     }
 }
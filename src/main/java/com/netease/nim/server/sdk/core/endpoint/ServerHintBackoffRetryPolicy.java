@@ -0,0 +1,114 @@
+package com.netease.nim.server.sdk.core.endpoint;
+
+import com.netease.nim.server.sdk.core.exception.HttpCodeException;
+import com.netease.nim.server.sdk.core.utils.ExceptionUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 适合批量任务的重试策略，遇到频率控制/过载时退避重试，而不是直接失败
+ * 重试条件：响应体 code 为 retryCodes（默认416频率控制），http.code 为 retryHttpCodes（默认429/503），以及 DefaultRetryPolicy 的条件（连接失败、502）
+ * 重试间隔为 decorrelated jitter：min(cap, random(base, 上一次间隔 * 3))；响应带有 Retry-After 时按服务端要求等待，超过 cap 时不再重试
+ */
+public class ServerHintBackoffRetryPolicy implements RetryPolicy {
+
+    public static final Set<Integer> DEFAULT_RETRY_CODES = Collections.singleton(416);
+    public static final Set<Integer> DEFAULT_RETRY_HTTP_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(429, 503)));
+
+    private final int maxRetry;
+    private final boolean retryOn502;
+    private final long baseMillis;
+    private final long capMillis;
+    private final Set<Integer> retryCodes;
+    private final Set<Integer> retryHttpCodes;
+
+    public ServerHintBackoffRetryPolicy(int maxRetry, boolean retryOn502) {
+        this(maxRetry, retryOn502, 100, 10000, DEFAULT_RETRY_CODES, DEFAULT_RETRY_HTTP_CODES);
+    }
+
+    /**
+     * @param maxRetry 最大重试次数
+     * @param retryOn502 502时是否切换endpoint重试
+     * @param baseMillis 最小重试间隔
+     * @param capMillis 最大重试间隔，Retry-After 超过该值时不再重试
+     * @param retryCodes 需要重试的响应体code
+     * @param retryHttpCodes 需要重试的http.code
+     */
+    public ServerHintBackoffRetryPolicy(int maxRetry, boolean retryOn502, long baseMillis, long capMillis,
+                                        Set<Integer> retryCodes, Set<Integer> retryHttpCodes) {
+        if (maxRetry < 0) {
+            throw new IllegalArgumentException("illegal maxRetry");
+        }
+        if (baseMillis <= 0 || capMillis < baseMillis) {
+            throw new IllegalArgumentException("illegal baseMillis or capMillis");
+        }
+        if (retryCodes == null || retryHttpCodes == null) {
+            throw new IllegalArgumentException("retryCodes or retryHttpCodes is null");
+        }
+        this.maxRetry = maxRetry;
+        this.retryOn502 = retryOn502;
+        this.baseMillis = baseMillis;
+        this.capMillis = capMillis;
+        this.retryCodes = new HashSet<>(retryCodes);
+        this.retryHttpCodes = new HashSet<>(retryHttpCodes);
+    }
+
+    @Override
+    public int maxRetry() {
+        return maxRetry;
+    }
+
+    @Override
+    public long retryInterval(ExecuteContext retryContext, int retry) {
+        long last = Math.max(baseMillis, retryContext.getLastRetryInterval());
+        long upper = Math.min(capMillis, last * 3);
+        if (upper <= baseMillis) {
+            return baseMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(baseMillis, upper + 1);
+    }
+
+    @Override
+    public RetryAction onError(ExecuteContext retryContext, int retry, Throwable error) {
+        if (error instanceof HttpCodeException) {
+            HttpCodeException exception = (HttpCodeException) error;
+            if (retryHttpCodes.contains(exception.getCode())) {
+                return hint(retryContext, retry, exception.getHeader("Retry-After"));
+            }
+            if (exception.getCode() == 502 && retryOn502) {
+                return RetryAction.RETRY_NEXT;
+            }
+        }
+        if (ExceptionUtils.isConnectError(error)) {
+            return RetryAction.RETRY_NEXT;
+        }
+        return RetryAction.NO_RETRY;
+    }
+
+    @Override
+    public RetryAction onResponse(ExecuteContext retryContext, int retry, ServerResponse response) {
+        if (retryHttpCodes.contains(response.getHttpCode())) {
+            return hint(retryContext, retry, response.getHeader("Retry-After"));
+        }
+        if (!retryCodes.isEmpty() && retryCodes.contains(response.getCode())) {
+            return hint(retryContext, retry, response.getHeader("Retry-After"));
+        }
+        return RetryAction.NO_RETRY;
+    }
+
+    private RetryAction hint(ExecuteContext retryContext, int retry, String retryAfter) {
+        long retryAfterMillis = ServerResponse.retryAfterMillis(retryAfter);
+        if (retryAfterMillis < 0) {
+            return RetryAction.retryCurrent(retryInterval(retryContext, retry));
+        }
+        if (retryAfterMillis > capMillis) {
+            return RetryAction.NO_RETRY;
+        }
+        //同一时刻被限流的请求错开重试，加上抖动后也不超过 cap
+        return RetryAction.retryCurrent(Math.min(capMillis, retryAfterMillis + ThreadLocalRandom.current().nextLong(baseMillis + 1)));
+    }
+}
@@ -0,0 +1,122 @@
+package com.netease.nim.server.sdk.core.endpoint;
+
+import com.alibaba.fastjson2.JSONReader;
+import okhttp3.Headers;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 服务端的响应，用于 RetryPolicy.onResponse 判断是否需要重试
+ * 响应体中的 code 在首次调用 getCode 时才解析
+ */
+public class ServerResponse {
+
+    private static final int UNPARSED = Integer.MIN_VALUE;
+
+    private final String endpoint;
+    private final int httpCode;
+    private final String data;
+    private final Headers headers;
+    private int code = UNPARSED;
+
+    public ServerResponse(String endpoint, int httpCode, String data, Headers headers) {
+        this.endpoint = endpoint;
+        this.httpCode = httpCode;
+        this.data = data;
+        this.headers = headers;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getHttpCode() {
+        return httpCode;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    /**
+     * @param name 名称，不区分大小写
+     * @return 响应头，不存在时返回null
+     */
+    public String getHeader(String name) {
+        return headers == null ? null : headers.get(name);
+    }
+
+    /**
+     * @return 响应体中的code，响应体不是json或者没有code时返回-1
+     */
+    public int getCode() {
+        if (code == UNPARSED) {
+            code = parseCode(data);
+        }
+        return code;
+    }
+
+    /**
+     * @return Retry-After 响应头对应的等待时间（ms），没有该响应头时返回-1
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis(getHeader("Retry-After"));
+    }
+
+    /**
+     * 只读取到顶层的code字段为止，code一般是第一个字段，不会解析整个响应体
+     */
+    private static int parseCode(String data) {
+        if (data == null || data.isEmpty()) {
+            return -1;
+        }
+        try (JSONReader reader = JSONReader.of(data)) {
+            if (!reader.nextIfObjectStart()) {
+                return -1;
+            }
+            while (!reader.nextIfObjectEnd()) {
+                String name = reader.readFieldName();
+                if ("code".equals(name)) {
+                    return reader.readInt32Value();
+                }
+                reader.skipValue();
+            }
+            return -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 解析 Retry-After，支持秒数和 HTTP-date 两种格式
+     * @param value 响应头
+     * @return 等待时间（ms），无法解析时返回-1
+     */
+    public static long retryAfterMillis(String value) {
+        if (value == null) {
+            return -1;
+        }
+        value = value.trim();
+        if (value.isEmpty()) {
+            return -1;
+        }
+        if (Character.isDigit(value.charAt(0))) {
+            try {
+                return Long.parseLong(value) * 1000;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        Date date = format.parse(value, new ParsePosition(0));
+        if (date == null) {
+            return -1;
+        }
+        return Math.max(0, date.getTime() - System.currentTimeMillis());
+    }
+}
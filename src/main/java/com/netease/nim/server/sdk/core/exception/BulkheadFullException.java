@@ -0,0 +1,18 @@
+package com.netease.nim.server.sdk.core.exception;
+
+/**
+ * 舱壁排队数已满或者排队超时，请求没有发出
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final String bulkhead;
+
+    public BulkheadFullException(String bulkhead, String reason) {
+        super("bulkhead: " + bulkhead + ", " + reason);
+        this.bulkhead = bulkhead;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+}
@@ -0,0 +1,26 @@
+package com.netease.nim.server.sdk.core.exception;
+
+/**
+ * 请求的剩余时间不足，没有发出（或者在舱壁排队中被丢弃、发出后到截止时间仍未完成）
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private final long deadline;
+
+    public DeadlineExceededException(long deadline, String reason) {
+        super("deadline exceeded, " + reason);
+        this.deadline = deadline;
+    }
+
+    public DeadlineExceededException(long deadline, String reason, Throwable cause) {
+        super("deadline exceeded, " + reason, cause);
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return 截止时间，System.currentTimeMillis
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+}
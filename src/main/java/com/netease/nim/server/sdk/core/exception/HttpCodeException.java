@@ -2,6 +2,11 @@ package com.netease.nim.server.sdk.core.exception;
 
 import com.netease.nim.server.sdk.core.BizName;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Created by caojiajun on 2024/12/9
  */
@@ -10,12 +15,19 @@ public class HttpCodeException extends RuntimeException {
     private final BizName bizName;
     private final int code;
     private final String endpoint;
+    //name为小写
+    private final Map<String, List<String>> headers;
 
     public HttpCodeException(BizName bizName, String endpoint, int code, String data) {
+        this(bizName, endpoint, code, data, Collections.emptyMap());
+    }
+
+    public HttpCodeException(BizName bizName, String endpoint, int code, String data, Map<String, List<String>> headers) {
         super("biz:" + bizName + ", endpoint: "+ endpoint + ", http.code: " + code + ", data: " + data);
         this.code = code;
         this.bizName = bizName;
         this.endpoint = endpoint;
+        this.headers = headers;
     }
 
     public BizName getBizName() {
@@ -29,4 +41,13 @@ public class HttpCodeException extends RuntimeException {
     public String getEndpoint() {
         return endpoint;
     }
+
+    /**
+     * @param name 名称，不区分大小写
+     * @return 响应头，不存在时返回null
+     */
+    public String getHeader(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+        return values == null || values.isEmpty() ? null : values.get(values.size() - 1);
+    }
 }
@@ -0,0 +1,222 @@
+package com.netease.nim.server.sdk.core.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * application/x-www-form-urlencoded body, encoded straight into a growable byte buffer by FormUrlEncoder
+ * null values are skipped, same as YunxinParamUtils.convert
+ */
+public class FormUrlEncodedWriter {
+
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buf;
+    private int count;
+    private int params;
+
+    public FormUrlEncodedWriter() {
+        this(256);
+    }
+
+    public FormUrlEncodedWriter(int initialCapacity) {
+        this.buf = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public FormUrlEncodedWriter add(String key, String value) {
+        if (value == null) {
+            return this;
+        }
+        writeKey(key);
+        writeEncoded(value);
+        return this;
+    }
+
+    /**
+     * 同 Map.put，已存在的同名参数会先被移除
+     * @param key key
+     * @param value value
+     * @return this
+     */
+    public FormUrlEncodedWriter set(String key, String value) {
+        remove(key);
+        return add(key, value);
+    }
+
+    public FormUrlEncodedWriter add(String key, Integer value) {
+        if (value == null) {
+            return this;
+        }
+        return add(key, value.intValue());
+    }
+
+    public FormUrlEncodedWriter add(String key, Long value) {
+        if (value == null) {
+            return this;
+        }
+        return add(key, value.longValue());
+    }
+
+    public FormUrlEncodedWriter add(String key, Boolean value) {
+        if (value == null) {
+            return this;
+        }
+        return add(key, value.booleanValue());
+    }
+
+    public FormUrlEncodedWriter add(String key, int value) {
+        return add(key, (long) value);
+    }
+
+    public FormUrlEncodedWriter add(String key, long value) {
+        writeKey(key);
+        writeLong(value);
+        return this;
+    }
+
+    public FormUrlEncodedWriter add(String key, boolean value) {
+        writeKey(key);
+        writeBytes(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public FormUrlEncodedWriter add(String key, Object value) {
+        if (value == null) {
+            return this;
+        }
+        return add(key, value.toString());
+    }
+
+    /**
+     * 参数个数
+     * @return count
+     */
+    public int params() {
+        return params;
+    }
+
+    /**
+     * 已编码的字节数
+     * @return bytes
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 内部buffer，有效数据为 [0, size())，不要修改
+     * @return buffer
+     */
+    public byte[] buffer() {
+        return buf;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, count, StandardCharsets.US_ASCII);
+    }
+
+    private void remove(String key) {
+        if (params == 0) {
+            return;
+        }
+        int mark = count;
+        int markParams = params;
+        writeKey(key);
+        int keyLength = count - mark - (markParams > 0 ? 1 : 0);
+        int keyOffset = count - keyLength;
+        int start = 0;
+        while (start < mark) {
+            int end = start;
+            while (end < mark && buf[end] != '&') {
+                end++;
+            }
+            if (end - start >= keyLength && regionEquals(start, keyOffset, keyLength)) {
+                int from = end < mark ? end + 1 : end;
+                int to = end < mark || start == 0 ? start : start - 1;
+                System.arraycopy(buf, from, buf, to, mark - from);
+                mark -= from - to;
+                markParams--;
+                break;
+            }
+            start = end + 1;
+        }
+        count = mark;
+        params = markParams;
+    }
+
+    private boolean regionEquals(int offset, int otherOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (buf[offset + i] != buf[otherOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeKey(String key) {
+        if (params > 0) {
+            writeByte('&');
+        }
+        writeEncoded(key);
+        writeByte('=');
+        params++;
+    }
+
+    @SuppressWarnings("deprecation")
+    private void writeEncoded(String value) {
+        int len = value.length();
+        if (FormUrlEncoder.isSafe(value)) {
+            ensureCapacity(count + len);
+            value.getBytes(0, len, buf, count);
+            count += len;
+            return;
+        }
+        ensureCapacity(count + FormUrlEncoder.encodedLength(value));
+        count = FormUrlEncoder.encode(value, buf, count);
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeEncoded(Long.toString(value));
+            return;
+        }
+        ensureCapacity(count + 20);
+        if (value < 0) {
+            buf[count++] = '-';
+            value = -value;
+        }
+        int start = count;
+        do {
+            buf[count++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        for (int i = start, j = count - 1; i < j; i++, j--) {
+            byte tmp = buf[i];
+            buf[i] = buf[j];
+            buf[j] = tmp;
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(count + bytes.length);
+        System.arraycopy(bytes, 0, buf, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, minCapacity));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.netease.nim.server.sdk.core.http;
+
+/**
+ * application/x-www-form-urlencoded 编码，结果与 URLEncoder.encode(s, "utf-8") 一致
+ * 直接把 utf-8 字节写入目标数组，不经过 String/StringBuilder 中转
+ * 全部为安全字符时（如所有参数名、数字、大部分accid）走批量拷贝的快速路径
+ */
+public class FormUrlEncoder {
+
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    private static final boolean[] SAFE = new boolean[128];
+
+    static {
+        for (int c = 'a'; c <= 'z'; c++) {
+            SAFE[c] = true;
+        }
+        for (int c = 'A'; c <= 'Z'; c++) {
+            SAFE[c] = true;
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            SAFE[c] = true;
+        }
+        SAFE['.'] = true;
+        SAFE['-'] = true;
+        SAFE['*'] = true;
+        SAFE['_'] = true;
+    }
+
+    private FormUrlEncoder() {
+    }
+
+    /**
+     * 是否不需要编码
+     * @param s string
+     * @return true/false
+     */
+    public static boolean isSafe(String s) {
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            if (c >= 128 || !SAFE[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 编码后的字节数
+     * @param s string
+     * @return length
+     */
+    public static int encodedLength(String s) {
+        int len = s.length();
+        int result = len;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 128) {
+                if (!SAFE[c] && c != ' ') {
+                    result += 2;
+                }
+            } else if (c < 0x800) {
+                result += 5;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                //4 bytes, 2 chars
+                result += 10;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                //malformed, encoded as '?'
+                result += 2;
+            } else {
+                result += 8;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 编码并写入dst，调用方需要保证容量不小于 encodedLength(s)
+     * @param s string
+     * @param dst 目标数组
+     * @param offset 起始位置
+     * @return 写入后的位置
+     */
+    @SuppressWarnings("deprecation")
+    public static int encode(String s, byte[] dst, int offset) {
+        int len = s.length();
+        if (isSafe(s)) {
+            s.getBytes(0, len, dst, offset);
+            return offset + len;
+        }
+        int pos = offset;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 128) {
+                if (SAFE[c]) {
+                    dst[pos++] = (byte) c;
+                } else if (c == ' ') {
+                    dst[pos++] = '+';
+                } else {
+                    pos = percent(dst, pos, c);
+                }
+            } else if (c < 0x800) {
+                pos = percent(dst, pos, 0xC0 | (c >> 6));
+                pos = percent(dst, pos, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                pos = percent(dst, pos, 0xF0 | (cp >> 18));
+                pos = percent(dst, pos, 0x80 | ((cp >> 12) & 0x3F));
+                pos = percent(dst, pos, 0x80 | ((cp >> 6) & 0x3F));
+                pos = percent(dst, pos, 0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                pos = percent(dst, pos, '?');
+            } else {
+                pos = percent(dst, pos, 0xE0 | (c >> 12));
+                pos = percent(dst, pos, 0x80 | ((c >> 6) & 0x3F));
+                pos = percent(dst, pos, 0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+
+    private static int percent(byte[] dst, int pos, int b) {
+        dst[pos] = '%';
+        dst[pos + 1] = HEX[(b >> 4) & 0x0F];
+        dst[pos + 2] = HEX[b & 0x0F];
+        return pos + 3;
+    }
+}
@@ -1,7 +1,5 @@
 package com.netease.nim.server.sdk.core.http;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,18 +19,10 @@ public class ParamBuilder {
     }
 
     public String build() {
-        try {
-            StringBuilder builder = new StringBuilder();
-            for (Map.Entry<String, String> entry : map.entrySet()) {
-                builder.append(URLEncoder.encode(entry.getKey(), "utf-8")).append("=")
-                        .append(URLEncoder.encode(entry.getValue(), "utf-8")).append("&");
-            }
-            if (builder.length() > 0) {
-                builder.deleteCharAt(builder.length() - 1);
-            }
-            return builder.toString();
-        } catch (UnsupportedEncodingException e) {
-            return "";
+        FormUrlEncodedWriter writer = new FormUrlEncodedWriter();
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writer.add(entry.getKey(), entry.getValue());
         }
+        return writer.toString();
     }
 }
@@ -0,0 +1,196 @@
+package com.netease.nim.server.sdk.core.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 预编译的uri模板，如：/im/v2/conversations/{conversation_id}/messages/{message_server_id}
+ * expand 一次遍历完成变量替换，变量值按 path segment 做 percent-encoding（RFC 3986），'/'、'?'、'#' 等字符不会改变路径结构
+ * getTemplate 返回原始模板，用于监控（uri）
+ */
+public final class UriTemplate {
+
+    private static final char[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    //pchar = unreserved / sub-delims / ":" / "@"
+    private static final boolean[] PCHAR = new boolean[128];
+
+    static {
+        for (int c = 'a'; c <= 'z'; c++) {
+            PCHAR[c] = true;
+        }
+        for (int c = 'A'; c <= 'Z'; c++) {
+            PCHAR[c] = true;
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            PCHAR[c] = true;
+        }
+        for (char c : "-._~!$&'()*+,;=:@".toCharArray()) {
+            PCHAR[c] = true;
+        }
+    }
+
+    private final String template;
+    //literals.length == variables.length + 1
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private UriTemplate(String template, String[] literals, String[] variables) {
+        this.template = template;
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 编译模板
+     * @param template 模板，变量格式为 {name}
+     * @return uri template
+     */
+    public static UriTemplate compile(String template) {
+        if (template == null) {
+            throw new IllegalArgumentException("template is null");
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            int open = template.indexOf('{', start);
+            if (open < 0) {
+                break;
+            }
+            int close = template.indexOf('}', open);
+            if (close < 0 || close == open + 1) {
+                throw new IllegalArgumentException("illegal uri template: " + template);
+            }
+            literals.add(template.substring(start, open));
+            variables.add(template.substring(open + 1, close));
+            start = close + 1;
+        }
+        literals.add(template.substring(start));
+        return new UriTemplate(template, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    /**
+     * 原始模板，用于监控
+     * @return template
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * 变量名，按出现顺序
+     * @return variables
+     */
+    public List<String> getVariables() {
+        List<String> list = new ArrayList<>(variables.length);
+        Collections.addAll(list, variables);
+        return list;
+    }
+
+    /**
+     * 展开模板
+     * @param values 变量值，按变量在模板中出现的顺序
+     * @return path
+     */
+    public String expand(String... values) {
+        if (values.length != variables.length) {
+            throw new IllegalArgumentException("uri template " + template + " requires " + variables.length
+                    + " variables, but " + values.length + " provided");
+        }
+        if (variables.length == 0) {
+            return template;
+        }
+        int length = literalLength;
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i];
+            if (value == null) {
+                throw new IllegalArgumentException("uri template " + template + " variable " + variables[i] + " is null");
+            }
+            length += encodedLength(value);
+        }
+        char[] chars = new char[length];
+        int pos = 0;
+        for (int i = 0; i < values.length; i++) {
+            String literal = literals[i];
+            literal.getChars(0, literal.length(), chars, pos);
+            pos += literal.length();
+            pos = encode(values[i], chars, pos);
+        }
+        String literal = literals[values.length];
+        literal.getChars(0, literal.length(), chars, pos);
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private static int encodedLength(String value) {
+        int len = value.length();
+        int result = len;
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (c < 128) {
+                if (!PCHAR[c]) {
+                    result += 2;
+                }
+            } else if (c < 0x800) {
+                result += 5;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {
+                result += 10;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                //malformed, encoded as '?'
+                result += 2;
+            } else {
+                result += 8;
+            }
+        }
+        return result;
+    }
+
+    private static int encode(String value, char[] dst, int pos) {
+        for (int i = 0, len = value.length(); i < len; i++) {
+            char c = value.charAt(i);
+            if (c < 128) {
+                if (PCHAR[c]) {
+                    dst[pos++] = c;
+                } else {
+                    pos = percent(dst, pos, c);
+                }
+            } else if (c < 0x800) {
+                pos = percent(dst, pos, 0xC0 | (c >> 6));
+                pos = percent(dst, pos, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                pos = percent(dst, pos, 0xF0 | (cp >> 18));
+                pos = percent(dst, pos, 0x80 | ((cp >> 12) & 0x3F));
+                pos = percent(dst, pos, 0x80 | ((cp >> 6) & 0x3F));
+                pos = percent(dst, pos, 0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                pos = percent(dst, pos, '?');
+            } else {
+                pos = percent(dst, pos, 0xE0 | (c >> 12));
+                pos = percent(dst, pos, 0x80 | ((c >> 6) & 0x3F));
+                pos = percent(dst, pos, 0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+
+    private static int percent(char[] dst, int pos, int b) {
+        dst[pos] = '%';
+        dst[pos + 1] = HEX[(b >> 4) & 0x0F];
+        dst[pos + 2] = HEX[b & 0x0F];
+        return pos + 3;
+    }
+}
@@ -0,0 +1,77 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import com.netease.nim.server.sdk.core.bulkhead.Priority;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 舱壁维度的排队监控，按优先级区分，通过 YunxinApiSdkMetricsCollector.bulkheadRecorder 获取
+ */
+public final class BulkheadRecorder {
+
+    static final Priority[] PRIORITIES = Priority.values();
+
+    private final YunxinApiSdkMetricsCollector collector;
+    private final String bulkhead;
+    //下标为 Priority.ordinal，首次记录时创建
+    private final AtomicReferenceArray<IntervalStatistics> queueWaits = new AtomicReferenceArray<>(PRIORITIES.length);
+    private final AtomicReferenceArray<IntervalCounter> rejected = new AtomicReferenceArray<>(PRIORITIES.length);
+
+    BulkheadRecorder(YunxinApiSdkMetricsCollector collector, String bulkhead) {
+        this.collector = collector;
+        this.bulkhead = bulkhead;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * 记录一次获取到许可前的排队时间，不需要排队时为0
+     * @param priority 优先级
+     * @param waitMs 排队时间
+     */
+    public void recordQueueWait(Priority priority, long waitMs) {
+        int index = priority.ordinal();
+        IntervalStatistics statistics = queueWaits.get(index);
+        if (statistics == null) {
+            queueWaits.compareAndSet(index, null, new IntervalStatistics(collector.windowTicks()));
+            statistics = queueWaits.get(index);
+        }
+        WriterReaderPhaser phaser = collector.phaser();
+        long ticket = phaser.writerCriticalSectionEnter();
+        try {
+            statistics.update(ticket, waitMs);
+        } finally {
+            phaser.writerCriticalSectionExit(ticket);
+        }
+    }
+
+    /**
+     * 记录一次因排队已满或排队超时被拒绝的请求
+     * @param priority 优先级
+     */
+    public void recordRejected(Priority priority) {
+        int index = priority.ordinal();
+        IntervalCounter counter = rejected.get(index);
+        if (counter == null) {
+            rejected.compareAndSet(index, null, new IntervalCounter(collector.windowTicks()));
+            counter = rejected.get(index);
+        }
+        WriterReaderPhaser phaser = collector.phaser();
+        long ticket = phaser.writerCriticalSectionEnter();
+        try {
+            counter.add(ticket, 1);
+        } finally {
+            phaser.writerCriticalSectionExit(ticket);
+        }
+    }
+
+    IntervalStatistics queueWait(Priority priority) {
+        return queueWaits.get(priority.ordinal());
+    }
+
+    IntervalCounter rejected(Priority priority) {
+        return rejected.get(priority.ordinal());
+    }
+}
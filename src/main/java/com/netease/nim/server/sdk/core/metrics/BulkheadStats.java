@@ -0,0 +1,117 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+/**
+ * 舱壁、优先级维度的排队时间（ms）和拒绝次数，count 为获取到许可的请求数
+ */
+public class BulkheadStats {
+
+    private String bulkhead;
+    //high/normal/low
+    private String priority;
+    private long count;
+    private long rejected;
+    private double avg;
+    private long max;
+    private long p50;
+    private long p75;
+    private long p90;
+    private long p95;
+    private long p99;
+    private long p999;
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(String bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public double getAvg() {
+        return avg;
+    }
+
+    public void setAvg(double avg) {
+        this.avg = avg;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public void setMax(long max) {
+        this.max = max;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public void setP50(long p50) {
+        this.p50 = p50;
+    }
+
+    public long getP75() {
+        return p75;
+    }
+
+    public void setP75(long p75) {
+        this.p75 = p75;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public void setP90(long p90) {
+        this.p90 = p90;
+    }
+
+    public long getP95() {
+        return p95;
+    }
+
+    public void setP95(long p95) {
+        this.p95 = p95;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public void setP99(long p99) {
+        this.p99 = p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public void setP999(long p999) {
+        this.p999 = p999;
+    }
+}
@@ -0,0 +1,86 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import com.netease.nim.server.sdk.core.bulkhead.Bulkhead;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * client级别的瞬时值，在 collect 时或 prometheus 拉取时采样
+ */
+public final class ClientGauges {
+
+    //endpoint个数上限，超过后计入 __overflow__
+    private static final int MAX_ENDPOINTS = 64;
+
+    private final Dispatcher dispatcher;
+    private final ConnectionPool connectionPool;
+    private final ConcurrentHashMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger overflowInFlight = new AtomicInteger();
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+    private volatile List<Bulkhead> bulkheads = Collections.emptyList();
+
+    public ClientGauges(Dispatcher dispatcher, ConnectionPool connectionPool) {
+        this.dispatcher = dispatcher;
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * endpoint的在途请求计数，发送前 incrementAndGet，结束后 decrementAndGet
+     * @param endpoint endpoint
+     * @return counter
+     */
+    public AtomicInteger inFlight(String endpoint) {
+        AtomicInteger counter = inFlight.get(endpoint);
+        if (counter == null) {
+            if (inFlight.size() >= MAX_ENDPOINTS) {
+                return overflowInFlight;
+            }
+            counter = inFlight.computeIfAbsent(endpoint, k -> new AtomicInteger());
+        }
+        return counter;
+    }
+
+    /**
+     * 等待重试间隔的请求计数
+     * @return counter
+     */
+    public AtomicInteger pendingRetries() {
+        return pendingRetries;
+    }
+
+    public void setBulkheads(List<Bulkhead> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    public GaugeStats sample() {
+        GaugeStats gaugeStats = new GaugeStats();
+        gaugeStats.setRunningCalls(dispatcher.runningCallsCount());
+        gaugeStats.setQueuedCalls(dispatcher.queuedCallsCount());
+        gaugeStats.setConnections(connectionPool.connectionCount());
+        gaugeStats.setIdleConnections(connectionPool.idleConnectionCount());
+        gaugeStats.setPendingRetries(pendingRetries.get());
+        int total = 0;
+        for (Map.Entry<String, AtomicInteger> entry : inFlight.entrySet()) {
+            int value = entry.getValue().get();
+            gaugeStats.getEndpointInFlightRequests().put(entry.getKey(), value);
+            total += value;
+        }
+        int overflow = overflowInFlight.get();
+        if (overflow > 0) {
+            gaugeStats.getEndpointInFlightRequests().put(YunxinApiSdkMetricsCollector.OVERFLOW, overflow);
+            total += overflow;
+        }
+        gaugeStats.setInFlightRequests(total);
+        for (Bulkhead bulkhead : bulkheads) {
+            gaugeStats.getBulkheadActiveRequests().put(bulkhead.getName(), bulkhead.getActiveRequests());
+            gaugeStats.getBulkheadQueuedRequests().put(bulkhead.getName(), bulkhead.getQueuedRequests());
+        }
+        return gaugeStats;
+    }
+}
@@ -0,0 +1,35 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+/**
+ * endpoint维度的连接复用情况，reused 为复用连接池中连接的次数，created 为新建连接的次数
+ */
+public class ConnectionStats {
+
+    private String endpoint;
+    private long reused;
+    private long created;
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public long getReused() {
+        return reused;
+    }
+
+    public void setReused(long reused) {
+        this.reused = reused;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+}
@@ -0,0 +1,35 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+/**
+ * endpoint维度的请求体/响应体总字节数
+ */
+public class EndpointPayloadStats {
+
+    private String endpoint;
+    private long requestBytes;
+    private long responseBytes;
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    public void setRequestBytes(long requestBytes) {
+        this.requestBytes = requestBytes;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public void setResponseBytes(long responseBytes) {
+        this.responseBytes = responseBytes;
+    }
+}
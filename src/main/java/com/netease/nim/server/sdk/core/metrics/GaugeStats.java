@@ -0,0 +1,120 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 采样时刻的瞬时值：okhttp Dispatcher/ConnectionPool 的状态，以及sdk的在途请求数和等待重试的请求数
+ */
+public class GaugeStats {
+
+    private int runningCalls;
+    private int queuedCalls;
+    private int connections;
+    private int idleConnections;
+    private int inFlightRequests;
+    private int pendingRetries;
+    private Map<String, Integer> endpointInFlightRequests = new HashMap<>();
+    private Map<String, Integer> bulkheadActiveRequests = new HashMap<>();
+    private Map<String, Integer> bulkheadQueuedRequests = new HashMap<>();
+
+    /**
+     * Dispatcher.runningCallsCount()
+     * @return count
+     */
+    public int getRunningCalls() {
+        return runningCalls;
+    }
+
+    public void setRunningCalls(int runningCalls) {
+        this.runningCalls = runningCalls;
+    }
+
+    /**
+     * Dispatcher.queuedCallsCount()
+     * @return count
+     */
+    public int getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    public void setQueuedCalls(int queuedCalls) {
+        this.queuedCalls = queuedCalls;
+    }
+
+    /**
+     * ConnectionPool.connectionCount()
+     * @return count
+     */
+    public int getConnections() {
+        return connections;
+    }
+
+    public void setConnections(int connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * ConnectionPool.idleConnectionCount()
+     * @return count
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public void setIdleConnections(int idleConnections) {
+        this.idleConnections = idleConnections;
+    }
+
+    public int getInFlightRequests() {
+        return inFlightRequests;
+    }
+
+    public void setInFlightRequests(int inFlightRequests) {
+        this.inFlightRequests = inFlightRequests;
+    }
+
+    /**
+     * 失败后正在等待重试间隔的请求数
+     * @return count
+     */
+    public int getPendingRetries() {
+        return pendingRetries;
+    }
+
+    public void setPendingRetries(int pendingRetries) {
+        this.pendingRetries = pendingRetries;
+    }
+
+    public Map<String, Integer> getEndpointInFlightRequests() {
+        return endpointInFlightRequests;
+    }
+
+    public void setEndpointInFlightRequests(Map<String, Integer> endpointInFlightRequests) {
+        this.endpointInFlightRequests = endpointInFlightRequests;
+    }
+
+    /**
+     * 各个舱壁正在执行的请求数
+     * @return bulkhead -> count
+     */
+    public Map<String, Integer> getBulkheadActiveRequests() {
+        return bulkheadActiveRequests;
+    }
+
+    public void setBulkheadActiveRequests(Map<String, Integer> bulkheadActiveRequests) {
+        this.bulkheadActiveRequests = bulkheadActiveRequests;
+    }
+
+    /**
+     * 各个舱壁正在排队的请求数
+     * @return bulkhead -> count
+     */
+    public Map<String, Integer> getBulkheadQueuedRequests() {
+        return bulkheadQueuedRequests;
+    }
+
+    public void setBulkheadQueuedRequests(Map<String, Integer> bulkheadQueuedRequests) {
+        this.bulkheadQueuedRequests = bulkheadQueuedRequests;
+    }
+}
@@ -0,0 +1,71 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 双buffer计数器，配合 WriterReaderPhaser 使用，和 IntervalStatistics 一样按周期保存在环形数组中，用于滚动窗口查询
+ * 环形数组和lifetime只在持有 readerLock 时读写
+ */
+final class IntervalCounter {
+
+    private final AtomicLongArray buffers = new AtomicLongArray(2);
+    private final long[] ring;
+    private long lifetime;
+    //只在持有 readerLock 时读写
+    private long rolls;
+    private long lastActiveTick = -1;
+
+    IntervalCounter(int windowTicks) {
+        this.ring = new long[windowTicks];
+    }
+
+    void add(long ticket, long delta) {
+        buffers.addAndGet(WriterReaderPhaser.index(ticket), delta);
+    }
+
+    /**
+     * @param index WriterReaderPhaser.flipPhase 的返回值
+     * @param tick 周期序号
+     * @return 旧阶段的计数
+     */
+    long roll(int index, long tick) {
+        long value = buffers.getAndSet(index, 0);
+        rolls++;
+        if (value != 0) {
+            lastActiveTick = tick;
+        }
+        ring[(int) (tick % ring.length)] = value;
+        lifetime += value;
+        return value;
+    }
+
+    long window(long lastTick, int ticks) {
+        long result = 0;
+        for (int i = 0; i < ticks && i < ring.length && i <= lastTick; i++) {
+            result += ring[(int) ((lastTick - i) % ring.length)];
+        }
+        return result;
+    }
+
+    long lifetime() {
+        return lifetime;
+    }
+
+    /**
+     * 同 IntervalStatistics.idle
+     */
+    boolean idle(long tick) {
+        return rolls >= ring.length && (lastActiveTick < 0 || tick - lastActiveTick >= ring.length);
+    }
+
+    boolean isEmpty(int index) {
+        return buffers.get(index) == 0;
+    }
+
+    /**
+     * 同 IntervalStatistics.absorb
+     */
+    void absorb(IntervalCounter from, int index) {
+        buffers.addAndGet(index, from.buffers.getAndSet(index, 0));
+    }
+}
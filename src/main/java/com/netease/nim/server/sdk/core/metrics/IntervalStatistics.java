@@ -0,0 +1,118 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 双buffer的Statistics，配合 WriterReaderPhaser 使用
+ * 写线程按ticket写入当前阶段的buffer，读线程切换阶段后读取并重置旧阶段的buffer，每个样本只会落在一个统计周期内
+ * 每个周期的快照保存在环形数组中，用于滚动窗口（1m/5m/15m）查询，同时累加到lifetime，环形数组和lifetime只在持有 readerLock 时读写
+ * 连续 ring.length 个周期（15分钟）没有数据时可以被淘汰，见 YunxinApiSdkMetricsCollector.evictIdle
+ * 内存上限：2 个 buffer 各一个直方图（默认布局下最多 2 x 40KB，没有数据的周期结束后释放），加上环形数组中只保存非 0 桶的快照
+ */
+final class IntervalStatistics {
+
+    private final Statistics[] buffers;
+    //下标为 tick % ring.length，没有数据的周期为null
+    private final LogLinearHistogram.Snapshot[] ring;
+    private LogLinearHistogram.Snapshot lifetime;
+    //已结束的周期个数和最近一个有数据的周期序号，只在持有 readerLock 时读写
+    private long rolls;
+    private long lastActiveTick = -1;
+
+    IntervalStatistics(int windowTicks) {
+        this.buffers = new Statistics[] {new Statistics(), new Statistics()};
+        this.ring = new LogLinearHistogram.Snapshot[windowTicks];
+    }
+
+    IntervalStatistics(int windowTicks, int significantDigits, long highestTrackableValue) {
+        this.buffers = new Statistics[] {new Statistics(significantDigits, highestTrackableValue), new Statistics(significantDigits, highestTrackableValue)};
+        this.ring = new LogLinearHistogram.Snapshot[windowTicks];
+    }
+
+    void update(long ticket, long value) {
+        buffers[WriterReaderPhaser.index(ticket)].update(value);
+    }
+
+    /**
+     * 读取并重置旧阶段的buffer，计入滚动窗口
+     * @param index WriterReaderPhaser.flipPhase 的返回值
+     * @param tick 周期序号
+     * @return 旧阶段的快照
+     */
+    LogLinearHistogram.Snapshot roll(int index, long tick) {
+        LogLinearHistogram.Snapshot snapshot = buffers[index].snapshotAndReset();
+        rolls++;
+        if (snapshot.getCount() == 0) {
+            ring[(int) (tick % ring.length)] = null;
+            return snapshot;
+        }
+        ring[(int) (tick % ring.length)] = snapshot;
+        lastActiveTick = tick;
+        lifetime = lifetime == null ? snapshot : lifetime.merge(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * @param lastTick 最近结束的周期序号
+     * @param ticks 周期个数
+     * @return 最近 ticks 个周期合并后的快照，没有数据时返回null
+     */
+    LogLinearHistogram.Snapshot window(long lastTick, int ticks) {
+        LogLinearHistogram.Snapshot result = null;
+        for (int i = 0; i < ticks && i < ring.length && i <= lastTick; i++) {
+            LogLinearHistogram.Snapshot snapshot = ring[(int) ((lastTick - i) % ring.length)];
+            if (snapshot != null) {
+                result = result == null ? snapshot : result.merge(snapshot);
+            }
+        }
+        return result;
+    }
+
+    LogLinearHistogram.Snapshot lifetime() {
+        return lifetime;
+    }
+
+    /**
+     * @param tick 最近结束的周期序号
+     * @return 环形数组中是否没有数据，创建后不足 ring.length 个周期的不算
+     */
+    boolean idle(long tick) {
+        return rolls >= ring.length && (lastActiveTick < 0 || tick - lastActiveTick >= ring.length);
+    }
+
+    /**
+     * @param index WriterReaderPhaser.flipPhase 的返回值
+     * @return 旧阶段的buffer是否没有数据
+     */
+    boolean isEmpty(int index) {
+        return buffers[index].snapshot().getCount() == 0;
+    }
+
+    /**
+     * 把被淘汰的监控项旧阶段的数据合并到当前监控项旧阶段的buffer，需要在 flipPhase 之后、roll 之前调用
+     * @param from 被淘汰的监控项
+     * @param index WriterReaderPhaser.flipPhase 的返回值
+     */
+    void absorb(IntervalStatistics from, int index) {
+        buffers[index].add(from.buffers[index].snapshotAndReset());
+    }
+
+    /**
+     * 处理被淘汰的监控项在淘汰前写入旧阶段的数据，target[i] 为空时放回，否则合并到 target[i]
+     * @param target 监控项所在的数组
+     * @param i 下标
+     * @param from 被淘汰的监控项
+     * @param index WriterReaderPhaser.flipPhase 的返回值
+     * @return 是否放回，放回时监控项计数不需要释放
+     */
+    static boolean settle(AtomicReferenceArray<IntervalStatistics> target, int i, IntervalStatistics from, int index) {
+        if (from.isEmpty(index)) {
+            return false;
+        }
+        if (target.compareAndSet(i, null, from)) {
+            return true;
+        }
+        target.get(i).absorb(from, index);
+        return false;
+    }
+}
@@ -0,0 +1,385 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * log-linear 直方图（HdrHistogram 的桶布局）
+ * 值按 2 的幂分段，每段内再线性分为 2^n 个子桶，significantDigits 位有效数字内保证精度，
+ * 如 significantDigits=2 时 0-255 精确，其余相对误差小于 1%，超过 highestTrackableValue 的值计入最后一个桶，落在该桶的分位值取 max
+ * 计数按线程哈希分散到多个 stripe，初始只有 1 个 stripe，检测到竞争（CAS 失败）时翻倍扩容，上限为 MAX_STRIPES，
+ * 每个 stripe 为 countsLength 个 long（2位有效数字、最大 60s 时为 1280 个，即 10KB），单个直方图最多 40KB；
+ * 重置时如果没有数据，释放所有 stripe，空闲的直方图不占用计数数组
+ */
+public final class LogLinearHistogram {
+
+    /**
+     * stripe 个数上限，竞争更激烈时多个线程共用一个 stripe，只影响 CAS 重试次数，不影响正确性
+     */
+    static final int MAX_STRIPES = 4;
+
+    private final int significantDigits;
+    private final long highestTrackableValue;
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+    private final int countsLength;
+    private final int lastIndex;
+
+    //copy-on-write, 元素懒加载
+    private volatile AtomicLongArray[] stripes = new AtomicLongArray[1];
+
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    /**
+     * @param significantDigits 有效数字位数，1-5
+     * @param highestTrackableValue 可精确统计的最大值，>= 2
+     */
+    public LogLinearHistogram(int significantDigits, long highestTrackableValue) {
+        if (significantDigits < 1 || significantDigits > 5) {
+            throw new IllegalArgumentException("significantDigits should between 1 and 5");
+        }
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException("highestTrackableValue should >= 2");
+        }
+        this.significantDigits = significantDigits;
+        this.highestTrackableValue = highestTrackableValue;
+        long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        int subBucketCountMagnitude = 64 - Long.numberOfLeadingZeros(largestValueWithSingleUnitResolution - 1);
+        this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+        int subBucketCount = 1 << subBucketCountMagnitude;
+        this.subBucketHalfCount = subBucketCount >> 1;
+        this.subBucketMask = subBucketCount - 1;
+        this.leadingZeroCountBase = 64 - subBucketHalfCountMagnitude - 1;
+        long smallestUntrackableValue = subBucketCount;
+        int bucketsNeeded = 1;
+        while (smallestUntrackableValue <= highestTrackableValue) {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                bucketsNeeded++;
+                break;
+            }
+            smallestUntrackableValue <<= 1;
+            bucketsNeeded++;
+        }
+        this.countsLength = (bucketsNeeded + 1) << subBucketHalfCountMagnitude;
+        this.lastIndex = countsIndex(highestTrackableValue);
+    }
+
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    public long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    /**
+     * 记录一个值，负数按 0 计入分布
+     * @param value value
+     */
+    public void record(long value) {
+        sum.add(value);
+        max.accumulate(value);
+        min.accumulate(value);
+        int index = countsIndex(value < 0 ? 0 : Math.min(value, highestTrackableValue));
+        AtomicLongArray[] stripes = this.stripes;
+        int stripe = probe() & (stripes.length - 1);
+        AtomicLongArray counts = stripes[stripe];
+        if (counts == null) {
+            counts = allocate(stripe);
+        }
+        long current = counts.get(index);
+        if (!counts.compareAndSet(index, current, current + 1)) {
+            counts.incrementAndGet(index);
+            if (stripes.length < MAX_STRIPES) {
+                grow(stripes.length);
+            }
+        }
+    }
+
+    /**
+     * 把快照计入当前直方图，用于合并被淘汰的监控项中的数据
+     * @param snapshot 相同布局的快照
+     */
+    void add(Snapshot snapshot) {
+        if (snapshot.layout.significantDigits != significantDigits || snapshot.layout.highestTrackableValue != highestTrackableValue) {
+            throw new IllegalArgumentException("snapshot layout mismatch");
+        }
+        if (snapshot.count == 0) {
+            return;
+        }
+        AtomicLongArray counts = stripes[0];
+        if (counts == null) {
+            counts = allocate(0);
+        }
+        for (int i = 0; i < snapshot.indexes.length; i++) {
+            counts.addAndGet(snapshot.indexes[i], snapshot.counts[i]);
+        }
+        sum.add(snapshot.sum);
+        max.accumulate(snapshot.max);
+        min.accumulate(snapshot.min);
+    }
+
+    /**
+     * 当前数据的快照
+     * @return snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * 快照并重置，调用方需要保证没有并发写入（如配合 WriterReaderPhaser 使用），否则并发写入的样本可能只计入部分字段
+     * @return snapshot
+     */
+    public Snapshot snapshotAndReset() {
+        return snapshot(true);
+    }
+
+    private Snapshot snapshot(boolean reset) {
+        AtomicLongArray[] stripes = this.stripes;
+        long[] dense = null;
+        AtomicLongArray single = null;
+        for (AtomicLongArray stripe : stripes) {
+            if (stripe == null) {
+                continue;
+            }
+            if (single == null && dense == null) {
+                single = stripe;
+                continue;
+            }
+            if (dense == null) {
+                dense = new long[countsLength];
+                drain(single, dense, reset);
+                single = null;
+            }
+            drain(stripe, dense, reset);
+        }
+        //sparse, only non-zero buckets
+        int size = 0;
+        int[] indexes = new int[32];
+        long[] counts = new long[32];
+        long count = 0;
+        if (single != null || dense != null) {
+            for (int i = 0; i < countsLength; i++) {
+                long c;
+                if (dense != null) {
+                    c = dense[i];
+                } else {
+                    c = reset ? single.getAndSet(i, 0) : single.get(i);
+                }
+                if (c == 0) {
+                    continue;
+                }
+                if (size == indexes.length) {
+                    indexes = Arrays.copyOf(indexes, size << 1);
+                    counts = Arrays.copyOf(counts, size << 1);
+                }
+                indexes[size] = i;
+                counts[size] = c;
+                size++;
+                count += c;
+            }
+        }
+        long sum = reset ? this.sum.sumThenReset() : this.sum.sum();
+        long max = reset ? this.max.getThenReset() : this.max.get();
+        long min = reset ? this.min.getThenReset() : this.min.get();
+        if (count == 0) {
+            max = 0;
+            min = 0;
+            if (reset) {
+                //no concurrent writers while resetting
+                releaseStripes();
+            }
+        }
+        return new Snapshot(this, Arrays.copyOf(indexes, size), Arrays.copyOf(counts, size), count, sum, min, max);
+    }
+
+    private void drain(AtomicLongArray stripe, long[] dense, boolean reset) {
+        for (int i = 0; i < countsLength; i++) {
+            dense[i] += reset ? stripe.getAndSet(i, 0) : stripe.get(i);
+        }
+    }
+
+    private synchronized AtomicLongArray allocate(int stripe) {
+        AtomicLongArray[] stripes = this.stripes;
+        AtomicLongArray counts = stripes[stripe];
+        if (counts == null) {
+            counts = new AtomicLongArray(countsLength);
+            AtomicLongArray[] newStripes = Arrays.copyOf(stripes, stripes.length);
+            newStripes[stripe] = counts;
+            this.stripes = newStripes;
+        }
+        return counts;
+    }
+
+    private synchronized void releaseStripes() {
+        this.stripes = new AtomicLongArray[1];
+    }
+
+    private synchronized void grow(int length) {
+        AtomicLongArray[] stripes = this.stripes;
+        if (stripes.length == length) {
+            this.stripes = Arrays.copyOf(stripes, length << 1);
+        }
+    }
+
+    int countsIndex(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << subBucketHalfCountMagnitude) + (subBucketIndex - subBucketHalfCount);
+    }
+
+    long lowestEquivalentValue(int index) {
+        int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+        return ((long) subBucketIndex) << bucketIndex;
+    }
+
+    long highestEquivalentValue(int index) {
+        int bucketIndex = Math.max(0, (index >> subBucketHalfCountMagnitude) - 1);
+        return lowestEquivalentValue(index) + (1L << bucketIndex) - 1;
+    }
+
+    private static int probe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    /**
+     * 不可变快照，只保存非 0 的桶，相同布局（significantDigits 和 highestTrackableValue 相同）的快照可以合并
+     */
+    public static final class Snapshot {
+        private final LogLinearHistogram layout;
+        //按下标升序
+        private final int[] indexes;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        private Snapshot(LogLinearHistogram layout, int[] indexes, long[] counts, long count, long sum, long min, long max) {
+            this.layout = layout;
+            this.indexes = indexes;
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * 分位值，返回所在桶的上界，并限制在 [min, max] 内，落在最后一个桶时返回 max
+         * @param percentile 0-100
+         * @return value
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile should between 0 and 100");
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long c = 0;
+            for (int i = 0; i < indexes.length; i++) {
+                c += counts[i];
+                if (c >= countAtPercentile) {
+                    if (indexes[i] == layout.lastIndex) {
+                        return max;
+                    }
+                    long value = layout.highestEquivalentValue(indexes[i]);
+                    return Math.max(min, Math.min(value, max));
+                }
+            }
+            return max;
+        }
+
+        /**
+         * 累计计数，用于输出 histogram 的 bucket，桶按上界判断是否小于等于 bound，超过 highestTrackableValue 的样本只计入 +Inf
+         * @param bounds 升序的上界
+         * @param cumulativeCounts 输出，cumulativeCounts[i] 为小于等于 bounds[i] 的样本数
+         */
+        public void cumulativeCounts(long[] bounds, long[] cumulativeCounts) {
+            int b = 0;
+            long c = 0;
+            for (int i = 0; i < indexes.length && b < bounds.length; i++) {
+                long value = indexes[i] == layout.lastIndex ? Long.MAX_VALUE : Math.min(layout.highestEquivalentValue(indexes[i]), max);
+                while (b < bounds.length && value > bounds[b]) {
+                    cumulativeCounts[b++] = c;
+                }
+                c += counts[i];
+            }
+            while (b < bounds.length) {
+                cumulativeCounts[b++] = c;
+            }
+        }
+
+        /**
+         * 合并两个快照
+         * @param other 相同布局的快照
+         * @return 新的快照
+         */
+        public Snapshot merge(Snapshot other) {
+            if (other.layout.significantDigits != layout.significantDigits
+                    || other.layout.highestTrackableValue != layout.highestTrackableValue) {
+                throw new IllegalArgumentException("snapshot layout mismatch");
+            }
+            if (other.count == 0) {
+                return this;
+            }
+            if (count == 0) {
+                return other;
+            }
+            int[] mergedIndexes = new int[indexes.length + other.indexes.length];
+            long[] mergedCounts = new long[mergedIndexes.length];
+            int i = 0;
+            int j = 0;
+            int size = 0;
+            while (i < indexes.length || j < other.indexes.length) {
+                if (j == other.indexes.length || (i < indexes.length && indexes[i] < other.indexes[j])) {
+                    mergedIndexes[size] = indexes[i];
+                    mergedCounts[size++] = counts[i++];
+                } else if (i == indexes.length || other.indexes[j] < indexes[i]) {
+                    mergedIndexes[size] = other.indexes[j];
+                    mergedCounts[size++] = other.counts[j++];
+                } else {
+                    mergedIndexes[size] = indexes[i];
+                    mergedCounts[size++] = counts[i++] + other.counts[j++];
+                }
+            }
+            return new Snapshot(layout, Arrays.copyOf(mergedIndexes, size), Arrays.copyOf(mergedCounts, size),
+                    count + other.count, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max));
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.netease.nim.server.sdk.core.metrics;
 
 import com.netease.nim.server.sdk.core.Constants;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Created by caojiajun on 2024/12/10
  */
@@ -10,6 +13,11 @@ public class MetricsConfig {
     private boolean enable = Constants.Metric.enable;
     private int collectIntervalSeconds = Constants.Metric.collectIntervalSeconds;
     private MetricsCallback metricsCallback;
+    private int maxSeries = Constants.Metric.maxSeries;
+    private int callbackQueueSize = Constants.Metric.callbackQueueSize;
+    private List<SloObjective> sloObjectives = new ArrayList<>();
+    private List<SloBurnRule> sloBurnRules = SloBurnRule.DEFAULT_RULES;
+    private SloCallback sloCallback;
 
     public boolean isEnable() {
         return enable;
@@ -34,4 +42,44 @@ public class MetricsConfig {
     public void setMetricsCallback(MetricsCallback metricsCallback) {
         this.metricsCallback = metricsCallback;
     }
+
+    public int getMaxSeries() {
+        return maxSeries;
+    }
+
+    public void setMaxSeries(int maxSeries) {
+        this.maxSeries = maxSeries;
+    }
+
+    public int getCallbackQueueSize() {
+        return callbackQueueSize;
+    }
+
+    public void setCallbackQueueSize(int callbackQueueSize) {
+        this.callbackQueueSize = callbackQueueSize;
+    }
+
+    public List<SloObjective> getSloObjectives() {
+        return sloObjectives;
+    }
+
+    public void setSloObjectives(List<SloObjective> sloObjectives) {
+        this.sloObjectives = sloObjectives;
+    }
+
+    public List<SloBurnRule> getSloBurnRules() {
+        return sloBurnRules;
+    }
+
+    public void setSloBurnRules(List<SloBurnRule> sloBurnRules) {
+        this.sloBurnRules = sloBurnRules;
+    }
+
+    public SloCallback getSloCallback() {
+        return sloCallback;
+    }
+
+    public void setSloCallback(SloCallback sloCallback) {
+        this.sloCallback = sloCallback;
+    }
 }
@@ -0,0 +1,489 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.trace.ApiVersion;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 预解析的监控句柄，对应一个 (uri, method, contextType, apiVersion)
+ * 通过 YunxinApiSdkMetricsCollector.recorder 获取，record 时只需要按endpoint找到slot，按result下标找到Statistics，不产生对象分配
+ */
+public final class MetricsRecorder {
+
+    static final MetricsResult[] RESULTS = MetricsResult.values();
+    //单个uri下endpoint的个数上限
+    private static final int MAX_ENDPOINTS = 64;
+    //请求体/响应体大小的直方图，最大统计到64MB
+    static final long PAYLOAD_HIGHEST_TRACKABLE_VALUE = 64L * 1024 * 1024;
+
+    private final YunxinApiSdkMetricsCollector collector;
+    private final HttpMethod method;
+    private final ContextType contextType;
+    private final ApiVersion apiVersion;
+    private final String uri;
+    private final boolean overflow;
+
+    //copy-on-write
+    private volatile Slot[] slots = new Slot[0];
+    //下标为 PayloadDirection.ordinal，不区分endpoint，首次记录时创建
+    private final AtomicReferenceArray<IntervalStatistics> payloads = new AtomicReferenceArray<>(TransportRecorder.DIRECTIONS.length);
+    //被淘汰后置为true，持有该对象的调用方写入时重新获取
+    private volatile boolean removed;
+
+    MetricsRecorder(YunxinApiSdkMetricsCollector collector, HttpMethod method, ContextType contextType,
+                    ApiVersion apiVersion, String uri, boolean overflow) {
+        this.collector = collector;
+        this.method = method;
+        this.contextType = contextType;
+        this.apiVersion = apiVersion;
+        this.uri = uri;
+        this.overflow = overflow;
+    }
+
+    /**
+     * 记录一次请求
+     * @param endpoint endpoint
+     * @param result result
+     * @param spendMs 耗时
+     */
+    public void record(String endpoint, MetricsResult result, long spendMs) {
+        WriterReaderPhaser phaser = collector.phaser();
+        long ticket = phaser.writerCriticalSectionEnter();
+        try {
+            current().record(ticket, endpoint, result, spendMs);
+        } finally {
+            phaser.writerCriticalSectionExit(ticket);
+        }
+    }
+
+    private void record(long ticket, String endpoint, MetricsResult result, long spendMs) {
+        if (overflow) {
+            collector.overflow(ticket, method, contextType, apiVersion, result, spendMs);
+            collector.endpointRecorder(endpoint).record(ticket, result, spendMs);
+            return;
+        }
+        Slot slot = slot(endpoint);
+        EndpointRecorder endpointRecorder;
+        if (slot == null) {
+            collector.overflow(ticket, method, contextType, apiVersion, result, spendMs);
+            endpointRecorder = collector.endpointRecorder(endpoint);
+        } else {
+            if (!slot.record(ticket, result, spendMs)) {
+                collector.overflow(ticket, method, contextType, apiVersion, result, spendMs);
+            }
+            endpointRecorder = slot.endpointRecorder();
+        }
+        endpointRecorder.record(ticket, result, spendMs);
+    }
+
+    /**
+     * 记录一次请求体或响应体的字节数
+     * @param direction 请求/响应
+     * @param bytes 字节数
+     */
+    public void recordPayload(PayloadDirection direction, long bytes) {
+        WriterReaderPhaser phaser = collector.phaser();
+        long ticket = phaser.writerCriticalSectionEnter();
+        try {
+            current().payloadStatistics(direction).update(ticket, bytes);
+        } finally {
+            phaser.writerCriticalSectionExit(ticket);
+        }
+    }
+
+    /**
+     * 被淘汰后返回 collector 中同名的 recorder，需要在写线程临界区内调用
+     */
+    MetricsRecorder current() {
+        return removed ? collector.recorder(method, contextType, apiVersion, uri) : this;
+    }
+
+    /**
+     * 获取请求体/响应体大小的统计，首次调用时创建
+     */
+    IntervalStatistics payloadStatistics(PayloadDirection direction) {
+        IntervalStatistics statistics = payloads.get(direction.ordinal());
+        if (statistics == null) {
+            payloads.compareAndSet(direction.ordinal(), null, new IntervalStatistics(collector.windowTicks(),
+                    Statistics.DEFAULT_SIGNIFICANT_DIGITS, PAYLOAD_HIGHEST_TRACKABLE_VALUE));
+            statistics = payloads.get(direction.ordinal());
+        }
+        return statistics;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public ContextType getContextType() {
+        return contextType;
+    }
+
+    public ApiVersion getApiVersion() {
+        return apiVersion;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * 只记录uri维度，用于 __overflow__
+     */
+    void recordUri(long ticket, String endpoint, MetricsResult result, long spendMs) {
+        Slot slot = slot(endpoint);
+        if (slot != null) {
+            slot.record(ticket, result, spendMs);
+        }
+    }
+
+    void forEach(SeriesVisitor visitor) {
+        for (Slot slot : slots) {
+            for (int i = 0; i < RESULTS.length; i++) {
+                IntervalStatistics statistics = slot.results.get(i);
+                if (statistics != null) {
+                    visitor.visit(slot.endpoint, RESULTS[i], statistics);
+                }
+            }
+        }
+    }
+
+    /**
+     * 淘汰15分钟内没有数据的 (endpoint, result) 监控项，endpoint下的监控项都没有数据时移除该endpoint，调用方需要持有 readerLock
+     * @param tick 最近结束的周期序号
+     * @param evicted 淘汰时可能有写线程已经拿到了监控项，下个周期切换阶段后处理这部分数据
+     */
+    void evictIdle(long tick, List<YunxinApiSdkMetricsCollector.Evicted> evicted) {
+        if (overflow) {
+            return;
+        }
+        for (Slot slot : slots) {
+            if (idle(slot.results, tick)) {
+                removeSlot(slot);
+                for (int i = 0; i < RESULTS.length; i++) {
+                    if (slot.results.get(i) != null) {
+                        collector.releaseUriSeries();
+                    }
+                }
+                evicted.add(index -> settle(slot, index));
+                continue;
+            }
+            for (int i = 0; i < RESULTS.length; i++) {
+                IntervalStatistics statistics = slot.results.get(i);
+                if (statistics != null && statistics.idle(tick)) {
+                    slot.results.set(i, null);
+                    collector.releaseUriSeries();
+                    int result = i;
+                    evicted.add(index -> {
+                        if (IntervalStatistics.settle(slot.results, result, statistics, index)) {
+                            collector.forceAcquireUriSeries();
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * 没有endpoint并且15分钟内没有请求体/响应体数据时标记为已淘汰，由 collector 从 recorders 中移除，调用方需要持有 readerLock
+     * 需要在 evictIdle 之前调用，本周期刚淘汰的endpoint在下个周期可能放回
+     * @return 是否已淘汰
+     */
+    boolean removeIfIdle(long tick, List<YunxinApiSdkMetricsCollector.Evicted> evicted) {
+        if (overflow || slots.length > 0 || !idle(payloads, tick)) {
+            return false;
+        }
+        removed = true;
+        evicted.add(this::settleRemoved);
+        return true;
+    }
+
+    /**
+     * 淘汰时拿到了该对象的写线程可能又写入了数据，放回 collector 或合并到新的同名 recorder
+     */
+    private void settleRemoved(int index) {
+        boolean active = false;
+        for (Slot slot : slots) {
+            for (int i = 0; i < RESULTS.length && !active; i++) {
+                IntervalStatistics statistics = slot.results.get(i);
+                active = statistics != null && !statistics.isEmpty(index);
+            }
+        }
+        for (int i = 0; i < payloads.length() && !active; i++) {
+            IntervalStatistics statistics = payloads.get(i);
+            active = statistics != null && !statistics.isEmpty(index);
+        }
+        MetricsRecorder target = active ? collector.reinstallRecorder(this) : null;
+        if (target == this) {
+            removed = false;
+            return;
+        }
+        //series acquired by those writers are kept only when the statistics are moved to the target
+        for (Slot slot : slots) {
+            Slot targetSlot = target == null ? null : target.slot(slot.endpoint);
+            for (int i = 0; i < RESULTS.length; i++) {
+                IntervalStatistics statistics = slot.results.get(i);
+                if (statistics != null && (targetSlot == null || !IntervalStatistics.settle(targetSlot.results, i, statistics, index))) {
+                    collector.releaseUriSeries();
+                }
+            }
+        }
+        if (target != null) {
+            for (PayloadDirection direction : TransportRecorder.DIRECTIONS) {
+                IntervalStatistics statistics = payloads.get(direction.ordinal());
+                if (statistics != null && !statistics.isEmpty(index)) {
+                    target.payloadStatistics(direction).absorb(statistics, index);
+                }
+            }
+        }
+    }
+
+    private void settle(Slot slot, int index) {
+        boolean active = false;
+        for (int i = 0; i < RESULTS.length && !active; i++) {
+            IntervalStatistics statistics = slot.results.get(i);
+            active = statistics != null && !statistics.isEmpty(index);
+        }
+        if (!active) {
+            return;
+        }
+        Slot target = reinstallSlot(slot);
+        for (int i = 0; i < RESULTS.length; i++) {
+            IntervalStatistics statistics = slot.results.get(i);
+            if (statistics != null && (target == slot || IntervalStatistics.settle(target.results, i, statistics, index))) {
+                collector.forceAcquireUriSeries();
+            }
+        }
+    }
+
+    static boolean idle(AtomicReferenceArray<IntervalStatistics> results, long tick) {
+        for (int i = 0; i < results.length(); i++) {
+            IntervalStatistics statistics = results.get(i);
+            if (statistics != null && !statistics.idle(tick)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    IntervalStatistics payload(PayloadDirection direction) {
+        return payloads.get(direction.ordinal());
+    }
+
+    private Slot slot(String endpoint) {
+        Slot[] slots = this.slots;
+        for (Slot slot : slots) {
+            if (slot.endpoint == endpoint) {
+                return slot;
+            }
+        }
+        for (Slot slot : slots) {
+            if (slot.endpoint.equals(endpoint)) {
+                return slot;
+            }
+        }
+        return addSlot(endpoint);
+    }
+
+    private synchronized Slot addSlot(String endpoint) {
+        Slot[] slots = this.slots;
+        for (Slot slot : slots) {
+            if (slot.endpoint.equals(endpoint)) {
+                return slot;
+            }
+        }
+        if (!overflow && slots.length >= MAX_ENDPOINTS) {
+            return null;
+        }
+        Slot slot = new Slot(endpoint, overflow ? null : collector.endpointRecorder(endpoint));
+        Slot[] newSlots = Arrays.copyOf(slots, slots.length + 1);
+        newSlots[slots.length] = slot;
+        this.slots = newSlots;
+        return slot;
+    }
+
+    private synchronized void removeSlot(Slot slot) {
+        Slot[] slots = this.slots;
+        Slot[] newSlots = new Slot[slots.length - 1];
+        int size = 0;
+        for (Slot s : slots) {
+            if (s != slot) {
+                newSlots[size++] = s;
+            }
+        }
+        this.slots = newSlots;
+    }
+
+    /**
+     * 放回被移除的endpoint，期间已经有新的同名endpoint时返回新的
+     */
+    private synchronized Slot reinstallSlot(Slot slot) {
+        Slot[] slots = this.slots;
+        for (Slot s : slots) {
+            if (s.endpoint.equals(slot.endpoint)) {
+                return s;
+            }
+        }
+        Slot[] newSlots = Arrays.copyOf(slots, slots.length + 1);
+        newSlots[slots.length] = slot;
+        this.slots = newSlots;
+        return slot;
+    }
+
+    interface SeriesVisitor {
+        void visit(String endpoint, MetricsResult result, IntervalStatistics statistics);
+    }
+
+    private final class Slot {
+        private final String endpoint;
+        //endpoint维度的监控项被淘汰或者当时已超过上限时，重新获取
+        private volatile EndpointRecorder endpointRecorder;
+        private final AtomicReferenceArray<IntervalStatistics> results = new AtomicReferenceArray<>(RESULTS.length);
+
+        Slot(String endpoint, EndpointRecorder endpointRecorder) {
+            this.endpoint = endpoint;
+            this.endpointRecorder = endpointRecorder;
+        }
+
+        EndpointRecorder endpointRecorder() {
+            EndpointRecorder recorder = endpointRecorder;
+            if (recorder.removed || recorder.overflow) {
+                recorder = collector.endpointRecorder(endpoint);
+                endpointRecorder = recorder;
+            }
+            return recorder;
+        }
+
+        boolean record(long ticket, MetricsResult result, long spendMs) {
+            IntervalStatistics statistics = results.get(result.ordinal());
+            if (statistics == null) {
+                if (!overflow && !collector.acquireUriSeries()) {
+                    return false;
+                }
+                IntervalStatistics created = new IntervalStatistics(collector.windowTicks());
+                if (results.compareAndSet(result.ordinal(), null, created)) {
+                    statistics = created;
+                } else {
+                    if (!overflow) {
+                        collector.releaseUriSeries();
+                    }
+                    statistics = results.get(result.ordinal());
+                }
+            }
+            statistics.update(ticket, spendMs);
+            return true;
+        }
+    }
+
+    /**
+     * endpoint维度，同一个endpoint的多个uri共享
+     */
+    static final class EndpointRecorder {
+        private final YunxinApiSdkMetricsCollector collector;
+        private final String endpoint;
+        private final boolean overflow;
+        private final AtomicReferenceArray<IntervalStatistics> results = new AtomicReferenceArray<>(RESULTS.length);
+        //被淘汰后置为true，缓存了该对象的 Slot 会重新获取
+        private volatile boolean removed;
+
+        EndpointRecorder(YunxinApiSdkMetricsCollector collector, String endpoint, boolean overflow) {
+            this.collector = collector;
+            this.endpoint = endpoint;
+            this.overflow = overflow;
+        }
+
+        void record(long ticket, MetricsResult result, long spendMs) {
+            if (overflow) {
+                collector.overflowCount(ticket);
+            }
+            IntervalStatistics statistics = results.get(result.ordinal());
+            if (statistics == null) {
+                if (!overflow && !collector.acquireEndpointSeries()) {
+                    collector.overflowEndpoint(ticket, result, spendMs);
+                    return;
+                }
+                IntervalStatistics created = new IntervalStatistics(collector.windowTicks());
+                if (results.compareAndSet(result.ordinal(), null, created)) {
+                    statistics = created;
+                } else {
+                    if (!overflow) {
+                        collector.releaseEndpointSeries();
+                    }
+                    statistics = results.get(result.ordinal());
+                }
+            }
+            statistics.update(ticket, spendMs);
+        }
+
+        void forEach(SeriesVisitor visitor) {
+            for (int i = 0; i < RESULTS.length; i++) {
+                IntervalStatistics statistics = results.get(i);
+                if (statistics != null) {
+                    visitor.visit(endpoint, RESULTS[i], statistics);
+                }
+            }
+        }
+
+        /**
+         * 同 MetricsRecorder.evictIdle，所有result都没有数据时从 collector 中移除
+         */
+        void evictIdle(long tick, List<YunxinApiSdkMetricsCollector.Evicted> evicted) {
+            if (overflow) {
+                return;
+            }
+            if (idle(results, tick)) {
+                removed = true;
+                collector.removeEndpointRecorder(this);
+                for (int i = 0; i < RESULTS.length; i++) {
+                    if (results.get(i) != null) {
+                        collector.releaseEndpointSeries();
+                    }
+                }
+                evicted.add(this::settle);
+                return;
+            }
+            for (int i = 0; i < RESULTS.length; i++) {
+                IntervalStatistics statistics = results.get(i);
+                if (statistics != null && statistics.idle(tick)) {
+                    results.set(i, null);
+                    collector.releaseEndpointSeries();
+                    int result = i;
+                    evicted.add(index -> {
+                        if (IntervalStatistics.settle(results, result, statistics, index)) {
+                            collector.forceAcquireEndpointSeries();
+                        }
+                    });
+                }
+            }
+        }
+
+        private void settle(int index) {
+            boolean active = false;
+            for (int i = 0; i < RESULTS.length && !active; i++) {
+                IntervalStatistics statistics = results.get(i);
+                active = statistics != null && !statistics.isEmpty(index);
+            }
+            if (!active) {
+                return;
+            }
+            EndpointRecorder target = collector.reinstallEndpointRecorder(this);
+            if (target == this) {
+                removed = false;
+            }
+            for (int i = 0; i < RESULTS.length; i++) {
+                IntervalStatistics statistics = results.get(i);
+                if (statistics != null && (target == this || IntervalStatistics.settle(target.results, i, statistics, index))) {
+                    collector.forceAcquireEndpointSeries();
+                }
+            }
+        }
+
+        String getEndpoint() {
+            return endpoint;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import com.netease.nim.server.sdk.core.exception.HttpCodeException;
+import com.netease.nim.server.sdk.core.utils.ExceptionUtils;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+
+/**
+ * 监控中的result维度，取值是固定的，避免异常信息（含host/端口等）导致监控项无限增长
+ */
+public enum MetricsResult {
+
+    SUCCESS("success"),
+    //收到响应，但 RetryPolicy.onResponse 判断为频率控制等需要重试
+    THROTTLED("throttled"),
+    HTTP_CODE_400("http_code_400"),
+    HTTP_CODE_500("http_code_500"),
+    HTTP_CODE_502("http_code_502"),
+    HTTP_CODE_503("http_code_503"),
+    HTTP_CODE_504("http_code_504"),
+    HTTP_CODE_4XX("http_code_4xx"),
+    HTTP_CODE_5XX("http_code_5xx"),
+    HTTP_CODE_OTHER("http_code_other"),
+    CONNECT_TIMEOUT("connect_timeout"),
+    CONNECT_ERROR("connect_error"),
+    UNKNOWN_HOST("unknown_host"),
+    READ_WRITE_TIMEOUT("read_write_timeout"),
+    SSL_ERROR("ssl_error"),
+    IO_ERROR("io_error"),
+    OTHER_ERROR("other_error"),
+    ;
+
+    private final String label;
+
+    MetricsResult(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static MetricsResult ofHttpCode(int code) {
+        switch (code) {
+            case 400:
+                return HTTP_CODE_400;
+            case 500:
+                return HTTP_CODE_500;
+            case 502:
+                return HTTP_CODE_502;
+            case 503:
+                return HTTP_CODE_503;
+            case 504:
+                return HTTP_CODE_504;
+            default:
+                if (code >= 400 && code < 500) {
+                    return HTTP_CODE_4XX;
+                }
+                if (code >= 500 && code < 600) {
+                    return HTTP_CODE_5XX;
+                }
+                return HTTP_CODE_OTHER;
+        }
+    }
+
+    public static MetricsResult ofError(Throwable e) {
+        if (e instanceof HttpCodeException) {
+            return ofHttpCode(((HttpCodeException) e).getCode());
+        }
+        Throwable cause = ExceptionUtils.getRealCause(e);
+        if (cause instanceof UnknownHostException) {
+            return UNKNOWN_HOST;
+        }
+        if (cause instanceof ConnectException) {
+            return CONNECT_ERROR;
+        }
+        if (ExceptionUtils.isConnectError(cause)) {
+            return CONNECT_TIMEOUT;
+        }
+        if (ExceptionUtils.isTimeoutError(cause)) {
+            return READ_WRITE_TIMEOUT;
+        }
+        if (cause instanceof SSLException) {
+            return SSL_ERROR;
+        }
+        if (cause instanceof IOException) {
+            return IO_ERROR;
+        }
+        return OTHER_ERROR;
+    }
+
+    /**
+     * 兼容字符串形式的result，无法识别的归为 other_error
+     * @param label label
+     * @return result
+     */
+    public static MetricsResult ofLabel(String label) {
+        for (MetricsResult result : values()) {
+            if (result.label.equals(label)) {
+                return result;
+            }
+        }
+        if (label != null && label.startsWith("http_code_")) {
+            try {
+                return ofHttpCode(Integer.parseInt(label.substring("http_code_".length())));
+            } catch (NumberFormatException ignore) {
+                return HTTP_CODE_OTHER;
+            }
+        }
+        return OTHER_ERROR;
+    }
+}
@@ -0,0 +1,151 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 可复用的utf-8输出buffer，用于渲染 prometheus/OpenMetrics 文本，reset 后复用底层数组
+ * 非线程安全
+ */
+final class OpenMetricsWriter {
+
+    private byte[] buf;
+    private int size;
+
+    OpenMetricsWriter(int initialCapacity) {
+        this.buf = new byte[initialCapacity];
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buf, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, size, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 写入ascii字符串（指标名、固定文本）
+     */
+    OpenMetricsWriter write(String ascii) {
+        int len = ascii.length();
+        ensure(len);
+        for (int i = 0; i < len; i++) {
+            buf[size++] = (byte) ascii.charAt(i);
+        }
+        return this;
+    }
+
+    OpenMetricsWriter write(char c) {
+        ensure(1);
+        buf[size++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * 追加已写入的 [from, to) 部分，用于复用同一组标签
+     */
+    OpenMetricsWriter copy(int from, int to) {
+        int len = to - from;
+        ensure(len);
+        System.arraycopy(buf, from, buf, size, len);
+        size += len;
+        return this;
+    }
+
+    /**
+     * 写入 name="value"，value 转义 \ " 和换行
+     */
+    OpenMetricsWriter label(String name, String value) {
+        write(name).write("=\"");
+        if (value != null) {
+            for (int i = 0, len = value.length(); i < len; i++) {
+                char c = value.charAt(i);
+                if (c == '\\') {
+                    write("\\\\");
+                } else if (c == '"') {
+                    write("\\\"");
+                } else if (c == '\n') {
+                    write("\\n");
+                } else if (c < 0x80) {
+                    write(c);
+                } else if (c < 0x800) {
+                    ensure(2);
+                    buf[size++] = (byte) (0xC0 | (c >> 6));
+                    buf[size++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    ensure(4);
+                    buf[size++] = (byte) (0xF0 | (cp >> 18));
+                    buf[size++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[size++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[size++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    write('?');
+                } else {
+                    ensure(3);
+                    buf[size++] = (byte) (0xE0 | (c >> 12));
+                    buf[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[size++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+        return write('"');
+    }
+
+    OpenMetricsWriter write(long value) {
+        if (value == Long.MIN_VALUE) {
+            return write(Long.toString(value));
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        ensure(20);
+        int start = size;
+        do {
+            buf[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte b = buf[i];
+            buf[i] = buf[j];
+            buf[j] = b;
+        }
+        return this;
+    }
+
+    /**
+     * 毫秒按秒输出，保留3位小数
+     */
+    OpenMetricsWriter writeMillisAsSeconds(long millis) {
+        if (millis < 0) {
+            write('-');
+            millis = -millis;
+        }
+        write(millis / 1000).write('.');
+        long fraction = millis % 1000;
+        ensure(3);
+        buf[size++] = (byte) ('0' + fraction / 100);
+        buf[size++] = (byte) ('0' + fraction / 10 % 10);
+        buf[size++] = (byte) ('0' + fraction % 10);
+        return this;
+    }
+
+    private void ensure(int length) {
+        if (size + length > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, size + length));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+/**
+ * 请求体/响应体，字节数由 okhttp EventListener 采集，为实际收发的字节数（响应为gzip时是压缩后的大小）
+ */
+public enum PayloadDirection {
+
+    REQUEST("request"),
+    RESPONSE("response"),
+    ;
+
+    private final String label;
+
+    PayloadDirection(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -6,6 +6,7 @@ import com.netease.nim.server.sdk.core.trace.ApiVersion;
 import com.netease.nim.server.sdk.core.BizName;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Created by caojiajun on 2024/12/10
@@ -75,6 +76,100 @@ public class PrometheusConverter {
                     bizName.name(), endpoint, method, apiVersion, contextType, uri, result, p999));
         }
 
+        builder.append("# HELP overflow Stats\n");
+        builder.append("# TYPE overflow gauge\n");
+        builder.append(String.format("yunxin_sdk_metrics_overflow{biz=\"%s\"} %d\n", bizName.name(), stats.getOverflowCount()));
+
+        builder.append("# HELP callback dropped Stats\n");
+        builder.append("# TYPE callback_dropped counter\n");
+        builder.append(String.format("yunxin_sdk_metrics_callback_dropped{biz=\"%s\"} %d\n", bizName.name(), stats.getDroppedCallbackCount()));
+
+        builder.append("# HELP retry suppressed Stats\n");
+        builder.append("# TYPE retry_suppressed gauge\n");
+        builder.append(String.format("yunxin_sdk_retry_suppressed{biz=\"%s\"} %d\n", bizName.name(), stats.getRetrySuppressedCount()));
+
+        builder.append("# HELP shed Stats\n");
+        builder.append("# TYPE shed gauge\n");
+        for (Map.Entry<String, Long> entry : stats.getShedCounts().entrySet()) {
+            builder.append(String.format("yunxin_sdk_shed{biz=\"%s\",stage=\"%s\"} %d\n", bizName.name(), entry.getKey(), entry.getValue()));
+        }
+
+        builder.append("# HELP transport Stats\n");
+        builder.append("# TYPE transport gauge\n");
+        for (TransportStats transportStats : stats.getTransportStatsList()) {
+            String prefix = String.format("yunxin_sdk_transport_stats{biz=\"%s\",endpoint=\"%s\",phase=\"%s\",type=",
+                    bizName.name(), transportStats.getEndpoint(), transportStats.getPhase());
+            builder.append(prefix).append(String.format("\"count\"} %d\n", transportStats.getCount()));
+            builder.append(prefix).append(String.format("\"avg\"} %f\n", transportStats.getAvg()));
+            builder.append(prefix).append(String.format("\"max\"} %d\n", transportStats.getMax()));
+            builder.append(prefix).append(String.format("\"p50\"} %d\n", transportStats.getP50()));
+            builder.append(prefix).append(String.format("\"p90\"} %d\n", transportStats.getP90()));
+            builder.append(prefix).append(String.format("\"p99\"} %d\n", transportStats.getP99()));
+        }
+
+        builder.append("# HELP connection Stats\n");
+        builder.append("# TYPE connection gauge\n");
+        for (ConnectionStats connectionStats : stats.getConnectionStatsList()) {
+            builder.append(String.format("yunxin_sdk_connection_stats{biz=\"%s\",endpoint=\"%s\",type=\"reused\"} %d\n",
+                    bizName.name(), connectionStats.getEndpoint(), connectionStats.getReused()));
+            builder.append(String.format("yunxin_sdk_connection_stats{biz=\"%s\",endpoint=\"%s\",type=\"created\"} %d\n",
+                    bizName.name(), connectionStats.getEndpoint(), connectionStats.getCreated()));
+        }
+
+        builder.append("# HELP payload Stats\n");
+        builder.append("# TYPE payload gauge\n");
+        for (PayloadStats payloadStats : stats.getPayloadStatsList()) {
+            String prefix = String.format("yunxin_sdk_payload_stats{biz=\"%s\",method=\"%s\",api_version=\"%s\",context_type=\"%s\",uri=\"%s\",direction=\"%s\",type=",
+                    bizName.name(), payloadStats.getMethod(), payloadStats.getApiVersion(), payloadStats.getContextType(), payloadStats.getUri(), payloadStats.getDirection());
+            builder.append(prefix).append(String.format("\"count\"} %d\n", payloadStats.getCount()));
+            builder.append(prefix).append(String.format("\"sum\"} %d\n", payloadStats.getSum()));
+            builder.append(prefix).append(String.format("\"avg\"} %f\n", payloadStats.getAvg()));
+            builder.append(prefix).append(String.format("\"max\"} %d\n", payloadStats.getMax()));
+            builder.append(prefix).append(String.format("\"p50\"} %d\n", payloadStats.getP50()));
+            builder.append(prefix).append(String.format("\"p90\"} %d\n", payloadStats.getP90()));
+            builder.append(prefix).append(String.format("\"p99\"} %d\n", payloadStats.getP99()));
+        }
+        for (EndpointPayloadStats endpointPayloadStats : stats.getEndpointPayloadStatsList()) {
+            builder.append(String.format("yunxin_sdk_endpoint_payload_bytes{biz=\"%s\",endpoint=\"%s\",direction=\"request\"} %d\n",
+                    bizName.name(), endpointPayloadStats.getEndpoint(), endpointPayloadStats.getRequestBytes()));
+            builder.append(String.format("yunxin_sdk_endpoint_payload_bytes{biz=\"%s\",endpoint=\"%s\",direction=\"response\"} %d\n",
+                    bizName.name(), endpointPayloadStats.getEndpoint(), endpointPayloadStats.getResponseBytes()));
+        }
+
+        builder.append("# HELP bulkhead Stats\n");
+        builder.append("# TYPE bulkhead gauge\n");
+        for (BulkheadStats bulkheadStats : stats.getBulkheadStatsList()) {
+            String prefix = String.format("yunxin_sdk_bulkhead_stats{biz=\"%s\",bulkhead=\"%s\",priority=\"%s\",type=",
+                    bizName.name(), bulkheadStats.getBulkhead(), bulkheadStats.getPriority());
+            builder.append(prefix).append(String.format("\"count\"} %d\n", bulkheadStats.getCount()));
+            builder.append(prefix).append(String.format("\"rejected\"} %d\n", bulkheadStats.getRejected()));
+            builder.append(prefix).append(String.format("\"avg\"} %f\n", bulkheadStats.getAvg()));
+            builder.append(prefix).append(String.format("\"max\"} %d\n", bulkheadStats.getMax()));
+            builder.append(prefix).append(String.format("\"p50\"} %d\n", bulkheadStats.getP50()));
+            builder.append(prefix).append(String.format("\"p90\"} %d\n", bulkheadStats.getP90()));
+            builder.append(prefix).append(String.format("\"p99\"} %d\n", bulkheadStats.getP99()));
+        }
+
+        GaugeStats gaugeStats = stats.getGaugeStats();
+        if (gaugeStats != null) {
+            builder.append("# HELP http client gauges\n");
+            builder.append("# TYPE http gauge\n");
+            builder.append(String.format("yunxin_sdk_http_calls{biz=\"%s\",state=\"running\"} %d\n", bizName.name(), gaugeStats.getRunningCalls()));
+            builder.append(String.format("yunxin_sdk_http_calls{biz=\"%s\",state=\"queued\"} %d\n", bizName.name(), gaugeStats.getQueuedCalls()));
+            builder.append(String.format("yunxin_sdk_http_connections{biz=\"%s\",state=\"total\"} %d\n", bizName.name(), gaugeStats.getConnections()));
+            builder.append(String.format("yunxin_sdk_http_connections{biz=\"%s\",state=\"idle\"} %d\n", bizName.name(), gaugeStats.getIdleConnections()));
+            for (Map.Entry<String, Integer> entry : gaugeStats.getEndpointInFlightRequests().entrySet()) {
+                builder.append(String.format("yunxin_sdk_http_in_flight_requests{biz=\"%s\",endpoint=\"%s\"} %d\n", bizName.name(), entry.getKey(), entry.getValue()));
+            }
+            builder.append(String.format("yunxin_sdk_http_pending_retries{biz=\"%s\"} %d\n", bizName.name(), gaugeStats.getPendingRetries()));
+            for (Map.Entry<String, Integer> entry : gaugeStats.getBulkheadActiveRequests().entrySet()) {
+                builder.append(String.format("yunxin_sdk_bulkhead_requests{biz=\"%s\",bulkhead=\"%s\",state=\"active\"} %d\n", bizName.name(), entry.getKey(), entry.getValue()));
+            }
+            for (Map.Entry<String, Integer> entry : gaugeStats.getBulkheadQueuedRequests().entrySet()) {
+                builder.append(String.format("yunxin_sdk_bulkhead_requests{biz=\"%s\",bulkhead=\"%s\",state=\"queued\"} %d\n", bizName.name(), entry.getKey(), entry.getValue()));
+            }
+        }
+
         return builder.toString();
     }
 }
@@ -0,0 +1,407 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.utils.NamedThreadFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 可选的 prometheus 拉取端点，基于 jdk 自带的 com.sun.net.httpserver，默认路径为 /metrics
+ * 输出 lifetime 累计值：耗时为 histogram（_bucket/_count/_sum，单位秒），可以跨实例聚合，另有 counter 和 gauge
+ * 请求头 Accept 包含 application/openmetrics-text 时输出 OpenMetrics 格式，否则输出 prometheus text 0.0.4 格式
+ * 数据在每个统计周期（collectIntervalSeconds）结束时更新，输出复用同一个buffer
+ */
+public final class PrometheusScrapeServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusScrapeServer.class);
+
+    public static final String PATH = "/metrics";
+
+    private static final String OPEN_METRICS_CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final String TEXT_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String URI_DURATION = "yunxin_sdk_uri_request_duration_seconds";
+    private static final String ENDPOINT_DURATION = "yunxin_sdk_endpoint_request_duration_seconds";
+    private static final String URI_PAYLOAD = "yunxin_sdk_uri_payload_bytes";
+    private static final String ENDPOINT_PAYLOAD = "yunxin_sdk_endpoint_payload_bytes";
+    private static final String OVERFLOW = "yunxin_sdk_metrics_overflow";
+    private static final String SERIES = "yunxin_sdk_metrics_series";
+    private static final String CALLBACK_DROPPED = "yunxin_sdk_metrics_callback_dropped";
+    private static final String RETRY_SUPPRESSED = "yunxin_sdk_retry_suppressed";
+    private static final String SHED = "yunxin_sdk_shed";
+    private static final String BULKHEAD_QUEUE_WAIT = "yunxin_sdk_bulkhead_queue_wait_seconds";
+    private static final String BULKHEAD_REJECTED = "yunxin_sdk_bulkhead_rejected";
+    private static final String BULKHEAD_REQUESTS = "yunxin_sdk_bulkhead_requests";
+    private static final String CALLS = "yunxin_sdk_http_calls";
+    private static final String CONNECTIONS = "yunxin_sdk_http_connections";
+    private static final String IN_FLIGHT = "yunxin_sdk_http_in_flight_requests";
+    private static final String PENDING_RETRIES = "yunxin_sdk_http_pending_retries";
+
+    //ms
+    private static final long[] BUCKETS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+    private static final String[] BUCKET_LABELS = {"0.005", "0.01", "0.025", "0.05", "0.1", "0.25", "0.5", "1.0", "2.5", "5.0", "10.0", "30.0", "60.0"};
+    //bytes
+    private static final long[] PAYLOAD_BUCKETS = {256, 1024, 4096, 16384, 65536, 262144, 1048576, 4194304, 16777216, 67108864};
+    private static final String[] PAYLOAD_BUCKET_LABELS = {"256.0", "1024.0", "4096.0", "16384.0", "65536.0", "262144.0", "1048576.0", "4194304.0", "16777216.0", "67108864.0"};
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CopyOnWriteArrayList<Target> targets = new CopyOnWriteArrayList<>();
+
+    //guarded by this
+    private final OpenMetricsWriter writer = new OpenMetricsWriter(16 * 1024);
+    private final long[] cumulativeCounts = new long[Math.max(BUCKETS.length, PAYLOAD_BUCKETS.length)];
+
+    private PrometheusScrapeServer(HttpServer server) {
+        this.server = server;
+        this.executor = Executors.newSingleThreadExecutor(new NamedThreadFactory("yunxin-sdk-prometheus-scrape", true));
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+    }
+
+    /**
+     * 启动，监听所有网卡
+     * @param port 端口，0 表示随机端口
+     * @return server
+     * @throws IOException 端口被占用等
+     */
+    public static PrometheusScrapeServer start(int port) throws IOException {
+        return start(new InetSocketAddress(port));
+    }
+
+    public static PrometheusScrapeServer start(InetSocketAddress address) throws IOException {
+        if (address == null) {
+            throw new IllegalArgumentException("address is null");
+        }
+        PrometheusScrapeServer scrapeServer = new PrometheusScrapeServer(HttpServer.create(address, 0));
+        scrapeServer.server.start();
+        return scrapeServer;
+    }
+
+    /**
+     * 注册client，同一个server可以注册多个client，通过 biz 和 appkey 标签区分
+     * @param client client，需要开启 metrics
+     * @return this
+     */
+    public PrometheusScrapeServer register(YunxinApiHttpClient client) {
+        if (client == null) {
+            throw new IllegalArgumentException("client is null");
+        }
+        YunxinApiSdkMetricsCollector collector = client.getMetricsCollector();
+        if (collector == null) {
+            throw new IllegalArgumentException("metrics of client is disabled");
+        }
+        targets.addIfAbsent(new Target(collector, collector.getBizName().name(), client.getAppkey()));
+        return this;
+    }
+
+    public void unregister(YunxinApiHttpClient client) {
+        if (client == null) {
+            return;
+        }
+        targets.removeIf(target -> target.collector == client.getMetricsCollector());
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * 渲染为字符串，用于接入业务已有的http服务
+     * @param openMetrics true 为 OpenMetrics 格式，false 为 prometheus text 0.0.4 格式
+     * @return text
+     */
+    public synchronized String scrape(boolean openMetrics) {
+        render(openMetrics);
+        return writer.toString();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            boolean openMetrics = accept != null && accept.contains("application/openmetrics-text");
+            synchronized (this) {
+                render(openMetrics);
+                exchange.getResponseHeaders().set("Content-Type", openMetrics ? OPEN_METRICS_CONTENT_TYPE : TEXT_CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, writer.size());
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    writer.writeTo(outputStream);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("prometheus scrape error", e);
+            throw e;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void render(boolean openMetrics) {
+        writer.reset();
+        Target[] targets = this.targets.toArray(new Target[0]);
+        //uri
+        header(URI_DURATION, "histogram", "request duration of uri", openMetrics, true);
+        for (Target target : targets) {
+            target.collector.visitLifetime((recorder, endpoint, result, snapshot) -> {
+                writer.write(URI_DURATION).write("_bucket{");
+                int labelsStart = writer.size();
+                seriesLabels(target, endpoint, result);
+                writer.write(',').label("method", recorder.getMethod().name())
+                        .write(',').label("context_type", recorder.getContextType().name())
+                        .write(',').label("api_version", recorder.getApiVersion().name())
+                        .write(',').label("uri", recorder.getUri());
+                histogram(URI_DURATION, labelsStart, writer.size(), snapshot);
+            });
+        }
+        //endpoint
+        header(ENDPOINT_DURATION, "histogram", "request duration of endpoint", openMetrics, true);
+        for (Target target : targets) {
+            target.collector.visitLifetime((endpoint, result, snapshot) -> {
+                writer.write(ENDPOINT_DURATION).write("_bucket{");
+                int labelsStart = writer.size();
+                seriesLabels(target, endpoint, result);
+                histogram(ENDPOINT_DURATION, labelsStart, writer.size(), snapshot);
+            });
+        }
+        //payload
+        header(URI_PAYLOAD, "histogram", "request/response body size of uri", openMetrics, true, "bytes");
+        for (Target target : targets) {
+            target.collector.visitLifetimePayload((recorder, direction, snapshot) -> {
+                writer.write(URI_PAYLOAD).write("_bucket{");
+                int labelsStart = writer.size();
+                targetLabels(target);
+                writer.write(',').label("method", recorder.getMethod().name())
+                        .write(',').label("context_type", recorder.getContextType().name())
+                        .write(',').label("api_version", recorder.getApiVersion().name())
+                        .write(',').label("uri", recorder.getUri())
+                        .write(',').label("direction", direction.getLabel());
+                payloadHistogram(URI_PAYLOAD, labelsStart, writer.size(), snapshot);
+            });
+        }
+        header(openMetrics ? ENDPOINT_PAYLOAD : ENDPOINT_PAYLOAD + "_total", "counter", "request/response body bytes of endpoint", openMetrics, true, "bytes");
+        for (Target target : targets) {
+            target.collector.visitLifetimePayloadBytes((endpoint, requestBytes, responseBytes) -> {
+                payloadBytes(target, endpoint, PayloadDirection.REQUEST, requestBytes);
+                payloadBytes(target, endpoint, PayloadDirection.RESPONSE, responseBytes);
+            });
+        }
+        //bulkhead
+        header(BULKHEAD_QUEUE_WAIT, "histogram", "queue wait time before a bulkhead permit is acquired", openMetrics, true);
+        for (Target target : targets) {
+            target.collector.visitLifetimeBulkhead((bulkhead, priority, snapshot, rejected) -> {
+                if (snapshot == null) {
+                    return;
+                }
+                writer.write(BULKHEAD_QUEUE_WAIT).write("_bucket{");
+                int labelsStart = writer.size();
+                targetLabels(target);
+                writer.write(',').label("bulkhead", bulkhead).write(',').label("priority", priority.getLabel());
+                histogram(BULKHEAD_QUEUE_WAIT, labelsStart, writer.size(), snapshot);
+            });
+        }
+        header(openMetrics ? BULKHEAD_REJECTED : BULKHEAD_REJECTED + "_total", "counter", "requests rejected by a full bulkhead", openMetrics, false);
+        for (Target target : targets) {
+            target.collector.visitLifetimeBulkhead((bulkhead, priority, snapshot, rejected) -> {
+                writer.write(BULKHEAD_REJECTED).write("_total{");
+                targetLabels(target);
+                writer.write(',').label("bulkhead", bulkhead).write(',').label("priority", priority.getLabel())
+                        .write("} ").write(rejected).write('\n');
+            });
+        }
+        //overflow
+        header(openMetrics ? OVERFLOW : OVERFLOW + "_total", "counter", "requests recorded into __overflow__ series", openMetrics, false);
+        for (Target target : targets) {
+            writer.write(OVERFLOW).write("_total{");
+            targetLabels(target);
+            writer.write("} ").write(target.collector.lifetimeOverflowCount()).write('\n');
+        }
+        //callback dropped
+        header(openMetrics ? CALLBACK_DROPPED : CALLBACK_DROPPED + "_total", "counter", "stats dropped because the metrics callback fell behind", openMetrics, false);
+        for (Target target : targets) {
+            writer.write(CALLBACK_DROPPED).write("_total{");
+            targetLabels(target);
+            writer.write("} ").write(target.collector.getDroppedCallbackCount()).write('\n');
+        }
+        //retry suppressed
+        header(openMetrics ? RETRY_SUPPRESSED : RETRY_SUPPRESSED + "_total", "counter", "retries skipped because the retry budget was exhausted", openMetrics, false);
+        for (Target target : targets) {
+            writer.write(RETRY_SUPPRESSED).write("_total{");
+            targetLabels(target);
+            writer.write("} ").write(target.collector.lifetimeRetrySuppressedCount()).write('\n');
+        }
+        //shed
+        header(openMetrics ? SHED : SHED + "_total", "counter", "requests dropped because their deadline could not be met", openMetrics, false);
+        for (Target target : targets) {
+            for (ShedStage stage : ShedStage.values()) {
+                writer.write(SHED).write("_total{");
+                targetLabels(target);
+                writer.write(',').label("stage", stage.getLabel()).write("} ").write(target.collector.lifetimeShedCount(stage)).write('\n');
+            }
+        }
+        //series
+        header(SERIES, "gauge", "number of metrics series", openMetrics, false);
+        for (Target target : targets) {
+            writer.write(SERIES).write('{');
+            targetLabels(target);
+            writer.write(',').label("dimension", "uri").write("} ").write(target.collector.uriSeries()).write('\n');
+            writer.write(SERIES).write('{');
+            targetLabels(target);
+            writer.write(',').label("dimension", "endpoint").write("} ").write(target.collector.endpointSeries()).write('\n');
+        }
+        //dispatcher/connection pool, sampled on scrape
+        GaugeStats[] gauges = new GaugeStats[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            ClientGauges clientGauges = targets[i].collector.clientGauges();
+            gauges[i] = clientGauges == null ? null : clientGauges.sample();
+        }
+        header(CALLS, "gauge", "okhttp dispatcher calls", openMetrics, false);
+        for (int i = 0; i < targets.length; i++) {
+            if (gauges[i] != null) {
+                gauge(CALLS, targets[i], "state", "running", gauges[i].getRunningCalls());
+                gauge(CALLS, targets[i], "state", "queued", gauges[i].getQueuedCalls());
+            }
+        }
+        header(CONNECTIONS, "gauge", "okhttp connection pool connections", openMetrics, false);
+        for (int i = 0; i < targets.length; i++) {
+            if (gauges[i] != null) {
+                gauge(CONNECTIONS, targets[i], "state", "total", gauges[i].getConnections());
+                gauge(CONNECTIONS, targets[i], "state", "idle", gauges[i].getIdleConnections());
+            }
+        }
+        header(IN_FLIGHT, "gauge", "in-flight requests of endpoint", openMetrics, false);
+        for (int i = 0; i < targets.length; i++) {
+            if (gauges[i] != null) {
+                for (Map.Entry<String, Integer> entry : gauges[i].getEndpointInFlightRequests().entrySet()) {
+                    gauge(IN_FLIGHT, targets[i], "endpoint", entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        header(PENDING_RETRIES, "gauge", "requests waiting for retry interval", openMetrics, false);
+        for (int i = 0; i < targets.length; i++) {
+            if (gauges[i] != null) {
+                writer.write(PENDING_RETRIES).write('{');
+                targetLabels(targets[i]);
+                writer.write("} ").write(gauges[i].getPendingRetries()).write('\n');
+            }
+        }
+        header(BULKHEAD_REQUESTS, "gauge", "active/queued requests of bulkhead", openMetrics, false);
+        for (int i = 0; i < targets.length; i++) {
+            if (gauges[i] != null) {
+                for (Map.Entry<String, Integer> entry : gauges[i].getBulkheadActiveRequests().entrySet()) {
+                    bulkheadGauge(targets[i], entry.getKey(), "active", entry.getValue());
+                }
+                for (Map.Entry<String, Integer> entry : gauges[i].getBulkheadQueuedRequests().entrySet()) {
+                    bulkheadGauge(targets[i], entry.getKey(), "queued", entry.getValue());
+                }
+            }
+        }
+        if (openMetrics) {
+            writer.write("# EOF\n");
+        }
+    }
+
+    private void gauge(String name, Target target, String labelName, String labelValue, long value) {
+        writer.write(name).write('{');
+        targetLabels(target);
+        writer.write(',').label(labelName, labelValue).write("} ").write(value).write('\n');
+    }
+
+    private void bulkheadGauge(Target target, String bulkhead, String state, long value) {
+        writer.write(BULKHEAD_REQUESTS).write('{');
+        targetLabels(target);
+        writer.write(',').label("bulkhead", bulkhead).write(',').label("state", state).write("} ").write(value).write('\n');
+    }
+
+    private void payloadBytes(Target target, String endpoint, PayloadDirection direction, long bytes) {
+        writer.write(ENDPOINT_PAYLOAD).write("_total{");
+        targetLabels(target);
+        writer.write(',').label("endpoint", endpoint).write(',').label("direction", direction.getLabel()).write("} ").write(bytes).write('\n');
+    }
+
+    private void header(String name, String type, String help, boolean openMetrics, boolean seconds) {
+        header(name, type, help, openMetrics, seconds, "seconds");
+    }
+
+    private void header(String name, String type, String help, boolean openMetrics, boolean withUnit, String unit) {
+        writer.write("# TYPE ").write(name).write(' ').write(type).write('\n');
+        if (openMetrics && withUnit) {
+            writer.write("# UNIT ").write(name).write(' ').write(unit).write('\n');
+        }
+        writer.write("# HELP ").write(name).write(' ').write(help).write('\n');
+    }
+
+    private void targetLabels(Target target) {
+        writer.label("biz", target.biz).write(',').label("appkey", target.appkey);
+    }
+
+    private void seriesLabels(Target target, String endpoint, MetricsResult result) {
+        targetLabels(target);
+        writer.write(',').label("endpoint", endpoint).write(',').label("result", result.getLabel());
+    }
+
+    /**
+     * 调用前已经写入了第一个bucket的名字和标签（不含le），后续样本从 [labelsStart, labelsEnd) 复制标签，不再重复编码
+     */
+    private void histogram(String name, int labelsStart, int labelsEnd, LogLinearHistogram.Snapshot snapshot) {
+        histogram(name, labelsStart, labelsEnd, snapshot, BUCKETS, BUCKET_LABELS);
+        writer.write(name).write("_sum{").copy(labelsStart, labelsEnd).write("} ").writeMillisAsSeconds(snapshot.getSum()).write('\n');
+    }
+
+    private void payloadHistogram(String name, int labelsStart, int labelsEnd, LogLinearHistogram.Snapshot snapshot) {
+        histogram(name, labelsStart, labelsEnd, snapshot, PAYLOAD_BUCKETS, PAYLOAD_BUCKET_LABELS);
+        writer.write(name).write("_sum{").copy(labelsStart, labelsEnd).write("} ").write(snapshot.getSum()).write('\n');
+    }
+
+    private void histogram(String name, int labelsStart, int labelsEnd, LogLinearHistogram.Snapshot snapshot, long[] buckets, String[] bucketLabels) {
+        snapshot.cumulativeCounts(buckets, cumulativeCounts);
+        writer.write(',').label("le", bucketLabels[0]).write("} ").write(cumulativeCounts[0]).write('\n');
+        for (int i = 1; i < buckets.length; i++) {
+            writer.write(name).write("_bucket{").copy(labelsStart, labelsEnd).write(',').label("le", bucketLabels[i]).write("} ")
+                    .write(cumulativeCounts[i]).write('\n');
+        }
+        writer.write(name).write("_bucket{").copy(labelsStart, labelsEnd).write(',').label("le", "+Inf").write("} ")
+                .write(snapshot.getCount()).write('\n');
+        writer.write(name).write("_count{").copy(labelsStart, labelsEnd).write("} ").write(snapshot.getCount()).write('\n');
+    }
+
+    private static final class Target {
+        private final YunxinApiSdkMetricsCollector collector;
+        private final String biz;
+        private final String appkey;
+
+        Target(YunxinApiSdkMetricsCollector collector, String biz, String appkey) {
+            this.collector = collector;
+            this.biz = biz;
+            this.appkey = appkey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Target && ((Target) o).collector == collector;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(collector);
+        }
+    }
+}
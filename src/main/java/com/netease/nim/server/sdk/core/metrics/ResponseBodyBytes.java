@@ -0,0 +1,31 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import okhttp3.EventListener;
+
+/**
+ * 一次请求从网络上读到的响应体字节数，chunked 或 gzip 的响应也有值（gzip 时为压缩后的大小）
+ * 作为 okhttp Request 的 tag，由 eventListenerFactory 在 responseBodyEnd 时写入
+ */
+public final class ResponseBodyBytes {
+
+    private volatile long count = -1;
+
+    /**
+     * 没有开启监控时也可以安装，只处理 tag 为 ResponseBodyBytes 的请求
+     * @return factory
+     */
+    public static EventListener.Factory eventListenerFactory() {
+        return TransportEventListener.FACTORY;
+    }
+
+    /**
+     * @return 字节数，响应体还没有读完时为 -1
+     */
+    public long get() {
+        return count;
+    }
+
+    void set(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,27 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+/**
+ * 因截止时间被丢弃的请求所处的阶段
+ */
+public enum ShedStage {
+
+    //发出前剩余时间已经不足
+    ADMISSION("admission"),
+    //在舱壁或者 dispatcher 中排队时到期，请求没有发出
+    QUEUE("queue"),
+    //重试等待后来不及完成，放弃重试
+    RETRY("retry"),
+    //请求已经发出，到截止时间仍未完成
+    TRANSPORT("transport"),
+    ;
+
+    private final String label;
+
+    ShedStage(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,79 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import com.netease.nim.server.sdk.core.BizName;
+
+/**
+ * 告警状态变化，firing 为 true 表示开始告警，false 表示恢复
+ */
+public class SloAlert {
+
+    private BizName bizName;
+    private SloObjective objective;
+    private SloBurnRule rule;
+    private boolean firing;
+    private double longBurnRate;
+    private double shortBurnRate;
+    private long timestamp;
+
+    public BizName getBizName() {
+        return bizName;
+    }
+
+    public void setBizName(BizName bizName) {
+        this.bizName = bizName;
+    }
+
+    public SloObjective getObjective() {
+        return objective;
+    }
+
+    public void setObjective(SloObjective objective) {
+        this.objective = objective;
+    }
+
+    public SloBurnRule getRule() {
+        return rule;
+    }
+
+    public void setRule(SloBurnRule rule) {
+        this.rule = rule;
+    }
+
+    public boolean isFiring() {
+        return firing;
+    }
+
+    public void setFiring(boolean firing) {
+        this.firing = firing;
+    }
+
+    public double getLongBurnRate() {
+        return longBurnRate;
+    }
+
+    public void setLongBurnRate(double longBurnRate) {
+        this.longBurnRate = longBurnRate;
+    }
+
+    public double getShortBurnRate() {
+        return shortBurnRate;
+    }
+
+    public void setShortBurnRate(double shortBurnRate) {
+        this.shortBurnRate = shortBurnRate;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return (firing ? "firing" : "resolved") + ", biz=" + bizName + ", objective=" + objective + ", rule=" + rule
+                + ", longBurnRate=" + longBurnRate + ", shortBurnRate=" + shortBurnRate;
+    }
+}
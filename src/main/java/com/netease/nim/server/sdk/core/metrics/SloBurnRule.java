@@ -0,0 +1,60 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 多窗口燃烧率告警规则，长窗口和短窗口的燃烧率都超过 burnRate 时触发，短窗口用于在恢复后尽快解除
+ * 燃烧率 = 窗口内不达标比例 / 错误预算，1 表示刚好在目标周期内用完预算
+ */
+public final class SloBurnRule {
+
+    /**
+     * 默认规则，窗口最长为15分钟（和滚动窗口一致）
+     * 快速燃烧：5m/1m 燃烧率 14.4；慢速燃烧：15m/5m 燃烧率 6
+     */
+    public static final List<SloBurnRule> DEFAULT_RULES = Collections.unmodifiableList(Arrays.asList(
+            new SloBurnRule(StatsWindow.FIVE_MINUTES, StatsWindow.ONE_MINUTE, 14.4),
+            new SloBurnRule(StatsWindow.FIFTEEN_MINUTES, StatsWindow.FIVE_MINUTES, 6)));
+
+    private final StatsWindow longWindow;
+    private final StatsWindow shortWindow;
+    private final double burnRate;
+
+    public SloBurnRule(StatsWindow longWindow, StatsWindow shortWindow, double burnRate) {
+        if (!isRolling(longWindow) || !isRolling(shortWindow)) {
+            throw new IllegalArgumentException("window must be ONE_MINUTE, FIVE_MINUTES or FIFTEEN_MINUTES");
+        }
+        if (shortWindow.getSeconds() > longWindow.getSeconds()) {
+            throw new IllegalArgumentException("shortWindow is longer than longWindow");
+        }
+        if (!(burnRate > 0)) {
+            throw new IllegalArgumentException("illegal burnRate");
+        }
+        this.longWindow = longWindow;
+        this.shortWindow = shortWindow;
+        this.burnRate = burnRate;
+    }
+
+    private static boolean isRolling(StatsWindow window) {
+        return window != null && window.getSeconds() > 0;
+    }
+
+    public StatsWindow getLongWindow() {
+        return longWindow;
+    }
+
+    public StatsWindow getShortWindow() {
+        return shortWindow;
+    }
+
+    public double getBurnRate() {
+        return burnRate;
+    }
+
+    @Override
+    public String toString() {
+        return longWindow + "/" + shortWindow + " > " + burnRate;
+    }
+}
@@ -0,0 +1,9 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+/**
+ * SLO 告警回调，只在告警状态变化（开始/恢复）时调用
+ */
+public interface SloCallback {
+
+    void onAlert(SloAlert alert);
+}
@@ -0,0 +1,71 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+/**
+ * uri维度的服务目标（SLO），uri 为模板，如 /im/v2/conversations/{conversation_id}/messages，同一个uri下所有 method/apiVersion 合并计算
+ * latency：耗时小于等于 thresholdMillis 的请求比例不低于 target，如 p99 小于 300ms 为 latency(uri, 300, 0.99)
+ * availability：成功（MetricsResult.SUCCESS）的请求比例不低于 target
+ */
+public final class SloObjective {
+
+    public enum Type {
+        LATENCY,
+        AVAILABILITY,
+    }
+
+    private final String uri;
+    private final Type type;
+    private final long thresholdMillis;
+    private final double target;
+
+    private SloObjective(String uri, Type type, long thresholdMillis, double target) {
+        if (uri == null) {
+            throw new IllegalArgumentException("uri is null");
+        }
+        if (!(target > 0 && target < 1)) {
+            throw new IllegalArgumentException("illegal target");
+        }
+        this.uri = uri;
+        this.type = type;
+        this.thresholdMillis = thresholdMillis;
+        this.target = target;
+    }
+
+    public static SloObjective latency(String uri, long thresholdMillis, double target) {
+        if (thresholdMillis <= 0) {
+            throw new IllegalArgumentException("illegal thresholdMillis");
+        }
+        return new SloObjective(uri, Type.LATENCY, thresholdMillis, target);
+    }
+
+    public static SloObjective availability(String uri, double target) {
+        return new SloObjective(uri, Type.AVAILABILITY, 0, target);
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public double getTarget() {
+        return target;
+    }
+
+    /**
+     * @return 错误预算，即允许的不达标比例
+     */
+    public double getErrorBudget() {
+        return 1 - target;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.LATENCY ? uri + " latency<=" + thresholdMillis + "ms " + target : uri + " availability " + target;
+    }
+}
@@ -0,0 +1,223 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import com.netease.nim.server.sdk.core.BizName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 每个collector一个，在 calc 滚动周期后（持有 readerLock）增量计算各个 SloObjective 的燃烧率
+ * 每个周期只读取刚结束周期的快照，按窗口维护环形数组和滑动累加值，不会重新合并整个窗口
+ * 告警状态变化时通过回调线程按顺序通知 SloCallback
+ */
+final class SloTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SloTracker.class);
+
+    private static final StatsWindow[] WINDOWS = {StatsWindow.ONE_MINUTE, StatsWindow.FIVE_MINUTES, StatsWindow.FIFTEEN_MINUTES};
+
+    private final BizName bizName;
+    private final List<SloBurnRule> rules;
+    private final SloCallback callback;
+    private final Executor executor;
+    //下标同 WINDOWS
+    private final int[] windowTicks;
+    private final ObjectiveState[] states;
+
+    //以下字段由 this 保护
+    private final ArrayDeque<SloAlert> pending = new ArrayDeque<>();
+    private boolean draining;
+
+    SloTracker(BizName bizName, List<SloObjective> objectives, List<SloBurnRule> rules, SloCallback callback,
+               Executor executor, int collectIntervalSeconds) {
+        this.bizName = bizName;
+        this.rules = new ArrayList<>(rules);
+        this.callback = callback;
+        this.executor = executor;
+        this.windowTicks = new int[WINDOWS.length];
+        for (int i = 0; i < WINDOWS.length; i++) {
+            windowTicks[i] = (WINDOWS[i].getSeconds() + collectIntervalSeconds - 1) / collectIntervalSeconds;
+        }
+        this.states = new ObjectiveState[objectives.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new ObjectiveState(objectives.get(i), windowTicks[WINDOWS.length - 1], this.rules.size());
+        }
+    }
+
+    /**
+     * 计入刚结束的周期并检查告警，调用方需要持有 readerLock
+     * @param collector collector
+     * @param tick 刚结束的周期序号
+     */
+    void tick(YunxinApiSdkMetricsCollector collector, long tick) {
+        long now = System.currentTimeMillis();
+        for (ObjectiveState state : states) {
+            state.clear(tick);
+            collector.forEachSeries(state.objective.getUri(), state);
+            state.roll();
+            for (int i = 0; i < rules.size(); i++) {
+                SloBurnRule rule = rules.get(i);
+                double longBurnRate = state.burnRate(window(rule.getLongWindow()));
+                double shortBurnRate = state.burnRate(window(rule.getShortWindow()));
+                boolean firing = longBurnRate > rule.getBurnRate() && shortBurnRate > rule.getBurnRate();
+                if (firing != state.firing[i]) {
+                    state.firing[i] = firing;
+                    offer(alert(state, rule, firing, longBurnRate, shortBurnRate, now));
+                }
+            }
+        }
+    }
+
+    /**
+     * 当前所有 objective x rule 的燃烧率和告警状态，调用方需要持有 readerLock
+     */
+    List<SloAlert> status() {
+        long now = System.currentTimeMillis();
+        List<SloAlert> list = new ArrayList<>(states.length * rules.size());
+        for (ObjectiveState state : states) {
+            for (int i = 0; i < rules.size(); i++) {
+                SloBurnRule rule = rules.get(i);
+                list.add(alert(state, rule, state.firing[i], state.burnRate(window(rule.getLongWindow())),
+                        state.burnRate(window(rule.getShortWindow())), now));
+            }
+        }
+        return list;
+    }
+
+    private SloAlert alert(ObjectiveState state, SloBurnRule rule, boolean firing, double longBurnRate, double shortBurnRate, long now) {
+        SloAlert alert = new SloAlert();
+        alert.setBizName(bizName);
+        alert.setObjective(state.objective);
+        alert.setRule(rule);
+        alert.setFiring(firing);
+        alert.setLongBurnRate(longBurnRate);
+        alert.setShortBurnRate(shortBurnRate);
+        alert.setTimestamp(now);
+        return alert;
+    }
+
+    private static int window(StatsWindow window) {
+        for (int i = 0; i < WINDOWS.length; i++) {
+            if (WINDOWS[i] == window) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("illegal window");
+    }
+
+    private void offer(SloAlert alert) {
+        if (callback == null) {
+            return;
+        }
+        synchronized (this) {
+            pending.add(alert);
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                draining = false;
+            }
+            logger.error("slo alert delivery rejected", e);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            SloAlert alert;
+            synchronized (this) {
+                alert = pending.poll();
+                if (alert == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                callback.onAlert(alert);
+            } catch (Throwable e) {
+                logger.error("slo callback error", e);
+            }
+        }
+    }
+
+    private final class ObjectiveState implements MetricsRecorder.SeriesVisitor {
+        private final SloObjective objective;
+        private final long[] bounds;
+        private final long[] cumulativeCounts = new long[1];
+        //下标为 tick % ring.length
+        private final long[] totalRing;
+        private final long[] badRing;
+        //下标同 WINDOWS
+        private final long[] totals = new long[WINDOWS.length];
+        private final long[] bads = new long[WINDOWS.length];
+        private final boolean[] firing;
+        //刚结束的周期
+        private long tick;
+        private long total;
+        private long bad;
+
+        ObjectiveState(SloObjective objective, int ringSize, int rules) {
+            this.objective = objective;
+            this.bounds = new long[] {objective.getThresholdMillis()};
+            this.totalRing = new long[ringSize];
+            this.badRing = new long[ringSize];
+            this.firing = new boolean[rules];
+        }
+
+        void clear(long tick) {
+            this.tick = tick;
+            total = 0;
+            bad = 0;
+        }
+
+        @Override
+        public void visit(String endpoint, MetricsResult result, IntervalStatistics statistics) {
+            LogLinearHistogram.Snapshot snapshot = statistics.window(tick, 1);
+            if (snapshot == null) {
+                return;
+            }
+            total += snapshot.getCount();
+            if (objective.getType() == SloObjective.Type.AVAILABILITY) {
+                if (result != MetricsResult.SUCCESS) {
+                    bad += snapshot.getCount();
+                }
+            } else {
+                snapshot.cumulativeCounts(bounds, cumulativeCounts);
+                bad += snapshot.getCount() - cumulativeCounts[0];
+            }
+        }
+
+        void roll() {
+            int offset = (int) (tick % totalRing.length);
+            for (int i = 0; i < WINDOWS.length; i++) {
+                //先减去滑出窗口的周期，再覆盖环形数组
+                if (tick >= windowTicks[i]) {
+                    int expired = (int) ((tick - windowTicks[i]) % totalRing.length);
+                    totals[i] -= totalRing[expired];
+                    bads[i] -= badRing[expired];
+                }
+                totals[i] += total;
+                bads[i] += bad;
+            }
+            totalRing[offset] = total;
+            badRing[offset] = bad;
+        }
+
+        double burnRate(int window) {
+            long total = totals[window];
+            if (total == 0) {
+                return 0;
+            }
+            return (double) bads[window] / total / objective.getErrorBudget();
+        }
+    }
+}
@@ -4,7 +4,9 @@ package com.netease.nim.server.sdk.core.metrics;
 import com.netease.nim.server.sdk.core.BizName;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Created by caojiajun on 2024/12/10
@@ -12,8 +14,21 @@ import java.util.List;
 public class Stats {
 
     private BizName bizName;
+    private StatsWindow window = StatsWindow.INTERVAL;
+    private long durationSeconds;
     private List<EndpointStats> endpointStatsList = new ArrayList<>();
     private List<UriStats> uriStatsList = new ArrayList<>();
+    private long overflowCount;
+    private long droppedCallbackCount;
+    private long retrySuppressedCount;
+    private long shedCount;
+    private Map<String, Long> shedCounts = new HashMap<>();
+    private List<TransportStats> transportStatsList = new ArrayList<>();
+    private List<ConnectionStats> connectionStatsList = new ArrayList<>();
+    private List<PayloadStats> payloadStatsList = new ArrayList<>();
+    private List<EndpointPayloadStats> endpointPayloadStatsList = new ArrayList<>();
+    private List<BulkheadStats> bulkheadStatsList = new ArrayList<>();
+    private GaugeStats gaugeStats;
 
     public BizName getBizName() {
         return bizName;
@@ -23,6 +38,26 @@ public class Stats {
         this.bizName = bizName;
     }
 
+    public StatsWindow getWindow() {
+        return window;
+    }
+
+    public void setWindow(StatsWindow window) {
+        this.window = window;
+    }
+
+    /**
+     * 数据实际覆盖的时长，client启动不足一个窗口时小于窗口长度，可用于计算qps
+     * @return seconds
+     */
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
     public List<EndpointStats> getEndpointStatsList() {
         return endpointStatsList;
     }
@@ -38,4 +73,115 @@ public class Stats {
     public void setUriStatsList(List<UriStats> uriStatsList) {
         this.uriStatsList = uriStatsList;
     }
+
+    /**
+     * 统计周期（或窗口）内因超过监控项上限（MetricsConfig.maxSeries）而计入 __overflow__ 的次数
+     * @return count
+     */
+    public long getOverflowCount() {
+        return overflowCount;
+    }
+
+    public void setOverflowCount(long overflowCount) {
+        this.overflowCount = overflowCount;
+    }
+
+    /**
+     * 推送给 MetricsCallback 时，此前因回调跟不上而被丢弃的 Stats 个数（累计值）
+     * @return count
+     */
+    public long getDroppedCallbackCount() {
+        return droppedCallbackCount;
+    }
+
+    public void setDroppedCallbackCount(long droppedCallbackCount) {
+        this.droppedCallbackCount = droppedCallbackCount;
+    }
+
+    /**
+     * 统计周期（或窗口）内 RetryPolicy 决定重试、但因重试预算不足而放弃的次数
+     * @return count
+     */
+    public long getRetrySuppressedCount() {
+        return retrySuppressedCount;
+    }
+
+    public void setRetrySuppressedCount(long retrySuppressedCount) {
+        this.retrySuppressedCount = retrySuppressedCount;
+    }
+
+    /**
+     * 统计周期（或窗口）内因截止时间（DeadlineSetter）被丢弃、没有发出的请求数
+     * @return count
+     */
+    public long getShedCount() {
+        return shedCount;
+    }
+
+    public void setShedCount(long shedCount) {
+        this.shedCount = shedCount;
+    }
+
+    /**
+     * @return stage(admission/queue/retry) -> count
+     */
+    public Map<String, Long> getShedCounts() {
+        return shedCounts;
+    }
+
+    public void setShedCounts(Map<String, Long> shedCounts) {
+        this.shedCounts = shedCounts;
+    }
+
+    public List<TransportStats> getTransportStatsList() {
+        return transportStatsList;
+    }
+
+    public void setTransportStatsList(List<TransportStats> transportStatsList) {
+        this.transportStatsList = transportStatsList;
+    }
+
+    public List<ConnectionStats> getConnectionStatsList() {
+        return connectionStatsList;
+    }
+
+    public void setConnectionStatsList(List<ConnectionStats> connectionStatsList) {
+        this.connectionStatsList = connectionStatsList;
+    }
+
+    public List<PayloadStats> getPayloadStatsList() {
+        return payloadStatsList;
+    }
+
+    public void setPayloadStatsList(List<PayloadStats> payloadStatsList) {
+        this.payloadStatsList = payloadStatsList;
+    }
+
+    public List<EndpointPayloadStats> getEndpointPayloadStatsList() {
+        return endpointPayloadStatsList;
+    }
+
+    public void setEndpointPayloadStatsList(List<EndpointPayloadStats> endpointPayloadStatsList) {
+        this.endpointPayloadStatsList = endpointPayloadStatsList;
+    }
+
+    /**
+     * 生成 Stats 时采样的瞬时值
+     * @return gauge stats
+     */
+    public GaugeStats getGaugeStats() {
+        return gaugeStats;
+    }
+
+    public void setGaugeStats(GaugeStats gaugeStats) {
+        this.gaugeStats = gaugeStats;
+    }
+
+    public List<BulkheadStats> getBulkheadStatsList() {
+        return bulkheadStatsList;
+    }
+
+    public void setBulkheadStatsList(List<BulkheadStats> bulkheadStatsList) {
+        this.bulkheadStatsList = bulkheadStatsList;
+    }
 }
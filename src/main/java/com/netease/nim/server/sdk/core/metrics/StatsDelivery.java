@@ -0,0 +1,90 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 每个collector一个，按顺序把 Stats 推送给 MetricsCallback
+ * 有界环形队列，回调跟不上时丢弃最旧的 Stats、只保留最新的，并计数；offer 不会阻塞统计线程
+ * 队列从空闲变为非空时才提交一次drain任务，同一个collector同时最多一个线程在回调
+ */
+final class StatsDelivery {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsDelivery.class);
+
+    private final MetricsCallback callback;
+    private final Executor executor;
+    private final Stats[] ring;
+    private final AtomicLong dropped = new AtomicLong();
+
+    //以下字段由 this 保护
+    private int head;
+    private int size;
+    private boolean draining;
+
+    StatsDelivery(MetricsCallback callback, Executor executor, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("illegal capacity");
+        }
+        this.callback = callback;
+        this.executor = executor;
+        this.ring = new Stats[capacity];
+    }
+
+    void offer(Stats stats) {
+        synchronized (this) {
+            if (size == ring.length) {
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+                size--;
+                dropped.incrementAndGet();
+            }
+            ring[(head + size) % ring.length] = stats;
+            size++;
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                draining = false;
+            }
+            logger.error("stats delivery rejected", e);
+        }
+    }
+
+    /**
+     * 因队列满被丢弃的 Stats 个数（累计值）
+     */
+    long dropped() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        while (true) {
+            Stats stats;
+            synchronized (this) {
+                if (size == 0) {
+                    draining = false;
+                    return;
+                }
+                stats = ring[head];
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+                size--;
+            }
+            try {
+                callback.callback(stats);
+            } catch (Throwable e) {
+                logger.error("callback error", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+/**
+ * 统计窗口
+ * 滚动窗口由已结束的统计周期（collectIntervalSeconds）组成，不包含当前周期，窗口长度按周期向上取整
+ */
+public enum StatsWindow {
+
+    /**
+     * 最近一个统计周期，同 getStats()
+     */
+    INTERVAL(0),
+    ONE_MINUTE(60),
+    FIVE_MINUTES(300),
+    FIFTEEN_MINUTES(900),
+    /**
+     * 从client启动开始的累计值
+     */
+    LIFETIME(-1),
+    ;
+
+    private final int seconds;
+
+    StatsWindow(int seconds) {
+        this.seconds = seconds;
+    }
+
+    public int getSeconds() {
+        return seconds;
+    }
+}
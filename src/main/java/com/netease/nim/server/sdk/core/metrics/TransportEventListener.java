@@ -0,0 +1,201 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import okhttp3.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 按阶段记录耗时和收发字节数，每个 Call 一个实例，Request 没有 TransportRecorder tag 时不记录
+ * Request 有 ResponseBodyBytes tag 时写入响应体字节数，只有这个 tag 时只做这一件事
+ * 各阶段先暂存在实例中，调用结束（或同一阶段再次出现，如重定向）时一次性写入，每个 Call 只进入一次 WriterReaderPhaser 临界区
+ */
+final class TransportEventListener extends EventListener {
+
+    static final EventListener.Factory FACTORY = call -> {
+        TransportRecorder recorder = call.request().tag(TransportRecorder.class);
+        ResponseBodyBytes responseBodyBytes = call.request().tag(ResponseBodyBytes.class);
+        if (recorder == null && responseBodyBytes == null) {
+            return EventListener.NONE;
+        }
+        return new TransportEventListener(recorder, call.request().tag(MetricsRecorder.class), responseBodyBytes);
+    };
+
+    //没有开启监控时为null
+    private final TransportRecorder recorder;
+    //按uri记录请求体/响应体大小，可能为null
+    private final MetricsRecorder metricsRecorder;
+    //jfr attempt 事件使用，可能为null
+    private final ResponseBodyBytes responseBodyBytes;
+
+    //开始查找连接的时间，callStart 之后 enqueue 的调用可能还在 dispatcher 中排队，不从 callStart 计时
+    private long acquireStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private boolean connected;
+    private long requestStart;
+    private long requestEnd;
+    private long responseStart;
+
+    //暂存，下标为 TransportPhase.ordinal/PayloadDirection.ordinal，< 0 表示没有数据
+    private final long[] spends = new long[TransportRecorder.PHASES.length];
+    private final long[] bytes = new long[TransportRecorder.DIRECTIONS.length];
+    //1 复用连接，0 新建连接，-1 没有数据
+    private int reused = -1;
+    private boolean pending;
+
+    private TransportEventListener(TransportRecorder recorder, MetricsRecorder metricsRecorder, ResponseBodyBytes responseBodyBytes) {
+        this.recorder = recorder;
+        this.metricsRecorder = metricsRecorder;
+        this.responseBodyBytes = responseBodyBytes;
+        Arrays.fill(spends, -1);
+        Arrays.fill(bytes, -1);
+    }
+
+    @Override
+    public void proxySelectStart(Call call, HttpUrl url) {
+        acquireStart();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+        acquireStart();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        record(TransportPhase.DNS, dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+        acquireStart();
+        secureConnectStart = 0;
+        connected = true;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+        record(TransportPhase.CONNECT, connectStart);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        record(TransportPhase.TLS, secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        if (secureConnectStart == 0) {
+            record(TransportPhase.CONNECT, connectStart);
+        }
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        //a pooled connection is acquired without any earlier event
+        record(TransportPhase.CONNECTION_ACQUIRE, acquireStart == 0 ? System.nanoTime() : acquireStart);
+        acquireStart = 0;
+        if (reused >= 0) {
+            flush();
+        }
+        reused = connected ? 0 : 1;
+        pending = true;
+        connected = false;
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEnd = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = System.nanoTime();
+        payload(PayloadDirection.REQUEST, byteCount);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        responseStart = System.nanoTime();
+        if (requestStart != 0) {
+            record(TransportPhase.REQUEST_WRITE, requestStart, requestEnd);
+            record(TransportPhase.TTFB, requestEnd, responseStart);
+            requestStart = 0;
+        }
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        if (responseBodyBytes != null) {
+            responseBodyBytes.set(byteCount);
+        }
+        record(TransportPhase.RESPONSE_READ, responseStart);
+        payload(PayloadDirection.RESPONSE, byteCount);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        flush();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        requestStart = 0;
+        flush();
+    }
+
+    private void acquireStart() {
+        if (acquireStart == 0) {
+            acquireStart = System.nanoTime();
+        }
+    }
+
+    private void payload(PayloadDirection direction, long byteCount) {
+        if (bytes[direction.ordinal()] >= 0) {
+            flush();
+        }
+        bytes[direction.ordinal()] = byteCount;
+        pending = true;
+    }
+
+    private void flush() {
+        if (!pending) {
+            return;
+        }
+        if (recorder != null) {
+            recorder.record(spends, reused, bytes, metricsRecorder);
+        }
+        Arrays.fill(spends, -1);
+        Arrays.fill(bytes, -1);
+        reused = -1;
+        pending = false;
+    }
+
+    private void record(TransportPhase phase, long start) {
+        record(phase, start, System.nanoTime());
+    }
+
+    private void record(TransportPhase phase, long start, long end) {
+        if (start != 0 && end >= start) {
+            if (spends[phase.ordinal()] >= 0) {
+                flush();
+            }
+            spends[phase.ordinal()] = (end - start) / 1_000_000;
+            pending = true;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+/**
+ * 一次http调用的传输阶段，由 okhttp EventListener 采集
+ */
+public enum TransportPhase {
+
+    /**
+     * 从开始查找连接到拿到连接，包含新建连接时的 dns/connect/tls，不包含 executePublisher 在 dispatcher 中的排队时间
+     */
+    CONNECTION_ACQUIRE("connection_acquire"),
+    DNS("dns"),
+    /**
+     * tcp 建连，不含 tls
+     */
+    CONNECT("connect"),
+    TLS("tls"),
+    /**
+     * 写请求头和请求体
+     */
+    REQUEST_WRITE("request_write"),
+    /**
+     * 请求写完到开始读响应头（time to first byte）
+     */
+    TTFB("ttfb"),
+    /**
+     * 读响应头和响应体
+     */
+    RESPONSE_READ("response_read"),
+    ;
+
+    private final String label;
+
+    TransportPhase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
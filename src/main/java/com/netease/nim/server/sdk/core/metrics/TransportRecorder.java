@@ -0,0 +1,150 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * endpoint维度的传输阶段监控，通过 YunxinApiSdkMetricsCollector.transportRecorder 获取
+ * 作为 okhttp Request 的 tag 传给 EventListener
+ */
+public final class TransportRecorder {
+
+    static final TransportPhase[] PHASES = TransportPhase.values();
+    static final PayloadDirection[] DIRECTIONS = PayloadDirection.values();
+
+    private final YunxinApiSdkMetricsCollector collector;
+    private final String endpoint;
+    //下标为 TransportPhase.ordinal，首次记录时创建，如没有使用https的endpoint不会创建tls阶段
+    private final AtomicReferenceArray<IntervalStatistics> phases = new AtomicReferenceArray<>(PHASES.length);
+    private final IntervalCounter reusedConnections;
+    private final IntervalCounter newConnections;
+    //请求体/响应体总字节数
+    private final IntervalCounter[] payloadBytes = new IntervalCounter[DIRECTIONS.length];
+    //被淘汰后置为true，之后的记录转到 collector 中同名的 TransportRecorder
+    private volatile boolean removed;
+
+    TransportRecorder(YunxinApiSdkMetricsCollector collector, String endpoint) {
+        this.collector = collector;
+        this.endpoint = endpoint;
+        this.reusedConnections = new IntervalCounter(collector.windowTicks());
+        this.newConnections = new IntervalCounter(collector.windowTicks());
+        for (int i = 0; i < payloadBytes.length; i++) {
+            payloadBytes[i] = new IntervalCounter(collector.windowTicks());
+        }
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * 记录一次调用的所有阶段，只进入一次临界区
+     * @param spends 各阶段耗时，下标为 TransportPhase.ordinal，< 0 表示没有经过该阶段
+     * @param reused 1 复用连接，0 新建连接，< 0 表示没有获取连接
+     * @param bytes 请求体/响应体字节数，下标为 PayloadDirection.ordinal，< 0 表示没有数据
+     * @param metricsRecorder 按uri记录请求体/响应体大小，可能为null
+     */
+    void record(long[] spends, int reused, long[] bytes, MetricsRecorder metricsRecorder) {
+        WriterReaderPhaser phaser = collector.phaser();
+        long ticket = phaser.writerCriticalSectionEnter();
+        try {
+            TransportRecorder target = removed ? collector.transportRecorder(endpoint) : this;
+            for (int i = 0; i < spends.length; i++) {
+                if (spends[i] >= 0) {
+                    target.phase(i).update(ticket, spends[i]);
+                }
+            }
+            if (reused >= 0) {
+                (reused > 0 ? target.reusedConnections : target.newConnections).add(ticket, 1);
+            }
+            for (PayloadDirection direction : DIRECTIONS) {
+                long value = bytes[direction.ordinal()];
+                if (value >= 0) {
+                    target.payloadBytes[direction.ordinal()].add(ticket, value);
+                    if (metricsRecorder != null) {
+                        metricsRecorder.current().payloadStatistics(direction).update(ticket, value);
+                    }
+                }
+            }
+        } finally {
+            phaser.writerCriticalSectionExit(ticket);
+        }
+    }
+
+    private IntervalStatistics phase(int index) {
+        IntervalStatistics statistics = phases.get(index);
+        if (statistics == null) {
+            phases.compareAndSet(index, null, new IntervalStatistics(collector.windowTicks()));
+            statistics = phases.get(index);
+        }
+        return statistics;
+    }
+
+    /**
+     * @return 没有记录过该阶段时为null
+     */
+    IntervalStatistics phase(TransportPhase phase) {
+        return phases.get(phase.ordinal());
+    }
+
+    /**
+     * 15分钟内没有数据时从 collector 中移除，调用方需要持有 readerLock
+     * @param tick 最近结束的周期序号
+     * @param evicted 移除时可能有写线程已经拿到了该对象，下个周期切换阶段后处理这部分数据
+     */
+    void evictIdle(long tick, List<YunxinApiSdkMetricsCollector.Evicted> evicted) {
+        if (!MetricsRecorder.idle(phases, tick) || !reusedConnections.idle(tick) || !newConnections.idle(tick)) {
+            return;
+        }
+        for (IntervalCounter counter : payloadBytes) {
+            if (!counter.idle(tick)) {
+                return;
+            }
+        }
+        removed = true;
+        collector.removeTransportRecorder(this);
+        evicted.add(this::settle);
+    }
+
+    private void settle(int index) {
+        boolean active = !reusedConnections.isEmpty(index) || !newConnections.isEmpty(index);
+        for (IntervalCounter counter : payloadBytes) {
+            active |= !counter.isEmpty(index);
+        }
+        for (int i = 0; i < phases.length() && !active; i++) {
+            IntervalStatistics statistics = phases.get(i);
+            active = statistics != null && !statistics.isEmpty(index);
+        }
+        if (!active) {
+            return;
+        }
+        TransportRecorder target = collector.reinstallTransportRecorder(this);
+        if (target == this) {
+            removed = false;
+            return;
+        }
+        for (int i = 0; i < phases.length(); i++) {
+            IntervalStatistics statistics = phases.get(i);
+            if (statistics != null) {
+                IntervalStatistics.settle(target.phases, i, statistics, index);
+            }
+        }
+        target.reusedConnections.absorb(reusedConnections, index);
+        target.newConnections.absorb(newConnections, index);
+        for (int i = 0; i < payloadBytes.length; i++) {
+            target.payloadBytes[i].absorb(payloadBytes[i], index);
+        }
+    }
+
+    IntervalCounter reusedConnections() {
+        return reusedConnections;
+    }
+
+    IntervalCounter newConnections() {
+        return newConnections;
+    }
+
+    IntervalCounter payloadBytes(PayloadDirection direction) {
+        return payloadBytes[direction.ordinal()];
+    }
+}
@@ -0,0 +1,103 @@
+package com.netease.nim.server.sdk.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * writer-reader phaser，思路同 HdrHistogram 的 WriterReaderPhaser
+ * 写线程进入/退出临界区各一次原子自增，不会被读线程阻塞
+ * 读线程 flipPhase 切换阶段后，会等待所有在旧阶段进入的写线程退出，之后旧阶段的数据不会再被修改
+ * writerCriticalSectionEnter 的返回值 >= 0 表示偶数阶段，< 0 表示奇数阶段，写线程据此选择写入哪一份buffer
+ * 计数按线程哈希分散到 STRIPES 组，每组独占缓存行，避免所有写线程竞争同一个计数；ticket 的低位为组的下标
+ */
+final class WriterReaderPhaser {
+
+    static final int STRIPES = 16;
+    //每组占用 16 个 long（128字节），覆盖相邻缓存行预取
+    private static final int STRIDE = 16;
+    private static final int START_EPOCH = 0;
+    private static final int EVEN_END_EPOCH = 1;
+    private static final int ODD_END_EPOCH = 2;
+
+    //下标为 stripe * STRIDE + START_EPOCH/EVEN_END_EPOCH/ODD_END_EPOCH
+    private final AtomicLongArray epochs = new AtomicLongArray(STRIPES * STRIDE);
+    //只在持有 readerLock 时读写
+    private boolean oddPhase;
+    private final long[] startValuesAtFlip = new long[STRIPES];
+
+    private final ReentrantLock readerLock = new ReentrantLock();
+
+    WriterReaderPhaser() {
+        for (int i = 0; i < STRIPES; i++) {
+            epochs.set(i * STRIDE + ODD_END_EPOCH, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * 写线程进入临界区
+     * @return ticket，需要传给 writerCriticalSectionExit
+     */
+    long writerCriticalSectionEnter() {
+        int stripe = probe() & (STRIPES - 1);
+        long epoch = epochs.getAndIncrement(stripe * STRIDE + START_EPOCH);
+        return epoch < 0 ? Long.MIN_VALUE | stripe : stripe;
+    }
+
+    /**
+     * 写线程退出临界区
+     * @param ticket writerCriticalSectionEnter 的返回值
+     */
+    void writerCriticalSectionExit(long ticket) {
+        int stripe = (int) (ticket & (STRIPES - 1));
+        epochs.getAndIncrement(stripe * STRIDE + (ticket < 0 ? ODD_END_EPOCH : EVEN_END_EPOCH));
+    }
+
+    /**
+     * 写入的buffer下标
+     * @param ticket writerCriticalSectionEnter 的返回值
+     * @return 0 or 1
+     */
+    static int index(long ticket) {
+        return ticket < 0 ? 1 : 0;
+    }
+
+    void readerLock() {
+        readerLock.lock();
+    }
+
+    void readerUnlock() {
+        readerLock.unlock();
+    }
+
+    /**
+     * 切换阶段，需要先持有 readerLock
+     * @return 旧阶段的buffer下标，返回后该buffer不会再被写线程修改
+     */
+    int flipPhase() {
+        if (!readerLock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("flipPhase can only be called while holding the reader lock");
+        }
+        boolean nextPhaseIsEven = oddPhase;
+        long initialStartValue = nextPhaseIsEven ? 0 : Long.MIN_VALUE;
+        for (int i = 0; i < STRIPES; i++) {
+            int base = i * STRIDE;
+            epochs.set(base + (nextPhaseIsEven ? EVEN_END_EPOCH : ODD_END_EPOCH), initialStartValue);
+            startValuesAtFlip[i] = epochs.getAndSet(base + START_EPOCH, initialStartValue);
+        }
+        //wait for writers in the old phase
+        for (int i = 0; i < STRIPES; i++) {
+            int index = i * STRIDE + (nextPhaseIsEven ? ODD_END_EPOCH : EVEN_END_EPOCH);
+            while (epochs.get(index) != startValuesAtFlip[i]) {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+        oddPhase = !nextPhaseIsEven;
+        return nextPhaseIsEven ? 1 : 0;
+    }
+
+    private static int probe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+}
@@ -1,18 +1,22 @@
 package com.netease.nim.server.sdk.core.metrics;
 
+import com.netease.nim.server.sdk.core.bulkhead.Priority;
 import com.netease.nim.server.sdk.core.http.ContextType;
 import com.netease.nim.server.sdk.core.http.HttpMethod;
 import com.netease.nim.server.sdk.core.trace.ApiVersion;
 import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.Constants;
 import com.netease.nim.server.sdk.core.utils.NamedThreadFactory;
+import okhttp3.EventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Created by caojiajun on 2024/12/10
@@ -22,43 +26,356 @@ public class YunxinApiSdkMetricsCollector {
     private static final Logger logger = LoggerFactory.getLogger(YunxinApiSdkMetricsCollector.class);
 
     private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("yunxin-sdk-metrics-collector"));
-    private static final ThreadPoolExecutor callbackExecutor = new ThreadPoolExecutor(1, 1,
-            0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(100), new NamedThreadFactory("yunxin-sdk-stats-callback"));
+    //每个collector同时最多占用一个线程，空闲线程60s后回收
+    //线程和队列都有上限，回调阻塞导致饱和时拒绝，由 StatsDelivery/SloTracker 打印日志，待推送的数据留到下个周期
+    private static final ThreadPoolExecutor callbackExecutor = newCallbackExecutor();
+
+    /**
+     * 超过监控项上限后，新的uri/endpoint统一计入该项
+     */
+    public static final String OVERFLOW = "__overflow__";
+
+    private static final int RECORDER_INDEXES = HttpMethod.values().length * ContextType.values().length * ApiVersion.values().length;
+    private static final ShedStage[] SHED_STAGES = ShedStage.values();
 
     private final BizName bizName;
-    private ConcurrentHashMap<Key1, Statistics> map1 = new ConcurrentHashMap<>();
-    private ConcurrentHashMap<Key2, Statistics> map2 = new ConcurrentHashMap<>();
+    private final int maxSeries;
+    private final int collectIntervalSeconds;
+    //滚动窗口最长为15分钟，按统计周期向上取整
+    private final int windowTicks;
+    private final IntervalCounter overflowCounter;
+    private final IntervalCounter retrySuppressedCounter;
+    //下标为 ShedStage.ordinal
+    private final IntervalCounter[] shedCounters = new IntervalCounter[SHED_STAGES.length];
+    //已结束的统计周期个数，只在持有 readerLock 时读写
+    private long ticks;
+    //上个周期淘汰的监控项，只在持有 readerLock 时读写
+    private final List<Evicted> evicted = new ArrayList<>();
+    private final WriterReaderPhaser phaser = new WriterReaderPhaser();
+    private final AtomicInteger uriSeries = new AtomicInteger();
+    private final AtomicInteger endpointSeries = new AtomicInteger();
+    //uri -> [method x contextType x apiVersion]
+    private final ConcurrentHashMap<String, AtomicReferenceArray<MetricsRecorder>> recorders = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, MetricsRecorder.EndpointRecorder> endpointRecorders = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<MetricsRecorder> overflowRecorders = new AtomicReferenceArray<>(RECORDER_INDEXES);
+    private final MetricsRecorder.EndpointRecorder overflowEndpointRecorder = new MetricsRecorder.EndpointRecorder(this, OVERFLOW, true);
+    private final ConcurrentHashMap<String, TransportRecorder> transportRecorders = new ConcurrentHashMap<>();
+    private final TransportRecorder overflowTransportRecorder;
+    //个数由舱壁配置决定，不需要上限
+    private final ConcurrentHashMap<String, BulkheadRecorder> bulkheadRecorders = new ConcurrentHashMap<>();
 
-    private final MetricsCallback metricsCallback;
+    private final StatsDelivery statsDelivery;
+    private final SloTracker sloTracker;
+    private volatile ClientGauges clientGauges;
 
     private Stats stats = new Stats();
 
     private final ScheduledFuture<?> scheduledFuture;
 
     public YunxinApiSdkMetricsCollector(BizName bizName, int collectIntervalSeconds, MetricsCallback metricsCallback) {
+        this(bizName, collectIntervalSeconds, metricsCallback, Constants.Metric.maxSeries, Constants.Metric.callbackQueueSize,
+                null, SloBurnRule.DEFAULT_RULES, null);
+    }
+
+    public YunxinApiSdkMetricsCollector(BizName bizName, MetricsConfig metricsConfig) {
+        this(bizName, metricsConfig.getCollectIntervalSeconds(), metricsConfig.getMetricsCallback(),
+                metricsConfig.getMaxSeries(), metricsConfig.getCallbackQueueSize(),
+                metricsConfig.getSloObjectives(), metricsConfig.getSloBurnRules(), metricsConfig.getSloCallback());
+    }
+
+    private YunxinApiSdkMetricsCollector(BizName bizName, int collectIntervalSeconds, MetricsCallback metricsCallback,
+                                         int maxSeries, int callbackQueueSize, List<SloObjective> sloObjectives,
+                                         List<SloBurnRule> sloBurnRules, SloCallback sloCallback) {
         if (collectIntervalSeconds <= 0) {
             throw new IllegalArgumentException("illegal collectIntervalSeconds");
         }
+        if (maxSeries <= 0) {
+            throw new IllegalArgumentException("illegal maxSeries");
+        }
+        if (callbackQueueSize <= 0) {
+            throw new IllegalArgumentException("illegal callbackQueueSize");
+        }
+        if (sloObjectives != null && !sloObjectives.isEmpty() && (sloBurnRules == null || sloBurnRules.isEmpty())) {
+            throw new IllegalArgumentException("sloBurnRules is empty");
+        }
         this.bizName = bizName;
-        this.metricsCallback = metricsCallback;
+        this.statsDelivery = metricsCallback == null ? null : new StatsDelivery(metricsCallback, callbackExecutor, callbackQueueSize);
+        this.maxSeries = maxSeries;
+        this.collectIntervalSeconds = collectIntervalSeconds;
+        this.windowTicks = ticks(StatsWindow.FIFTEEN_MINUTES);
+        this.overflowCounter = new IntervalCounter(windowTicks);
+        this.retrySuppressedCounter = new IntervalCounter(windowTicks);
+        for (int i = 0; i < shedCounters.length; i++) {
+            shedCounters[i] = new IntervalCounter(windowTicks);
+        }
+        this.overflowTransportRecorder = new TransportRecorder(this, OVERFLOW);
+        this.sloTracker = sloObjectives == null || sloObjectives.isEmpty() ? null
+                : new SloTracker(bizName, sloObjectives, sloBurnRules, sloCallback, callbackExecutor, collectIntervalSeconds);
         this.scheduledFuture = scheduler.scheduleAtFixedRate(this::calc, collectIntervalSeconds, collectIntervalSeconds, TimeUnit.SECONDS);
     }
 
+    /**
+     * @deprecated result会被归类为 MetricsResult，使用 {@link #collect(String, HttpMethod, ContextType, ApiVersion, String, MetricsResult, long)}
+     */
+    @Deprecated
     public void collect(String endpoint, HttpMethod method, ContextType contextType, ApiVersion apiVersion,
                         String uri, String result, long spendMs) {
-        Key1 key1 = new Key1(endpoint, method, contextType, apiVersion, uri, result);
-        Statistics statistics1 = map1.get(key1);
-        if (statistics1 == null) {
-            statistics1 = map1.computeIfAbsent(key1, k -> new Statistics());
+        collect(endpoint, method, contextType, apiVersion, uri, MetricsResult.ofLabel(result), spendMs);
+    }
+
+    public void collect(String endpoint, HttpMethod method, ContextType contextType, ApiVersion apiVersion,
+                        String uri, MetricsResult result, long spendMs) {
+        recorder(method, contextType, apiVersion, uri).record(endpoint, result, spendMs);
+    }
+
+    /**
+     * 获取 (uri, method, contextType, apiVersion) 对应的监控句柄，可以缓存后重复使用
+     * @param method method
+     * @param contextType contextType
+     * @param apiVersion apiVersion
+     * @param uri uri
+     * @return recorder
+     */
+    public MetricsRecorder recorder(HttpMethod method, ContextType contextType, ApiVersion apiVersion, String uri) {
+        if (uri == null) {
+            uri = "";
+        }
+        int index = index(method, contextType, apiVersion);
+        AtomicReferenceArray<MetricsRecorder> array = recorders.get(uri);
+        if (array == null) {
+            if (recorders.size() >= maxSeries) {
+                return overflowRecorder(index, method, contextType, apiVersion);
+            }
+        } else {
+            MetricsRecorder recorder = array.get(index);
+            if (recorder != null) {
+                return recorder;
+            }
+        }
+        //idle uris are removed in compute as well, a new recorder never lands in an array that is being removed
+        MetricsRecorder[] created = new MetricsRecorder[1];
+        recorders.compute(uri, (k, current) -> {
+            AtomicReferenceArray<MetricsRecorder> target = current == null ? new AtomicReferenceArray<>(RECORDER_INDEXES) : current;
+            MetricsRecorder recorder = target.get(index);
+            if (recorder == null) {
+                recorder = new MetricsRecorder(this, method, contextType, apiVersion, k, false);
+                target.set(index, recorder);
+            }
+            created[0] = recorder;
+            return target;
+        });
+        return created[0];
+    }
+
+    /**
+     * 放回被淘汰的uri维度监控项，期间已经有新的同名监控项时返回新的
+     */
+    MetricsRecorder reinstallRecorder(MetricsRecorder recorder) {
+        int index = index(recorder.getMethod(), recorder.getContextType(), recorder.getApiVersion());
+        MetricsRecorder[] target = new MetricsRecorder[1];
+        recorders.compute(recorder.getUri(), (k, current) -> {
+            AtomicReferenceArray<MetricsRecorder> array = current == null ? new AtomicReferenceArray<>(RECORDER_INDEXES) : current;
+            if (array.get(index) == null) {
+                array.set(index, recorder);
+            }
+            target[0] = array.get(index);
+            return array;
+        });
+        return target[0];
+    }
+
+    /**
+     * 获取endpoint对应的传输阶段监控，作为 okhttp Request 的 tag，配合 eventListenerFactory 使用
+     * @param endpoint endpoint
+     * @return recorder
+     */
+    public TransportRecorder transportRecorder(String endpoint) {
+        TransportRecorder recorder = transportRecorders.get(endpoint);
+        if (recorder == null) {
+            if (transportRecorders.size() >= maxSeries) {
+                return overflowTransportRecorder;
+            }
+            recorder = transportRecorders.computeIfAbsent(endpoint, k -> new TransportRecorder(this, k));
+        }
+        return recorder;
+    }
+
+    /**
+     * 获取舱壁维度的监控句柄，可以缓存后重复使用
+     * @param bulkhead 舱壁名字
+     * @return recorder
+     */
+    public BulkheadRecorder bulkheadRecorder(String bulkhead) {
+        BulkheadRecorder recorder = bulkheadRecorders.get(bulkhead);
+        if (recorder == null) {
+            recorder = bulkheadRecorders.computeIfAbsent(bulkhead, k -> new BulkheadRecorder(this, k));
+        }
+        return recorder;
+    }
+
+    /**
+     * 设置后在每个统计周期和查询窗口时采样 Dispatcher/ConnectionPool 等瞬时值
+     * @param clientGauges client gauges
+     */
+    public void setClientGauges(ClientGauges clientGauges) {
+        this.clientGauges = clientGauges;
+    }
+
+    ClientGauges clientGauges() {
+        return clientGauges;
+    }
+
+    /**
+     * okhttp EventListener，按阶段记录 tag 为 TransportRecorder 的请求
+     * @return factory
+     */
+    public EventListener.Factory eventListenerFactory() {
+        return TransportEventListener.FACTORY;
+    }
+
+    MetricsRecorder.EndpointRecorder endpointRecorder(String endpoint) {
+        MetricsRecorder.EndpointRecorder recorder = endpointRecorders.get(endpoint);
+        if (recorder == null) {
+            if (endpointRecorders.size() >= maxSeries) {
+                return overflowEndpointRecorder;
+            }
+            recorder = endpointRecorders.computeIfAbsent(endpoint, k -> new MetricsRecorder.EndpointRecorder(this, k, false));
+        }
+        return recorder;
+    }
+
+    void removeEndpointRecorder(MetricsRecorder.EndpointRecorder recorder) {
+        endpointRecorders.remove(recorder.getEndpoint(), recorder);
+    }
+
+    /**
+     * 放回被淘汰的endpoint维度监控项，期间已经有新的同名监控项时返回新的
+     */
+    MetricsRecorder.EndpointRecorder reinstallEndpointRecorder(MetricsRecorder.EndpointRecorder recorder) {
+        MetricsRecorder.EndpointRecorder current = endpointRecorders.putIfAbsent(recorder.getEndpoint(), recorder);
+        return current == null ? recorder : current;
+    }
+
+    void removeTransportRecorder(TransportRecorder recorder) {
+        transportRecorders.remove(recorder.getEndpoint(), recorder);
+    }
+
+    /**
+     * 同 reinstallEndpointRecorder
+     */
+    TransportRecorder reinstallTransportRecorder(TransportRecorder recorder) {
+        TransportRecorder current = transportRecorders.putIfAbsent(recorder.getEndpoint(), recorder);
+        return current == null ? recorder : current;
+    }
+
+    void overflow(long ticket, HttpMethod method, ContextType contextType, ApiVersion apiVersion, MetricsResult result, long spendMs) {
+        overflowCounter.add(ticket, 1);
+        overflowRecorder(index(method, contextType, apiVersion), method, contextType, apiVersion).recordUri(ticket, OVERFLOW, result, spendMs);
+    }
+
+    void overflowEndpoint(long ticket, MetricsResult result, long spendMs) {
+        overflowEndpointRecorder.record(ticket, result, spendMs);
+    }
+
+    WriterReaderPhaser phaser() {
+        return phaser;
+    }
+
+    int windowTicks() {
+        return windowTicks;
+    }
+
+    private int ticks(StatsWindow window) {
+        return (window.getSeconds() + collectIntervalSeconds - 1) / collectIntervalSeconds;
+    }
+
+    /**
+     * 记录一次因重试预算不足而放弃的重试
+     */
+    public void retrySuppressed() {
+        long ticket = phaser.writerCriticalSectionEnter();
+        try {
+            retrySuppressedCounter.add(ticket, 1);
+        } finally {
+            phaser.writerCriticalSectionExit(ticket);
+        }
+    }
+
+    /**
+     * 记录一次因截止时间被丢弃的请求
+     * @param stage 丢弃时所处的阶段
+     */
+    public void shed(ShedStage stage) {
+        long ticket = phaser.writerCriticalSectionEnter();
+        try {
+            shedCounters[stage.ordinal()].add(ticket, 1);
+        } finally {
+            phaser.writerCriticalSectionExit(ticket);
+        }
+    }
+
+    void overflowCount(long ticket) {
+        overflowCounter.add(ticket, 1);
+    }
+
+    boolean acquireUriSeries() {
+        return acquire(uriSeries);
+    }
+
+    void releaseUriSeries() {
+        uriSeries.decrementAndGet();
+    }
+
+    /**
+     * 放回被淘汰的监控项时调用，不检查上限
+     */
+    void forceAcquireUriSeries() {
+        uriSeries.incrementAndGet();
+    }
+
+    boolean acquireEndpointSeries() {
+        return acquire(endpointSeries);
+    }
+
+    void releaseEndpointSeries() {
+        endpointSeries.decrementAndGet();
+    }
+
+    void forceAcquireEndpointSeries() {
+        endpointSeries.incrementAndGet();
+    }
+
+    private boolean acquire(AtomicInteger series) {
+        while (true) {
+            int current = series.get();
+            if (current >= maxSeries) {
+                return false;
+            }
+            if (series.compareAndSet(current, current + 1)) {
+                return true;
+            }
         }
-        statistics1.update(spendMs);
+    }
 
-        Key2 key2 = new Key2(endpoint, result);
-        Statistics statistics2 = map2.get(key2);
-        if (statistics2 == null) {
-            statistics2 = map2.computeIfAbsent(key2, k -> new Statistics());
+    private MetricsRecorder overflowRecorder(int index, HttpMethod method, ContextType contextType, ApiVersion apiVersion) {
+        MetricsRecorder recorder = overflowRecorders.get(index);
+        if (recorder == null) {
+            overflowRecorders.compareAndSet(index, null, new MetricsRecorder(this, method, contextType, apiVersion, OVERFLOW, true));
+            recorder = overflowRecorders.get(index);
         }
-        statistics2.update(spendMs);
+        return recorder;
+    }
+
+    private static ThreadPoolExecutor newCallbackExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(Constants.Metric.callbackThreads, Constants.Metric.callbackThreads,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(Constants.Metric.callbackExecutorQueueSize),
+                new NamedThreadFactory("yunxin-sdk-stats-callback", true));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static int index(HttpMethod method, ContextType contextType, ApiVersion apiVersion) {
+        return (method.ordinal() * ContextType.values().length + contextType.ordinal()) * ApiVersion.values().length + apiVersion.ordinal();
     }
 
     public void shutdown() {
@@ -66,132 +383,570 @@ public class YunxinApiSdkMetricsCollector {
     }
 
     private void calc() {
+        phaser.readerLock();
         try {
-            ConcurrentHashMap<Key1, Statistics> map1 = this.map1;
-            ConcurrentHashMap<Key2, Statistics> map2 = this.map2;
-            this.map1 = new ConcurrentHashMap<>();
-            this.map2 = new ConcurrentHashMap<>();
-            List<EndpointStats> endpointStatsList = new ArrayList<>();
-            List<UriStats> uriStatsList = new ArrayList<>();
-            for (Map.Entry<Key1, Statistics> entry : map1.entrySet()) {
-                Key1 key = entry.getKey();
-                StatsData data = entry.getValue().getStatsDataAndReset();
-                if (data.getCount() == 0) {
-                    continue;
+            //after flip, no writer is updating the buffers of the previous interval
+            int index = phaser.flipPhase();
+            long tick = ticks;
+            //writers that got an evicted series before it was removed have finished, merge their data before rolling
+            for (Evicted e : evicted) {
+                e.settle(index);
+            }
+            evicted.clear();
+            Stats stats = collect(StatsWindow.INTERVAL, collectIntervalSeconds, new Reader() {
+                @Override
+                public LogLinearHistogram.Snapshot read(IntervalStatistics statistics) {
+                    return statistics.roll(index, tick);
                 }
-                UriStats uriStats = new UriStats();
-                uriStats.setEndpoint(key.endpoint);
-                uriStats.setMethod(key.method);
-                uriStats.setContextType(key.contextType);
-                uriStats.setApiVersion(key.apiVersion);
-                uriStats.setUri(key.uri);
-                uriStats.setResult(key.result);
-                uriStats.setCount(data.getCount());
-                uriStats.setAvg(data.getAvg());
-                uriStats.setMax(data.getMax());
-                uriStats.setP50(data.getP50());
-                uriStats.setP75(data.getP75());
-                uriStats.setP90(data.getP90());
-                uriStats.setP95(data.getP95());
-                uriStats.setP99(data.getP99());
-                uriStats.setP999(data.getP999());
-                uriStatsList.add(uriStats);
-            }
-            for (Map.Entry<Key2, Statistics> entry : map2.entrySet()) {
-                Key2 key = entry.getKey();
-                StatsData data = entry.getValue().getStatsDataAndReset();
-                if (data.getCount() == 0) {
-                    continue;
+
+                @Override
+                public long read(IntervalCounter counter) {
+                    return counter.roll(index, tick);
                 }
-                EndpointStats endpointStats = new EndpointStats();
-                endpointStats.setEndpoint(key.endpoint);
-                endpointStats.setResult(key.result);
-                endpointStats.setCount(data.getCount());
-                endpointStats.setAvg(data.getAvg());
-                endpointStats.setMax(data.getMax());
-                endpointStats.setP50(data.getP50());
-                endpointStats.setP75(data.getP75());
-                endpointStats.setP90(data.getP90());
-                endpointStats.setP95(data.getP95());
-                endpointStats.setP99(data.getP99());
-                endpointStats.setP999(data.getP999());
-                endpointStatsList.add(endpointStats);
-            }
-            Stats stats = new Stats();
-            stats.setBizName(bizName);
-            stats.setUriStatsList(uriStatsList);
-            stats.setEndpointStatsList(endpointStatsList);
+            });
+            if (sloTracker != null) {
+                sloTracker.tick(this, tick);
+            }
+            evictIdle(tick);
+            ticks = tick + 1;
             this.stats = stats;
-            if (metricsCallback != null) {
-                callbackExecutor.submit(() -> {
-                    try {
-                        metricsCallback.callback(stats);
-                    } catch (Exception e) {
-                        logger.error("callback error", e);
-                    }
-                });
+            if (statsDelivery != null) {
+                stats.setDroppedCallbackCount(statsDelivery.dropped());
+                statsDelivery.offer(stats);
             }
         } catch (Exception e) {
             logger.error("calc metrics error", e);
+        } finally {
+            phaser.readerUnlock();
         }
     }
 
-    public Stats getStats() {
+    /**
+     * 淘汰最近15分钟没有数据的监控项并释放监控项计数，避免endpoint/uri轮换等情况下监控项一直占用上限，调用方需要持有 readerLock
+     */
+    private void evictIdle(long tick) {
+        for (String uri : recorders.keySet()) {
+            recorders.computeIfPresent(uri, (k, array) -> removeIdle(array, tick) ? null : array);
+        }
+        for (MetricsRecorder recorder : recorderList()) {
+            recorder.evictIdle(tick, evicted);
+        }
+        for (MetricsRecorder.EndpointRecorder recorder : endpointRecorders.values()) {
+            recorder.evictIdle(tick, evicted);
+        }
+        for (TransportRecorder recorder : transportRecorders.values()) {
+            recorder.evictIdle(tick, evicted);
+        }
+    }
+
+    /**
+     * 移除没有endpoint的recorder
+     * @return uri下的recorder是否都已移除
+     */
+    private boolean removeIdle(AtomicReferenceArray<MetricsRecorder> array, long tick) {
+        boolean empty = true;
+        for (int i = 0; i < array.length(); i++) {
+            MetricsRecorder recorder = array.get(i);
+            if (recorder != null && recorder.removeIfIdle(tick, evicted)) {
+                array.set(i, null);
+            } else if (recorder != null) {
+                empty = false;
+            }
+        }
+        return empty;
+    }
+
+    /**
+     * 被淘汰的监控项，淘汰时可能有写线程已经拿到了该监控项并在当前阶段写入
+     */
+    interface Evicted {
+        /**
+         * 下个周期切换阶段后调用，此时这些写线程都已退出，数据放回或合并到同名的监控项
+         * @param index WriterReaderPhaser.flipPhase 的返回值
+         */
+        void settle(int index);
+    }
+
+    /**
+     * 获取指定窗口的统计数据，不影响其他窗口和统计周期
+     * @param window 窗口
+     * @return stats
+     */
+    public Stats getStats(StatsWindow window) {
+        if (window == null) {
+            throw new IllegalArgumentException("window is null");
+        }
+        if (window == StatsWindow.INTERVAL) {
+            return getStats();
+        }
+        phaser.readerLock();
+        try {
+            if (window == StatsWindow.LIFETIME) {
+                return collect(window, ticks * collectIntervalSeconds, new Reader() {
+                    @Override
+                    public LogLinearHistogram.Snapshot read(IntervalStatistics statistics) {
+                        return statistics.lifetime();
+                    }
+
+                    @Override
+                    public long read(IntervalCounter counter) {
+                        return counter.lifetime();
+                    }
+                });
+            }
+            long lastTick = ticks - 1;
+            int windowTicks = ticks(window);
+            return collect(window, Math.min(ticks, windowTicks) * collectIntervalSeconds, new Reader() {
+                @Override
+                public LogLinearHistogram.Snapshot read(IntervalStatistics statistics) {
+                    return statistics.window(lastTick, windowTicks);
+                }
+
+                @Override
+                public long read(IntervalCounter counter) {
+                    return counter.window(lastTick, windowTicks);
+                }
+            });
+        } finally {
+            phaser.readerUnlock();
+        }
+    }
+
+    /**
+     * 读取所有监控项，调用方需要持有 readerLock
+     */
+    private Stats collect(StatsWindow window, long durationSeconds, Reader reader) {
+        List<UriStats> uriStatsList = new ArrayList<>();
+        List<PayloadStats> payloadStatsList = new ArrayList<>();
+        for (MetricsRecorder recorder : recorderList()) {
+            recorder.forEach((endpoint, result, statistics) -> {
+                LogLinearHistogram.Snapshot snapshot = reader.read(statistics);
+                if (snapshot != null && snapshot.getCount() > 0) {
+                    uriStatsList.add(uriStats(recorder, endpoint, result, snapshot));
+                }
+            });
+            for (PayloadDirection direction : TransportRecorder.DIRECTIONS) {
+                IntervalStatistics statistics = recorder.payload(direction);
+                if (statistics != null) {
+                    LogLinearHistogram.Snapshot snapshot = reader.read(statistics);
+                    if (snapshot != null && snapshot.getCount() > 0) {
+                        payloadStatsList.add(payloadStats(recorder, direction, snapshot));
+                    }
+                }
+            }
+        }
+        List<EndpointStats> endpointStatsList = new ArrayList<>();
+        for (MetricsRecorder.EndpointRecorder recorder : endpointRecorderList()) {
+            recorder.forEach((endpoint, result, statistics) -> {
+                LogLinearHistogram.Snapshot snapshot = reader.read(statistics);
+                if (snapshot != null && snapshot.getCount() > 0) {
+                    endpointStatsList.add(endpointStats(endpoint, result, snapshot));
+                }
+            });
+        }
+        List<TransportStats> transportStatsList = new ArrayList<>();
+        List<ConnectionStats> connectionStatsList = new ArrayList<>();
+        List<EndpointPayloadStats> endpointPayloadStatsList = new ArrayList<>();
+        List<TransportRecorder> transportRecorderList = new ArrayList<>(transportRecorders.values());
+        transportRecorderList.add(overflowTransportRecorder);
+        for (TransportRecorder recorder : transportRecorderList) {
+            for (TransportPhase phase : TransportRecorder.PHASES) {
+                IntervalStatistics statistics = recorder.phase(phase);
+                LogLinearHistogram.Snapshot snapshot = statistics == null ? null : reader.read(statistics);
+                if (snapshot != null && snapshot.getCount() > 0) {
+                    transportStatsList.add(transportStats(recorder.getEndpoint(), phase, snapshot));
+                }
+            }
+            long reused = reader.read(recorder.reusedConnections());
+            long created = reader.read(recorder.newConnections());
+            if (reused > 0 || created > 0) {
+                ConnectionStats connectionStats = new ConnectionStats();
+                connectionStats.setEndpoint(recorder.getEndpoint());
+                connectionStats.setReused(reused);
+                connectionStats.setCreated(created);
+                connectionStatsList.add(connectionStats);
+            }
+            long requestBytes = reader.read(recorder.payloadBytes(PayloadDirection.REQUEST));
+            long responseBytes = reader.read(recorder.payloadBytes(PayloadDirection.RESPONSE));
+            if (requestBytes > 0 || responseBytes > 0) {
+                EndpointPayloadStats endpointPayloadStats = new EndpointPayloadStats();
+                endpointPayloadStats.setEndpoint(recorder.getEndpoint());
+                endpointPayloadStats.setRequestBytes(requestBytes);
+                endpointPayloadStats.setResponseBytes(responseBytes);
+                endpointPayloadStatsList.add(endpointPayloadStats);
+            }
+        }
+        List<BulkheadStats> bulkheadStatsList = new ArrayList<>();
+        for (BulkheadRecorder recorder : bulkheadRecorders.values()) {
+            for (Priority priority : BulkheadRecorder.PRIORITIES) {
+                IntervalStatistics queueWait = recorder.queueWait(priority);
+                IntervalCounter rejectedCounter = recorder.rejected(priority);
+                LogLinearHistogram.Snapshot snapshot = queueWait == null ? null : reader.read(queueWait);
+                long rejected = rejectedCounter == null ? 0 : reader.read(rejectedCounter);
+                if ((snapshot != null && snapshot.getCount() > 0) || rejected > 0) {
+                    bulkheadStatsList.add(bulkheadStats(recorder.getBulkhead(), priority, snapshot, rejected));
+                }
+            }
+        }
+        Stats stats = new Stats();
+        stats.setBizName(bizName);
+        stats.setWindow(window);
+        stats.setDurationSeconds(durationSeconds);
+        stats.setUriStatsList(uriStatsList);
+        stats.setEndpointStatsList(endpointStatsList);
+        stats.setOverflowCount(reader.read(overflowCounter));
+        stats.setRetrySuppressedCount(reader.read(retrySuppressedCounter));
+        long shedCount = 0;
+        for (ShedStage stage : SHED_STAGES) {
+            long count = reader.read(shedCounters[stage.ordinal()]);
+            stats.getShedCounts().put(stage.getLabel(), count);
+            shedCount += count;
+        }
+        stats.setShedCount(shedCount);
+        stats.setTransportStatsList(transportStatsList);
+        stats.setConnectionStatsList(connectionStatsList);
+        stats.setPayloadStatsList(payloadStatsList);
+        stats.setEndpointPayloadStatsList(endpointPayloadStatsList);
+        stats.setBulkheadStatsList(bulkheadStatsList);
+        ClientGauges clientGauges = this.clientGauges;
+        if (clientGauges != null) {
+            stats.setGaugeStats(clientGauges.sample());
+        }
         return stats;
     }
 
-    private static class Key1 {
-        private final String endpoint;
-        private final HttpMethod method;
-        private final ContextType contextType;
-        private final ApiVersion apiVersion;
-        private final String uri;
-        private final String result;
+    /**
+     * calc 时滚动到下一个周期，查询窗口时只读
+     */
+    private interface Reader {
+        LogLinearHistogram.Snapshot read(IntervalStatistics statistics);
+
+        long read(IntervalCounter counter);
+    }
 
-        public Key1(String endpoint, HttpMethod method, ContextType contextType, ApiVersion apiVersion, String uri, String result) {
-            this.endpoint = endpoint;
-            this.method = method;
-            this.contextType = contextType;
-            this.apiVersion = apiVersion;
-            this.uri = uri;
-            this.result = result;
+    /**
+     * 遍历uri维度的lifetime快照，持有 readerLock，不要在visitor中做耗时操作
+     */
+    void visitLifetime(UriSeriesVisitor visitor) {
+        phaser.readerLock();
+        try {
+            for (MetricsRecorder recorder : recorderList()) {
+                recorder.forEach((endpoint, result, statistics) -> {
+                    LogLinearHistogram.Snapshot snapshot = statistics.lifetime();
+                    if (snapshot != null) {
+                        visitor.visit(recorder, endpoint, result, snapshot);
+                    }
+                });
+            }
+        } finally {
+            phaser.readerUnlock();
         }
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            Key1 key1 = (Key1) o;
-            return Objects.equals(endpoint, key1.endpoint) && method == key1.method && contextType == key1.contextType
-                    && apiVersion == key1.apiVersion && Objects.equals(uri, key1.uri) && Objects.equals(result, key1.result);
+    /**
+     * 遍历endpoint维度的lifetime快照，持有 readerLock，不要在visitor中做耗时操作
+     */
+    void visitLifetime(EndpointSeriesVisitor visitor) {
+        phaser.readerLock();
+        try {
+            for (MetricsRecorder.EndpointRecorder recorder : endpointRecorderList()) {
+                recorder.forEach((endpoint, result, statistics) -> {
+                    LogLinearHistogram.Snapshot snapshot = statistics.lifetime();
+                    if (snapshot != null) {
+                        visitor.visit(endpoint, result, snapshot);
+                    }
+                });
+            }
+        } finally {
+            phaser.readerUnlock();
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(endpoint, method, contextType, apiVersion, uri, result);
+    /**
+     * 回调跟不上统计周期时被丢弃的 Stats 个数（累计值），未设置 MetricsCallback 时为0
+     * @return count
+     */
+    public long getDroppedCallbackCount() {
+        return statsDelivery == null ? 0 : statsDelivery.dropped();
+    }
+
+    /**
+     * 各个 SloObjective 在每条 SloBurnRule 下的当前燃烧率和告警状态，未配置 SloObjective 时为空
+     * @return list
+     */
+    public List<SloAlert> getSloStatus() {
+        if (sloTracker == null) {
+            return Collections.emptyList();
+        }
+        phaser.readerLock();
+        try {
+            return sloTracker.status();
+        } finally {
+            phaser.readerUnlock();
         }
     }
 
-    private static class Key2 {
-        private final String endpoint;
-        private final String result;
+    /**
+     * 遍历uri下所有 method/contextType/apiVersion/endpoint/result 的监控项，调用方需要持有 readerLock
+     */
+    void forEachSeries(String uri, MetricsRecorder.SeriesVisitor visitor) {
+        AtomicReferenceArray<MetricsRecorder> array = recorders.get(uri);
+        if (array == null) {
+            return;
+        }
+        for (int i = 0; i < array.length(); i++) {
+            MetricsRecorder recorder = array.get(i);
+            if (recorder != null) {
+                recorder.forEach(visitor);
+            }
+        }
+    }
 
-        public Key2(String endpoint, String result) {
-            this.endpoint = endpoint;
-            this.result = result;
+    long lifetimeOverflowCount() {
+        phaser.readerLock();
+        try {
+            return overflowCounter.lifetime();
+        } finally {
+            phaser.readerUnlock();
         }
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            Key2 key2 = (Key2) o;
-            return Objects.equals(endpoint, key2.endpoint) && Objects.equals(result, key2.result);
+    long lifetimeShedCount(ShedStage stage) {
+        phaser.readerLock();
+        try {
+            return shedCounters[stage.ordinal()].lifetime();
+        } finally {
+            phaser.readerUnlock();
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(endpoint, result);
+    long lifetimeRetrySuppressedCount() {
+        phaser.readerLock();
+        try {
+            return retrySuppressedCounter.lifetime();
+        } finally {
+            phaser.readerUnlock();
         }
     }
+
+    int uriSeries() {
+        return uriSeries.get();
+    }
+
+    int endpointSeries() {
+        return endpointSeries.get();
+    }
+
+    BizName getBizName() {
+        return bizName;
+    }
+
+    /**
+     * 遍历uri维度请求体/响应体大小的lifetime快照，持有 readerLock
+     */
+    void visitLifetimePayload(PayloadSeriesVisitor visitor) {
+        phaser.readerLock();
+        try {
+            for (MetricsRecorder recorder : recorderList()) {
+                for (PayloadDirection direction : TransportRecorder.DIRECTIONS) {
+                    IntervalStatistics statistics = recorder.payload(direction);
+                    LogLinearHistogram.Snapshot snapshot = statistics == null ? null : statistics.lifetime();
+                    if (snapshot != null) {
+                        visitor.visit(recorder, direction, snapshot);
+                    }
+                }
+            }
+        } finally {
+            phaser.readerUnlock();
+        }
+    }
+
+    /**
+     * 遍历endpoint维度请求体/响应体的lifetime总字节数，持有 readerLock
+     */
+    void visitLifetimePayloadBytes(PayloadBytesVisitor visitor) {
+        phaser.readerLock();
+        try {
+            List<TransportRecorder> transportRecorderList = new ArrayList<>(transportRecorders.values());
+            transportRecorderList.add(overflowTransportRecorder);
+            for (TransportRecorder recorder : transportRecorderList) {
+                long requestBytes = recorder.payloadBytes(PayloadDirection.REQUEST).lifetime();
+                long responseBytes = recorder.payloadBytes(PayloadDirection.RESPONSE).lifetime();
+                if (requestBytes > 0 || responseBytes > 0) {
+                    visitor.visit(recorder.getEndpoint(), requestBytes, responseBytes);
+                }
+            }
+        } finally {
+            phaser.readerUnlock();
+        }
+    }
+
+    /**
+     * 遍历舱壁、优先级维度排队时间的lifetime快照和拒绝次数，持有 readerLock
+     */
+    void visitLifetimeBulkhead(BulkheadVisitor visitor) {
+        phaser.readerLock();
+        try {
+            for (BulkheadRecorder recorder : bulkheadRecorders.values()) {
+                for (Priority priority : BulkheadRecorder.PRIORITIES) {
+                    IntervalStatistics queueWait = recorder.queueWait(priority);
+                    IntervalCounter rejected = recorder.rejected(priority);
+                    if (queueWait == null && rejected == null) {
+                        continue;
+                    }
+                    visitor.visit(recorder.getBulkhead(), priority, queueWait == null ? null : queueWait.lifetime(),
+                            rejected == null ? 0 : rejected.lifetime());
+                }
+            }
+        } finally {
+            phaser.readerUnlock();
+        }
+    }
+
+    interface BulkheadVisitor {
+        /**
+         * @param snapshot 没有获取到许可的请求时为null
+         */
+        void visit(String bulkhead, Priority priority, LogLinearHistogram.Snapshot snapshot, long rejected);
+    }
+
+    interface UriSeriesVisitor {
+        void visit(MetricsRecorder recorder, String endpoint, MetricsResult result, LogLinearHistogram.Snapshot snapshot);
+    }
+
+    interface EndpointSeriesVisitor {
+        void visit(String endpoint, MetricsResult result, LogLinearHistogram.Snapshot snapshot);
+    }
+
+    interface PayloadSeriesVisitor {
+        void visit(MetricsRecorder recorder, PayloadDirection direction, LogLinearHistogram.Snapshot snapshot);
+    }
+
+    interface PayloadBytesVisitor {
+        void visit(String endpoint, long requestBytes, long responseBytes);
+    }
+
+    private List<MetricsRecorder> recorderList() {
+        List<MetricsRecorder> recorderList = new ArrayList<>();
+        for (AtomicReferenceArray<MetricsRecorder> array : recorders.values()) {
+            addAll(recorderList, array);
+        }
+        addAll(recorderList, overflowRecorders);
+        return recorderList;
+    }
+
+    private List<MetricsRecorder.EndpointRecorder> endpointRecorderList() {
+        List<MetricsRecorder.EndpointRecorder> endpointRecorderList = new ArrayList<>(endpointRecorders.values());
+        endpointRecorderList.add(overflowEndpointRecorder);
+        return endpointRecorderList;
+    }
+
+    private static UriStats uriStats(MetricsRecorder recorder, String endpoint, MetricsResult result, LogLinearHistogram.Snapshot snapshot) {
+        StatsData data = Statistics.toStatsData(snapshot);
+        UriStats uriStats = new UriStats();
+        uriStats.setEndpoint(endpoint);
+        uriStats.setMethod(recorder.getMethod());
+        uriStats.setContextType(recorder.getContextType());
+        uriStats.setApiVersion(recorder.getApiVersion());
+        uriStats.setUri(recorder.getUri());
+        uriStats.setResult(result.getLabel());
+        uriStats.setCount(data.getCount());
+        uriStats.setAvg(data.getAvg());
+        uriStats.setMax(data.getMax());
+        uriStats.setP50(data.getP50());
+        uriStats.setP75(data.getP75());
+        uriStats.setP90(data.getP90());
+        uriStats.setP95(data.getP95());
+        uriStats.setP99(data.getP99());
+        uriStats.setP999(data.getP999());
+        return uriStats;
+    }
+
+    private static PayloadStats payloadStats(MetricsRecorder recorder, PayloadDirection direction, LogLinearHistogram.Snapshot snapshot) {
+        StatsData data = Statistics.toStatsData(snapshot);
+        PayloadStats payloadStats = new PayloadStats();
+        payloadStats.setMethod(recorder.getMethod());
+        payloadStats.setContextType(recorder.getContextType());
+        payloadStats.setApiVersion(recorder.getApiVersion());
+        payloadStats.setUri(recorder.getUri());
+        payloadStats.setDirection(direction.getLabel());
+        payloadStats.setCount(data.getCount());
+        payloadStats.setSum(data.getSum());
+        payloadStats.setAvg(data.getAvg());
+        payloadStats.setMax(data.getMax());
+        payloadStats.setP50(data.getP50());
+        payloadStats.setP75(data.getP75());
+        payloadStats.setP90(data.getP90());
+        payloadStats.setP95(data.getP95());
+        payloadStats.setP99(data.getP99());
+        payloadStats.setP999(data.getP999());
+        return payloadStats;
+    }
+
+    private static BulkheadStats bulkheadStats(String bulkhead, Priority priority, LogLinearHistogram.Snapshot snapshot, long rejected) {
+        BulkheadStats bulkheadStats = new BulkheadStats();
+        bulkheadStats.setBulkhead(bulkhead);
+        bulkheadStats.setPriority(priority.getLabel());
+        bulkheadStats.setRejected(rejected);
+        if (snapshot != null && snapshot.getCount() > 0) {
+            StatsData data = Statistics.toStatsData(snapshot);
+            bulkheadStats.setCount(data.getCount());
+            bulkheadStats.setAvg(data.getAvg());
+            bulkheadStats.setMax(data.getMax());
+            bulkheadStats.setP50(data.getP50());
+            bulkheadStats.setP75(data.getP75());
+            bulkheadStats.setP90(data.getP90());
+            bulkheadStats.setP95(data.getP95());
+            bulkheadStats.setP99(data.getP99());
+            bulkheadStats.setP999(data.getP999());
+        }
+        return bulkheadStats;
+    }
+
+    private static TransportStats transportStats(String endpoint, TransportPhase phase, LogLinearHistogram.Snapshot snapshot) {
+        StatsData data = Statistics.toStatsData(snapshot);
+        TransportStats transportStats = new TransportStats();
+        transportStats.setEndpoint(endpoint);
+        transportStats.setPhase(phase.getLabel());
+        transportStats.setCount(data.getCount());
+        transportStats.setAvg(data.getAvg());
+        transportStats.setMax(data.getMax());
+        transportStats.setP50(data.getP50());
+        transportStats.setP75(data.getP75());
+        transportStats.setP90(data.getP90());
+        transportStats.setP95(data.getP95());
+        transportStats.setP99(data.getP99());
+        transportStats.setP999(data.getP999());
+        return transportStats;
+    }
+
+    private static EndpointStats endpointStats(String endpoint, MetricsResult result, LogLinearHistogram.Snapshot snapshot) {
+        StatsData data = Statistics.toStatsData(snapshot);
+        EndpointStats endpointStats = new EndpointStats();
+        endpointStats.setEndpoint(endpoint);
+        endpointStats.setResult(result.getLabel());
+        endpointStats.setCount(data.getCount());
+        endpointStats.setAvg(data.getAvg());
+        endpointStats.setMax(data.getMax());
+        endpointStats.setP50(data.getP50());
+        endpointStats.setP75(data.getP75());
+        endpointStats.setP90(data.getP90());
+        endpointStats.setP95(data.getP95());
+        endpointStats.setP99(data.getP99());
+        endpointStats.setP999(data.getP999());
+        return endpointStats;
+    }
+
+    private static void addAll(List<MetricsRecorder> list, AtomicReferenceArray<MetricsRecorder> array) {
+        for (int i = 0; i < array.length(); i++) {
+            MetricsRecorder recorder = array.get(i);
+            if (recorder != null) {
+                list.add(recorder);
+            }
+        }
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
 }
@@ -0,0 +1,136 @@
+package com.netease.nim.server.sdk.core.reactive;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 单次调用的 Publisher，最多发出一个元素
+ * 冷启动：每次订阅且第一次request时才发起调用，cancel会中止调用当前所处的阶段（舱壁排队、http请求或者重试等待）
+ * @param <T> 元素类型
+ */
+public final class CallPublisher<T> implements Publisher<T> {
+
+    private final Function<Cancellation, CompletableFuture<T>> call;
+
+    /**
+     * @param call 发起调用，返回调用结果，需要通过 Cancellation.onCancel 设置各阶段的取消操作
+     */
+    public CallPublisher(Function<Cancellation, CompletableFuture<T>> call) {
+        if (call == null) {
+            throw new IllegalArgumentException("call is null");
+        }
+        this.call = call;
+    }
+
+    /**
+     * 转换结果
+     * @param mapper mapper
+     * @param <R> 转换后的类型
+     * @return publisher
+     */
+    public <R> CallPublisher<R> map(Function<? super T, ? extends R> mapper) {
+        return new CallPublisher<>(cancellation -> call.apply(cancellation).thenApply(mapper));
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber is null");
+        }
+        CallSubscription<T> subscription = new CallSubscription<>(call, subscriber);
+        try {
+            subscriber.onSubscribe(subscription);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            throw e;
+        }
+        subscription.onSubscribed();
+    }
+
+    static Throwable unwrap(Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private static final class CallSubscription<T> implements Subscription {
+
+        private final Function<Cancellation, CompletableFuture<T>> call;
+        private final Subscriber<? super T> subscriber;
+        private final Cancellation cancellation = new Cancellation();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean subscribed;
+        private volatile boolean requested;
+
+        CallSubscription(Function<Cancellation, CompletableFuture<T>> call, Subscriber<? super T> subscriber) {
+            this.call = call;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancellation.cancel();
+                if (done.compareAndSet(false, true)) {
+                    subscriber.onError(new IllegalArgumentException("request must be positive, but was " + n));
+                }
+                return;
+            }
+            requested = true;
+            if (subscribed) {
+                start();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancellation.cancel();
+        }
+
+        void onSubscribed() {
+            //signals must not overlap onSubscribe, so the call starts after it returns
+            subscribed = true;
+            if (requested) {
+                start();
+            }
+        }
+
+        private void start() {
+            if (!started.compareAndSet(false, true) || cancellation.isCancelled()) {
+                return;
+            }
+            CompletableFuture<T> future;
+            try {
+                future = call.apply(cancellation);
+            } catch (Throwable e) {
+                error(e);
+                return;
+            }
+            future.whenComplete((value, error) -> {
+                if (error != null) {
+                    error(unwrap(error));
+                    return;
+                }
+                if (cancellation.isCancelled() || !done.compareAndSet(false, true)) {
+                    return;
+                }
+                if (value != null) {
+                    subscriber.onNext(value);
+                }
+                subscriber.onComplete();
+            });
+        }
+
+        private void error(Throwable error) {
+            if (cancellation.isCancelled() || !done.compareAndSet(false, true)) {
+                return;
+            }
+            subscriber.onError(error);
+        }
+    }
+}
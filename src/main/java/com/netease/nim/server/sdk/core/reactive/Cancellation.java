@@ -0,0 +1,45 @@
+package com.netease.nim.server.sdk.core.reactive;
+
+/**
+ * 一次调用的取消标记，由 CallPublisher 创建
+ * YunxinHttpClient 在调用的每个阶段（舱壁排队、http请求、重试等待）通过 onCancel 设置取消当前阶段的操作
+ */
+public final class Cancellation {
+
+    private volatile boolean cancelled;
+    //由 this 保护
+    private Runnable hook;
+
+    public void cancel() {
+        Runnable hook;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            hook = this.hook;
+            this.hook = null;
+        }
+        if (hook != null) {
+            hook.run();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 设置取消时执行的操作，替换之前设置的，已经取消时立即执行
+     * @param hook 取消当前阶段的操作
+     */
+    public void onCancel(Runnable hook) {
+        synchronized (this) {
+            if (!cancelled) {
+                this.hook = hook;
+                return;
+            }
+        }
+        hook.run();
+    }
+}
@@ -0,0 +1,209 @@
+package com.netease.nim.server.sdk.core.reactive;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 分页接口的 Publisher，每个元素是一页，按订阅方request的数量逐页请求，没有需求时不会预取下一页
+ * nextPageToken 返回null或者空字符串时结束
+ * @param <T> 每一页的类型
+ */
+public final class PagePublisher<T> implements Publisher<T> {
+
+    private final String firstPageToken;
+    private final Function<String, Publisher<T>> pageLoader;
+    private final Function<? super T, String> nextPageToken;
+
+    /**
+     * @param firstPageToken 第一页的token，可以为null
+     * @param pageLoader 根据page token请求一页，只取第一个元素
+     * @param nextPageToken 下一页的token
+     */
+    public PagePublisher(String firstPageToken, Function<String, Publisher<T>> pageLoader, Function<? super T, String> nextPageToken) {
+        if (pageLoader == null || nextPageToken == null) {
+            throw new IllegalArgumentException("pageLoader or nextPageToken is null");
+        }
+        this.firstPageToken = firstPageToken;
+        this.pageLoader = pageLoader;
+        this.nextPageToken = nextPageToken;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber is null");
+        }
+        PageSubscription<T> subscription = new PageSubscription<>(this, subscriber);
+        try {
+            subscriber.onSubscribe(subscription);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            throw e;
+        }
+        subscription.drainLoop();
+    }
+
+    private static final class PageSubscription<T> implements Subscription, Subscriber<T> {
+
+        private final PagePublisher<T> publisher;
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        //held during onSubscribe, so that no signal overlaps it
+        private final AtomicInteger wip = new AtomicInteger(1);
+
+        private String pageToken;
+        private boolean loading;
+        private boolean finished;
+        private volatile boolean cancelled;
+        private volatile Subscription page;
+        private volatile T pageValue;
+        private volatile Throwable pageError;
+        private volatile boolean pageDone;
+
+        PageSubscription(PagePublisher<T> publisher, Subscriber<? super T> subscriber) {
+            this.publisher = publisher;
+            this.subscriber = subscriber;
+            this.pageToken = publisher.firstPageToken;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                pageError = new IllegalArgumentException("request must be positive, but was " + n);
+                pageDone = true;
+                cancelPage();
+            } else {
+                long current;
+                do {
+                    current = demand.get();
+                } while (!demand.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelPage();
+        }
+
+        private void cancelPage() {
+            Subscription page = this.page;
+            if (page != null) {
+                page.cancel();
+            }
+        }
+
+        //subscriber of the current page
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            page = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(T value) {
+            pageValue = value;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            pageError = t;
+            pageDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            pageDone = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        /**
+         * only one thread at a time, the caller has taken wip
+         */
+        void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                if (!cancelled && !finished) {
+                    if (pageDone) {
+                        pageDone = false;
+                        loading = false;
+                        page = null;
+                        emitPage();
+                    }
+                    if (!loading && !finished && !cancelled && demand.get() > 0) {
+                        loading = true;
+                        loadPage();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void emitPage() {
+            Throwable error = pageError;
+            T value = pageValue;
+            pageError = null;
+            pageValue = null;
+            if (error != null) {
+                finished = true;
+                subscriber.onError(error);
+                return;
+            }
+            if (value == null) {
+                finished = true;
+                subscriber.onComplete();
+                return;
+            }
+            String next;
+            try {
+                next = publisher.nextPageToken.apply(value);
+            } catch (Throwable e) {
+                finished = true;
+                subscriber.onError(e);
+                return;
+            }
+            //request(Long.MAX_VALUE) is unbounded and never consumed (Reactive Streams §3.17)
+            if (demand.get() != Long.MAX_VALUE) {
+                demand.decrementAndGet();
+            }
+            subscriber.onNext(value);
+            if (next == null || next.isEmpty()) {
+                finished = true;
+                if (!cancelled) {
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            pageToken = next;
+        }
+
+        private void loadPage() {
+            Publisher<T> publisher;
+            try {
+                publisher = this.publisher.pageLoader.apply(pageToken);
+            } catch (Throwable e) {
+                finished = true;
+                subscriber.onError(e);
+                return;
+            }
+            publisher.subscribe(this);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.netease.nim.server.sdk.core.reactive;
+
+/**
+ * 与 Reactive Streams 1.0 (org.reactivestreams.Publisher) 方法一致，sdk不引入依赖
+ * 可以直接桥接到 Reactor/RxJava，见 docs/others.md
+ * @param <T> 元素类型
+ */
+public interface Publisher<T> {
+
+    /**
+     * 订阅，每次订阅都会重新发起请求
+     * @param subscriber subscriber
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+}
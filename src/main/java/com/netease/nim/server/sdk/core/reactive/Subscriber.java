@@ -0,0 +1,31 @@
+package com.netease.nim.server.sdk.core.reactive;
+
+/**
+ * 与 Reactive Streams 1.0 (org.reactivestreams.Subscriber) 方法一致
+ * @param <T> 元素类型
+ */
+public interface Subscriber<T> {
+
+    /**
+     * 订阅成功，request之前不会发出任何元素
+     * @param subscription subscription
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * 元素
+     * @param t element
+     */
+    void onNext(T t);
+
+    /**
+     * 失败，终止信号
+     * @param t error
+     */
+    void onError(Throwable t);
+
+    /**
+     * 完成，终止信号
+     */
+    void onComplete();
+}
@@ -0,0 +1,18 @@
+package com.netease.nim.server.sdk.core.reactive;
+
+/**
+ * 与 Reactive Streams 1.0 (org.reactivestreams.Subscription) 方法一致
+ */
+public interface Subscription {
+
+    /**
+     * 请求n个元素，n必须大于0
+     * @param n n
+     */
+    void request(long n);
+
+    /**
+     * 取消，正在进行的http请求会被取消，且不会再重试
+     */
+    void cancel();
+}
@@ -0,0 +1,19 @@
+package com.netease.nim.server.sdk.core.trace;
+
+/**
+ * 指定下一次调用使用的舱壁（BulkheadConfig.name），优先于uri匹配，调用后自动清除
+ */
+public class BulkheadSetter {
+
+    private static final ThreadLocal<String> bulkhead = new ThreadLocal<>();
+
+    public static String getAndClear() {
+        String name = bulkhead.get();
+        bulkhead.remove();
+        return name;
+    }
+
+    public static void setBulkhead(String name) {
+        bulkhead.set(name);
+    }
+}
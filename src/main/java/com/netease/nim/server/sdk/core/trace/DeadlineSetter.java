@@ -0,0 +1,30 @@
+package com.netease.nim.server.sdk.core.trace;
+
+/**
+ * 指定下一次调用的截止时间，调用后自动清除
+ * 超过截止时间（或剩余时间不足）的请求不会再发出，包括舱壁排队中的请求和尚未开始的重试
+ */
+public class DeadlineSetter {
+
+    private static final ThreadLocal<Long> deadline = new ThreadLocal<>();
+
+    public static Long getAndClear() {
+        Long deadlineMillis = deadline.get();
+        deadline.remove();
+        return deadlineMillis;
+    }
+
+    /**
+     * @param deadlineMillis 截止时间，System.currentTimeMillis
+     */
+    public static void setDeadline(long deadlineMillis) {
+        deadline.set(deadlineMillis);
+    }
+
+    /**
+     * @param timeoutMillis 从现在开始的剩余时间，包括排队、重试在内
+     */
+    public static void setDeadlineAfter(long timeoutMillis) {
+        deadline.set(System.currentTimeMillis() + timeoutMillis);
+    }
+}
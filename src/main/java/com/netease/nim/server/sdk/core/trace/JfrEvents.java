@@ -0,0 +1,66 @@
+package com.netease.nim.server.sdk.core.trace;
+
+import java.util.List;
+
+/**
+ * JDK Flight Recorder 事件入口
+ * 本类为 java8 下的空实现，java11+ 运行时加载 META-INF/versions/11 下的同名类，通过 jdk.jfr 提交事件
+ * 调用方先判断 isXxxEnabled 再组装参数，未开启 JFR 时只有一次布尔判断
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    public static boolean isAttemptEnabled() {
+        return false;
+    }
+
+    /**
+     * 一次http请求（每次重试单独一个事件）
+     * @param uri uri
+     * @param endpoint endpoint
+     * @param traceId traceId
+     * @param attempt 第几次请求，从0开始
+     * @param result 参考 MetricsResult.getLabel
+     * @param requestBytes 请求体字节数，-1 表示未知
+     * @param responseBytes 响应体字节数，-1 表示未知
+     * @param latencyMs 耗时
+     */
+    public static void attempt(String uri, String endpoint, String traceId, int attempt, String result,
+                               long requestBytes, long responseBytes, long latencyMs) {
+    }
+
+    public static boolean isRetryEnabled() {
+        return false;
+    }
+
+    /**
+     * RetryPolicy.onError 的决策
+     * @param uri uri
+     * @param endpoint 失败的endpoint
+     * @param traceId traceId
+     * @param attempt 第几次请求，从0开始
+     * @param retry 是否重试
+     * @param nextEndpoint 是否切换endpoint
+     * @param intervalMs 重试间隔，不重试时为0
+     * @param error 异常
+     */
+    public static void retry(String uri, String endpoint, String traceId, int attempt, boolean retry,
+                             boolean nextEndpoint, long intervalMs, Throwable error) {
+    }
+
+    public static boolean isEndpointReorderEnabled() {
+        return false;
+    }
+
+    /**
+     * DynamicEndpointSelector 调整了endpoint顺序
+     * @param before 调整前
+     * @param after 调整后
+     * @param successRatio 调整后第一个endpoint的成功率
+     * @param latency 调整后第一个endpoint的耗时
+     */
+    public static void endpointReorder(List<String> before, List<String> after, double successRatio, double latency) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.netease.nim.server.sdk.core.trace;
+
+import com.netease.nim.server.sdk.core.bulkhead.Priority;
+
+/**
+ * 指定下一次调用在舱壁内排队时的优先级，调用后自动清除，未匹配到舱壁的调用不排队、优先级不生效
+ */
+public class PrioritySetter {
+
+    private static final ThreadLocal<Priority> priority = new ThreadLocal<>();
+
+    public static Priority getAndClear() {
+        Priority value = priority.get();
+        priority.remove();
+        return value;
+    }
+
+    public static void setPriority(Priority value) {
+        priority.set(value);
+    }
+}
@@ -0,0 +1,211 @@
+package com.netease.nim.server.sdk.core.trace;
+
+import com.netease.nim.server.sdk.core.endpoint.ExecuteContext;
+import com.netease.nim.server.sdk.core.utils.MpscRingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 慢请求/失败请求采集
+ * 请求线程只做阈值判断、采样和截断，记录写入无锁环形队列后立即返回，队列满时丢弃并计数
+ * 由一个后台daemon线程消费并回调 SlowRequestListener
+ */
+public final class SlowRequestCapture {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowRequestCapture.class);
+    private static final Logger slowRequestLogger = LoggerFactory.getLogger("yunxin-sdk-slow-request");
+
+    private static final SlowRequestListener LOGGING_LISTENER = record -> slowRequestLogger.warn("{}", record);
+
+    private final long thresholdMillis;
+    //只读
+    private final Map<String, Long> uriThresholdMillis;
+    private final double sampleRate;
+    private final boolean captureErrors;
+    private final int maxPayloadLength;
+    private final SlowRequestListener listener;
+
+    private final MpscRingBuffer<SlowRequestRecord> ringBuffer;
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread drainer;
+    private volatile boolean waiting;
+    private volatile boolean running = true;
+
+    public SlowRequestCapture(SlowRequestConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("config is null");
+        }
+        if (config.getThresholdMillis() < 0) {
+            throw new IllegalArgumentException("illegal thresholdMillis");
+        }
+        if (config.getSampleRate() < 0 || config.getSampleRate() > 1) {
+            throw new IllegalArgumentException("illegal sampleRate");
+        }
+        if (config.getMaxPayloadLength() < 0) {
+            throw new IllegalArgumentException("illegal maxPayloadLength");
+        }
+        if (config.getBufferSize() <= 0) {
+            throw new IllegalArgumentException("illegal bufferSize");
+        }
+        this.thresholdMillis = config.getThresholdMillis();
+        this.uriThresholdMillis = config.getUriThresholdMillis() == null ? new HashMap<>() : new HashMap<>(config.getUriThresholdMillis());
+        this.sampleRate = config.getSampleRate();
+        this.captureErrors = config.isCaptureErrors();
+        this.maxPayloadLength = config.getMaxPayloadLength();
+        this.listener = config.getListener() == null ? LOGGING_LISTENER : config.getListener();
+        this.ringBuffer = new MpscRingBuffer<>(config.getBufferSize());
+        this.drainer = new Thread(this::drain, "yunxin-sdk-slow-request");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * 请求成功（收到了http响应）
+     * @param context 请求上下文
+     * @param endpoint 本次请求的endpoint
+     * @param attempt 第几次请求，从0开始
+     * @param startTime 开始时间
+     * @param spendMs 耗时
+     * @param httpCode http code
+     * @param response 响应体
+     */
+    public void onResponse(ExecuteContext context, String endpoint, int attempt, long startTime, long spendMs,
+                           int httpCode, String response) {
+        if (spendMs < threshold(context) || !sample()) {
+            return;
+        }
+        SlowRequestRecord record = record(context, endpoint, attempt, startTime, spendMs, true);
+        record.setResult("success");
+        record.setHttpCode(httpCode);
+        record.setResponseBody(truncate(response));
+        offer(record);
+    }
+
+    /**
+     * 请求失败
+     * @param context 请求上下文
+     * @param endpoint 本次请求的endpoint
+     * @param attempt 第几次请求，从0开始
+     * @param startTime 开始时间
+     * @param spendMs 耗时
+     * @param result 参考 MetricsResult.getLabel
+     * @param httpCode http code，没有收到响应时为0
+     * @param error 异常
+     */
+    public void onError(ExecuteContext context, String endpoint, int attempt, long startTime, long spendMs,
+                        String result, int httpCode, Throwable error) {
+        boolean slow = spendMs >= threshold(context);
+        if ((!slow && !captureErrors) || !sample()) {
+            return;
+        }
+        SlowRequestRecord record = record(context, endpoint, attempt, startTime, spendMs, slow);
+        record.setResult(result);
+        record.setHttpCode(httpCode);
+        record.setError(truncate(error.getClass().getName() + ": " + error.getMessage()));
+        offer(record);
+    }
+
+    /**
+     * @return 写入队列的记录数
+     */
+    public long getCapturedCount() {
+        return captured.get();
+    }
+
+    /**
+     * @return 因队列满而丢弃的记录数
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * 停止后台线程，已经在队列中的记录会被消费完
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(drainer);
+    }
+
+    private long threshold(ExecuteContext context) {
+        if (uriThresholdMillis.isEmpty()) {
+            return thresholdMillis;
+        }
+        Long threshold = uriThresholdMillis.get(context.getUri() == null ? context.getPath() : context.getUri());
+        return threshold == null ? thresholdMillis : threshold;
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private SlowRequestRecord record(ExecuteContext context, String endpoint, int attempt, long startTime, long spendMs, boolean slow) {
+        SlowRequestRecord record = new SlowRequestRecord();
+        record.setTimestamp(startTime);
+        record.setTraceId(context.getTraceId());
+        record.setEndpoint(endpoint);
+        record.setMethod(context.getHttpMethod());
+        record.setContextType(context.getContextType());
+        record.setApiVersion(context.getApiVersion());
+        record.setUri(context.getUri());
+        record.setPath(context.getPath());
+        record.setAttempt(attempt);
+        record.setSpendMs(spendMs);
+        record.setSlow(slow);
+        record.setRequestBody(context.getData(maxPayloadLength));
+        return record;
+    }
+
+    private String truncate(String string) {
+        if (string == null || string.length() <= maxPayloadLength) {
+            return string;
+        }
+        return string.substring(0, maxPayloadLength);
+    }
+
+    private void offer(SlowRequestRecord record) {
+        if (!ringBuffer.offer(record)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        captured.incrementAndGet();
+        if (waiting) {
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            SlowRequestRecord record = ringBuffer.poll();
+            if (record != null) {
+                try {
+                    listener.onRecord(record);
+                } catch (Throwable e) {
+                    logger.error("slow request listener error", e);
+                }
+                continue;
+            }
+            if (!ringBuffer.isEmpty()) {
+                //producer has claimed a slot but not published yet
+                Thread.yield();
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            waiting = true;
+            if (ringBuffer.isEmpty() && running) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+            }
+            waiting = false;
+        }
+    }
+}
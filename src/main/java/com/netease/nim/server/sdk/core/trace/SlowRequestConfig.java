@@ -0,0 +1,81 @@
+package com.netease.nim.server.sdk.core.trace;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 慢请求/失败请求采集配置，默认不开启，通过 YunxinApiHttpClient.Builder.slowRequestConfig 设置
+ */
+public class SlowRequestConfig {
+
+    //耗时超过阈值的请求视为慢请求
+    private long thresholdMillis = 1000;
+    //按uri（模板，如 /im/v2/messages/{id}）单独设置的阈值
+    private Map<String, Long> uriThresholdMillis = new HashMap<>();
+    //采样比例，[0, 1]
+    private double sampleRate = 1.0;
+    //是否采集失败的请求（异常或者http code非200）
+    private boolean captureErrors = true;
+    //请求体/响应体最多保留的字符数，超过部分截断
+    private int maxPayloadLength = 1024;
+    //待处理记录的个数上限，满了之后丢弃新的记录
+    private int bufferSize = 1024;
+    //为null时使用slf4j输出，logger为 yunxin-sdk-slow-request
+    private SlowRequestListener listener;
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    public Map<String, Long> getUriThresholdMillis() {
+        return uriThresholdMillis;
+    }
+
+    public void setUriThresholdMillis(Map<String, Long> uriThresholdMillis) {
+        this.uriThresholdMillis = uriThresholdMillis;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isCaptureErrors() {
+        return captureErrors;
+    }
+
+    public void setCaptureErrors(boolean captureErrors) {
+        this.captureErrors = captureErrors;
+    }
+
+    public int getMaxPayloadLength() {
+        return maxPayloadLength;
+    }
+
+    public void setMaxPayloadLength(int maxPayloadLength) {
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public SlowRequestListener getListener() {
+        return listener;
+    }
+
+    public void setListener(SlowRequestListener listener) {
+        this.listener = listener;
+    }
+}
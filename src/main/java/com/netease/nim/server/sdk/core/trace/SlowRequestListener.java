@@ -0,0 +1,9 @@
+package com.netease.nim.server.sdk.core.trace;
+
+/**
+ * 慢请求/失败请求的消费者，在后台线程中按顺序回调，不要长时间阻塞
+ */
+public interface SlowRequestListener {
+
+    void onRecord(SlowRequestRecord record);
+}
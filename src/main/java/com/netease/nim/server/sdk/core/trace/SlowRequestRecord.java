@@ -0,0 +1,171 @@
+package com.netease.nim.server.sdk.core.trace;
+
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+
+/**
+ * 一次慢请求/失败请求的记录
+ */
+public class SlowRequestRecord {
+
+    //请求开始的时间戳
+    private long timestamp;
+    private String traceId;
+    private String endpoint;
+    private HttpMethod method;
+    private ContextType contextType;
+    private ApiVersion apiVersion;
+    private String uri;
+    private String path;
+    //第几次请求，从0开始
+    private int attempt;
+    private long spendMs;
+    //是否超过耗时阈值，false 表示因为失败而采集
+    private boolean slow;
+    //参考 MetricsResult.getLabel
+    private String result;
+    //http code，没有收到响应时为0
+    private int httpCode;
+    //异常类型和信息，成功时为null
+    private String error;
+    //截断后的请求体
+    private String requestBody;
+    //截断后的响应体
+    private String responseBody;
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public void setTraceId(String traceId) {
+        this.traceId = traceId;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public void setMethod(HttpMethod method) {
+        this.method = method;
+    }
+
+    public ContextType getContextType() {
+        return contextType;
+    }
+
+    public void setContextType(ContextType contextType) {
+        this.contextType = contextType;
+    }
+
+    public ApiVersion getApiVersion() {
+        return apiVersion;
+    }
+
+    public void setApiVersion(ApiVersion apiVersion) {
+        this.apiVersion = apiVersion;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public void setAttempt(int attempt) {
+        this.attempt = attempt;
+    }
+
+    public long getSpendMs() {
+        return spendMs;
+    }
+
+    public void setSpendMs(long spendMs) {
+        this.spendMs = spendMs;
+    }
+
+    public boolean isSlow() {
+        return slow;
+    }
+
+    public void setSlow(boolean slow) {
+        this.slow = slow;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public int getHttpCode() {
+        return httpCode;
+    }
+
+    public void setHttpCode(int httpCode) {
+        this.httpCode = httpCode;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getRequestBody() {
+        return requestBody;
+    }
+
+    public void setRequestBody(String requestBody) {
+        this.requestBody = requestBody;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    @Override
+    public String toString() {
+        return "traceId=" + traceId + ", endpoint=" + endpoint + ", method=" + method + ", contextType=" + contextType
+                + ", apiVersion=" + apiVersion + ", uri=" + uri + ", path=" + path + ", attempt=" + attempt
+                + ", spendMs=" + spendMs + ", slow=" + slow + ", result=" + result + ", httpCode=" + httpCode
+                + ", error=" + error + ", requestBody=" + requestBody + ", responseBody=" + responseBody;
+    }
+}
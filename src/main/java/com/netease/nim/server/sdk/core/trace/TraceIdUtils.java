@@ -1,6 +1,6 @@
 package com.netease.nim.server.sdk.core.trace;
 
-import java.util.UUID;
+import com.netease.nim.server.sdk.core.utils.RandomUtils;
 
 /**
  * Created by caojiajun on 2024/11/27
@@ -8,6 +8,6 @@ import java.util.UUID;
 public class TraceIdUtils {
 
     public static String gen() {
-        return UUID.randomUUID().toString().replace("-", "");
+        return RandomUtils.randomHex128();
     }
 }
@@ -9,8 +9,16 @@ public class CheckSumBuilder {
 
     private static final char[] HEX_DIGITS = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
 
+    //MessageDigest.getInstance 需要查找provider，且digest不是线程安全的，因此每个线程复用一个
+    //虚拟线程每个任务一个，不复用，也不放入ThreadLocal
+    private static final ThreadLocal<Sha1> sha1ThreadLocal = ThreadLocal.withInitial(Sha1::new);
+
     public static String getCheckSum(String appSecret, String nonce, String curTime) {
-        return encode("sha1", appSecret + nonce + curTime);
+        Sha1 sha1 = VirtualThreads.isVirtual(Thread.currentThread()) ? new Sha1() : sha1ThreadLocal.get();
+        if (sha1.digest == null) {
+            return encode("sha1", appSecret + nonce + curTime);
+        }
+        return sha1.checkSum(appSecret, nonce, curTime);
     }
 
     private static String encode(String algorithm, String value) {
@@ -36,4 +44,62 @@ public class CheckSumBuilder {
         return buf.toString();
     }
 
+    private static class Sha1 {
+        private final MessageDigest digest;
+        private byte[] input = new byte[128];
+        private final byte[] output = new byte[20];
+        private final char[] hex = new char[40];
+
+        Sha1() {
+            MessageDigest messageDigest;
+            try {
+                messageDigest = MessageDigest.getInstance("sha1");
+            } catch (Exception e) {
+                messageDigest = null;
+            }
+            this.digest = messageDigest;
+        }
+
+        String checkSum(String appSecret, String nonce, String curTime) {
+            int len = appSecret.length() + nonce.length() + curTime.length();
+            if (input.length < len) {
+                input = new byte[len];
+            }
+            int pos = ascii(appSecret, 0);
+            if (pos >= 0) {
+                pos = ascii(nonce, pos);
+            }
+            if (pos >= 0) {
+                pos = ascii(curTime, pos);
+            }
+            if (pos < 0) {
+                //non-ascii appsecret, keep the platform charset behavior
+                return encode("sha1", appSecret + nonce + curTime);
+            }
+            try {
+                digest.update(input, 0, pos);
+                digest.digest(output, 0, output.length);
+            } catch (Exception e) {
+                digest.reset();
+                throw new RuntimeException(e);
+            }
+            for (int i = 0; i < output.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(output[i] >> 4) & 0x0f];
+                hex[i * 2 + 1] = HEX_DIGITS[output[i] & 0x0f];
+            }
+            return new String(hex);
+        }
+
+        private int ascii(String s, int pos) {
+            for (int i = 0, len = s.length(); i < len; i++) {
+                char c = s.charAt(i);
+                if (c >= 128) {
+                    return -1;
+                }
+                input[pos++] = (byte) c;
+            }
+            return pos;
+        }
+    }
+
 }
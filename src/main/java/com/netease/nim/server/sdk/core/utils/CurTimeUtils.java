@@ -0,0 +1,30 @@
+package com.netease.nim.server.sdk.core.utils;
+
+/**
+ * 签名用的CurTime（秒级时间戳字符串），同一秒内复用同一个字符串
+ */
+public class CurTimeUtils {
+
+    private static volatile CurTime cache = new CurTime(-1, "");
+
+    public static String curTime() {
+        long second = System.currentTimeMillis() / 1000;
+        CurTime curTime = cache;
+        if (curTime.second == second) {
+            return curTime.value;
+        }
+        curTime = new CurTime(second, String.valueOf(second));
+        cache = curTime;
+        return curTime.value;
+    }
+
+    private static class CurTime {
+        private final long second;
+        private final String value;
+
+        CurTime(long second, String value) {
+            this.second = second;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.netease.nim.server.sdk.core.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 128位随机数的hex串，格式与 UUID.randomUUID().toString().replace("-", "") 相同（32位小写hex）
+ * 使用 ThreadLocalRandom，不会像 UUID.randomUUID() 那样在 SecureRandom 上产生锁竞争
+ * 只用于 nonce/trace-id 等要求唯一、但不要求不可预测的场景
+ */
+public class RandomUtils {
+
+    private static final char[] HEX_DIGITS = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+    public static String randomHex128() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[32];
+        fill(chars, 0, random.nextLong());
+        fill(chars, 16, random.nextLong());
+        return new String(chars);
+    }
+
+    private static void fill(char[] chars, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX_DIGITS[(int) (value & 0x0f)];
+            value >>>= 4;
+        }
+    }
+}
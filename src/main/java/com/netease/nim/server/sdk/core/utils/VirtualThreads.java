@@ -0,0 +1,29 @@
+package com.netease.nim.server.sdk.core.utils;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程支持，java21+ 实现见 src/main/java21（multi-release jar 的 META-INF/versions/21）
+ * 低版本jdk上不支持，ExecutionMode.VIRTUAL_THREAD 会退化为平台线程
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return false;
+    }
+
+    public static boolean isVirtual(Thread thread) {
+        return false;
+    }
+
+    /**
+     * @param name 线程名前缀
+     * @return 每个任务一个虚拟线程的executor
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String name) {
+        throw new UnsupportedOperationException("virtual threads require java 21+");
+    }
+}
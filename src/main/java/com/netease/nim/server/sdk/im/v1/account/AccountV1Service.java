@@ -3,6 +3,7 @@ package com.netease.nim.server.sdk.im.v1.account;
 import com.alibaba.fastjson2.JSONArray;
 import com.alibaba.fastjson2.JSONObject;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
@@ -11,7 +12,6 @@ import com.netease.nim.server.sdk.im.v1.account.response.*;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,8 +28,8 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<CreateAccountResponseV1> createAccount(CreateAccountRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.CREATE_ACCOUNT, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.CREATE_ACCOUNT, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -41,8 +41,8 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<UpdateTokenResponseV1> updateToken(UpdateTokenRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.UPDATE_TOKEN, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.UPDATE_TOKEN, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -53,8 +53,8 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<RefreshTokenResponseV1> refreshToken(RefreshTokenRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.REFRESH_TOKEN, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.REFRESH_TOKEN, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -66,8 +66,8 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<BlockAccountResponseV1> block(BlockAccountRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.BLOCK_ACCOUNT, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.BLOCK_ACCOUNT, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -78,8 +78,8 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<UnBlockAccountResponseV1> unblock(UnBlockAccountRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.UNBLOCK_ACCOUNT, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.UNBLOCK_ACCOUNT, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -90,8 +90,8 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<MuteAccountResponseV1> mute(MuteAccountRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.MUTE_ACCOUNT, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.MUTE_ACCOUNT, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -102,8 +102,8 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<MuteModuleResponseV1> muteModule(MuteModuleRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.MUTE_MODULE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.MUTE_MODULE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -115,8 +115,8 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<SetDonnopResponseV1> setDonnop(SetDonnopRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.SET_DONNOP, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.SET_DONNOP, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -127,9 +127,9 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<QueryAccountOnlineStatusResponseV1> queryOnlineStatus(QueryAccountOnlineStatusRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = new HashMap<>();
-        paramMap.put("accids", JSONArray.toJSONString(request.getAccids()));
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.QUERY_ONLINE_STATUS, paramMap);
+        FormUrlEncodedWriter form = new FormUrlEncodedWriter();
+        form.set("accids", JSONArray.toJSONString(request.getAccids()));
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.QUERY_ONLINE_STATUS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -171,12 +171,12 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<QueryUserInfosResponseV1> queryUserInfos(QueryUserInfosRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = new HashMap<>();
-        paramMap.put("accids", JSONArray.toJSONString(request.getAccids()));
+        FormUrlEncodedWriter form = new FormUrlEncodedWriter();
+        form.set("accids", JSONArray.toJSONString(request.getAccids()));
         if (request.getMuteStatus() != null) {
-            paramMap.put("muteStatus", String.valueOf(request.getMuteStatus()));
+            form.set("muteStatus", String.valueOf(request.getMuteStatus()));
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.QUERY_USER_INFOS, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.QUERY_USER_INFOS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -195,8 +195,8 @@ public class AccountV1Service implements IAccountV1Service {
 
     @Override
     public Result<UpdateUinfoResponseV1> updateUinfo(UpdateUinfoRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.UPDATE_UINFO, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(AccountV1UrlContext.UPDATE_UINFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
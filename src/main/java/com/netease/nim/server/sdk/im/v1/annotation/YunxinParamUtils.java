@@ -1,43 +1,128 @@
 package com.netease.nim.server.sdk.im.v1.annotation;
 
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
+
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Created by caojiajun on 2024/12/12
  */
 public class YunxinParamUtils {
 
-    private static final Map<Class<?>, Field[]> cache = new HashMap<>();
+    private static final ConcurrentHashMap<Class<?>, ParamField[]> fieldCache = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, YunxinParamWriter<Object>> writerCache = new ConcurrentHashMap<>();
 
     public static Map<String, String> convert(Object obj) {
         if (obj == null) {
             return new HashMap<>();
         }
         Map<String, String> map = new HashMap<>();
-        Class<?> clazz = obj.getClass();
-        Field[] fields = cache.get(clazz);
-        if (fields == null) {
-            fields = clazz.getDeclaredFields();
-            for (Field field : fields) {
-                field.setAccessible(true);
+        for (ParamField field : paramFields(obj.getClass())) {
+            Object value = field.get(obj);
+            if (value != null) {
+                map.put(field.name, value.toString());
             }
-            cache.put(clazz, fields);
         }
-        for (Field field : fields) {
+        return map;
+    }
+
+    /**
+     * 编码为 application/x-www-form-urlencoded
+     * 优先使用编译期生成的 YunxinParamWriter，没有则使用反射
+     * @param obj 请求对象
+     * @return form
+     */
+    public static FormUrlEncodedWriter encode(Object obj) {
+        FormUrlEncodedWriter writer = new FormUrlEncodedWriter();
+        if (obj == null) {
+            return writer;
+        }
+        writer(obj.getClass()).write(obj, writer);
+        return writer;
+    }
+
+    /**
+     * 获取请求类对应的writer
+     * @param clazz 请求类
+     * @return writer
+     */
+    public static YunxinParamWriter<Object> writer(Class<?> clazz) {
+        YunxinParamWriter<Object> writer = writerCache.get(clazz);
+        if (writer == null) {
+            writer = writerCache.computeIfAbsent(clazz, YunxinParamUtils::loadWriter);
+        }
+        return writer;
+    }
+
+    /**
+     * 反射实现，用于没有生成writer的类，或者用于对照测试
+     * @param clazz 请求类
+     * @return writer
+     */
+    public static YunxinParamWriter<Object> reflectiveWriter(Class<?> clazz) {
+        ParamField[] fields = paramFields(clazz);
+        return (request, writer) -> {
+            for (ParamField field : fields) {
+                writer.add(field.name, field.get(request));
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static YunxinParamWriter<Object> loadWriter(Class<?> clazz) {
+        try {
+            Class<?> writerClass = Class.forName(clazz.getName() + YunxinParamWriter.SUFFIX, true, clazz.getClassLoader());
+            if (YunxinParamWriter.class.isAssignableFrom(writerClass)) {
+                return (YunxinParamWriter<Object>) writerClass.getDeclaredConstructor().newInstance();
+            }
+        } catch (ClassNotFoundException ignore) {
+            //没有生成，走反射
+        } catch (Exception | LinkageError e) {
+            //生成的类与请求类不匹配（如旧版本残留），走反射
+        }
+        return reflectiveWriter(clazz);
+    }
+
+    private static ParamField[] paramFields(Class<?> clazz) {
+        ParamField[] fields = fieldCache.get(clazz);
+        if (fields == null) {
+            fields = fieldCache.computeIfAbsent(clazz, YunxinParamUtils::resolveFields);
+        }
+        return fields;
+    }
+
+    private static ParamField[] resolveFields(Class<?> clazz) {
+        List<ParamField> list = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
             YunxinParam annotation = field.getAnnotation(YunxinParam.class);
             if (annotation != null) {
-                try {
-                    Object value = field.get(obj);
-                    if (value != null) {
-                        map.put(annotation.value(), value.toString());
-                    }
-                } catch (Exception e) {
-                    throw new IllegalArgumentException(e);
-                }
+                field.setAccessible(true);
+                list.add(new ParamField(annotation.value(), field));
+            }
+        }
+        return list.toArray(new ParamField[0]);
+    }
+
+    private static class ParamField {
+        private final String name;
+        private final Field field;
+
+        ParamField(String name, Field field) {
+            this.name = name;
+            this.field = field;
+        }
+
+        Object get(Object obj) {
+            try {
+                return field.get(obj);
+            } catch (Exception e) {
+                throw new IllegalArgumentException(e);
             }
         }
-        return map;
     }
 }
@@ -0,0 +1,14 @@
+package com.netease.nim.server.sdk.im.v1.annotation;
+
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
+
+/**
+ * 将带有 {@link YunxinParam} 注解的请求对象写入 form 表单
+ * 编译期由 YunxinParamProcessor 为每个请求类生成实现类（类名为 请求类名 + SUFFIX），找不到时回退到反射实现
+ */
+public interface YunxinParamWriter<T> {
+
+    String SUFFIX = "_YunxinParamWriter";
+
+    void write(T request, FormUrlEncodedWriter writer);
+}
@@ -0,0 +1,191 @@
+package com.netease.nim.server.sdk.im.v1.annotation.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * 编译期为带有 @YunxinParam 字段的请求类生成 YunxinParamWriter 实现
+ * 生成的类与请求类同包，类名为 请求类名 + _YunxinParamWriter，通过getter读取字段，直接写入 FormUrlEncodedWriter
+ * 只处理顶层类，且每个注解字段都能找到getter（或者字段本身包内可见），否则不生成，运行时回退到反射
+ * 该类只在构建sdk时使用（见pom.xml中的 compile-processor），不通过 META-INF/services 对外注册
+ */
+public class YunxinParamProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.netease.nim.server.sdk.im.v1.annotation.YunxinParam";
+    static final String WRITER = "com.netease.nim.server.sdk.im.v1.annotation.YunxinParamWriter";
+    static final String FORM_WRITER = "com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter";
+    static final String SUFFIX = "_YunxinParamWriter";
+
+    private static final Set<String> TYPED = new HashSet<>(Arrays.asList(
+            "java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Boolean"));
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        if (annotation == null) {
+            return false;
+        }
+        Set<TypeElement> classes = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            Element enclosing = element.getEnclosingElement();
+            if (element.getKind() == ElementKind.FIELD && enclosing instanceof TypeElement) {
+                classes.add((TypeElement) enclosing);
+            }
+        }
+        for (TypeElement clazz : classes) {
+            if (clazz.getNestingKind() != NestingKind.TOP_LEVEL || clazz.getKind() != ElementKind.CLASS
+                    || !clazz.getTypeParameters().isEmpty()) {
+                continue;
+            }
+            String name = clazz.getQualifiedName().toString();
+            if (!generated.add(name)) {
+                continue;
+            }
+            List<String> statements = statements(clazz, annotation);
+            if (statements == null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "skip generate " + name + SUFFIX + ", fallback to reflection", clazz);
+                continue;
+            }
+            generate(clazz, statements);
+        }
+        return false;
+    }
+
+    private List<String> statements(TypeElement clazz, TypeElement annotation) {
+        Map<String, ExecutableElement> getters = new HashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
+            if (method.getParameters().isEmpty() && !method.getModifiers().contains(Modifier.STATIC)
+                    && !method.getModifiers().contains(Modifier.PRIVATE)) {
+                getters.put(method.getSimpleName().toString(), method);
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+            String key = paramName(field, annotation);
+            if (key == null || field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            String fieldName = field.getSimpleName().toString();
+            String access;
+            TypeMirror type;
+            ExecutableElement getter = getter(getters, fieldName, field.asType());
+            if (getter != null) {
+                access = "request." + getter.getSimpleName() + "()";
+                type = getter.getReturnType();
+            } else if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+                access = "request." + fieldName;
+                type = field.asType();
+            } else {
+                return null;
+            }
+            String value = access;
+            if (!type.getKind().isPrimitive() && !TYPED.contains(processingEnv.getTypeUtils().erasure(type).toString())) {
+                value = "(Object) " + access;
+            } else if (type.getKind() == TypeKind.SHORT || type.getKind() == TypeKind.BYTE) {
+                value = "(int) " + access;
+            } else if (type.getKind() == TypeKind.CHAR || type.getKind() == TypeKind.FLOAT || type.getKind() == TypeKind.DOUBLE) {
+                value = "String.valueOf(" + access + ")";
+            }
+            statements.add("writer.add(" + literal(key) + ", " + value + ");");
+        }
+        return statements;
+    }
+
+    private String paramName(VariableElement field, TypeElement annotation) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!processingEnv.getTypeUtils().isSameType(mirror.getAnnotationType(), annotation.asType())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return String.valueOf(entry.getValue().getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    private ExecutableElement getter(Map<String, ExecutableElement> getters, String fieldName, TypeMirror fieldType) {
+        String capitalized = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        List<String> candidates = new ArrayList<>();
+        candidates.add("get" + capitalized);
+        candidates.add("get" + fieldName);
+        if (fieldType.getKind() == TypeKind.BOOLEAN || fieldType.toString().equals("java.lang.Boolean")) {
+            candidates.add("is" + capitalized);
+        }
+        for (String candidate : candidates) {
+            ExecutableElement getter = getters.get(candidate);
+            if (getter != null && processingEnv.getTypeUtils().isSameType(getter.getReturnType(), fieldType)) {
+                return getter;
+            }
+        }
+        return null;
+    }
+
+    private void generate(TypeElement clazz, List<String> statements) {
+        String pkg = processingEnv.getElementUtils().getPackageOf(clazz).getQualifiedName().toString();
+        String simpleName = clazz.getSimpleName() + SUFFIX;
+        String qualifiedName = pkg.isEmpty() ? simpleName : pkg + "." + simpleName;
+        StringBuilder source = new StringBuilder();
+        if (!pkg.isEmpty()) {
+            source.append("package ").append(pkg).append(";\n\n");
+        }
+        source.append("/**\n * Generated by YunxinParamProcessor, do not edit\n */\n");
+        source.append("public final class ").append(simpleName)
+                .append(" implements ").append(WRITER).append("<").append(clazz.getQualifiedName()).append("> {\n\n");
+        source.append("    @Override\n");
+        source.append("    public void write(").append(clazz.getQualifiedName()).append(" request, ")
+                .append(FORM_WRITER).append(" writer) {\n");
+        for (String statement : statements) {
+            source.append("        ").append(statement).append("\n");
+        }
+        source.append("    }\n}\n");
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, clazz);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "generate " + qualifiedName + " error: " + e.getMessage(), clazz);
+        }
+    }
+
+    private static String literal(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -7,6 +7,7 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.chatroom.request.*;
 import com.netease.nim.server.sdk.im.v1.chatroom.response.*;
@@ -36,9 +37,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<CreateChatroomResponseV1> createChatroom(CreateChatroomRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.CREATE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.CREATE, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -54,9 +55,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<UpdateChatroomResponseV1> updateChatroom(UpdateChatroomRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -72,9 +73,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueryChatroomAddressResponseV1> queryChatroomAddress(QueryChatroomAddressRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.REQUEST_ADDR, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.REQUEST_ADDR, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -94,9 +95,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueryChatroomInfoResponseV1> queryChatroomInfo(QueryChatroomInfoRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.GET, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.GET, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -113,9 +114,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueryChatroomInfosResponseV1> queryChatroomInfos(QueryChatroomInfosRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.GET_BATCH, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.GET_BATCH, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -146,9 +147,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<ToggleCloseChatroomStatResponseV1> toggleCloseChatroomStat(ToggleCloseChatroomStatRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TOGGLE_CLOSE_STAT, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TOGGLE_CLOSE_STAT, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -165,9 +166,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<UpdateChatroomDelayClosePolicyResponseV1> updateDelayClosePolicy(UpdateChatroomDelayClosePolicyRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE_DELAY_CLOSE_POLICY, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE_DELAY_CLOSE_POLICY, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -184,9 +185,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<UpdateChatroomInOutNotificationResponseV1> updateChatroomInOutNotification(UpdateChatroomInOutNotificationRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE_IN_OUT_NOTIFICATION, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE_IN_OUT_NOTIFICATION, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -200,9 +201,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<KickMemberResponseV1> kickMember(KickMemberRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.KICK_MEMBER, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.KICK_MEMBER, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -217,9 +218,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<SetMemberRoleResponseV1> setMemberRole(SetMemberRoleRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.SET_MEMBER_ROLE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.SET_MEMBER_ROLE, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -236,9 +237,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<UpdateMyRoomRoleResponseV1> updateMyRoomRole(UpdateMyRoomRoleRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE_MY_ROOM_ROLE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE_MY_ROOM_ROLE, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -253,9 +254,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueryMembersByPageResponseV1> membersByPage(QueryMembersByPageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.MEMBERS_BY_PAGE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.MEMBERS_BY_PAGE, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -280,9 +281,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueryMembersByRolesResponseV1> membersByRoles(QueryMembersByRolesRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUERY_MEMBERS_BY_ROLE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUERY_MEMBERS_BY_ROLE, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -307,9 +308,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueryMembersResponseV1> queryMembers(QueryMembersRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        paramMap.put("accids", JSONArray.toJSONString(request.getAccids()));
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUERY_MEMBERS, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        form.set("accids", JSONArray.toJSONString(request.getAccids()));
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUERY_MEMBERS, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -334,9 +335,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<AddRobotResponseV1> addRobot(AddRobotRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        paramMap.put("accids", JSONArray.toJSONString(request.getAccids()));
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.ADD_ROBOT, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        form.set("accids", JSONArray.toJSONString(request.getAccids()));
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.ADD_ROBOT, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -367,9 +368,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<RemoveRobotResponseV1> removeRobot(RemoveRobotRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        paramMap.put("accids", JSONArray.toJSONString(request.getAccids()));
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.REMOVE_ROBOT, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        form.set("accids", JSONArray.toJSONString(request.getAccids()));
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.REMOVE_ROBOT, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -397,8 +398,8 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<CleanRobotResponseV1> cleanRobot(CleanRobotRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.CLEAN_ROBOT, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.CLEAN_ROBOT, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -413,8 +414,8 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<TemporaryMuteResponseV1> temporaryMute(TemporaryMuteRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TEMPORARY_MUTE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TEMPORARY_MUTE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -429,8 +430,8 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<MuteRoomResponseV1> muteRoom(MuteRoomRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.MUTE_ROOM, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.MUTE_ROOM, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -445,8 +446,8 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<TagTemporaryMuteResponseV1> tagTemporaryMute(TagTemporaryMuteRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TAG_MUTE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TAG_MUTE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -462,8 +463,8 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<TagMembersCountResponseV1> tagMembersCount(TagMembersCountRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TAG_COUNT, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TAG_COUNT, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -479,8 +480,8 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<TagMembersQueryResponseV1> tagMembersQuery(TagMembersQueryRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TAG_QUERY, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.TAG_QUERY, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
 
@@ -504,9 +505,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueryTagHistoryMsgResponseV1> queryTagHistoryMsg(QueryTagHistoryMsgRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        paramMap.put("tags", JSONArray.toJSONString(request.getTags()));
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUERY_TAG_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        form.set("tags", JSONArray.toJSONString(request.getTags()));
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUERY_TAG_MSG, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -528,10 +529,10 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<UpdateChatRoomRoleTagResponseV1> updateChatRoomRoleTag(UpdateChatRoomRoleTagRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        paramMap.put("tags", JSONArray.toJSONString(request.getTags()));
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        form.set("tags", JSONArray.toJSONString(request.getTags()));
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE_CHAT_ROOM_ROLE_TAG, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.UPDATE_CHAT_ROOM_ROLE_TAG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -544,9 +545,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueryUserRoomIdsResponseV1> queryUserRoomIds(QueryUserRoomIdsRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUERY_USER_ROOM_IDS, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUERY_USER_ROOM_IDS, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -573,9 +574,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueueInitResponseV1> queueInit(QueueInitRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_INIT, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_INIT, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -591,9 +592,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueueDropResponseV1> queueDrop(QueueDropRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_DROP, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_DROP, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -609,9 +610,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueueOfferResponseV1> queueOffer(QueueOfferRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_OFFER, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_OFFER, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -627,14 +628,14 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueueBatchOfferResponseV1> queueBatchOffer(QueueBatchOfferRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Handle elements parameter, which is a list of objects
         if (request.getElements() != null && !request.getElements().isEmpty()) {
-            paramMap.put("elements", JSONArray.toJSONString(request.getElements()));
+            form.set("elements", JSONArray.toJSONString(request.getElements()));
         }
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_BATCH_OFFER, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_BATCH_OFFER, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -659,14 +660,14 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueueBatchUpdateResponseV1> queueBatchUpdate(QueueBatchUpdateRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Handle elements parameter, which is a map of key-value pairs
         if (request.getElements() != null && !request.getElements().isEmpty()) {
-            paramMap.put("elements", JSON.toJSONString(request.getElements()));
+            form.set("elements", JSON.toJSONString(request.getElements()));
         }
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_BATCH_UPDATE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_BATCH_UPDATE, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -704,9 +705,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueueListResponseV1> queueList(QueueListRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_LIST, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_LIST, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -743,9 +744,9 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueuePollResponseV1> queuePoll(QueuePollRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_POLL, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_POLL, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -776,14 +777,14 @@ public class ChatRoomV1Service implements IChatRoomV1Service {
 
     @Override
     public Result<QueueGetResponseV1> queueGet(QueueGetRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert the keys list to JSON array string
         if (request.getKeys() != null && !request.getKeys().isEmpty()) {
-            paramMap.put("keys", JSONArray.toJSONString(request.getKeys()));
+            form.set("keys", JSONArray.toJSONString(request.getKeys()));
         }
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_MULTI_GET, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomV1UrlContext.QUEUE_MULTI_GET, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -7,13 +7,13 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.chatroom_message.request.*;
 import com.netease.nim.server.sdk.im.v1.chatroom_message.response.*;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 
 public class ChatroomMessageV1Service implements IChatroomMessageV1Service {
@@ -29,8 +29,8 @@ public class ChatroomMessageV1Service implements IChatroomMessageV1Service {
 
     @Override
     public Result<SendChatroomMsgResponseV1> sendMsg(SendChatroomMsgRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.SEND_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.SEND_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -45,14 +45,14 @@ public class ChatroomMessageV1Service implements IChatroomMessageV1Service {
 
     @Override
     public Result<BatchSendChatroomMsgResponseV1> batchSendMsg(BatchSendChatroomMsgRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert msgList from List<Message> to JSON string
         if (request.getMsgList() != null) {
-            paramMap.put("msgList", JSON.toJSONString(request.getMsgList()));
+            form.set("msgList", JSON.toJSONString(request.getMsgList()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.BATCH_SEND_MSG, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.BATCH_SEND_MSG, form);
         
         JSONObject jsonObject = JSONObject.parseObject(apiResponse.getData());
         int code = jsonObject.getIntValue(CODE);
@@ -96,8 +96,8 @@ public class ChatroomMessageV1Service implements IChatroomMessageV1Service {
 
     @Override
     public Result<RecallChatroomMsgResponseV1> recall(RecallChatroomMsgRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.RECALL, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.RECALL, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -109,14 +109,14 @@ public class ChatroomMessageV1Service implements IChatroomMessageV1Service {
 
     @Override
     public Result<ChatroomTargetMsgResponseV1> sendMsgToSomeone(ChatroomTargetMsgRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert toAccids list to JSON string
         if (request.getToAccids() != null) {
-            paramMap.put("toAccids", JSON.toJSONString(request.getToAccids()));
+            form.set("toAccids", JSON.toJSONString(request.getToAccids()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.SEND_MSG_TO_SOMEONE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.SEND_MSG_TO_SOMEONE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -131,19 +131,19 @@ public class ChatroomMessageV1Service implements IChatroomMessageV1Service {
 
     @Override
     public Result<BatchChatroomTargetMsgResponseV1> batchSendMsgToSomeone(BatchChatroomTargetMsgRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert msgList from List<Message> to JSON string
         if (request.getMsgList() != null) {
-            paramMap.put("msgList", JSON.toJSONString(request.getMsgList()));
+            form.set("msgList", JSON.toJSONString(request.getMsgList()));
         }
         
         // Convert toAccids list to JSON string
         if (request.getToAccids() != null) {
-            paramMap.put("toAccids", JSON.toJSONString(request.getToAccids()));
+            form.set("toAccids", JSON.toJSONString(request.getToAccids()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.BATCH_SEND_MSG_TO_SOMEONE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.BATCH_SEND_MSG_TO_SOMEONE, form);
         
         JSONObject jsonObject = JSONObject.parseObject(apiResponse.getData());
         int code = jsonObject.getIntValue(CODE);
@@ -186,8 +186,8 @@ public class ChatroomMessageV1Service implements IChatroomMessageV1Service {
 
     @Override
     public Result<SendChatroomMsgResponseV1> broadcast(ChatroomBroadcastRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.BROADCAST, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(ChatroomMessageV1UrlContext.BROADCAST, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -6,6 +6,7 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.event_subscribe.request.AddEventSubscribeRequestV1;
 import com.netease.nim.server.sdk.im.v1.event_subscribe.request.BatchDeleteEventSubscribeRequestV1;
@@ -16,7 +17,6 @@ import com.netease.nim.server.sdk.im.v1.event_subscribe.response.BatchDeleteEven
 import com.netease.nim.server.sdk.im.v1.event_subscribe.response.DeleteEventSubscribeResponseV1;
 import com.netease.nim.server.sdk.im.v1.event_subscribe.response.QueryEventSubscribeResponseV1;
 
-import java.util.Map;
 
 /**
  * Service implementation for online status event subscription operations
@@ -31,16 +31,16 @@ public class EventSubscribeV1Service implements IEventSubscribeV1Service {
 
     @Override
     public Result<AddEventSubscribeResponseV1> addEventSubscribe(AddEventSubscribeRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert publisherAccids list to JSON string
         // API expects a JSONArray string format
         if (request.getPublisherAccids() != null) {
-            paramMap.put("publisherAccids", JSON.toJSONString(request.getPublisherAccids()));
+            form.set("publisherAccids", JSON.toJSONString(request.getPublisherAccids()));
         }
         
         // Add timeout parameter to prevent long-running requests
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(EventSubscribeV1UrlContext.ADD_EVENT_SUBSCRIBE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(EventSubscribeV1UrlContext.ADD_EVENT_SUBSCRIBE, form);
         
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
@@ -59,15 +59,15 @@ public class EventSubscribeV1Service implements IEventSubscribeV1Service {
 
     @Override
     public Result<QueryEventSubscribeResponseV1> queryEventSubscribe(QueryEventSubscribeRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert publisherAccids list to JSON string
         // API expects a JSONArray string format
         if (request.getPublisherAccids() != null) {
-            paramMap.put("publisherAccids", JSON.toJSONString(request.getPublisherAccids()));
+            form.set("publisherAccids", JSON.toJSONString(request.getPublisherAccids()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(EventSubscribeV1UrlContext.QUERY_EVENT_SUBSCRIBE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(EventSubscribeV1UrlContext.QUERY_EVENT_SUBSCRIBE, form);
         
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
@@ -86,15 +86,15 @@ public class EventSubscribeV1Service implements IEventSubscribeV1Service {
 
     @Override
     public Result<DeleteEventSubscribeResponseV1> deleteEventSubscribe(DeleteEventSubscribeRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert publisherAccids list to JSON string
         // API expects a JSONArray string format
         if (request.getPublisherAccids() != null) {
-            paramMap.put("publisherAccids", JSON.toJSONString(request.getPublisherAccids()));
+            form.set("publisherAccids", JSON.toJSONString(request.getPublisherAccids()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(EventSubscribeV1UrlContext.DELETE_EVENT_SUBSCRIBE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(EventSubscribeV1UrlContext.DELETE_EVENT_SUBSCRIBE, form);
         
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
@@ -113,9 +113,9 @@ public class EventSubscribeV1Service implements IEventSubscribeV1Service {
 
     @Override
     public Result<BatchDeleteEventSubscribeResponseV1> batchDeleteEventSubscribe(BatchDeleteEventSubscribeRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(EventSubscribeV1UrlContext.BATCH_DELETE_EVENT_SUBSCRIBE, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(EventSubscribeV1UrlContext.BATCH_DELETE_EVENT_SUBSCRIBE, form);
         
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
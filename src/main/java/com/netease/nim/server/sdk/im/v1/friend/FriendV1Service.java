@@ -6,12 +6,12 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.friend.request.*;
 import com.netease.nim.server.sdk.im.v1.friend.response.*;
 
 import java.util.List;
-import java.util.Map;
 
 
 public class FriendV1Service implements IFriendV1Service {
@@ -31,8 +31,8 @@ public class FriendV1Service implements IFriendV1Service {
 
     @Override
     public Result<AddFriendResponseV1> add(AddFriendRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.ADD, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.ADD, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -44,8 +44,8 @@ public class FriendV1Service implements IFriendV1Service {
 
     @Override
     public Result<UpdateFriendResponseV1> update(UpdateFriendRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.UPDATE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.UPDATE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -57,8 +57,8 @@ public class FriendV1Service implements IFriendV1Service {
 
     @Override
     public Result<DeleteFriendResponseV1> delete(DeleteFriendRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.DELETE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.DELETE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -70,8 +70,8 @@ public class FriendV1Service implements IFriendV1Service {
 
     @Override
     public Result<GetFriendListResponseV1> get(GetFriendListRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.GET, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.GET, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -88,8 +88,8 @@ public class FriendV1Service implements IFriendV1Service {
 
     @Override
     public Result<GetFriendRelationshipResponseV1> getByAccId(GetFriendRelationshipRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.GET_BY_ACCID, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(FriendV1UrlContext.GET_BY_ACCID, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -7,13 +7,13 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.history.request.*;
 import com.netease.nim.server.sdk.im.v1.history.response.*;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 public class HistoryV1Service implements IHistoryV1Service {
 
@@ -25,8 +25,8 @@ public class HistoryV1Service implements IHistoryV1Service {
 
     @Override
     public Result<QuerySessionHistoryMessageResponseV1> querySessionHistoryMessage(QuerySessionHistoryMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_SESSION_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_SESSION_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -46,8 +46,8 @@ public class HistoryV1Service implements IHistoryV1Service {
 
     @Override
     public Result<QueryTeamHistoryMessageResponseV1> queryTeamHistoryMessage(QueryTeamHistoryMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_TEAM_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_TEAM_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -67,8 +67,8 @@ public class HistoryV1Service implements IHistoryV1Service {
 
     @Override
     public Result<QueryChatroomHistoryMessageResponseV1> queryChatroomHistoryMessage(QueryChatroomHistoryMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_CHATROOM_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_CHATROOM_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -148,8 +148,8 @@ public class HistoryV1Service implements IHistoryV1Service {
 
     @Override
     public Result<DeleteChatroomHistoryMessageResponseV1> deleteChatroomHistoryMessage(DeleteChatroomHistoryMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.DELETE_CHATROOM_HISTORY_MESSAGE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.DELETE_CHATROOM_HISTORY_MESSAGE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -164,8 +164,8 @@ public class HistoryV1Service implements IHistoryV1Service {
 
     @Override
     public Result<QuerySessionListResponseV1> querySessionList(QuerySessionListRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_SESSION_LIST, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_SESSION_LIST, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -232,8 +232,8 @@ public class HistoryV1Service implements IHistoryV1Service {
 
     @Override
     public Result<QueryBroadcastHistoryMessageByIdResponseV1> queryBroadcastHistoryMessageById(QueryBroadcastHistoryMessageByIdRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_BROADCAST_MSG_BY_ID, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_BROADCAST_MSG_BY_ID, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -251,8 +251,8 @@ public class HistoryV1Service implements IHistoryV1Service {
 
     @Override
     public Result<QueryBroadcastHistoryMessageResponseV1> queryBroadcastHistoryMessage(QueryBroadcastHistoryMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_BROADCAST_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_BROADCAST_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -277,8 +277,8 @@ public class HistoryV1Service implements IHistoryV1Service {
 
     @Override
     public Result<QueryUserEventsResponseV1> queryUserEvents(QueryUserEventsRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_USER_EVENTS, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(HistoryV1UrlContext.QUERY_USER_EVENTS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
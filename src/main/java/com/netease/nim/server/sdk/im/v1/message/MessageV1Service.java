@@ -7,6 +7,7 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.message.request.*;
 import com.netease.nim.server.sdk.im.v1.message.response.*;
@@ -26,12 +27,12 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<SendMessageResponseV1> sendMessage(SendMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         // Convert List<String> forcepushlist to JSONArray format string if not null
         if (request.getForcePushList() != null && !request.getForcePushList().isEmpty()) {
-            paramMap.put("forcePushList", JSON.toJSONString(request.getForcePushList()));
+            form.set("forcePushList", JSON.toJSONString(request.getForcePushList()));
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.SEND_MSG, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.SEND_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -46,12 +47,12 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<SendBatchMessageResponseV1> sendBatchMessage(SendBatchMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         // Convert List<String> toAccids to JSONArray format string if not null
         if (request.getToAccids() != null && !request.getToAccids().isEmpty()) {
-            paramMap.put("toAccids", JSON.toJSONString(request.getToAccids()));
+            form.set("toAccids", JSON.toJSONString(request.getToAccids()));
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.SEND_BATCH_MSG, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.SEND_BATCH_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -79,8 +80,8 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<MarkReadMessageResponseV1> markReadMessage(MarkReadMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.MARK_READ_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.MARK_READ_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -95,8 +96,8 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<MarkReadTeamMessageResponseV1> markReadTeamMessage(MarkReadTeamMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.MARK_READ_TEAM_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.MARK_READ_TEAM_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -117,8 +118,8 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<RecallMessageResponseV1> recallMessage(RecallMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.RECALL_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.RECALL_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -133,8 +134,8 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<DeleteMessageOneWayResponseV1> deleteMessageOneWay(DeleteMessageOneWayRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DEL_MSG_ONE_WAY, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DEL_MSG_ONE_WAY, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -149,12 +150,12 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<BroadcastMessageResponseV1> broadcastMessage(BroadcastMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         // Convert List<String> targetOs to JSONArray format string if not null
         if (request.getTargetOs() != null && !request.getTargetOs().isEmpty()) {
-            paramMap.put("targetOs", JSON.toJSONString(request.getTargetOs()));
+            form.set("targetOs", JSON.toJSONString(request.getTargetOs()));
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.BROADCAST_MSG, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.BROADCAST_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -192,8 +193,8 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<DeleteBroadcastMessageByIdResponseV1> deleteBroadcastMessageById(DeleteBroadcastMessageByIdRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DEL_BROADCAST_MSG_BY_ID, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DEL_BROADCAST_MSG_BY_ID, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -208,8 +209,8 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<UploadFileResponseV1> uploadFile(UploadFileRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.UPLOAD, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.UPLOAD, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -224,8 +225,8 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<DeleteFileResponseV1> deleteFile(DeleteFileRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DELETE_FILE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DELETE_FILE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -240,8 +241,8 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<DeleteMessageResponseV1> deleteMessage(DeleteMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DEL_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DEL_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -256,8 +257,8 @@ public class MessageV1Service implements IMessageV1Service {
 
     @Override
     public Result<DeleteRoamSessionResponseV1> deleteRoamSession(DeleteRoamSessionRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DEL_ROAM_SESSION, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(MessageV1UrlContext.DEL_ROAM_SESSION, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -2,6 +2,7 @@ package com.netease.nim.server.sdk.im.v1.signal;
 
 import com.alibaba.fastjson2.JSONObject;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
@@ -23,7 +24,6 @@ import com.netease.nim.server.sdk.im.v1.signal.response.InviteSignalRoomResponse
 import com.netease.nim.server.sdk.im.v1.signal.response.CancelSignalRoomInviteResponseV1;
 import com.netease.nim.server.sdk.im.v1.signal.response.KickSignalRoomResponseV1;
 
-import java.util.Map;
 
 /**
  * 信令服务实现
@@ -38,8 +38,8 @@ public class SignalV1Service implements ISignalV1Service {
 
     @Override
     public Result<CreateSignalRoomResponseV1> createRoom(CreateSignalRoomRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.CREATE_ROOM, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.CREATE_ROOM, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -51,8 +51,8 @@ public class SignalV1Service implements ISignalV1Service {
 
     @Override
     public Result<DelaySignalRoomResponseV1> delayRoom(DelaySignalRoomRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.DELAY_ROOM, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.DELAY_ROOM, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -64,8 +64,8 @@ public class SignalV1Service implements ISignalV1Service {
 
     @Override
     public Result<CloseSignalRoomResponseV1> closeRoom(CloseSignalRoomRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.CLOSE_ROOM, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.CLOSE_ROOM, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -78,8 +78,8 @@ public class SignalV1Service implements ISignalV1Service {
 
     @Override
     public Result<GetSignalRoomInfoResponseV1> getRoomInfo(GetSignalRoomInfoRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.GET_ROOM_INFO, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.GET_ROOM_INFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -91,8 +91,8 @@ public class SignalV1Service implements ISignalV1Service {
 
     @Override
     public Result<CtrlSignalRoomResponseV1> ctrlRoom(CtrlSignalRoomRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.CTRL_ROOM, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.CTRL_ROOM, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -105,8 +105,8 @@ public class SignalV1Service implements ISignalV1Service {
 
     @Override
     public Result<InviteSignalRoomResponseV1> invite(InviteSignalRoomRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.INVITE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.INVITE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -119,8 +119,8 @@ public class SignalV1Service implements ISignalV1Service {
 
     @Override
     public Result<CancelSignalRoomInviteResponseV1> cancelInvite(CancelSignalRoomInviteRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.CANCEL_INVITE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.CANCEL_INVITE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -133,8 +133,8 @@ public class SignalV1Service implements ISignalV1Service {
 
     @Override
     public Result<KickSignalRoomResponseV1> kick(KickSignalRoomRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.KICK, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SignalV1UrlContext.KICK, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue("code");
         if (code != 200) {
@@ -6,6 +6,7 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.special_relation.request.ListSpecialRelationRequestV1;
 import com.netease.nim.server.sdk.im.v1.special_relation.request.SetSpecialRelationRequestV1;
@@ -13,7 +14,6 @@ import com.netease.nim.server.sdk.im.v1.special_relation.response.ListSpecialRel
 import com.netease.nim.server.sdk.im.v1.special_relation.response.SetSpecialRelationResponseV1;
 
 import java.util.List;
-import java.util.Map;
 
 
 public class SpecialRelationV1Service implements ISpecialRelationV1Service {
@@ -31,8 +31,8 @@ public class SpecialRelationV1Service implements ISpecialRelationV1Service {
 
     @Override
     public Result<SetSpecialRelationResponseV1> setSpecialRelation(SetSpecialRelationRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SpecialRelationV1UrlContext.ADD_TO_BLACKLIST, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SpecialRelationV1UrlContext.ADD_TO_BLACKLIST, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -44,8 +44,8 @@ public class SpecialRelationV1Service implements ISpecialRelationV1Service {
 
     @Override
     public Result<ListSpecialRelationResponseV1> listBlackAndMuteList(ListSpecialRelationRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SpecialRelationV1UrlContext.QUERY_BLACKLIST, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SpecialRelationV1UrlContext.QUERY_BLACKLIST, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
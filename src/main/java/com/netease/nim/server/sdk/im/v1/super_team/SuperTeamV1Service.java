@@ -7,13 +7,12 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.super_team.request.*;
 import com.netease.nim.server.sdk.im.v1.super_team.response.*;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 
 public class SuperTeamV1Service implements ISuperTeamV1Service {
@@ -38,12 +37,12 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<CreateSuperTeamResponseV1> createTeam(SuperTeamCreateRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         // Convert List<String> inviteAccids to JSONArray format string if not null
         if (request.getInviteAccids() != null && !request.getInviteAccids().isEmpty()) {
-            paramMap.put("inviteAccids", JSON.toJSONString(request.getInviteAccids()));
+            form.set("inviteAccids", JSON.toJSONString(request.getInviteAccids()));
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.CREATE_TEAM, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.CREATE_TEAM, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -63,9 +62,9 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamInviteResponseV1> invite(SuperTeamInviteRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        paramMap.put("inviteAccids", JSONObject.toJSONString(request.getInviteAccids()));
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.INVITE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        form.set("inviteAccids", JSONObject.toJSONString(request.getInviteAccids()));
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.INVITE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -82,14 +81,14 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamAddManagerResponseV1> addManager(SuperTeamAddManagerRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert managerAccids list to JSON string
         if (request.getManagerAccids() != null) {
-            paramMap.put("managerAccids", JSON.toJSONString(request.getManagerAccids()));
+            form.set("managerAccids", JSON.toJSONString(request.getManagerAccids()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.ADD_MANAGER, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.ADD_MANAGER, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -101,8 +100,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamChangeOwnerResponseV1> changeOwner(SuperTeamChangeOwnerRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.CHANGE_OWNER, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.CHANGE_OWNER, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -114,14 +113,14 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamRemoveManagerResponseV1> removeManager(SuperTeamRemoveManagerRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert managerAccids list to JSON string
         if (request.getManagerAccids() != null) {
-            paramMap.put("managerAccids", JSON.toJSONString(request.getManagerAccids()));
+            form.set("managerAccids", JSON.toJSONString(request.getManagerAccids()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.REMOVE_MANAGER, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.REMOVE_MANAGER, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -133,8 +132,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamMuteResponseV1> mute(SuperTeamMuteRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.MUTE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.MUTE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -146,14 +145,14 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamMuteTlistResponseV1> muteTlist(SuperTeamMuteTlistRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert muteAccids list to JSON string
         if (request.getMuteAccids() != null && !request.getMuteAccids().isEmpty()) {
-            paramMap.put("muteAccids", JSON.toJSONString(request.getMuteAccids()));
+            form.set("muteAccids", JSON.toJSONString(request.getMuteAccids()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.MUTE_TEAM_MEMBER, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.MUTE_TEAM_MEMBER, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -165,14 +164,14 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamKickMemberResponseV1> kick(SuperTeamKickMemberRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert kickAccids list to JSON string
         if (request.getKickAccids() != null) {
-            paramMap.put("kickAccids", JSON.toJSONString(request.getKickAccids()));
+            form.set("kickAccids", JSON.toJSONString(request.getKickAccids()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.KICK, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.KICK, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -184,8 +183,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamMemberLeaveResponseV1> leave(SuperTeamMemberLeaveRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.LEAVE, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.LEAVE, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -197,8 +196,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamUpdateNickResponseV1> updateTeamNick(SuperTeamUpdateNickRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.UPDATE_TEAM_NICK, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.UPDATE_TEAM_NICK, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -210,8 +209,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamUpdateResponseV1> updateTinfo(SuperTeamUpdateRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.UPDATE_TEAM_INFO, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.UPDATE_TEAM_INFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -223,8 +222,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamUpdateMemberInfoResponseV1> updateTlist(SuperTeamUpdateMemberInfoRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.UPDATE_T_LIST, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.UPDATE_T_LIST, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -237,8 +236,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamDismissResponseV1> dismiss(SuperTeamDismissRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.DISMISS, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.DISMISS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -250,8 +249,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SuperTeamChangeLevelResponseV1> changeLevel(SuperTeamChangeLevelRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.CHANGE_LEVEL, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.CHANGE_LEVEL, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -263,13 +262,13 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<GetSuperTeamResponseV1> getTinfos(GetSuperTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = new HashMap<>();
+        FormUrlEncodedWriter form = new FormUrlEncodedWriter();
         JSONArray array = new JSONArray();
         for (Long tid : request.getTids()) {
             array.add(String.valueOf(tid));
         }
-        paramMap.put("tids", array.toString());
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.GET_TEAM_INFO, paramMap);
+        form.set("tids", array.toString());
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.GET_TEAM_INFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -285,8 +284,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<GetSuperTeamMemberResponseV1> getTlists(GetSuperTeamMemberRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.GET_TEAM_MEMBER_LIST, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.GET_TEAM_MEMBER_LIST, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -302,8 +301,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<GetSuperTeamMuteMemberResponseV1> getMuteTlists(GetSuperTeamMuteMemberRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.GET_MUTE_MEMBER_LIST, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.GET_MUTE_MEMBER_LIST, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -319,8 +318,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<GetJoinSuperTeamResponseV1> joinTeams(GetJoinSuperTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.JOIN_TEAMS, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.JOIN_TEAMS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -336,8 +335,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<GetSuperTeamMessageResponseV1> queryHistoryMsg(GetSuperTeamMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.QUERY_HISTORY_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.QUERY_HISTORY_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -355,12 +354,12 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<GetSuperTeamMessageByIdsResponseV1> queryHistoryMsgByIds(GetSuperTeamMessageByIdsRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         // Convert List<Msg> msgs to JSONArray format string if not null
         if (request.getMsgs() != null && !request.getMsgs().isEmpty()) {
-            paramMap.put("msgs", JSON.toJSONString(request.getMsgs()));
+            form.set("msgs", JSON.toJSONString(request.getMsgs()));
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.QUERY_HISTORY_MSG_BY_IDS, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.QUERY_HISTORY_MSG_BY_IDS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -376,14 +375,14 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SendSuperTeamMessageResponseV1> sendMsg(SendSuperTeamMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert forcePushList list to JSON string
         if (request.getForcePushList() != null && !request.getForcePushList().isEmpty()) {
-            paramMap.put("forcePushList", JSON.toJSONString(request.getForcePushList()));
+            form.set("forcePushList", JSON.toJSONString(request.getForcePushList()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.SEND_MSG, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.SEND_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -398,14 +397,14 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<SendAttachSuperTeamMessageResponseV1> sendAttachMsg(SendAttachSuperTeamMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // Convert forcePushList list to JSON string
         if (request.getForcePushList() != null && !request.getForcePushList().isEmpty()) {
-            paramMap.put("forcePushList", JSON.toJSONString(request.getForcePushList()));
+            form.set("forcePushList", JSON.toJSONString(request.getForcePushList()));
         }
         
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.SEND_ATTACH_MSG, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.SEND_ATTACH_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -417,8 +416,8 @@ public class SuperTeamV1Service implements ISuperTeamV1Service {
 
     @Override
     public Result<RecallSuperTeamMessageResponseV1> recallMsg(RecallSuperTeamMessageRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.RECALL_MSG, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SuperTeamV1UrlContext.RECALL_MSG, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
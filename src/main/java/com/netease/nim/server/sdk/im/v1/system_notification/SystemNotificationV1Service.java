@@ -7,13 +7,13 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.system_notification.request.SendAttachMsgRequestV1;
 import com.netease.nim.server.sdk.im.v1.system_notification.request.SendBatchAttachMsgRequestV1;
 import com.netease.nim.server.sdk.im.v1.system_notification.response.SendAttachMsgResponseV1;
 import com.netease.nim.server.sdk.im.v1.system_notification.response.SendBatchAttachMsgResponseV1;
 
-import java.util.Map;
 
 /**
  * 系统通知服务实现类
@@ -32,14 +32,14 @@ public class SystemNotificationV1Service implements ISystemNotificationV1Service
 
     @Override
     public Result<SendAttachMsgResponseV1> sendAttachMsg(SendAttachMsgRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // 处理forcePushList列表，转为JSON数组字符串
         if (request.getForcePushList() != null && !request.getForcePushList().isEmpty()) {
-            paramMap.put("forcePushList", JSONArray.toJSONString(request.getForcePushList()));
+            form.set("forcePushList", JSONArray.toJSONString(request.getForcePushList()));
         }
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SystemNotificationV1UrlContext.SEND_ATTACH_MSG, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SystemNotificationV1UrlContext.SEND_ATTACH_MSG, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
@@ -60,14 +60,14 @@ public class SystemNotificationV1Service implements ISystemNotificationV1Service
     
     @Override
     public Result<SendBatchAttachMsgResponseV1> sendBatchAttachMsg(SendBatchAttachMsgRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         
         // 处理接收者列表，转为JSON数组字符串
         if (request.getToAccids() != null && !request.getToAccids().isEmpty()) {
-            paramMap.put("toAccids", JSONArray.toJSONString(request.getToAccids()));
+            form.set("toAccids", JSONArray.toJSONString(request.getToAccids()));
         }
 
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(SystemNotificationV1UrlContext.SEND_BATCH_ATTACH_MSG, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(SystemNotificationV1UrlContext.SEND_BATCH_ATTACH_MSG, form);
 
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
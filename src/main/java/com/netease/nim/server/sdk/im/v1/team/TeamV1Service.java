@@ -7,6 +7,7 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.team.request.*;
 import com.netease.nim.server.sdk.im.v1.team.response.*;
@@ -40,12 +41,12 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<CreateTeamResponseV1> createTeam(CreateTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         if (request.getMembers() != null && !request.getMembers().isEmpty()) {
             JSONArray jsonArray = (JSONArray) JSON.toJSON(request.getMembers());
-            paramMap.put("members", jsonArray.toJSONString());
+            form.set("members", jsonArray.toJSONString());
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.CREATE_TEAM, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.CREATE_TEAM, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -64,8 +65,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<DismissTeamResponseV1> dismissTeam(DismissTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.REMOVE_TEAM, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.REMOVE_TEAM, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -77,12 +78,12 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<AddTeamResponseV1> addTeam(AddTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         if (request.getMembers() != null && !request.getMembers().isEmpty()) {
             JSONArray jsonArray = (JSONArray) JSON.toJSON(request.getMembers());
-            paramMap.put("members", jsonArray.toJSONString());
+            form.set("members", jsonArray.toJSONString());
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.ADD_TEAM_MEMBERS, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.ADD_TEAM_MEMBERS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -100,12 +101,12 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<KickTeamResponseV1> kickTeam(KickTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         if (request.getMembers() != null && !request.getMembers().isEmpty()) {
             JSONArray jsonArray = (JSONArray) JSON.toJSON(request.getMembers());
-            paramMap.put("members", jsonArray.toJSONString());
+            form.set("members", jsonArray.toJSONString());
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.KICK_TEAM_MEMBERS, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.KICK_TEAM_MEMBERS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -123,8 +124,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<UpdateTeamResponseV1> updateTeam(UpdateTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.UPDATE_TEAM_INFO, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.UPDATE_TEAM_INFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -136,8 +137,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<QueryTeamResponseV1> queryTeam(QueryTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.QUERY_TEAMS_INFO, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.QUERY_TEAMS_INFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -164,8 +165,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<ChangeOwnerTeamResponseV1> changeOwnerTeam(ChangeOwnerTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.CHANGE_TEAM_OWNER, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.CHANGE_TEAM_OWNER, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -178,12 +179,12 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<AddManagerTeamResponseV1> addManagerTeam(AddManagerTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         if (request.getMembers() != null && !request.getMembers().isEmpty()) {
             JSONArray jsonArray = (JSONArray) JSON.toJSON(request.getMembers());
-            paramMap.put("members", jsonArray.toJSONString());
+            form.set("members", jsonArray.toJSONString());
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.ADD_TEAM_MANAGER, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.ADD_TEAM_MANAGER, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -196,12 +197,12 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<RemoveManagerTeamResponseV1> removeManagerTeam(RemoveManagerTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
         if (request.getMembers() != null && !request.getMembers().isEmpty()) {
             JSONArray jsonArray = (JSONArray) JSON.toJSON(request.getMembers());
-            paramMap.put("members", jsonArray.toJSONString());
+            form.set("members", jsonArray.toJSONString());
         }
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.REMOVE_TEAM_MANAGER, paramMap);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.REMOVE_TEAM_MANAGER, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -214,8 +215,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<JoinsTeamResponseV1> queryJoinedTeamListByAccId(JoinsTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.JOIN_TEAMS, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.JOIN_TEAMS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -233,8 +234,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<UpdateTeamNickResponseV1> updateTeamMemberNick(UpdateTeamNickRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.UPDATE_TEAM_MEMBER_INFO, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.UPDATE_TEAM_MEMBER_INFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -247,8 +248,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<LeaveTeamResponseV1> leaveTeam(LeaveTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.LEAVE_TEAM, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.LEAVE_TEAM, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -261,8 +262,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<MuteTeamResponseV1> muteTeam(MuteTeamRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.UPDATE_MSG_NOTIFICATION, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.UPDATE_MSG_NOTIFICATION, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -275,8 +276,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<MuteTeamTargetMemberResponseV1> muteTeamTargetMember(MuteTeamTargetMemberRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.MUTE_TEAM_MEMBER, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.MUTE_TEAM_MEMBER, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -289,8 +290,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<MuteTeamAllMemberResponseV1> muteTeamAllMember(MuteTeamAllMemberRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.MUTE_TEAM_MEMBER_ALL, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.MUTE_TEAM_MEMBER_ALL, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -303,8 +304,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<QueryMuteTeamMembersResponseV1> queryMuteTeamMembers(QueryMuteTeamMembersRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.QUERY_TEAM_MUTE_LIST, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.QUERY_TEAM_MUTE_LIST, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -323,8 +324,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<QueryTeamInfoDetailsResponseV1> queryTeamInfoDetails(QueryTeamInfoDetailsRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.QUERY_TEAM_INFO, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.QUERY_TEAM_INFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -343,8 +344,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<QueryTeamMsgMarkReadInfoResponseV1> queryTeamMsgMarkReadInfo(QueryTeamMsgMarkReadInfoRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.GET_MARK_READ_INFO, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.GET_MARK_READ_INFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -363,8 +364,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<QueryAllJoinedTeamMemberInfoByAccIdResponseV1> queryAllJoinedTeamMemberInfoByAccId(QueryAllJoinedTeamMemberInfoByAccIdRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.LIST_MEMBER_INFO, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.LIST_MEMBER_INFO, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -383,8 +384,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<QueryOnlineTeamMemberResponseV1> queryOnlineTeamMember(QueryOnlineTeamMemberRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.LIST_ONLINE_USERS, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.LIST_ONLINE_USERS, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -426,8 +427,8 @@ public class TeamV1Service implements ITeamV1Service {
 
     @Override
     public Result<BatchQueryOnlineTeamMemberCountResponseV1> batchQueryOnlineTeamMemberCount(BatchQueryOnlineTeamMemberCountRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.LIST_ONLINE_USER_COUNT, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TeamV1UrlContext.LIST_ONLINE_USER_COUNT, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
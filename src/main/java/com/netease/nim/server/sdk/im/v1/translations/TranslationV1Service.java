@@ -6,11 +6,11 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.im.v1.translations.request.TextTranslationRequestV1;
 import com.netease.nim.server.sdk.im.v1.translations.response.TextTranslationResponseV1;
 
-import java.util.Map;
 
 
 public class TranslationV1Service implements ITranslationV1Service {
@@ -31,8 +31,8 @@ public class TranslationV1Service implements ITranslationV1Service {
 
     @Override
     public Result<TextTranslationResponseV1> translatorText(TextTranslationRequestV1 request) throws YunxinSdkException {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        YunxinApiResponse apiResponse = httpClient.executeV1Api(TranslationV1UrlContext.TEXT_TRANSLATION, paramMap);
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        YunxinApiResponse apiResponse = httpClient.executeV1Api(TranslationV1UrlContext.TEXT_TRANSLATION, form);
         JSONObject object = JSONObject.parseObject(apiResponse.getData());
         int code = object.getIntValue(CODE);
         if (code != 200) {
@@ -58,7 +58,7 @@ public class AccountV2Service implements IAccountV2Service {
         data.remove("account_id");
         
         // Replace placeholder in the URL with the accountId
-        String path = AccountV2UrlContext.ACCOUNT_WITH_ID.replace("{account_id}", request.getAccountId());
+        String path = AccountV2UrlContext.ACCOUNT_WITH_ID.expand(request.getAccountId());
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.PATCH, 
@@ -104,7 +104,7 @@ public class AccountV2Service implements IAccountV2Service {
         }
         
         // Replace placeholder in the URL with the accountId
-        String path = AccountV2UrlContext.DISABLE_ACCOUNT.replace("{account_id}", request.getAccountId());
+        String path = AccountV2UrlContext.DISABLE_ACCOUNT.expand(request.getAccountId());
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.PATCH, 
@@ -122,7 +122,7 @@ public class AccountV2Service implements IAccountV2Service {
         data.put("push_enabled_when_desktop_online", request.getPushEnabledWhenDesktopOnline());
         
         // Replace placeholder in the URL with the accountId
-        String path = AccountV2UrlContext.SET_PUSH_CONFIG.replace("{account_id}", request.getAccountId());
+        String path = AccountV2UrlContext.SET_PUSH_CONFIG.expand(request.getAccountId());
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.PATCH, 
@@ -137,7 +137,7 @@ public class AccountV2Service implements IAccountV2Service {
     @Override
     public Result<GetAccountDetailsResponseV2> getAccountDetails(GetAccountDetailsRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = AccountV2UrlContext.ACCOUNT_WITH_ID.replace("{account_id}", request.getAccountId());
+        String path = AccountV2UrlContext.ACCOUNT_WITH_ID.expand(request.getAccountId());
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.GET, 
@@ -164,7 +164,7 @@ public class AccountV2Service implements IAccountV2Service {
         }
         
         // Replace placeholder in the URL with the accountId
-        String path = AccountV2UrlContext.KICK_ACCOUNT.replace("{account_id}", request.getAccountId());
+        String path = AccountV2UrlContext.KICK_ACCOUNT.expand(request.getAccountId());
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.POST, 
@@ -179,7 +179,7 @@ public class AccountV2Service implements IAccountV2Service {
     @Override
     public Result<RefreshTokenResponseV2> refreshToken(RefreshTokenRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = AccountV2UrlContext.REFRESH_TOKEN.replace("{account_id}", request.getAccountId());
+        String path = AccountV2UrlContext.REFRESH_TOKEN.expand(request.getAccountId());
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.PATCH, 
@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.account;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Account V2 API endpoints
  */
@@ -13,25 +15,25 @@ public class AccountV2UrlContext {
     /**
      * Account with ID endpoint template
      */
-    static final String ACCOUNT_WITH_ID = "/im/v2/accounts/{account_id}";
+    static final UriTemplate ACCOUNT_WITH_ID = UriTemplate.compile("/im/v2/accounts/{account_id}");
     
     /**
      * Set push config endpoint template
      */
-    static final String SET_PUSH_CONFIG = "/im/v2/accounts/{account_id}/actions/push_config";
+    static final UriTemplate SET_PUSH_CONFIG = UriTemplate.compile("/im/v2/accounts/{account_id}/actions/push_config");
     
     /**
      * Disable account endpoint template
      */
-    static final String DISABLE_ACCOUNT = "/im/v2/accounts/{account_id}/actions/disable";
+    static final UriTemplate DISABLE_ACCOUNT = UriTemplate.compile("/im/v2/accounts/{account_id}/actions/disable");
     
     /**
      * Kick account endpoint template
      */
-    static final String KICK_ACCOUNT = "/im/v2/accounts/{account_id}/actions/kick";
+    static final UriTemplate KICK_ACCOUNT = UriTemplate.compile("/im/v2/accounts/{account_id}/actions/kick");
     
     /**
      * Refresh token URL pattern
      */
-    static final String REFRESH_TOKEN = "/im/v2/accounts/{account_id}/actions/refresh_token";
+    static final UriTemplate REFRESH_TOKEN = UriTemplate.compile("/im/v2/accounts/{account_id}/actions/refresh_token");
 } 
\ No newline at end of file
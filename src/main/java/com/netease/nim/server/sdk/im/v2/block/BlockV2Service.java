@@ -72,7 +72,7 @@ public class BlockV2Service implements IBlockV2Service {
     @Override
     public Result<RemoveBlockContactResponseV2> removeBlockContact(RemoveBlockContactRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = BlockV2UrlContext.REMOVE_BLOCK_CONTACT.replace("{account_id}", request.getAccountId());
+        String path = BlockV2UrlContext.REMOVE_BLOCK_CONTACT.expand(request.getAccountId());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
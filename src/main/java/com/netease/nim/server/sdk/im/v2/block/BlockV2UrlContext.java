@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.block;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Block V2 API endpoints
  */
@@ -13,7 +15,7 @@ public class BlockV2UrlContext {
     /**
      * Remove block contact endpoint
      */
-    static final String REMOVE_BLOCK_CONTACT = "/im/v2/block_contacts/{account_id}";
+    static final UriTemplate REMOVE_BLOCK_CONTACT = UriTemplate.compile("/im/v2/block_contacts/{account_id}");
     
     /**
      * List block contacts endpoint
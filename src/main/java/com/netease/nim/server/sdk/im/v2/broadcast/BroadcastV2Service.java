@@ -69,13 +69,12 @@ public class BroadcastV2Service implements IBroadcastV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = BroadcastV2UrlContext.DELETE_BROADCAST_NOTIFICATION
-                .replace("{broadcast_id}", request.getBroadcastId());
+        String path = BroadcastV2UrlContext.DELETE_BROADCAST_NOTIFICATION_TEMPLATE.expand(request.getBroadcastId());
         
         // Execute the API call
         YunxinApiResponse apiResponse = yunxinApiHttpClient.executeV2Api(
             HttpMethod.DELETE,
-            BroadcastV2UrlContext.DELETE_BROADCAST_NOTIFICATION,
+            BroadcastV2UrlContext.DELETE_BROADCAST_NOTIFICATION_TEMPLATE,
             path,
             null, // No query parameters
             null  // No request body for DELETE
@@ -94,13 +93,12 @@ public class BroadcastV2Service implements IBroadcastV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = BroadcastV2UrlContext.QUERY_BROADCAST_NOTIFICATION
-                .replace("{broadcast_id}", request.getBroadcastId());
+        String path = BroadcastV2UrlContext.QUERY_BROADCAST_NOTIFICATION_TEMPLATE.expand(request.getBroadcastId());
         
         // Execute the API call
         YunxinApiResponse apiResponse = yunxinApiHttpClient.executeV2Api(
             HttpMethod.GET,
-            BroadcastV2UrlContext.QUERY_BROADCAST_NOTIFICATION,
+            BroadcastV2UrlContext.QUERY_BROADCAST_NOTIFICATION_TEMPLATE,
             path,
             null, // No query parameters
             null  // No request body for GET
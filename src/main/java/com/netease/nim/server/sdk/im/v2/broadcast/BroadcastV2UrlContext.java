@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.broadcast;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for broadcast notification API V2
  */
@@ -15,11 +17,13 @@ public class BroadcastV2UrlContext {
      * URL for deleting broadcast notification
      */
     public static final String DELETE_BROADCAST_NOTIFICATION = "/im/v2/broadcast_notification/{broadcast_id}";
+    public static final UriTemplate DELETE_BROADCAST_NOTIFICATION_TEMPLATE = UriTemplate.compile(DELETE_BROADCAST_NOTIFICATION);
     
     /**
      * URL for querying broadcast notification
      */
     public static final String QUERY_BROADCAST_NOTIFICATION = "/im/v2/broadcast_notification/{broadcast_id}";
+    public static final UriTemplate QUERY_BROADCAST_NOTIFICATION_TEMPLATE = UriTemplate.compile(QUERY_BROADCAST_NOTIFICATION);
     
     /**
      * URL for sending chatroom broadcast notification
@@ -82,7 +82,7 @@ public class ChatroomV2Service implements IChatroomV2Service {
 
         
         // Replace the path parameter in the URL
-        String path = ChatroomV2UrlContext.GET_CHATROOM_ADDRESS.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomV2UrlContext.GET_CHATROOM_ADDRESS.expand(request.getRoomId().toString());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -117,7 +117,7 @@ public class ChatroomV2Service implements IChatroomV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ChatroomV2UrlContext.GET_CHATROOM_INFO.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomV2UrlContext.GET_CHATROOM_INFO.expand(request.getRoomId().toString());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -149,7 +149,7 @@ public class ChatroomV2Service implements IChatroomV2Service {
             throw new IllegalArgumentException("Chatroom ID cannot be null");
         }
         // Replace the path parameter in the URL
-        String path = ChatroomV2UrlContext.UPDATE_CHATROOM_INFO.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomV2UrlContext.UPDATE_CHATROOM_INFO.expand(request.getRoomId().toString());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -178,7 +178,7 @@ public class ChatroomV2Service implements IChatroomV2Service {
         }
 
         // Replace the path parameter in the URL
-        String path = ChatroomV2UrlContext.UPDATE_CHATROOM_STATUS.replace("{room_id}", String.valueOf(request.getRoomId()));
+        String path = ChatroomV2UrlContext.UPDATE_CHATROOM_STATUS.expand(String.valueOf(request.getRoomId()));
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -209,7 +209,7 @@ public class ChatroomV2Service implements IChatroomV2Service {
         
 
         // Replace the path parameter in the URL
-        String path = ChatroomV2UrlContext.TOGGLE_CHATROOM_MUTE.replace("{room_id}", String.valueOf(request.getRoomId()));
+        String path = ChatroomV2UrlContext.TOGGLE_CHATROOM_MUTE.expand(String.valueOf(request.getRoomId()));
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -238,7 +238,7 @@ public class ChatroomV2Service implements IChatroomV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ChatroomV2UrlContext.TOGGLE_IN_OUT_NOTIFICATION.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomV2UrlContext.TOGGLE_IN_OUT_NOTIFICATION.expand(request.getRoomId().toString());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -294,7 +294,7 @@ public class ChatroomV2Service implements IChatroomV2Service {
             throw new IllegalArgumentException("Limit cannot be null");
         }
         // Replace the path parameter in the URL
-        String path = ChatroomV2UrlContext.LIST_ONLINE_MEMBERS.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomV2UrlContext.LIST_ONLINE_MEMBERS.expand(request.getRoomId().toString());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -325,7 +325,7 @@ public class ChatroomV2Service implements IChatroomV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ChatroomV2UrlContext.LIST_FIXED_MEMBERS.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomV2UrlContext.LIST_FIXED_MEMBERS.expand(request.getRoomId().toString());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
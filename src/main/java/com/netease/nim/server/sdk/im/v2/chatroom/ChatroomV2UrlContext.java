@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.chatroom;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Chatroom V2 API endpoints
  */
@@ -13,32 +15,32 @@ public class ChatroomV2UrlContext {
     /**
      * Get chatroom info endpoint
      */
-    static final String GET_CHATROOM_INFO = "/im/v2/chatrooms/{room_id}";
+    static final UriTemplate GET_CHATROOM_INFO = UriTemplate.compile("/im/v2/chatrooms/{room_id}");
     
     /**
      * Update chatroom info endpoint
      */
-    static final String UPDATE_CHATROOM_INFO = "/im/v2/chatrooms/{room_id}";
+    static final UriTemplate UPDATE_CHATROOM_INFO = UriTemplate.compile("/im/v2/chatrooms/{room_id}");
 
     /**
      * Toggle chatroom mute status endpoint
      */
-    static final String TOGGLE_CHATROOM_MUTE = "/im/v2/chatrooms/{room_id}/actions/chat_banned";
+    static final UriTemplate TOGGLE_CHATROOM_MUTE = UriTemplate.compile("/im/v2/chatrooms/{room_id}/actions/chat_banned");
     
     /**
      * Get chatroom address endpoint
      */
-    static final String GET_CHATROOM_ADDRESS = "/im/v2/chatrooms/{room_id}/actions/address";
+    static final UriTemplate GET_CHATROOM_ADDRESS = UriTemplate.compile("/im/v2/chatrooms/{room_id}/actions/address");
     
     /**
      * Update chatroom status endpoint (open/close)
      */
-    static final String UPDATE_CHATROOM_STATUS = "/im/v2/chatrooms/{room_id}/actions/update_status";
+    static final UriTemplate UPDATE_CHATROOM_STATUS = UriTemplate.compile("/im/v2/chatrooms/{room_id}/actions/update_status");
     
     /**
      * Toggle in/out notification endpoint
      */
-    static final String TOGGLE_IN_OUT_NOTIFICATION = "/im/v2/chatrooms/{room_id}/actions/in_out_notification";
+    static final UriTemplate TOGGLE_IN_OUT_NOTIFICATION = UriTemplate.compile("/im/v2/chatrooms/{room_id}/actions/in_out_notification");
     
     /**
      * Query open chatrooms endpoint
@@ -48,10 +50,10 @@ public class ChatroomV2UrlContext {
     /**
      * List online chatroom members endpoint
      */
-    static final String LIST_ONLINE_MEMBERS = "/im/v2/chatrooms/{room_id}/actions/list_online_members";
+    static final UriTemplate LIST_ONLINE_MEMBERS = UriTemplate.compile("/im/v2/chatrooms/{room_id}/actions/list_online_members");
     
     /**
      * List fixed chatroom members endpoint
      */
-    static final String LIST_FIXED_MEMBERS = "/im/v2/chatrooms/{room_id}/actions/list_members";
+    static final UriTemplate LIST_FIXED_MEMBERS = UriTemplate.compile("/im/v2/chatrooms/{room_id}/actions/list_members");
 } 
\ No newline at end of file
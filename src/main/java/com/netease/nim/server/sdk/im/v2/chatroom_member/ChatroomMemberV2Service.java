@@ -63,7 +63,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
         }
 
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.SET_MEMBER_ROLE.replace("{account_id}", request.getAccountId());
+        String path = ChatroomMemberV2UrlContext.SET_MEMBER_ROLE.expand(request.getAccountId());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -87,7 +87,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.UPDATE_ONLINE_MEMBER_INFO.replace("{account_id}", request.getAccountId());
+        String path = ChatroomMemberV2UrlContext.UPDATE_ONLINE_MEMBER_INFO.expand(request.getAccountId());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -119,7 +119,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
         }
 
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.TOGGLE_CHAT_BAN.replace("{account_id}", request.getAccountId());
+        String path = ChatroomMemberV2UrlContext.TOGGLE_CHAT_BAN.expand(request.getAccountId());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -148,7 +148,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
 
         
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.MODIFY_MEMBER_TAGS.replace("{account_id}", request.getAccountId());
+        String path = ChatroomMemberV2UrlContext.MODIFY_MEMBER_TAGS.expand(request.getAccountId());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -177,7 +177,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.QUERY_TAGGED_MEMBERS_COUNT.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomMemberV2UrlContext.QUERY_TAGGED_MEMBERS_COUNT.expand(request.getRoomId().toString());
         
         // Add query parameter for tag
         Map<String, String> queryParams = new HashMap<>();
@@ -216,7 +216,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
 
         
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.LIST_TAG_MEMBERS.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomMemberV2UrlContext.LIST_TAG_MEMBERS.expand(request.getRoomId().toString());
         
         // Add query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -269,7 +269,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
 
         
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.TOGGLE_TEMP_CHAT_BAN.replace("{account_id}", request.getAccountId());
+        String path = ChatroomMemberV2UrlContext.TOGGLE_TEMP_CHAT_BAN.expand(request.getAccountId());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -302,7 +302,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.TOGGLE_BLOCKED.replace("{account_id}", request.getAccountId());
+        String path = ChatroomMemberV2UrlContext.TOGGLE_BLOCKED.expand(request.getAccountId());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -327,7 +327,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.QUERY_CHATROOM_BLACKLIST.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomMemberV2UrlContext.QUERY_CHATROOM_BLACKLIST.expand(request.getRoomId().toString());
 
         
         // Execute API call
@@ -394,7 +394,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.BATCH_QUERY_CHATROOM_MEMBERS.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomMemberV2UrlContext.BATCH_QUERY_CHATROOM_MEMBERS.expand(request.getRoomId().toString());
         
         // Set query parameters - joining the account IDs as a comma-separated list
         Map<String, String> queryParams = new HashMap<>();
@@ -542,7 +542,7 @@ public class ChatroomMemberV2Service implements IChatroomMemberV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ChatroomMemberV2UrlContext.QUERY_CHAT_BANNED.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomMemberV2UrlContext.QUERY_CHAT_BANNED.expand(request.getRoomId().toString());
         
         // Execute API call
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
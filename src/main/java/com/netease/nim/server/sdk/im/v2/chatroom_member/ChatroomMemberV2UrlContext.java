@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.chatroom_member;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Chatroom Member V2 API endpoints
  */
@@ -8,52 +10,52 @@ public class ChatroomMemberV2UrlContext {
     /**
      * Set chatroom member role endpoint
      */
-    static final String SET_MEMBER_ROLE = "/im/v2/room_members/{account_id}";
+    static final UriTemplate SET_MEMBER_ROLE = UriTemplate.compile("/im/v2/room_members/{account_id}");
     
     /**
      * Update chatroom online member information endpoint
      */
-    static final String UPDATE_ONLINE_MEMBER_INFO = "/im/v2/room_members/{account_id}";
+    static final UriTemplate UPDATE_ONLINE_MEMBER_INFO = UriTemplate.compile("/im/v2/room_members/{account_id}");
     
     /**
      * Ban/unban chatroom member from chatting endpoint
      */
-    static final String TOGGLE_CHAT_BAN = "/im/v2/room_members/{account_id}/actions/chat_banned";
+    static final UriTemplate TOGGLE_CHAT_BAN = UriTemplate.compile("/im/v2/room_members/{account_id}/actions/chat_banned");
     
     /**
      * Modify chatroom online member tags endpoint
      */
-    static final String MODIFY_MEMBER_TAGS = "/im/v2/room_members/{account_id}/actions/tags";
+    static final UriTemplate MODIFY_MEMBER_TAGS = UriTemplate.compile("/im/v2/room_members/{account_id}/actions/tags");
     
     /**
      * Query tagged members count endpoint
      */
-    static final String QUERY_TAGGED_MEMBERS_COUNT = "/im/v2/room_members/{room_id}/actions/tagged_members_count";
+    static final UriTemplate QUERY_TAGGED_MEMBERS_COUNT = UriTemplate.compile("/im/v2/room_members/{room_id}/actions/tagged_members_count");
     
     /**
      * List tagged members with pagination endpoint
      */
-    static final String LIST_TAG_MEMBERS = "/im/v2/room_members/{room_id}/actions/list_tag_members";
+    static final UriTemplate LIST_TAG_MEMBERS = UriTemplate.compile("/im/v2/room_members/{room_id}/actions/list_tag_members");
     
     /**
      * Temporarily ban/unban chatroom member from chatting endpoint
      */
-    static final String TOGGLE_TEMP_CHAT_BAN = "/im/v2/room_members/{account_id}/actions/temp_chat_banned";
+    static final UriTemplate TOGGLE_TEMP_CHAT_BAN = UriTemplate.compile("/im/v2/room_members/{account_id}/actions/temp_chat_banned");
     
     /**
      * Query chatroom ban list endpoint
      */
-    static final String QUERY_CHATROOM_BAN_LIST = "/im/v2/room_members/{room_id}/actions/banned_members";
+    static final UriTemplate QUERY_CHATROOM_BAN_LIST = UriTemplate.compile("/im/v2/room_members/{room_id}/actions/banned_members");
     
     /**
      * Block/unblock chatroom member endpoint
      */
-    static final String TOGGLE_BLOCKED = "/im/v2/room_members/{account_id}/actions/blocked";
+    static final UriTemplate TOGGLE_BLOCKED = UriTemplate.compile("/im/v2/room_members/{account_id}/actions/blocked");
     
     /**
      * Query chatroom blacklist endpoint
      */
-    static final String QUERY_CHATROOM_BLACKLIST = "/im/v2.1/room_members/{room_id}/actions/blocked";
+    static final UriTemplate QUERY_CHATROOM_BLACKLIST = UriTemplate.compile("/im/v2.1/room_members/{room_id}/actions/blocked");
     
     /**
      * Toggle chatroom tagged members chat ban endpoint
@@ -63,7 +65,7 @@ public class ChatroomMemberV2UrlContext {
     /**
      * Batch query chatroom fixed members information endpoint
      */
-    static final String BATCH_QUERY_CHATROOM_MEMBERS = "/im/v2/room_members/{room_id}/actions/batch";
+    static final UriTemplate BATCH_QUERY_CHATROOM_MEMBERS = UriTemplate.compile("/im/v2/room_members/{room_id}/actions/batch");
     
     /**
      * Add virtual members to chatroom endpoint
@@ -88,5 +90,5 @@ public class ChatroomMemberV2UrlContext {
     /**
      * Query chat banned members endpoint
      */
-    static final String QUERY_CHAT_BANNED = "/im/v2.1/room_members/{room_id}/actions/chat_banned";
+    static final UriTemplate QUERY_CHAT_BANNED = UriTemplate.compile("/im/v2.1/room_members/{room_id}/actions/chat_banned");
 } 
\ No newline at end of file
@@ -32,7 +32,7 @@ public class ChatroomMessageV2Service implements IChatroomMessageV2Service {
     @Override
     public Result<SendChatroomMessageResponseV2> sendChatroomMessage(SendChatroomMessageRequestV2 request) throws YunxinSdkException {
         // Replace the path parameter in the URL
-        String path = ChatroomMessageV2UrlContext.SEND_CHATROOM_MESSAGE.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomMessageV2UrlContext.SEND_CHATROOM_MESSAGE.expand(request.getRoomId().toString());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -69,9 +69,7 @@ public class ChatroomMessageV2Service implements IChatroomMessageV2Service {
     @Override
     public Result<RecallChatroomMessageResponseV2> recallChatroomMessage(RecallChatroomMessageRequestV2 request) throws YunxinSdkException {
         // Replace path parameters in the URL
-        String path = ChatroomMessageV2UrlContext.RECALL_OR_DELETE_CHATROOM_MESSAGE
-                .replace("{room_id}", request.getRoomId().toString())
-                .replace("{message_client_id}", request.getMessageClientId());
+        String path = ChatroomMessageV2UrlContext.RECALL_OR_DELETE_CHATROOM_MESSAGE.expand(request.getRoomId().toString(), request.getMessageClientId());
         
         // Prepare query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -102,7 +100,7 @@ public class ChatroomMessageV2Service implements IChatroomMessageV2Service {
     public Result<QueryChatroomHistoryMessagesResponseV2> queryChatroomHistoryMessages(
             QueryChatroomHistoryMessagesRequestV2 request) throws YunxinSdkException {
         // Replace path parameter in the URL
-        String path = ChatroomMessageV2UrlContext.QUERY_CHATROOM_HISTORY_MESSAGES.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomMessageV2UrlContext.QUERY_CHATROOM_HISTORY_MESSAGES.expand(request.getRoomId().toString());
         
         // Prepare query parameters
         Map<String, String> queryParams = new HashMap<>();
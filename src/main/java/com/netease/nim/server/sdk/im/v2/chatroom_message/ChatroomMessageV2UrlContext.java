@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.chatroom_message;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Chatroom Message V2 API endpoints
  */
@@ -8,7 +10,7 @@ public class ChatroomMessageV2UrlContext {
     /**
      * Send chatroom message endpoint
      */
-    static final String SEND_CHATROOM_MESSAGE = "/im/v2/chatrooms/{room_id}/messages";
+    static final UriTemplate SEND_CHATROOM_MESSAGE = UriTemplate.compile("/im/v2/chatrooms/{room_id}/messages");
     
     /**
      * Batch send chatroom messages endpoint
@@ -18,10 +20,10 @@ public class ChatroomMessageV2UrlContext {
     /**
      * Recall or delete chatroom message endpoint
      */
-    static final String RECALL_OR_DELETE_CHATROOM_MESSAGE = "/im/v2/chatrooms/{room_id}/messages/{message_client_id}";
+    static final UriTemplate RECALL_OR_DELETE_CHATROOM_MESSAGE = UriTemplate.compile("/im/v2/chatrooms/{room_id}/messages/{message_client_id}");
     
     /**
      * Query chatroom history messages endpoint
      */
-    static final String QUERY_CHATROOM_HISTORY_MESSAGES = "/im/v2.1/chatrooms/{room_id}/messages";
+    static final UriTemplate QUERY_CHATROOM_HISTORY_MESSAGES = UriTemplate.compile("/im/v2.1/chatrooms/{room_id}/messages");
 } 
\ No newline at end of file
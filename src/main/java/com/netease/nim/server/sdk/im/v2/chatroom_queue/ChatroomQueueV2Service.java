@@ -64,7 +64,7 @@ public class ChatroomQueueV2Service implements IChatroomQueueV2Service {
         }
         
         // Replace path parameter in the URL
-        String path = ChatroomQueueV2UrlContext.INITIALIZE_CHATROOM_QUEUE.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomQueueV2UrlContext.INITIALIZE_CHATROOM_QUEUE.expand(request.getRoomId().toString());
         
         // Execute API call
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
@@ -114,7 +114,7 @@ public class ChatroomQueueV2Service implements IChatroomQueueV2Service {
         }
         
         // Replace path parameter in the URL
-        String path = ChatroomQueueV2UrlContext.QUERY_CHATROOM_QUEUE_ELEMENTS.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomQueueV2UrlContext.QUERY_CHATROOM_QUEUE_ELEMENTS.expand(request.getRoomId().toString());
         
         // Execute API call
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
@@ -236,7 +236,7 @@ public class ChatroomQueueV2Service implements IChatroomQueueV2Service {
         }
         
         // Replace path parameter in the URL
-        String path = ChatroomQueueV2UrlContext.UPDATE_CHATROOM_QUEUE.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomQueueV2UrlContext.UPDATE_CHATROOM_QUEUE.expand(request.getRoomId().toString());
         
         // Execute API call
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
@@ -307,7 +307,7 @@ public class ChatroomQueueV2Service implements IChatroomQueueV2Service {
         }
         
         // Replace path parameter in the URL
-        String path = ChatroomQueueV2UrlContext.DELETE_CHATROOM_QUEUE.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomQueueV2UrlContext.DELETE_CHATROOM_QUEUE.expand(request.getRoomId().toString());
         
         // Execute API call
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
@@ -384,7 +384,7 @@ public class ChatroomQueueV2Service implements IChatroomQueueV2Service {
         }
         
         // Replace path parameter in the URL
-        String path = ChatroomQueueV2UrlContext.POLL_CHATROOM_QUEUE_ELEMENT.replace("{room_id}", request.getRoomId().toString());
+        String path = ChatroomQueueV2UrlContext.POLL_CHATROOM_QUEUE_ELEMENT.expand(request.getRoomId().toString());
         
         // Execute API call
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.chatroom_queue;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Chatroom Queue V2 API endpoints
  */
@@ -8,26 +10,26 @@ public class ChatroomQueueV2UrlContext {
     /**
      * Initialize chatroom queue endpoint
      */
-    static final String INITIALIZE_CHATROOM_QUEUE = "/im/v2/room_queues/{room_id}";
+    static final UriTemplate INITIALIZE_CHATROOM_QUEUE = UriTemplate.compile("/im/v2/room_queues/{room_id}");
     
 
     /**
      * Query chatroom queue elements endpoint
      */
-    static final String QUERY_CHATROOM_QUEUE_ELEMENTS = "/im/v2/room_queues/{room_id}/actions/query";
+    static final UriTemplate QUERY_CHATROOM_QUEUE_ELEMENTS = UriTemplate.compile("/im/v2/room_queues/{room_id}/actions/query");
     
     /**
      * Update chatroom queue endpoint
      */
-    static final String UPDATE_CHATROOM_QUEUE = "/im/v2/room_queues/{room_id}";
+    static final UriTemplate UPDATE_CHATROOM_QUEUE = UriTemplate.compile("/im/v2/room_queues/{room_id}");
     
     /**
      * Delete chatroom queue endpoint
      */
-    static final String DELETE_CHATROOM_QUEUE = "/im/v2/room_queues/{room_id}";
+    static final UriTemplate DELETE_CHATROOM_QUEUE = UriTemplate.compile("/im/v2/room_queues/{room_id}");
     
     /**
      * Poll element from chatroom queue endpoint
      */
-    static final String POLL_CHATROOM_QUEUE_ELEMENT = "/im/v2/room_queues/{room_id}/actions/poll";
+    static final UriTemplate POLL_CHATROOM_QUEUE_ELEMENT = UriTemplate.compile("/im/v2/room_queues/{room_id}/actions/poll");
 } 
\ No newline at end of file
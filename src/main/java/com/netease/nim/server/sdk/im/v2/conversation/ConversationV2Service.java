@@ -46,7 +46,7 @@ public class ConversationV2Service implements IConversationV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ConversationV2UrlContext.UPDATE_CONVERSATION.replace("{conversation_id}", conversationId);
+        String path = ConversationV2UrlContext.UPDATE_CONVERSATION.expand(conversationId);
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -70,7 +70,7 @@ public class ConversationV2Service implements IConversationV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ConversationV2UrlContext.DELETE_CONVERSATION.replace("{conversation_id}", conversationId);
+        String path = ConversationV2UrlContext.DELETE_CONVERSATION.expand(conversationId);
         
         // Add query parameter if clearMessage is set
         Map<String, String> queryParams = null;
@@ -128,7 +128,7 @@ public class ConversationV2Service implements IConversationV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ConversationV2UrlContext.GET_CONVERSATION.replace("{conversation_id}", conversationId);
+        String path = ConversationV2UrlContext.GET_CONVERSATION.expand(conversationId);
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.GET,
@@ -210,7 +210,7 @@ public class ConversationV2Service implements IConversationV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = ConversationV2UrlContext.STICK_TOP_CONVERSATION.replace("{conversation_id}", conversationId);
+        String path = ConversationV2UrlContext.STICK_TOP_CONVERSATION.expand(conversationId);
         
         // Create a request body with only the top_type field
         Map<String, Integer> requestBodyMap = new HashMap<>();
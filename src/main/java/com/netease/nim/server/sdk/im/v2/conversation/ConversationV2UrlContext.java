@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.conversation;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Conversation V2 API endpoints
  */
@@ -12,11 +14,11 @@ public class ConversationV2UrlContext {
     /**
      * Update conversation endpoint
      */
-    static final String UPDATE_CONVERSATION = "/im/v2/conversations/{conversation_id}";
+    static final UriTemplate UPDATE_CONVERSATION = UriTemplate.compile("/im/v2/conversations/{conversation_id}");
     /**
      * Delete conversation endpoint
      */
-    static final String DELETE_CONVERSATION = "/im/v2/conversations/{conversation_id}";
+    static final UriTemplate DELETE_CONVERSATION = UriTemplate.compile("/im/v2/conversations/{conversation_id}");
     /**
      * Batch delete conversations endpoint
      */
@@ -24,7 +26,7 @@ public class ConversationV2UrlContext {
     /**
      * Get conversation endpoint
      */
-    static final String GET_CONVERSATION = "/im/v2.1/conversations/{conversation_id}";
+    static final UriTemplate GET_CONVERSATION = UriTemplate.compile("/im/v2.1/conversations/{conversation_id}");
     /**
      * Batch get conversations endpoint
      */
@@ -36,5 +38,5 @@ public class ConversationV2UrlContext {
     /**
      * Stick top conversation endpoint
      */
-    static final String STICK_TOP_CONVERSATION = "/im/v2/conversations/{conversation_id}/actions/stick_top_conversation";
+    static final UriTemplate STICK_TOP_CONVERSATION = UriTemplate.compile("/im/v2/conversations/{conversation_id}/actions/stick_top_conversation");
 }
\ No newline at end of file
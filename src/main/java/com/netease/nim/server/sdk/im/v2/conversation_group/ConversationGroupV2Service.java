@@ -44,7 +44,7 @@ public class ConversationGroupV2Service implements IConversationGroupV2Service {
     @Override
     public Result<UpdateConversationGroupResponseV2> updateConversationGroup(UpdateConversationGroupRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the groupId
-        String path = ConversationGroupV2UrlContext.UPDATE_CONVERSATION_GROUP.replace("{group_id}", String.valueOf(request.getGroupId()));
+        String path = ConversationGroupV2UrlContext.UPDATE_CONVERSATION_GROUP.expand(String.valueOf(request.getGroupId()));
         
         // Convert request to JSON string
         String requestBody = JSON.toJSONString(request);
@@ -62,7 +62,7 @@ public class ConversationGroupV2Service implements IConversationGroupV2Service {
     @Override
     public Result<DeleteConversationGroupResponseV2> deleteConversationGroup(DeleteConversationGroupRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the groupId
-        String path = ConversationGroupV2UrlContext.DELETE_CONVERSATION_GROUP.replace("{group_id}", String.valueOf(request.getGroupId()));
+        String path = ConversationGroupV2UrlContext.DELETE_CONVERSATION_GROUP.expand(String.valueOf(request.getGroupId()));
         
         // For DELETE request, put the account_id in the query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -81,7 +81,7 @@ public class ConversationGroupV2Service implements IConversationGroupV2Service {
     @Override
     public Result<GetConversationGroupResponseV2> getConversationGroup(GetConversationGroupRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the groupId
-        String path = ConversationGroupV2UrlContext.GET_CONVERSATION_GROUP.replace("{group_id}", String.valueOf(request.getGroupId()));
+        String path = ConversationGroupV2UrlContext.GET_CONVERSATION_GROUP.expand(String.valueOf(request.getGroupId()));
         
         // For GET request, put the account_id in the query parameters
         Map<String, String> queryParams = new HashMap<>();
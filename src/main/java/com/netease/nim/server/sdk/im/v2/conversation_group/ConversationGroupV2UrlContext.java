@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.conversation_group;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Conversation Group V2 API endpoints
  */
@@ -13,17 +15,17 @@ public class ConversationGroupV2UrlContext {
     /**
      * Update conversation group endpoint
      */
-    static final String UPDATE_CONVERSATION_GROUP = "/im/v2/conversation_groups/{group_id}";
+    static final UriTemplate UPDATE_CONVERSATION_GROUP = UriTemplate.compile("/im/v2/conversation_groups/{group_id}");
     
     /**
      * Delete conversation group endpoint
      */
-    static final String DELETE_CONVERSATION_GROUP = "/im/v2/conversation_groups/{group_id}";
+    static final UriTemplate DELETE_CONVERSATION_GROUP = UriTemplate.compile("/im/v2/conversation_groups/{group_id}");
     
     /**
      * Get conversation group endpoint
      */
-    static final String GET_CONVERSATION_GROUP = "/im/v2/conversation_groups/{group_id}";
+    static final UriTemplate GET_CONVERSATION_GROUP = UriTemplate.compile("/im/v2/conversation_groups/{group_id}");
     
     /**
      * Batch get conversation groups endpoint
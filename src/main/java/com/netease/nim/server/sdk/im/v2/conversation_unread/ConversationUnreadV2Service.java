@@ -25,7 +25,7 @@ public class ConversationUnreadV2Service implements IConversationUnreadV2Service
     @Override
     public Result<OverViewsConversationResponseV2> getConversationOverview(OverViewsConversationRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = ConversationUnreadV2UrlContext.OVERVIEWS_CONVERSATION.replace("{account_id}", request.getAccountId());
+        String path = ConversationUnreadV2UrlContext.OVERVIEWS_CONVERSATION.expand(request.getAccountId());
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.GET, 
@@ -40,7 +40,7 @@ public class ConversationUnreadV2Service implements IConversationUnreadV2Service
     @Override
     public Result<ClearConversationUnreadResponseV2> clearConversationUnread(ClearConversationUnreadRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the conversationId
-        String path = ConversationUnreadV2UrlContext.CLEAR_CONVERSATION_UNREAD.replace("{conversation_id}", request.getConversationId());
+        String path = ConversationUnreadV2UrlContext.CLEAR_CONVERSATION_UNREAD.expand(request.getConversationId());
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.PATCH, 
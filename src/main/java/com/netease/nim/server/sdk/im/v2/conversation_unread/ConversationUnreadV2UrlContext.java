@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.conversation_unread;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Conversation Unread V2 API endpoints
  */
@@ -8,10 +10,10 @@ public class ConversationUnreadV2UrlContext {
     /**
      * Get conversation overview endpoint for an account
      */
-    static final String OVERVIEWS_CONVERSATION = "/im/v2/conversation_overviews/{account_id}";
+    static final UriTemplate OVERVIEWS_CONVERSATION = UriTemplate.compile("/im/v2/conversation_overviews/{account_id}");
     
     /**
      * Clear conversation unread count endpoint
      */
-    static final String CLEAR_CONVERSATION_UNREAD = "/im/v2/conversations/{conversation_id}/actions/clear_conversation_unread";
+    static final UriTemplate CLEAR_CONVERSATION_UNREAD = UriTemplate.compile("/im/v2/conversations/{conversation_id}/actions/clear_conversation_unread");
 } 
\ No newline at end of file
@@ -63,7 +63,7 @@ public class FriendV2Service implements IFriendV2Service {
     @Override
     public Result<DeleteFriendResponseV2> deleteFriend(DeleteFriendRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = FriendV2UrlContext.DELETE_FRIEND.replace("{account_id}", request.getAccountId());
+        String path = FriendV2UrlContext.DELETE_FRIEND.expand(request.getAccountId());
         
         // Build query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -87,7 +87,7 @@ public class FriendV2Service implements IFriendV2Service {
     @Override
     public Result<UpdateFriendResponseV2> updateFriend(UpdateFriendRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = FriendV2UrlContext.UPDATE_FRIEND.replace("{account_id}", request.getAccountId());
+        String path = FriendV2UrlContext.UPDATE_FRIEND.expand(request.getAccountId());
         
         // Make a copy of the request to avoid modifying the original
         JSONObject data = JSONObject.parseObject(JSONObject.toJSONString(request));
@@ -133,7 +133,7 @@ public class FriendV2Service implements IFriendV2Service {
     @Override
     public Result<GetFriendResponseV2> getFriend(GetFriendRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = FriendV2UrlContext.GET_FRIEND.replace("{account_id}", request.getAccountId());
+        String path = FriendV2UrlContext.GET_FRIEND.expand(request.getAccountId());
         
         // Build query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.friend;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Friend V2 API endpoints
  */
@@ -13,17 +15,17 @@ public class FriendV2UrlContext {
     /**
      * Delete friend endpoint
      */
-    static final String DELETE_FRIEND = "/im/v2/friends/{account_id}";
+    static final UriTemplate DELETE_FRIEND = UriTemplate.compile("/im/v2/friends/{account_id}");
     
     /**
      * Update friend endpoint
      */
-    static final String UPDATE_FRIEND = "/im/v2.1/friends/{account_id}";
+    static final UriTemplate UPDATE_FRIEND = UriTemplate.compile("/im/v2.1/friends/{account_id}");
     
     /**
      * Get friend endpoint
      */
-    static final String GET_FRIEND = "/im/v2.1/friends/{account_id}";
+    static final UriTemplate GET_FRIEND = UriTemplate.compile("/im/v2.1/friends/{account_id}");
     
     /**
      * List friends endpoint
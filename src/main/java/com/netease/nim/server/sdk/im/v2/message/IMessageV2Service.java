@@ -2,6 +2,7 @@ package com.netease.nim.server.sdk.im.v2.message;
 
 import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.reactive.Publisher;
 import com.netease.nim.server.sdk.im.v2.message.request.AddQuickCommentRequestV2;
 import com.netease.nim.server.sdk.im.v2.message.request.BatchQueryMessagesByIdRequestV2;
 import com.netease.nim.server.sdk.im.v2.message.request.BatchQueryQuickCommentsRequestV2;
@@ -233,6 +234,18 @@ public interface IMessageV2Service {
      * @throws IllegalArgumentException if request parameters are invalid
      */
     Result<SearchMessagesResponseV2> searchMessages(SearchMessagesRequestV2 request) throws YunxinSdkException;
+
+    /**
+     * Search historical messages page by page, as a Reactive Streams style Publisher
+     * 
+     * Each element is the result of one page, starting from request.getPageToken().
+     * The next page is requested only when the subscriber requests it, cancel aborts the in-flight request.
+     * The publisher completes after a failed result or the last page.
+     * 
+     * @param request request containing search criteria
+     * @return publisher of pages, onError with YunxinSdkException if a network or server error occurs
+     */
+    Publisher<Result<SearchMessagesResponseV2>> searchMessagesPublisher(SearchMessagesRequestV2 request);
     
     /**
      * Query conversation messages with pagination
@@ -255,6 +268,18 @@ public interface IMessageV2Service {
      */
     Result<QueryMessagesByPageResponseV2> queryMessagesByPage(
             QueryMessagesByPageRequestV2 request) throws YunxinSdkException;
+
+    /**
+     * Query conversation messages page by page, as a Reactive Streams style Publisher
+     * 
+     * Each element is the result of one page, starting from request.getPageToken().
+     * The next page is requested only when the subscriber requests it, cancel aborts the in-flight request.
+     * The publisher completes after a failed result or the last page.
+     * 
+     * @param request request containing pagination parameters
+     * @return publisher of pages, onError with YunxinSdkException if a network or server error occurs
+     */
+    Publisher<Result<QueryMessagesByPageResponseV2>> queryMessagesByPagePublisher(QueryMessagesByPageRequestV2 request);
     
     /**
      * Batch query messages by message IDs
@@ -293,6 +318,18 @@ public interface IMessageV2Service {
      */
     Result<QueryThreadMessagesResponseV2> queryThreadMessages(
             QueryThreadMessagesRequestV2 request) throws YunxinSdkException;
+
+    /**
+     * Query thread messages page by page, as a Reactive Streams style Publisher
+     * 
+     * Each element is the result of one page, starting from request.getPageToken().
+     * The next page is requested only when the subscriber requests it, cancel aborts the in-flight request.
+     * The publisher completes after a failed result or the last page.
+     * 
+     * @param request request containing thread root message details and query parameters
+     * @return publisher of pages, onError with YunxinSdkException if a network or server error occurs
+     */
+    Publisher<Result<QueryThreadMessagesResponseV2>> queryThreadMessagesPublisher(QueryThreadMessagesRequestV2 request);
             
     /**
      * Add quick comment to a message
@@ -6,6 +6,7 @@ import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
 import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.reactive.Publisher;
 import com.netease.nim.server.sdk.im.v2.message.request.AddQuickCommentRequestV2;
 import com.netease.nim.server.sdk.im.v2.message.request.BatchQueryMessagesByIdRequestV2;
 import com.netease.nim.server.sdk.im.v2.message.request.BatchQueryQuickCommentsRequestV2;
@@ -42,6 +43,7 @@ import com.netease.nim.server.sdk.im.v2.util.ResultUtils;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 
 import com.netease.nim.server.sdk.im.v2.message.request.StreamMessageRequestV2;
@@ -58,7 +60,7 @@ public class MessageV2Service implements IMessageV2Service {
     @Override
     public Result<StreamMessageResponseV2> streamMessage(StreamMessageRequestV2 request) throws YunxinSdkException {
         String conversationId = request.getConversationId();
-        String path = MessageV2UrlContext.STREAM_MESSAGE.replace("{conversation_id}", conversationId);
+        String path = MessageV2UrlContext.STREAM_MESSAGE.expand(conversationId);
         String requestBody = JSONObject.toJSONString(request);
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.POST,
@@ -74,7 +76,7 @@ public class MessageV2Service implements IMessageV2Service {
         String conversationId = request.getConversationId();
 
         // Replace the path parameter in the URL
-        String path = MessageV2UrlContext.SEND_MESSAGE.replace("{conversation_id}", conversationId);
+        String path = MessageV2UrlContext.SEND_MESSAGE.expand(conversationId);
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -125,9 +127,7 @@ public class MessageV2Service implements IMessageV2Service {
     @Override
     public Result<WithdrawMessageResponseV2> withdrawMessage(WithdrawMessageRequestV2 request) throws YunxinSdkException {
         // Replace path parameters in the URL
-        String path = MessageV2UrlContext.WITHDRAW_MESSAGE
-                .replace("{conversation_id}", request.getConversationId())
-                .replace("{message_server_id}", request.getMessageServerId().toString());
+        String path = MessageV2UrlContext.WITHDRAW_MESSAGE.expand(request.getConversationId(), request.getMessageServerId().toString());
         
         // Build query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -184,8 +184,7 @@ public class MessageV2Service implements IMessageV2Service {
     public Result<DeleteConversationMessagesResponseV2> deleteConversationMessages(
             DeleteConversationMessagesRequestV2 request) throws YunxinSdkException {
         // Replace path parameter in the URL
-        String path = MessageV2UrlContext.DELETE_CONVERSATION_MESSAGES
-                .replace("{conversation_id}", request.getConversationId());
+        String path = MessageV2UrlContext.DELETE_CONVERSATION_MESSAGES.expand(request.getConversationId());
         
         // Build query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -272,9 +271,7 @@ public class MessageV2Service implements IMessageV2Service {
             QueryMessageRequestV2 request) throws YunxinSdkException {
 
         // Replace path parameters in the URL
-        String path = MessageV2UrlContext.QUERY_MESSAGE
-                .replace("{conversation_id}", request.getConversationId())
-                .replace("{message_server_id}", request.getMessageServerId().toString());
+        String path = MessageV2UrlContext.QUERY_MESSAGE.expand(request.getConversationId(), request.getMessageServerId().toString());
 
         // Build query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -313,6 +310,32 @@ public class MessageV2Service implements IMessageV2Service {
     
     @Override
     public Result<SearchMessagesResponseV2> searchMessages(SearchMessagesRequestV2 request) throws YunxinSdkException {
+        // Execute API call
+        YunxinApiResponse apiResponse = httpClient.executeV2Api(
+            HttpMethod.GET,
+            MessageV2UrlContext.SEARCH_MESSAGES,
+            MessageV2UrlContext.SEARCH_MESSAGES,
+            searchMessagesParams(request, request.getPageToken()),
+            null // No request body for GET request
+        );
+        
+        return ResultUtils.convert(apiResponse, SearchMessagesResponseV2.class);
+    }
+
+    @Override
+    public Publisher<Result<SearchMessagesResponseV2>> searchMessagesPublisher(SearchMessagesRequestV2 request) {
+        return httpClient.pagePublisher(request.getPageToken(),
+            pageToken -> httpClient.executeV2ApiPublisher(
+                HttpMethod.GET,
+                MessageV2UrlContext.SEARCH_MESSAGES,
+                MessageV2UrlContext.SEARCH_MESSAGES,
+                searchMessagesParams(request, pageToken),
+                null
+            ).map(apiResponse -> ResultUtils.convert(apiResponse, SearchMessagesResponseV2.class)),
+            result -> nextPageToken(result, SearchMessagesResponseV2::getHasMore, SearchMessagesResponseV2::getNextToken));
+    }
+
+    private static Map<String, String> searchMessagesParams(SearchMessagesRequestV2 request, String pageToken) {
         // Create query parameters
         Map<String, String> queryParams = new HashMap<>();
         queryParams.put("operator_id", request.getOperatorId());
@@ -349,42 +372,58 @@ public class MessageV2Service implements IMessageV2Service {
             queryParams.put("keyword_match_type", request.getKeywordMatchType().toString());
         }
         
-        if (request.getPageToken() != null && !request.getPageToken().isEmpty()) {
-            queryParams.put("page_token", request.getPageToken());
+        if (pageToken != null && !pageToken.isEmpty()) {
+            queryParams.put("page_token", pageToken);
         }
         
         if (request.getLimit() != null) {
             queryParams.put("limit", request.getLimit().toString());
         }
+        return queryParams;
+    }
+    
+    @Override
+    public Result<QueryMessagesByPageResponseV2> queryMessagesByPage(
+            QueryMessagesByPageRequestV2 request) throws YunxinSdkException {
+
+        // Replace path parameter in the URL
+        String path = MessageV2UrlContext.QUERY_CONVERSATION_MESSAGES.expand(request.getConversationId());
         
         // Execute API call
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.GET,
-            MessageV2UrlContext.SEARCH_MESSAGES,
-            MessageV2UrlContext.SEARCH_MESSAGES,
-            queryParams,
-            null // No request body for GET request
+            MessageV2UrlContext.QUERY_CONVERSATION_MESSAGES,
+            path,
+            queryMessagesByPageParams(request, request.getPageToken()),
+            null // No request body for GET
         );
         
-        return ResultUtils.convert(apiResponse, SearchMessagesResponseV2.class);
+        return ResultUtils.convert(apiResponse, QueryMessagesByPageResponseV2.class);
     }
-    
+
     @Override
-    public Result<QueryMessagesByPageResponseV2> queryMessagesByPage(
-            QueryMessagesByPageRequestV2 request) throws YunxinSdkException {
+    public Publisher<Result<QueryMessagesByPageResponseV2>> queryMessagesByPagePublisher(QueryMessagesByPageRequestV2 request) {
+        String path = MessageV2UrlContext.QUERY_CONVERSATION_MESSAGES.expand(request.getConversationId());
+        return httpClient.pagePublisher(request.getPageToken(),
+            pageToken -> httpClient.executeV2ApiPublisher(
+                HttpMethod.GET,
+                MessageV2UrlContext.QUERY_CONVERSATION_MESSAGES,
+                path,
+                queryMessagesByPageParams(request, pageToken),
+                null
+            ).map(apiResponse -> ResultUtils.convert(apiResponse, QueryMessagesByPageResponseV2.class)),
+            result -> nextPageToken(result, QueryMessagesByPageResponseV2::getHasMore, QueryMessagesByPageResponseV2::getNextToken));
+    }
 
-        // Replace path parameter in the URL
-        String path = MessageV2UrlContext.QUERY_CONVERSATION_MESSAGES
-                .replace("{conversation_id}", request.getConversationId());
-        
+    private static Map<String, String> queryMessagesByPageParams(QueryMessagesByPageRequestV2 request, String pageToken) {
         // Build query parameters
         Map<String, String> queryParams = new HashMap<>();
         queryParams.put("begin_time", request.getBeginTime().toString());
         queryParams.put("end_time", request.getEndTime().toString());
         queryParams.put("limit", request.getLimit().toString());
         
-        if (request.getPageToken() != null) {
-            queryParams.put("page_token", request.getPageToken());
+        if (pageToken != null) {
+            queryParams.put("page_token", pageToken);
         }
         
         if (request.getDescending() != null) {
@@ -402,17 +441,7 @@ public class MessageV2Service implements IMessageV2Service {
         if (request.getIncludeNoSenseMsg() != null) {
             queryParams.put("include_no_sense_msg", request.getIncludeNoSenseMsg().toString());
         }
-        
-        // Execute API call
-        YunxinApiResponse apiResponse = httpClient.executeV2Api(
-            HttpMethod.GET,
-            MessageV2UrlContext.QUERY_CONVERSATION_MESSAGES,
-            path,
-            queryParams,
-            null // No request body for GET
-        );
-        
-        return ResultUtils.convert(apiResponse, QueryMessagesByPageResponseV2.class);
+        return queryParams;
     }
     
     @Override
@@ -420,8 +449,7 @@ public class MessageV2Service implements IMessageV2Service {
             BatchQueryMessagesByIdRequestV2 request) throws YunxinSdkException {
 
         // Replace path parameter in the URL
-        String path = MessageV2UrlContext.BATCH_QUERY_MESSAGES
-                .replace("{conversation_id}", request.getConversationId());
+        String path = MessageV2UrlContext.BATCH_QUERY_MESSAGES.expand(request.getConversationId());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -444,7 +472,33 @@ public class MessageV2Service implements IMessageV2Service {
     @Override
     public Result<QueryThreadMessagesResponseV2> queryThreadMessages(
             QueryThreadMessagesRequestV2 request) throws YunxinSdkException {
+
+        // Execute API call
+        YunxinApiResponse apiResponse = httpClient.executeV2Api(
+            HttpMethod.GET,
+            MessageV2UrlContext.QUERY_THREAD_MESSAGES,
+            MessageV2UrlContext.QUERY_THREAD_MESSAGES,
+            queryThreadMessagesParams(request, request.getPageToken()),
+            null // No request body for GET
+        );
         
+        return ResultUtils.convert(apiResponse, QueryThreadMessagesResponseV2.class);
+    }
+
+    @Override
+    public Publisher<Result<QueryThreadMessagesResponseV2>> queryThreadMessagesPublisher(QueryThreadMessagesRequestV2 request) {
+        return httpClient.pagePublisher(request.getPageToken(),
+            pageToken -> httpClient.executeV2ApiPublisher(
+                HttpMethod.GET,
+                MessageV2UrlContext.QUERY_THREAD_MESSAGES,
+                MessageV2UrlContext.QUERY_THREAD_MESSAGES,
+                queryThreadMessagesParams(request, pageToken),
+                null
+            ).map(apiResponse -> ResultUtils.convert(apiResponse, QueryThreadMessagesResponseV2.class)),
+            result -> nextPageToken(result, QueryThreadMessagesResponseV2::getHasMore, QueryThreadMessagesResponseV2::getNextToken));
+    }
+
+    private static Map<String, String> queryThreadMessagesParams(QueryThreadMessagesRequestV2 request, String pageToken) {
         // Build query parameters
         Map<String, String> queryParams = new HashMap<>();
         queryParams.put("begin_time", request.getBeginTime().toString());
@@ -457,24 +511,14 @@ public class MessageV2Service implements IMessageV2Service {
         queryParams.put("message_client_id", request.getMessageClientId());
         queryParams.put("create_time", request.getCreateTime().toString());
         
-        if (request.getPageToken() != null && !request.getPageToken().isEmpty()) {
-            queryParams.put("page_token", request.getPageToken());
+        if (pageToken != null && !pageToken.isEmpty()) {
+            queryParams.put("page_token", pageToken);
         }
         
         if (request.getDescending() != null) {
             queryParams.put("descending", request.getDescending().toString());
         }
-
-        // Execute API call
-        YunxinApiResponse apiResponse = httpClient.executeV2Api(
-            HttpMethod.GET,
-            MessageV2UrlContext.QUERY_THREAD_MESSAGES,
-            MessageV2UrlContext.QUERY_THREAD_MESSAGES,
-            queryParams,
-            null // No request body for GET
-        );
-        
-        return ResultUtils.convert(apiResponse, QueryThreadMessagesResponseV2.class);
+        return queryParams;
     }
     
     @Override
@@ -530,4 +574,14 @@ public class MessageV2Service implements IMessageV2Service {
         
         return ResultUtils.convert(apiResponse, BatchQueryQuickCommentsResponseV2.class);
     }
-} 
\ No newline at end of file
+
+    /**
+     * 失败或者没有更多时结束分页
+     */
+    private static <T> String nextPageToken(Result<T> result, Function<T, Boolean> hasMore, Function<T, String> nextToken) {
+        if (!result.isSuccess() || result.getResponse() == null || !Boolean.TRUE.equals(hasMore.apply(result.getResponse()))) {
+            return null;
+        }
+        return nextToken.apply(result.getResponse());
+    }
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.message;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Message V2 API endpoints
  */
@@ -8,7 +10,7 @@ public class MessageV2UrlContext {
     /**
      * Send message endpoint
      */
-    static final String SEND_MESSAGE = "/im/v2/conversations/{conversation_id}/messages";
+    static final UriTemplate SEND_MESSAGE = UriTemplate.compile("/im/v2/conversations/{conversation_id}/messages");
     
     /**
      * Batch send P2P messages endpoint
@@ -23,12 +25,12 @@ public class MessageV2UrlContext {
     /**
      * Withdraw (recall or delete) message endpoint
      */
-    static final String WITHDRAW_MESSAGE = "/im/v2/conversations/{conversation_id}/messages/{message_server_id}";
+    static final UriTemplate WITHDRAW_MESSAGE = UriTemplate.compile("/im/v2/conversations/{conversation_id}/messages/{message_server_id}");
     
     /**
      * Delete all messages in a conversation endpoint
      */
-    static final String DELETE_CONVERSATION_MESSAGES = "/im/v2/conversations/{conversation_id}/messages";
+    static final UriTemplate DELETE_CONVERSATION_MESSAGES = UriTemplate.compile("/im/v2/conversations/{conversation_id}/messages");
     
     /**
      * Send P2P read receipt endpoint
@@ -48,12 +50,12 @@ public class MessageV2UrlContext {
     /**
      * Send streaming message endpoint
      */
-    static final String STREAM_MESSAGE = "/im/v2/conversations/{conversation_id}/messages/actions/stream_message";
+    static final UriTemplate STREAM_MESSAGE = UriTemplate.compile("/im/v2/conversations/{conversation_id}/messages/actions/stream_message");
     
     /**
      * Query single message details endpoint
      */
-    static final String QUERY_MESSAGE = "/im/v2.1/conversations/{conversation_id}/messages/{message_server_id}";
+    static final UriTemplate QUERY_MESSAGE = UriTemplate.compile("/im/v2.1/conversations/{conversation_id}/messages/{message_server_id}");
     
     /**
      * Search messages endpoint
@@ -63,12 +65,12 @@ public class MessageV2UrlContext {
     /**
      * Query conversation messages with pagination endpoint
      */
-    static final String QUERY_CONVERSATION_MESSAGES = "/im/v2.1/conversations/{conversation_id}/messages";
+    static final UriTemplate QUERY_CONVERSATION_MESSAGES = UriTemplate.compile("/im/v2.1/conversations/{conversation_id}/messages");
     
     /**
      * Batch query messages by message IDs endpoint
      */
-    static final String BATCH_QUERY_MESSAGES = "/im/v2.1/conversations/{conversation_id}/batch_messages";
+    static final UriTemplate BATCH_QUERY_MESSAGES = UriTemplate.compile("/im/v2.1/conversations/{conversation_id}/batch_messages");
     
     /**
      * Query thread messages endpoint
@@ -47,7 +47,7 @@ public class MuteV2Service implements IMuteV2Service {
     @Override
     public Result<RemoveMuteContactResponseV2> removeMuteContact(RemoveMuteContactRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = MuteV2UrlContext.REMOVE_MUTE_CONTACT.replace("{account_id}", request.getAccountId());
+        String path = MuteV2UrlContext.REMOVE_MUTE_CONTACT.expand(request.getAccountId());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.mute;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Mute V2 API endpoints
  */
@@ -13,7 +15,7 @@ public class MuteV2UrlContext {
     /**
      * Remove mute contact endpoint
      */
-    static final String REMOVE_MUTE_CONTACT = "/im/v2/mute_contacts/{account_id}";
+    static final UriTemplate REMOVE_MUTE_CONTACT = UriTemplate.compile("/im/v2/mute_contacts/{account_id}");
     
     /**
      * List mute contacts endpoint
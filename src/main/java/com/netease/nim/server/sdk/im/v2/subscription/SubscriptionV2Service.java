@@ -51,8 +51,7 @@ public class SubscriptionV2Service implements ISubscriptionV2Service {
         }
         
         // Create URL with path parameter
-        String url = SubscriptionV2UrlContext.SUBSCRIBE_USER_STATUS.replace(
-                "{account_id}", request.getSubscriberAccountId());
+        String url = SubscriptionV2UrlContext.SUBSCRIBE_USER_STATUS_TEMPLATE.expand(request.getSubscriberAccountId());
         
         // Create query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -64,7 +63,7 @@ public class SubscriptionV2Service implements ISubscriptionV2Service {
         // Execute API call
         YunxinApiResponse apiResponse = yunxinApiHttpClient.executeV2Api(
             HttpMethod.POST,
-            SubscriptionV2UrlContext.SUBSCRIBE_USER_STATUS,
+            SubscriptionV2UrlContext.SUBSCRIBE_USER_STATUS_TEMPLATE,
             url,
             queryParams,
             jsonRequestBody
@@ -83,8 +82,7 @@ public class SubscriptionV2Service implements ISubscriptionV2Service {
         }
 
         // Create URL with path parameter
-        String url = SubscriptionV2UrlContext.UNSUBSCRIBE_USER_STATUS.replace(
-                "{account_id}", request.getSubscriberAccountId());
+        String url = SubscriptionV2UrlContext.UNSUBSCRIBE_USER_STATUS_TEMPLATE.expand(request.getSubscriberAccountId());
         
         // Convert request body to JSON string
         String jsonRequestBody = JSON.toJSONString(request);
@@ -92,7 +90,7 @@ public class SubscriptionV2Service implements ISubscriptionV2Service {
         // Execute API call
         YunxinApiResponse apiResponse = yunxinApiHttpClient.executeV2Api(
             HttpMethod.DELETE,
-            SubscriptionV2UrlContext.UNSUBSCRIBE_USER_STATUS,
+            SubscriptionV2UrlContext.UNSUBSCRIBE_USER_STATUS_TEMPLATE,
             url,
             null,
             jsonRequestBody
@@ -115,8 +113,7 @@ public class SubscriptionV2Service implements ISubscriptionV2Service {
         }
 
         // Create URL with path parameter
-        String url = SubscriptionV2UrlContext.QUERY_USER_STATUS_SUBSCRIPTION.replace(
-                "{account_id}", request.getSubscriberAccountId());
+        String url = SubscriptionV2UrlContext.QUERY_USER_STATUS_SUBSCRIPTION_TEMPLATE.expand(request.getSubscriberAccountId());
         
         // Convert request body to JSON string
         String jsonRequestBody = JSON.toJSONString(request);
@@ -124,7 +121,7 @@ public class SubscriptionV2Service implements ISubscriptionV2Service {
         // Execute API call
         YunxinApiResponse apiResponse = yunxinApiHttpClient.executeV2Api(
             HttpMethod.PATCH,
-            SubscriptionV2UrlContext.QUERY_USER_STATUS_SUBSCRIPTION,
+            SubscriptionV2UrlContext.QUERY_USER_STATUS_SUBSCRIPTION_TEMPLATE,
             url,
             null,
             jsonRequestBody
@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.subscription;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for user status subscription API V2
  */
@@ -10,6 +12,7 @@ public class SubscriptionV2UrlContext {
      * {account_id} should be replaced with the subscriber's account ID
      */
     public static final String SUBSCRIBE_USER_STATUS = "/im/v2/subscription/{account_id}";
+    public static final UriTemplate SUBSCRIBE_USER_STATUS_TEMPLATE = UriTemplate.compile(SUBSCRIBE_USER_STATUS);
     
     /**
      * URL template for unsubscribing from user status events
@@ -17,6 +20,7 @@ public class SubscriptionV2UrlContext {
      * Note: This uses the same URL as subscribe but with DELETE method
      */
     public static final String UNSUBSCRIBE_USER_STATUS = "/im/v2/subscription/{account_id}";
+    public static final UriTemplate UNSUBSCRIBE_USER_STATUS_TEMPLATE = UriTemplate.compile(UNSUBSCRIBE_USER_STATUS);
     
     /**
      * URL template for querying user status subscriptions
@@ -24,4 +28,5 @@ public class SubscriptionV2UrlContext {
      * Note: This uses the same URL as subscribe/unsubscribe but with PATCH method
      */
     public static final String QUERY_USER_STATUS_SUBSCRIPTION = "/im/v2/subscription/{account_id}";
+    public static final UriTemplate QUERY_USER_STATUS_SUBSCRIPTION_TEMPLATE = UriTemplate.compile(QUERY_USER_STATUS_SUBSCRIPTION);
 } 
\ No newline at end of file
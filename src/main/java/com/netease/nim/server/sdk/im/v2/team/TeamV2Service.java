@@ -60,7 +60,7 @@ public class TeamV2Service implements ITeamV2Service {
     @Override
     public Result<UpdateTeamResponseV2> updateTeam(UpdateTeamRequestV2 request) throws YunxinSdkException {
         // Replace the path parameter in the URL
-        String path = TeamV2UrlContext.UPDATE_TEAM.replace("{team_id}", String.valueOf(request.getTeamId()));
+        String path = TeamV2UrlContext.UPDATE_TEAM_TEMPLATE.expand(String.valueOf(request.getTeamId()));
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
@@ -96,7 +96,7 @@ public class TeamV2Service implements ITeamV2Service {
         }
 
         // Replace the path parameter in the URL
-        String path = TeamV2UrlContext.DISBAND_TEAM.replace("{team_id}", request.getTeamId().toString());
+        String path = TeamV2UrlContext.DISBAND_TEAM_TEMPLATE.expand(request.getTeamId().toString());
 
         // Build query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -189,14 +189,14 @@ public class TeamV2Service implements ITeamV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = TeamV2UrlContext.TRANSFER_OWNER.replace("{team_id}", request.getTeamId().toString());
+        String path = TeamV2UrlContext.TRANSFER_OWNER_TEMPLATE.expand(request.getTeamId().toString());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.PATCH,
-            TeamV2UrlContext.TRANSFER_OWNER,
+            TeamV2UrlContext.TRANSFER_OWNER_TEMPLATE,
             path,
             null,
             requestBody
@@ -231,14 +231,14 @@ public class TeamV2Service implements ITeamV2Service {
 
         
         // Replace the path parameter in the URL
-        String path = TeamV2UrlContext.ADD_MANAGER.replace("{team_id}", request.getTeamId().toString());
+        String path = TeamV2UrlContext.ADD_MANAGER_TEMPLATE.expand(request.getTeamId().toString());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.POST,
-            TeamV2UrlContext.ADD_MANAGER,
+            TeamV2UrlContext.ADD_MANAGER_TEMPLATE,
             path,
             null,
             requestBody
@@ -273,14 +273,14 @@ public class TeamV2Service implements ITeamV2Service {
 
 
         // Replace the path parameter in the URL
-        String path = TeamV2UrlContext.REMOVE_MANAGER.replace("{team_id}", request.getTeamId().toString());
+        String path = TeamV2UrlContext.REMOVE_MANAGER_TEMPLATE.expand(request.getTeamId().toString());
         
         // Convert the request to JSON string
         String requestBody = JSONObject.toJSONString(request);
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.DELETE,
-            TeamV2UrlContext.REMOVE_MANAGER,
+            TeamV2UrlContext.REMOVE_MANAGER_TEMPLATE,
             path,
             null,
             requestBody
@@ -310,7 +310,7 @@ public class TeamV2Service implements ITeamV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = TeamV2UrlContext.GET_TEAM_INFO.replace("{team_id}", request.getTeamId().toString());
+        String path = TeamV2UrlContext.GET_TEAM_INFO_TEMPLATE.expand(request.getTeamId().toString());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -318,7 +318,7 @@ public class TeamV2Service implements ITeamV2Service {
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.GET,
-            TeamV2UrlContext.GET_TEAM_INFO,
+            TeamV2UrlContext.GET_TEAM_INFO_TEMPLATE,
             path,
             queryParams,
             null
@@ -358,7 +358,7 @@ public class TeamV2Service implements ITeamV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = TeamV2UrlContext.LIST_TEAM_MEMBERS.replace("{team_id}", request.getTeamId().toString());
+        String path = TeamV2UrlContext.LIST_TEAM_MEMBERS_TEMPLATE.expand(request.getTeamId().toString());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -387,7 +387,7 @@ public class TeamV2Service implements ITeamV2Service {
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.GET,
-            TeamV2UrlContext.LIST_TEAM_MEMBERS,
+            TeamV2UrlContext.LIST_TEAM_MEMBERS_TEMPLATE,
             path,
             queryParams,
             null
@@ -419,7 +419,7 @@ public class TeamV2Service implements ITeamV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = TeamV2UrlContext.LIST_ONLINE_TEAM_MEMBERS.replace("{team_id}", request.getTeamId().toString());
+        String path = TeamV2UrlContext.LIST_ONLINE_TEAM_MEMBERS_TEMPLATE.expand(request.getTeamId().toString());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -427,7 +427,7 @@ public class TeamV2Service implements ITeamV2Service {
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.GET,
-            TeamV2UrlContext.LIST_ONLINE_TEAM_MEMBERS,
+            TeamV2UrlContext.LIST_ONLINE_TEAM_MEMBERS_TEMPLATE,
             path,
             queryParams,
             null
@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.team;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Team V2 APIs
  * 
@@ -15,11 +17,13 @@ public class TeamV2UrlContext {
      * Update Team endpoint
      */
     public static final String UPDATE_TEAM = "/im/v2.1/teams/{team_id}";
+    public static final UriTemplate UPDATE_TEAM_TEMPLATE = UriTemplate.compile(UPDATE_TEAM);
     
     /**
      * Disband Team endpoint
      */
     public static final String DISBAND_TEAM = "/im/v2.1/teams/{team_id}";
+    public static final UriTemplate DISBAND_TEAM_TEMPLATE = UriTemplate.compile(DISBAND_TEAM);
     
     /**
      * Batch Query Teams endpoint
@@ -30,31 +34,37 @@ public class TeamV2UrlContext {
      * Transfer Team Owner endpoint
      */
     public static final String TRANSFER_OWNER = "/im/v2/teams/{team_id}/actions/transfer_owner";
+    public static final UriTemplate TRANSFER_OWNER_TEMPLATE = UriTemplate.compile(TRANSFER_OWNER);
     
     /**
      * Add Team Manager endpoint
      */
     public static final String ADD_MANAGER = "/im/v2/teams/{team_id}/actions/add_manager";
+    public static final UriTemplate ADD_MANAGER_TEMPLATE = UriTemplate.compile(ADD_MANAGER);
     
     /**
      * Remove Team Manager endpoint
      */
     public static final String REMOVE_MANAGER = "/im/v2/teams/{team_id}/actions/remove_manager";
+    public static final UriTemplate REMOVE_MANAGER_TEMPLATE = UriTemplate.compile(REMOVE_MANAGER);
     
     /**
      * Get Team Info endpoint
      */
     public static final String GET_TEAM_INFO = "/im/v2.1/teams/{team_id}";
+    public static final UriTemplate GET_TEAM_INFO_TEMPLATE = UriTemplate.compile(GET_TEAM_INFO);
     
     /**
      * List Team Members endpoint
      */
     public static final String LIST_TEAM_MEMBERS = "/im/v2.1/teams/{team_id}/actions/list_members";
+    public static final UriTemplate LIST_TEAM_MEMBERS_TEMPLATE = UriTemplate.compile(LIST_TEAM_MEMBERS);
     
     /**
      * List Online Team Members endpoint
      */
     public static final String LIST_ONLINE_TEAM_MEMBERS = "/im/v2/teams/{team_id}/actions/list_online_members";
+    public static final UriTemplate LIST_ONLINE_TEAM_MEMBERS_TEMPLATE = UriTemplate.compile(LIST_ONLINE_TEAM_MEMBERS);
     
     /**
      * Batch Query Team Online Members Count endpoint
@@ -215,7 +215,7 @@ public class TeamMemberV2Service implements ITeamMemberV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = TeamMemberV2UrlContext.UPDATE_TEAM_MEMBER.replace("{account_id}", request.getAccountId());
+        String path = TeamMemberV2UrlContext.UPDATE_TEAM_MEMBER_TEMPLATE.expand(request.getAccountId());
         
         // Remove accountId from the JSON body as it's in the URL path
         UpdateTeamMemberRequestV2 requestBodyObj = new UpdateTeamMemberRequestV2();
@@ -233,7 +233,7 @@ public class TeamMemberV2Service implements ITeamMemberV2Service {
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.PATCH,
-            TeamMemberV2UrlContext.UPDATE_TEAM_MEMBER,
+            TeamMemberV2UrlContext.UPDATE_TEAM_MEMBER_TEMPLATE,
             path,
             null,
             requestBody
@@ -314,7 +314,7 @@ public class TeamMemberV2Service implements ITeamMemberV2Service {
         }
         
         // Replace the path parameter in the URL
-        String path = TeamMemberV2UrlContext.JOINED_TEAMS.replace("{account_id}", request.getAccountId());
+        String path = TeamMemberV2UrlContext.JOINED_TEAMS_TEMPLATE.expand(request.getAccountId());
         
         // Set up query parameters
         Map<String, String> queryParams = new HashMap<>();
@@ -334,7 +334,7 @@ public class TeamMemberV2Service implements ITeamMemberV2Service {
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.GET,
-            TeamMemberV2UrlContext.JOINED_TEAMS,
+            TeamMemberV2UrlContext.JOINED_TEAMS_TEMPLATE,
             path,
             queryParams,
             null
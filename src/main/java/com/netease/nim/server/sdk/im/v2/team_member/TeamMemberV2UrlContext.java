@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.team_member;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for Team Member V2 APIs
  * 
@@ -25,6 +27,7 @@ public class TeamMemberV2UrlContext {
      * Update Team Member endpoint
      */
     public static final String UPDATE_TEAM_MEMBER = "/im/v2.1/team_members/{account_id}";
+    public static final UriTemplate UPDATE_TEAM_MEMBER_TEMPLATE = UriTemplate.compile(UPDATE_TEAM_MEMBER);
     
     /**
      * Batch Mute Team Members endpoint
@@ -35,4 +38,5 @@ public class TeamMemberV2UrlContext {
      * Query Joined Teams endpoint
      */
     public static final String JOINED_TEAMS = "/im/v2.1/team_members/{account_id}/actions/joined_teams";
+    public static final UriTemplate JOINED_TEAMS_TEMPLATE = UriTemplate.compile(JOINED_TEAMS);
 } 
\ No newline at end of file
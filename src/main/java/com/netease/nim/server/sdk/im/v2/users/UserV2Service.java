@@ -34,7 +34,7 @@ public class UserV2Service implements IUserV2Service {
     @Override
     public Result<UpdateUserResponseV2> updateUser(UpdateUserRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = UserV2UrlContext.UPDATE_USER.replace("{account_id}", request.getAccountId());
+        String path = UserV2UrlContext.UPDATE_USER.expand(request.getAccountId());
         
         // Make a copy of the request to avoid modifying the original
         JSONObject data = JSONObject.parseObject(JSONObject.toJSONString(request));
@@ -56,7 +56,7 @@ public class UserV2Service implements IUserV2Service {
     @Override
     public Result<GetUserResponseV2> getUser(GetUserRequestV2 request) throws YunxinSdkException {
         // Replace placeholder in the URL with the accountId
-        String path = UserV2UrlContext.GET_USER.replace("{account_id}", request.getAccountId());
+        String path = UserV2UrlContext.GET_USER.expand(request.getAccountId());
         
         YunxinApiResponse apiResponse = httpClient.executeV2Api(
             HttpMethod.GET,
@@ -1,5 +1,7 @@
 package com.netease.nim.server.sdk.im.v2.users;
 
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+
 /**
  * URL context for User V2 API endpoints
  */
@@ -9,12 +11,12 @@ public class UserV2UrlContext {
     /**
      * Update user endpoint
      */
-    static final String UPDATE_USER = "/im/v2/users/{account_id}";
+    static final UriTemplate UPDATE_USER = UriTemplate.compile("/im/v2/users/{account_id}");
     
     /**
      * Get user endpoint
      */
-    static final String GET_USER = "/im/v2/users/{account_id}";
+    static final UriTemplate GET_USER = UriTemplate.compile("/im/v2/users/{account_id}");
     
     /**
      * Batch get users endpoint
@@ -5,13 +5,10 @@ import com.netease.nim.server.sdk.core.Result;
 import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
 import com.netease.nim.server.sdk.core.YunxinApiResponse;
 import com.netease.nim.server.sdk.core.http.HttpMethod;
-import com.netease.nim.server.sdk.core.http.ParamBuilder;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
 import com.netease.nim.server.sdk.sms.request.SmsSendCodeRequest;
 import com.netease.nim.server.sdk.sms.response.SmsSendCodeResponse;
 
-import java.util.Map;
-
 /**
  * Created by caojiajun on 2025/6/12
  */
@@ -40,11 +37,6 @@ public class SmsApiService implements ISmsApiService {
     }
 
     private String toData(Object request) {
-        Map<String, String> paramMap = YunxinParamUtils.convert(request);
-        ParamBuilder builder = new ParamBuilder();
-        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
-            builder.addParam(entry.getKey(), entry.getValue());
-        }
-        return builder.build();
+        return YunxinParamUtils.encode(request).toString();
     }
 }
@@ -0,0 +1,38 @@
+package com.netease.nim.server.sdk.core.trace;
+
+import jdk.jfr.*;
+
+@Name("com.netease.yunxin.sdk.Attempt")
+@Label("Yunxin API Attempt")
+@Description("one http request of YunxinHttpClient.execute, each retry is a separate event")
+@Category({"Yunxin SDK"})
+@StackTrace(false)
+final class AttemptEvent extends Event {
+
+    @Label("Uri")
+    String uri;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Trace Id")
+    String traceId;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Result")
+    String result;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Latency")
+    @Timespan(Timespan.MILLISECONDS)
+    long latency;
+}
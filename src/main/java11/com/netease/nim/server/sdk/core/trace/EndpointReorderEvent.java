@@ -0,0 +1,24 @@
+package com.netease.nim.server.sdk.core.trace;
+
+import jdk.jfr.*;
+
+@Name("com.netease.yunxin.sdk.EndpointReorder")
+@Label("Yunxin Endpoint Reorder")
+@Description("DynamicEndpointSelector changed the order of endpoints")
+@Category({"Yunxin SDK"})
+@StackTrace(false)
+final class EndpointReorderEvent extends Event {
+
+    @Label("Before")
+    String before;
+
+    @Label("After")
+    String after;
+
+    @Label("Success Ratio")
+    @Percentage
+    double successRatio;
+
+    @Label("Average Latency Ms")
+    double latency;
+}
@@ -0,0 +1,84 @@
+package com.netease.nim.server.sdk.core.trace;
+
+import jdk.jfr.EventType;
+
+import java.util.List;
+
+/**
+ * JDK Flight Recorder 事件入口，java11+ 实现
+ * 运行时没有 jdk.jfr 模块（如 jlink 裁剪后的镜像）时退化为空实现
+ */
+public final class JfrEvents {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private JfrEvents() {
+    }
+
+    public static boolean isAttemptEnabled() {
+        return AVAILABLE && Types.ATTEMPT.isEnabled();
+    }
+
+    public static void attempt(String uri, String endpoint, String traceId, int attempt, String result,
+                               long requestBytes, long responseBytes, long latencyMs) {
+        if (!AVAILABLE) {
+            return;
+        }
+        AttemptEvent event = new AttemptEvent();
+        event.uri = uri;
+        event.endpoint = endpoint;
+        event.traceId = traceId;
+        event.attempt = attempt;
+        event.result = result;
+        event.requestBytes = requestBytes;
+        event.responseBytes = responseBytes;
+        event.latency = latencyMs;
+        event.commit();
+    }
+
+    public static boolean isRetryEnabled() {
+        return AVAILABLE && Types.RETRY.isEnabled();
+    }
+
+    public static void retry(String uri, String endpoint, String traceId, int attempt, boolean retry,
+                             boolean nextEndpoint, long intervalMs, Throwable error) {
+        if (!AVAILABLE) {
+            return;
+        }
+        RetryEvent event = new RetryEvent();
+        event.uri = uri;
+        event.endpoint = endpoint;
+        event.traceId = traceId;
+        event.attempt = attempt;
+        event.retry = retry;
+        event.nextEndpoint = nextEndpoint;
+        event.interval = intervalMs;
+        event.error = error == null ? null : error.getClass().getName();
+        event.commit();
+    }
+
+    public static boolean isEndpointReorderEnabled() {
+        return AVAILABLE && Types.ENDPOINT_REORDER.isEnabled();
+    }
+
+    public static void endpointReorder(List<String> before, List<String> after, double successRatio, double latency) {
+        if (!AVAILABLE) {
+            return;
+        }
+        EndpointReorderEvent event = new EndpointReorderEvent();
+        event.before = String.join(",", before);
+        event.after = String.join(",", after);
+        event.successRatio = successRatio;
+        event.latency = latency;
+        event.commit();
+    }
+
+    /**
+     * 只在 jdk.jfr 存在时加载
+     */
+    private static final class Types {
+        static final EventType ATTEMPT = EventType.getEventType(AttemptEvent.class);
+        static final EventType RETRY = EventType.getEventType(RetryEvent.class);
+        static final EventType ENDPOINT_REORDER = EventType.getEventType(EndpointReorderEvent.class);
+    }
+}
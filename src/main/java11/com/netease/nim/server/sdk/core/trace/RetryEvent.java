@@ -0,0 +1,36 @@
+package com.netease.nim.server.sdk.core.trace;
+
+import jdk.jfr.*;
+
+@Name("com.netease.yunxin.sdk.Retry")
+@Label("Yunxin API Retry Decision")
+@Description("decision of RetryPolicy.onError after a failed request")
+@Category({"Yunxin SDK"})
+@StackTrace(false)
+final class RetryEvent extends Event {
+
+    @Label("Uri")
+    String uri;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Trace Id")
+    String traceId;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Retry")
+    boolean retry;
+
+    @Label("Next Endpoint")
+    boolean nextEndpoint;
+
+    @Label("Interval")
+    @Timespan(Timespan.MILLISECONDS)
+    long interval;
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,367 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.YunxinApiResponse;
+import com.netease.nim.server.sdk.core.bulkhead.Bulkhead;
+import com.netease.nim.server.sdk.core.bulkhead.BulkheadConfig;
+import com.netease.nim.server.sdk.core.bulkhead.Priority;
+import com.netease.nim.server.sdk.core.bulkhead.SchedulingMode;
+import com.netease.nim.server.sdk.core.exception.BulkheadFullException;
+import com.netease.nim.server.sdk.core.exception.DeadlineExceededException;
+import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.metrics.BulkheadStats;
+import com.netease.nim.server.sdk.core.metrics.GaugeStats;
+import com.netease.nim.server.sdk.core.metrics.Stats;
+import com.netease.nim.server.sdk.core.metrics.StatsWindow;
+import com.netease.nim.server.sdk.core.trace.BulkheadSetter;
+import com.netease.nim.server.sdk.core.trace.DeadlineSetter;
+import com.netease.nim.server.sdk.core.trace.PrioritySetter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BulkheadTest {
+
+    private LoopbackServer server;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private volatile CountDownLatch block = new CountDownLatch(0);
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer().route("/slow", (exchange, body) -> {
+            int n = active.incrementAndGet();
+            maxActive.accumulateAndGet(n, Math::max);
+            try {
+                block.await(10, TimeUnit.SECONDS);
+                Thread.sleep(50);
+            } finally {
+                active.decrementAndGet();
+            }
+            return null;
+        });
+    }
+
+    @After
+    public void stop() {
+        block.countDown();
+        server.close();
+    }
+
+    private YunxinApiHttpClient client(int maxConcurrentRequests, int maxQueuedRequests, long maxWaitMillis) {
+        BulkheadConfig config = new BulkheadConfig("slow");
+        config.setMaxConcurrentRequests(maxConcurrentRequests);
+        config.setMaxQueuedRequests(maxQueuedRequests);
+        config.setMaxWaitMillis(maxWaitMillis);
+        config.addUriPattern("/slow/*");
+        return new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricCollectIntervalSeconds(1)
+                .bulkhead(config)
+                .build();
+    }
+
+    private YunxinApiResponse call(YunxinApiHttpClient client, String uri) {
+        return client.execute(HttpMethod.POST, ContextType.json, uri, uri, null, "{}");
+    }
+
+    private void awaitActive(int n) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (active.get() < n && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(n, active.get());
+    }
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        YunxinApiHttpClient client = client(2, 16, 10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<YunxinApiResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> call(client, "/slow/a")));
+            }
+            for (Future<YunxinApiResponse> future : futures) {
+                Assert.assertEquals(200, future.get(10, TimeUnit.SECONDS).getHttpCode());
+            }
+            Assert.assertEquals(2, maxActive.get());
+        } finally {
+            executor.shutdownNow();
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testRejected() throws Exception {
+        block = new CountDownLatch(1);
+        YunxinApiHttpClient client = client(1, 1, 200);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<YunxinApiResponse> running = executor.submit(() -> call(client, "/slow/a"));
+            awaitActive(1);
+
+            //one waiter is allowed, it times out
+            long start = System.currentTimeMillis();
+            Future<YunxinApiResponse> waiting = executor.submit(() -> call(client, "/slow/b"));
+            //the queue is full while the waiter is queued
+            Thread.sleep(50);
+            assertRejected(client, "/slow/c", "queue is full");
+            try {
+                waiting.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause().getCause() instanceof BulkheadFullException);
+                Assert.assertTrue(e.getCause().getCause().getMessage().contains("wait timeout"));
+            }
+            Assert.assertTrue(System.currentTimeMillis() - start >= 200);
+
+            //other uris are not affected
+            Assert.assertEquals(200, call(client, "/fast").getHttpCode());
+            //unless they are tagged into the bulkhead
+            BulkheadSetter.setBulkhead("slow");
+            assertRejected(client, "/fast", "wait timeout");
+            //the tag is cleared after the call
+            Assert.assertEquals(200, call(client, "/fast").getHttpCode());
+
+            try {
+                BulkheadSetter.setBulkhead("unknown");
+                DeadlineSetter.setDeadlineAfter(60_000);
+                PrioritySetter.setPriority(Priority.HIGH);
+                call(client, "/fast");
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+                //expected
+            }
+            //nothing is left for the next call on this thread
+            Assert.assertNull(DeadlineSetter.getAndClear());
+            Assert.assertNull(PrioritySetter.getAndClear());
+            Assert.assertNull(BulkheadSetter.getAndClear());
+
+            block.countDown();
+            Assert.assertEquals(200, running.get(5, TimeUnit.SECONDS).getHttpCode());
+            //permits are released
+            Assert.assertEquals(200, call(client, "/slow/a").getHttpCode());
+        } finally {
+            block.countDown();
+            executor.shutdownNow();
+            client.shutdown();
+        }
+    }
+
+    private void assertRejected(YunxinApiHttpClient client, String uri, String reason) {
+        try {
+            call(client, uri);
+            Assert.fail();
+        } catch (YunxinSdkException e) {
+            Assert.assertTrue(e.getCause() instanceof BulkheadFullException);
+            Assert.assertEquals("slow", ((BulkheadFullException) e.getCause()).getBulkhead());
+            Assert.assertTrue(e.getCause().getMessage().contains(reason));
+        }
+    }
+
+    @Test
+    public void testStats() throws Exception {
+        block = new CountDownLatch(1);
+        YunxinApiHttpClient client = client(1, 0, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            Future<YunxinApiResponse> running = executor.submit(() -> call(client, "/slow/a"));
+            awaitActive(1);
+            assertRejected(client, "/slow/b", "queue is full");
+
+            GaugeStats gaugeStats = null;
+            for (int i = 0; i < 50; i++) {
+                gaugeStats = client.getStats(StatsWindow.ONE_MINUTE).getGaugeStats();
+                if (gaugeStats != null && gaugeStats.getBulkheadActiveRequests().containsKey("slow")) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            Assert.assertNotNull(gaugeStats);
+            Assert.assertEquals(1, gaugeStats.getBulkheadActiveRequests().get("slow").intValue());
+            Assert.assertEquals(0, gaugeStats.getBulkheadQueuedRequests().get("slow").intValue());
+
+            block.countDown();
+            running.get(5, TimeUnit.SECONDS);
+
+            BulkheadStats bulkheadStats = null;
+            for (int i = 0; i < 50; i++) {
+                Stats stats = client.getStats(StatsWindow.LIFETIME);
+                if (!stats.getBulkheadStatsList().isEmpty()) {
+                    bulkheadStats = stats.getBulkheadStatsList().get(0);
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            Assert.assertNotNull(bulkheadStats);
+            Assert.assertEquals("slow", bulkheadStats.getBulkhead());
+            Assert.assertEquals("normal", bulkheadStats.getPriority());
+            Assert.assertEquals(1, bulkheadStats.getCount());
+            Assert.assertEquals(1, bulkheadStats.getRejected());
+        } finally {
+            block.countDown();
+            executor.shutdownNow();
+            client.shutdown();
+        }
+    }
+
+    private static Bulkhead bulkhead(SchedulingMode mode, long agingMillis) {
+        BulkheadConfig config = new BulkheadConfig("test");
+        config.setMaxConcurrentRequests(1);
+        config.setMaxQueuedRequests(64);
+        config.setMaxWaitMillis(10_000);
+        config.setSchedulingMode(mode);
+        config.setAgingMillis(agingMillis);
+        config.priorityWeight(Priority.HIGH, 2);
+        return new Bulkhead(config);
+    }
+
+    /**
+     * 依次排队，每个请求拿到许可后记录优先级并立即释放
+     */
+    private static List<Priority> schedule(Bulkhead bulkhead, long delayMillis, Priority... priorities) throws Exception {
+        List<Priority> order = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(priorities.length);
+        try {
+            bulkhead.acquire();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < priorities.length; i++) {
+                Priority priority = priorities[i];
+                futures.add(executor.submit(() -> {
+                    bulkhead.acquire(priority);
+                    order.add(priority);
+                    bulkhead.release();
+                    return null;
+                }));
+                long deadline = System.currentTimeMillis() + 5000;
+                while (bulkhead.getQueuedRequests() < i + 1 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(1);
+                }
+                Assert.assertEquals(i + 1, bulkhead.getQueuedRequests());
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+            }
+            bulkhead.release();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            Assert.assertEquals(0, bulkhead.getActiveRequests());
+            Assert.assertEquals(0, bulkhead.getQueuedRequests());
+            return order;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testStrictPriority() throws Exception {
+        List<Priority> order = schedule(bulkhead(SchedulingMode.STRICT, 0), 0,
+                Priority.LOW, Priority.NORMAL, Priority.LOW, Priority.HIGH, Priority.NORMAL);
+        Assert.assertEquals(Arrays.asList(Priority.HIGH, Priority.NORMAL, Priority.NORMAL, Priority.LOW, Priority.LOW), order);
+    }
+
+    @Test
+    public void testAging() throws Exception {
+        //low is promoted by two levels after 100ms, and it is older than high
+        List<Priority> order = schedule(bulkhead(SchedulingMode.STRICT, 50), 120,
+                Priority.LOW, Priority.HIGH);
+        Assert.assertEquals(Arrays.asList(Priority.LOW, Priority.HIGH), order);
+    }
+
+    @Test
+    public void testWeightedFair() throws Exception {
+        Priority[] priorities = new Priority[12];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = i < 6 ? Priority.LOW : Priority.HIGH;
+        }
+        List<Priority> order = schedule(bulkhead(SchedulingMode.WEIGHTED_FAIR, 0), 0, priorities);
+        //weights high:low = 2:1
+        Assert.assertEquals(Arrays.asList(Priority.HIGH, Priority.LOW, Priority.HIGH, Priority.HIGH, Priority.LOW, Priority.HIGH),
+                order.subList(0, 6));
+    }
+
+    @Test
+    public void testPriorityTimeout() throws Exception {
+        BulkheadConfig config = new BulkheadConfig("test");
+        config.setMaxConcurrentRequests(1);
+        config.setMaxWaitMillis(50);
+        Bulkhead bulkhead = new Bulkhead(config);
+        bulkhead.acquire(Priority.HIGH);
+        try {
+            bulkhead.acquire(Priority.LOW);
+            Assert.fail();
+        } catch (BulkheadFullException e) {
+            Assert.assertTrue(e.getMessage().contains("wait timeout"));
+        }
+        //the timed out waiter leaves the queue
+        Assert.assertEquals(0, bulkhead.getQueuedRequests());
+        bulkhead.release();
+        Assert.assertEquals(0, bulkhead.getActiveRequests());
+        Assert.assertEquals(0, bulkhead.acquire(Priority.LOW));
+    }
+
+    @Test
+    public void testAcquireAsync() throws Exception {
+        BulkheadConfig config = new BulkheadConfig("test");
+        config.setMaxConcurrentRequests(1);
+        config.setMaxWaitMillis(200);
+        Bulkhead bulkhead = new Bulkhead(config);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            Assert.assertEquals(Long.valueOf(0), bulkhead.acquireAsync(Priority.NORMAL, 0, scheduler).get());
+            //the permit is handed over when released
+            CompletableFuture<Long> waiting = bulkhead.acquireAsync(Priority.NORMAL, 0, scheduler);
+            Assert.assertFalse(waiting.isDone());
+            Assert.assertEquals(1, bulkhead.getQueuedRequests());
+            bulkhead.release();
+            waiting.get(1, TimeUnit.SECONDS);
+            Assert.assertEquals(1, bulkhead.getActiveRequests());
+
+            //cancelled before granted, leaves the queue and gets no permit
+            CompletableFuture<Long> cancelled = bulkhead.acquireAsync(Priority.NORMAL, 0, scheduler);
+            cancelled.cancel(false);
+            Assert.assertEquals(0, bulkhead.getQueuedRequests());
+            bulkhead.release();
+            Assert.assertEquals(0, bulkhead.getActiveRequests());
+
+            //times out in the queue
+            bulkhead.acquire();
+            try {
+                bulkhead.acquireAsync(Priority.NORMAL, 0, scheduler).get(1, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof BulkheadFullException);
+            }
+            try {
+                bulkhead.acquireAsync(Priority.NORMAL, System.currentTimeMillis() + 50, scheduler).get(1, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof DeadlineExceededException);
+            }
+            Assert.assertEquals(0, bulkhead.getQueuedRequests());
+            bulkhead.release();
+            Assert.assertEquals(0, bulkhead.getActiveRequests());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+}
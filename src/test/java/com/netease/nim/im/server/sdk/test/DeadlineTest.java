@@ -0,0 +1,234 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.YunxinApiResponse;
+import com.netease.nim.server.sdk.core.YunxinHttpClientConfig;
+import com.netease.nim.server.sdk.core.bulkhead.BulkheadConfig;
+import com.netease.nim.server.sdk.core.endpoint.ServerHintBackoffRetryPolicy;
+import com.netease.nim.server.sdk.core.exception.DeadlineExceededException;
+import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.metrics.Stats;
+import com.netease.nim.server.sdk.core.metrics.StatsWindow;
+import com.netease.nim.server.sdk.core.trace.DeadlineSetter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class DeadlineTest {
+
+    private LoopbackServer server;
+    private final CountDownLatch block = new CountDownLatch(1);
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer()
+                .route("/slow", (exchange, body) -> {
+                    LoopbackServer.await(block);
+                    return null;
+                })
+                .route("/busy", (exchange, body) -> {
+                    exchange.getResponseHeaders().add("Retry-After", "1");
+                    return LoopbackServer.Reply.of(503, LoopbackServer.OK);
+                });
+    }
+
+    @After
+    public void stop() {
+        block.countDown();
+        server.close();
+    }
+
+    private YunxinApiHttpClient client() {
+        BulkheadConfig config = new BulkheadConfig("slow");
+        config.setMaxConcurrentRequests(1);
+        config.setMaxWaitMillis(5000);
+        config.addUriPattern("/slow/*");
+        return new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricCollectIntervalSeconds(1)
+                .retryPolicy(new ServerHintBackoffRetryPolicy(3, false, 10, 5000,
+                        ServerHintBackoffRetryPolicy.DEFAULT_RETRY_CODES, ServerHintBackoffRetryPolicy.DEFAULT_RETRY_HTTP_CODES))
+                .bulkhead(config)
+                .build();
+    }
+
+    private YunxinApiResponse call(YunxinApiHttpClient client, String uri) {
+        return client.execute(HttpMethod.POST, ContextType.json, uri, uri, null, "{}");
+    }
+
+    private void assertShed(YunxinApiHttpClient client, String uri, String reason) {
+        try {
+            call(client, uri);
+            Assert.fail();
+        } catch (YunxinSdkException e) {
+            Assert.assertTrue(e.getCause() instanceof DeadlineExceededException);
+            Assert.assertTrue(e.getCause().getMessage().contains(reason));
+        }
+    }
+
+    @Test
+    public void testAdmission() {
+        YunxinApiHttpClient client = client();
+        try {
+            DeadlineSetter.setDeadline(System.currentTimeMillis() - 1);
+            assertShed(client, "/ok", "not enough time left");
+            //less than minDeadlineRemainingMillis
+            DeadlineSetter.setDeadlineAfter(5);
+            assertShed(client, "/ok", "not enough time left");
+            Assert.assertEquals(0, server.requests());
+            //the deadline is cleared after the call
+            Assert.assertEquals(200, call(client, "/ok").getHttpCode());
+            DeadlineSetter.setDeadlineAfter(1000);
+            Assert.assertEquals(200, call(client, "/ok").getHttpCode());
+            Assert.assertEquals(2, server.requests());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testCallTimeout() throws Exception {
+        YunxinApiHttpClient client = client();
+        try {
+            long start = System.currentTimeMillis();
+            DeadlineSetter.setDeadlineAfter(300);
+            try {
+                call(client, "/slow/a");
+                Assert.fail();
+            } catch (YunxinSdkException e) {
+                //timed out by the deadline rather than the 5s read timeout
+                Assert.assertTrue(System.currentTimeMillis() - start < 2000);
+                Assert.assertTrue(e.getCause() instanceof DeadlineExceededException);
+            }
+            Stats stats = null;
+            for (int i = 0; i < 50; i++) {
+                stats = client.getStats(StatsWindow.LIFETIME);
+                if (stats.getShedCount() == 1) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(1L, stats.getShedCounts().get("transport").longValue());
+            //shed, not recorded as a timeout of the endpoint
+            Assert.assertTrue(stats.getUriStatsList().isEmpty());
+            Assert.assertEquals(1, server.requests());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetryShed() {
+        YunxinApiHttpClient client = client();
+        try {
+            long start = System.currentTimeMillis();
+            //Retry-After is 1s, there is no time left to retry
+            DeadlineSetter.setDeadlineAfter(500);
+            YunxinApiResponse response = call(client, "/busy");
+            Assert.assertEquals(503, response.getHttpCode());
+            Assert.assertEquals(1, server.requests());
+            Assert.assertTrue(System.currentTimeMillis() - start < 500);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueueShed() throws Exception {
+        YunxinApiHttpClient client = client();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<YunxinApiResponse> running = executor.submit(() -> call(client, "/slow/a"));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (server.requests() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            long start = System.currentTimeMillis();
+            DeadlineSetter.setDeadlineAfter(200);
+            //gives up at the deadline instead of maxWaitMillis
+            assertShed(client, "/slow/b", "expired in the queue");
+            long spend = System.currentTimeMillis() - start;
+            Assert.assertTrue(spend >= 150 && spend < 2000);
+            Assert.assertEquals(1, server.requests());
+            block.countDown();
+            Assert.assertEquals(200, running.get(5, TimeUnit.SECONDS).getHttpCode());
+
+            DeadlineSetter.setDeadline(System.currentTimeMillis() - 1);
+            assertShed(client, "/slow/c", "not enough time left");
+
+            Stats stats = null;
+            for (int i = 0; i < 50; i++) {
+                stats = client.getStats(StatsWindow.LIFETIME);
+                if (stats.getShedCount() == 2) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            Assert.assertNotNull(stats);
+            Assert.assertEquals(2, stats.getShedCount());
+            Assert.assertEquals(1L, stats.getShedCounts().get("queue").longValue());
+            Assert.assertEquals(1L, stats.getShedCounts().get("admission").longValue());
+            Assert.assertEquals(0L, stats.getShedCounts().get("retry").longValue());
+        } finally {
+            block.countDown();
+            executor.shutdownNow();
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testDispatcherQueueShed() throws Exception {
+        YunxinHttpClientConfig config = new YunxinHttpClientConfig();
+        config.setMaxRequests(1);
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .httpClientConfig(config)
+                .endpoint(server.endpoint()).metricCollectIntervalSeconds(1)
+                .build();
+        try {
+            CompletableFuture<YunxinApiResponse> running = Subscribers.first(client.executePublisher(HttpMethod.POST, ContextType.json, "/slow/a", "/slow/a", null, "{}"));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (server.requests() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            //waits in the dispatcher queue behind the running call until after its deadline
+            DeadlineSetter.setDeadlineAfter(200);
+            CompletableFuture<YunxinApiResponse> queued = Subscribers.first(client.executePublisher(HttpMethod.POST, ContextType.json, "/ok", "/ok", null, "{}"));
+            Thread.sleep(400);
+            block.countDown();
+            Assert.assertEquals(200, running.get(5, TimeUnit.SECONDS).getHttpCode());
+            try {
+                queued.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof YunxinSdkException);
+                Assert.assertTrue(e.getCause().getCause() instanceof DeadlineExceededException);
+                Assert.assertTrue(e.getCause().getCause().getMessage().contains("dispatcher queue"));
+            }
+            //never sent
+            Assert.assertEquals(1, server.requests());
+            Stats stats = null;
+            for (int i = 0; i < 50; i++) {
+                stats = client.getStats(StatsWindow.LIFETIME);
+                if (stats.getShedCount() == 1) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(1L, stats.getShedCounts().get("queue").longValue());
+        } finally {
+            block.countDown();
+            client.shutdown();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.ExecutionMode;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.YunxinApiResponse;
+import com.netease.nim.server.sdk.core.YunxinHttpClientConfig;
+import com.netease.nim.server.sdk.core.endpoint.ExecuteContext;
+import com.netease.nim.server.sdk.core.endpoint.RetryPolicy;
+import com.netease.nim.server.sdk.core.endpoint.ServerResponse;
+import com.netease.nim.server.sdk.core.exception.DeadlineExceededException;
+import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.reactive.Subscriber;
+import com.netease.nim.server.sdk.core.reactive.Subscription;
+import com.netease.nim.server.sdk.core.trace.DeadlineSetter;
+import com.netease.nim.server.sdk.core.trace.YunxinTraceId;
+import com.netease.nim.server.sdk.core.utils.VirtualThreads;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ExecutionModeTest {
+
+    private LoopbackServer server;
+    private final CountDownLatch block = new CountDownLatch(1);
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer().route("/slow", (exchange, body) -> {
+            LoopbackServer.await(block);
+            return null;
+        });
+    }
+
+    @After
+    public void stop() {
+        block.countDown();
+        server.close();
+    }
+
+    private YunxinApiHttpClient client(ExecutionMode mode) {
+        return new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricEnable(false)
+                .executionMode(mode)
+                .build();
+    }
+
+    private CompletableFuture<YunxinApiResponse> call(YunxinApiHttpClient client) {
+        return client.executeAsync(HttpMethod.POST, ContextType.json, "/async", "/async", null, "{}");
+    }
+
+    @Test
+    public void testPlatform() throws Exception {
+        testAsync(ExecutionMode.PLATFORM);
+    }
+
+    @Test
+    public void testVirtualThread() throws Exception {
+        //falls back to platform threads when the multi-release layer is not loaded
+        testAsync(ExecutionMode.VIRTUAL_THREAD);
+        //the java21 profile runs this test again against the multi-release jar, where the layer must be loaded
+        if (Boolean.getBoolean("yunxin.sdk.test.requireVirtualThreads")) {
+            Assert.assertTrue(VirtualThreads.isSupported());
+        }
+        if (!VirtualThreads.isSupported()) {
+            return;
+        }
+        Map<String, Thread> threads = new ConcurrentHashMap<>();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricEnable(false)
+                .executionMode(ExecutionMode.VIRTUAL_THREAD)
+                .retryPolicy(new RetryPolicy() {
+                    @Override
+                    public RetryAction onResponse(ExecuteContext retryContext, int retry, ServerResponse response) {
+                        threads.put(retryContext.getUri(), Thread.currentThread());
+                        return RetryAction.NO_RETRY;
+                    }
+                })
+                .build();
+        try {
+            Assert.assertEquals(200, client.executeAsync(HttpMethod.POST, ContextType.json, "/async", "/async", null, "{}")
+                    .get(5, TimeUnit.SECONDS).getHttpCode());
+            CompletableFuture<YunxinApiResponse> published = new CompletableFuture<>();
+            client.executePublisher(HttpMethod.POST, ContextType.json, "/publisher", "/publisher", null, "{}").subscribe(new Subscriber<YunxinApiResponse>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(YunxinApiResponse response) {
+                    threads.put("onNext", Thread.currentThread());
+                    published.complete(response);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    published.completeExceptionally(t);
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            Assert.assertEquals(200, published.get(5, TimeUnit.SECONDS).getHttpCode());
+            //executeAsync, and the dispatcher that runs the enqueued publisher call
+            Assert.assertEquals(3, threads.size());
+            for (Thread thread : threads.values()) {
+                Assert.assertTrue(thread.toString(), VirtualThreads.isVirtual(thread));
+            }
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testPlatformBounded() throws Exception {
+        YunxinHttpClientConfig config = new YunxinHttpClientConfig();
+        config.setAsyncThreads(1);
+        config.setAsyncQueueSize(1);
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .httpClientConfig(config)
+                .endpoint(server.endpoint()).metricEnable(false)
+                .build();
+        try {
+            CompletableFuture<YunxinApiResponse> running = client.executeAsync(HttpMethod.POST, ContextType.json, "/slow", "/slow", null, "{}");
+            CompletableFuture<YunxinApiResponse> queued = call(client);
+            //one thread and one queued call, the next one is rejected instead of starting another thread
+            try {
+                call(client).get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+            block.countDown();
+            Assert.assertEquals(200, running.get(5, TimeUnit.SECONDS).getHttpCode());
+            Assert.assertEquals(200, queued.get(5, TimeUnit.SECONDS).getHttpCode());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private void testAsync(ExecutionMode mode) throws Exception {
+        YunxinApiHttpClient client = client(mode);
+        try {
+            List<CompletableFuture<YunxinApiResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(call(client));
+            }
+            for (CompletableFuture<YunxinApiResponse> future : futures) {
+                Assert.assertEquals(200, future.get(5, TimeUnit.SECONDS).getHttpCode());
+            }
+
+            //the call scope is moved from the calling thread to the request
+            YunxinTraceId.set("async-trace-id");
+            Assert.assertEquals("async-trace-id", call(client).get(5, TimeUnit.SECONDS).getTraceId());
+            Assert.assertNull(YunxinTraceId.get());
+
+            DeadlineSetter.setDeadline(System.currentTimeMillis() - 1);
+            CompletableFuture<YunxinApiResponse> shed = call(client);
+            Assert.assertNull(DeadlineSetter.getAndClear());
+            try {
+                shed.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof YunxinSdkException);
+                Assert.assertTrue(e.getCause().getCause() instanceof DeadlineExceededException);
+            }
+            //nothing is left on the pooled thread
+            Assert.assertEquals(200, call(client).get(5, TimeUnit.SECONDS).getHttpCode());
+        } finally {
+            client.shutdown();
+        }
+        try {
+            call(client);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            //expected
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
+import com.netease.nim.server.sdk.core.http.FormUrlEncoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.URLEncoder;
+import java.util.Random;
+
+public class FormUrlEncoderTest {
+
+    @Test
+    public void test() throws Exception {
+        String[] samples = {"", "abcXYZ019.-*_", "a b&c=d", "{\"msg\":\"你好\"}", "😀emoji", "\uD800broken", "tail\uDC00",
+                "~!@#$%^&()+[]|\\:;'<>,/?`", "é ü ß"};
+        for (String sample : samples) {
+            Assert.assertEquals(URLEncoder.encode(sample, "utf-8"), encode(sample));
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            char[] chars = new char[random.nextInt(20)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = random.nextBoolean() ? (char) random.nextInt(128) : (char) random.nextInt(Character.MAX_VALUE + 1);
+            }
+            String s = new String(chars);
+            Assert.assertEquals(URLEncoder.encode(s, "utf-8"), encode(s));
+        }
+    }
+
+    @Test
+    public void testWriter() {
+        FormUrlEncodedWriter writer = new FormUrlEncodedWriter(16);
+        writer.add("accid", "zhangsan").add("type", 0).add("time", -1234567890123L).add("flag", Boolean.FALSE)
+                .add("body", "hello world").add("empty", "").add("null", (String) null);
+        Assert.assertEquals("accid=zhangsan&type=0&time=-1234567890123&flag=false&body=hello+world&empty=", writer.toString());
+        Assert.assertEquals(6, writer.params());
+    }
+
+    private static String encode(String s) {
+        byte[] dst = new byte[FormUrlEncoder.encodedLength(s)];
+        int end = FormUrlEncoder.encode(s, dst, 0);
+        Assert.assertEquals(dst.length, end);
+        return new String(dst, 0, end);
+    }
+}
@@ -0,0 +1,145 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.metrics.LogLinearHistogram;
+import com.netease.nim.server.sdk.core.metrics.Statistics;
+import com.netease.nim.server.sdk.core.metrics.StatsData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+public class HistogramTest {
+
+    @Test
+    public void testExact() {
+        LogLinearHistogram histogram = new LogLinearHistogram(2, 60000);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(100, snapshot.getCount());
+        Assert.assertEquals(5050, snapshot.getSum());
+        Assert.assertEquals(1, snapshot.getMin());
+        Assert.assertEquals(100, snapshot.getMax());
+        Assert.assertEquals(50, snapshot.getValueAtPercentile(50));
+        Assert.assertEquals(99, snapshot.getValueAtPercentile(99));
+        Assert.assertEquals(100, snapshot.getValueAtPercentile(100));
+        Assert.assertEquals(1, snapshot.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void testPrecision() {
+        for (int digits = 1; digits <= 3; digits++) {
+            LogLinearHistogram histogram = new LogLinearHistogram(digits, 3600_000);
+            Random random = new Random(digits);
+            long[] values = new long[100000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (long) Math.exp(random.nextDouble() * Math.log(3600_000));
+                histogram.record(values[i]);
+            }
+            Arrays.sort(values);
+            LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+            double error = 1.0 / Math.pow(10, digits);
+            for (double percentile : new double[] {1, 10, 50, 75, 90, 95, 99, 99.9, 99.99}) {
+                long expect = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+                long actual = snapshot.getValueAtPercentile(percentile);
+                Assert.assertTrue("digits=" + digits + ", p" + percentile + ", expect=" + expect + ", actual=" + actual,
+                        Math.abs(actual - expect) <= Math.max(1, expect * error));
+            }
+        }
+    }
+
+    @Test
+    public void testOverflowAndNegative() {
+        LogLinearHistogram histogram = new LogLinearHistogram(2, 1000);
+        histogram.record(-1);
+        histogram.record(5000);
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(2, snapshot.getCount());
+        Assert.assertEquals(5000, snapshot.getMax());
+        Assert.assertEquals(-1, snapshot.getMin());
+        Assert.assertEquals(5000, snapshot.getValueAtPercentile(100));
+        Assert.assertTrue(snapshot.getValueAtPercentile(100) >= 1000);
+    }
+
+    @Test
+    public void testMerge() {
+        LogLinearHistogram h1 = new LogLinearHistogram(2, 60000);
+        LogLinearHistogram h2 = new LogLinearHistogram(2, 60000);
+        LogLinearHistogram all = new LogLinearHistogram(2, 60000);
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            long value = random.nextInt(60000);
+            (i % 3 == 0 ? h1 : h2).record(value);
+            all.record(value);
+        }
+        LogLinearHistogram.Snapshot merged = h1.snapshot().merge(h2.snapshot());
+        LogLinearHistogram.Snapshot expect = all.snapshot();
+        Assert.assertEquals(expect.getCount(), merged.getCount());
+        Assert.assertEquals(expect.getSum(), merged.getSum());
+        Assert.assertEquals(expect.getMax(), merged.getMax());
+        Assert.assertEquals(expect.getMin(), merged.getMin());
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            Assert.assertEquals(expect.getValueAtPercentile(percentile), merged.getValueAtPercentile(percentile));
+        }
+        try {
+            merged.merge(new LogLinearHistogram(3, 60000).snapshot());
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        LogLinearHistogram histogram = new LogLinearHistogram(2, 60000);
+        int threads = 8;
+        int loop = 100000;
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < loop; i++) {
+                    histogram.record(i % 1000);
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshotAndReset();
+        Assert.assertEquals((long) threads * loop, snapshot.getCount());
+        Assert.assertEquals(999, snapshot.getMax());
+        Assert.assertEquals(0, histogram.snapshot().getCount());
+
+        //an empty reset releases the stripes, the histogram is still usable
+        Assert.assertEquals(0, histogram.snapshotAndReset().getCount());
+        histogram.record(5);
+        snapshot = histogram.snapshotAndReset();
+        Assert.assertEquals(1, snapshot.getCount());
+        Assert.assertEquals(5, snapshot.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testStatistics() {
+        Statistics statistics = new Statistics();
+        for (int i = 1; i <= 1000; i++) {
+            statistics.update(i);
+        }
+        statistics.update(100000);
+        StatsData data = statistics.getStatsDataAndReset();
+        Assert.assertEquals(1001, data.getCount());
+        Assert.assertEquals(100000, data.getMax());
+        Assert.assertEquals(501, data.getP50(), 5);
+        Assert.assertEquals(991, data.getP99(), 10);
+        Assert.assertEquals(1000, data.getP999(), 10);
+        Assert.assertEquals(0, statistics.getStatsData().getCount());
+
+        Statistics exact = new Statistics(true, 5000);
+        for (int i = 0; i < 5000; i++) {
+            exact.update(i);
+        }
+        data = exact.getStatsData();
+        Assert.assertEquals(2499, data.getP50());
+        Assert.assertEquals(4949, data.getP99());
+    }
+}
@@ -0,0 +1,169 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试用的本地http server，每个请求一个线程
+ * 读完请求体后按添加顺序找到第一个path前缀匹配的handler，没有匹配或者handler返回null时响应 200 {"code":200}
+ */
+public final class LoopbackServer implements AutoCloseable {
+
+    public static final String OK = "{\"code\":200}";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    public LoopbackServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * @param pathPrefix path前缀
+     * @param handler handler
+     * @return this
+     */
+    public LoopbackServer route(String pathPrefix, Handler handler) {
+        routes.add(new Route(pathPrefix, handler));
+        return this;
+    }
+
+    public String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return 收到的请求数，在handler执行前计数
+     */
+    public int requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] buffer = new byte[1024];
+                int n;
+                while ((n = in.read(buffer)) >= 0) {
+                    body.write(buffer, 0, n);
+                }
+            }
+            String path = exchange.getRequestURI().getPath();
+            Reply reply = null;
+            for (Route route : routes) {
+                if (path.startsWith(route.pathPrefix)) {
+                    reply = route.handler.handle(exchange, body.toByteArray());
+                    break;
+                }
+            }
+            if (reply == null) {
+                reply = Reply.ok(OK);
+            }
+            byte[] response = reply.body.getBytes(StandardCharsets.UTF_8);
+            //0 means chunked transfer encoding, without content-length
+            exchange.sendResponseHeaders(reply.httpCode, reply.chunked ? 0 : response.length);
+            exchange.getResponseBody().write(response);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 阻塞到 latch 打开，最多5s，被中断时保留中断标记后返回
+     */
+    public static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 被中断时保留中断标记后返回
+     */
+    public static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public interface Handler {
+        /**
+         * @param exchange 请求，可以读取请求头、设置响应头
+         * @param body 请求体
+         * @return 响应，为null时响应 200 {"code":200}
+         */
+        Reply handle(HttpExchange exchange, byte[] body) throws Exception;
+    }
+
+    public static final class Reply {
+        private final int httpCode;
+        private final String body;
+        private final boolean chunked;
+
+        private Reply(int httpCode, String body, boolean chunked) {
+            this.httpCode = httpCode;
+            this.body = body;
+            this.chunked = chunked;
+        }
+
+        public static Reply ok(String body) {
+            return new Reply(200, body, false);
+        }
+
+        public static Reply of(int httpCode, String body) {
+            return new Reply(httpCode, body, false);
+        }
+
+        /**
+         * 200，chunked 编码，没有 content-length
+         */
+        public static Reply chunked(String body) {
+            return new Reply(200, body, true);
+        }
+    }
+
+    private static final class Route {
+        private final String pathPrefix;
+        private final Handler handler;
+
+        private Route(String pathPrefix, Handler handler) {
+            this.pathPrefix = pathPrefix;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.HttpClient;
+import com.netease.nim.server.sdk.core.exception.HttpCodeException;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.http.HttpResponse;
+import com.netease.nim.server.sdk.core.metrics.*;
+import com.netease.nim.server.sdk.core.trace.ApiVersion;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.net.ssl.SSLHandshakeException;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MetricsTest {
+
+    @Test
+    public void testResult() {
+        Assert.assertEquals(MetricsResult.HTTP_CODE_502, MetricsResult.ofError(new HttpCodeException(BizName.IM, "e", 502, "")));
+        Assert.assertEquals(MetricsResult.HTTP_CODE_4XX, MetricsResult.ofError(new HttpCodeException(BizName.IM, "e", 404, "")));
+        Assert.assertEquals(MetricsResult.HTTP_CODE_5XX, MetricsResult.ofHttpCode(599));
+        Assert.assertEquals(MetricsResult.HTTP_CODE_OTHER, MetricsResult.ofHttpCode(302));
+        Assert.assertEquals(MetricsResult.UNKNOWN_HOST, MetricsResult.ofError(new UnknownHostException("api-cn.yunxinapi.com")));
+        Assert.assertEquals(MetricsResult.CONNECT_ERROR, MetricsResult.ofError(new ExecutionException(new ConnectException("Failed to connect to /10.0.0.1:443"))));
+        Assert.assertEquals(MetricsResult.CONNECT_TIMEOUT, MetricsResult.ofError(new SocketTimeoutException("connect timed out")));
+        Assert.assertEquals(MetricsResult.READ_WRITE_TIMEOUT, MetricsResult.ofError(new SocketTimeoutException("timeout")));
+        Assert.assertEquals(MetricsResult.SSL_ERROR, MetricsResult.ofError(new SSLHandshakeException("handshake")));
+        Assert.assertEquals(MetricsResult.IO_ERROR, MetricsResult.ofError(new IOException("unexpected end of stream on 10.0.0.1:443")));
+        Assert.assertEquals(MetricsResult.OTHER_ERROR, MetricsResult.ofError(new IllegalStateException()));
+
+        Assert.assertEquals(MetricsResult.SUCCESS, MetricsResult.ofLabel("success"));
+        Assert.assertEquals(MetricsResult.HTTP_CODE_4XX, MetricsResult.ofLabel("http_code_404"));
+        Assert.assertEquals(MetricsResult.OTHER_ERROR, MetricsResult.ofLabel("java.io.IOException: unexpected end of stream on 10.0.0.1:443"));
+    }
+
+    @Test
+    public void testMaxSeries() throws Exception {
+        MetricsConfig config = new MetricsConfig();
+        config.setCollectIntervalSeconds(1);
+        config.setMaxSeries(3);
+        YunxinApiSdkMetricsCollector collector = new YunxinApiSdkMetricsCollector(BizName.IM, config);
+        try {
+            Stats initial = collector.getStats();
+            for (int i = 0; i < 100; i++) {
+                collector.collect("https://endpoint" + i, HttpMethod.POST, ContextType.form_url_encoded, ApiVersion.V1,
+                        "/uri/" + i, MetricsResult.SUCCESS, 10);
+            }
+            Stats stats = initial;
+            for (int i = 0; i < 50 && stats == initial; i++) {
+                Thread.sleep(100);
+                stats = collector.getStats();
+            }
+            Assert.assertNotSame(initial, stats);
+            Assert.assertEquals(4, stats.getUriStatsList().size());
+            Assert.assertEquals(4, stats.getEndpointStatsList().size());
+            Assert.assertEquals(97 * 2, stats.getOverflowCount());
+            long overflow = 0;
+            for (UriStats uriStats : stats.getUriStatsList()) {
+                if (YunxinApiSdkMetricsCollector.OVERFLOW.equals(uriStats.getUri())) {
+                    overflow = uriStats.getCount();
+                }
+            }
+            Assert.assertEquals(97, overflow);
+            Assert.assertTrue(PrometheusConverter.convert(stats).contains("yunxin_sdk_metrics_overflow{biz=\"IM\"} 194"));
+        } finally {
+            collector.shutdown();
+        }
+    }
+
+    @Test
+    public void testEvictIdleSeries() throws Exception {
+        MetricsConfig config = new MetricsConfig();
+        //one interval covers the whole 15 minute window, intervals are driven by the test
+        config.setCollectIntervalSeconds(3600);
+        config.setMaxSeries(1);
+        YunxinApiSdkMetricsCollector collector = new YunxinApiSdkMetricsCollector(BizName.IM, config);
+        Method calc = YunxinApiSdkMetricsCollector.class.getDeclaredMethod("calc");
+        calc.setAccessible(true);
+        try {
+            MetricsRecorder recorder = collector.recorder(HttpMethod.POST, ContextType.json, ApiVersion.V2, "/im/v2/accounts");
+            recorder.record("https://a", MetricsResult.SUCCESS, 10);
+            calc.invoke(collector);
+            //the endpoint rotates while https://a still has data in the window
+            recorder.record("https://b", MetricsResult.SUCCESS, 10);
+            calc.invoke(collector);
+            Assert.assertEquals(2, collector.getStats().getOverflowCount());
+
+            //https://a has no data in the last window and is evicted, its series is released
+            recorder.record("https://b", MetricsResult.SUCCESS, 10);
+            calc.invoke(collector);
+            Stats stats = collector.getStats();
+            Assert.assertEquals(0, stats.getOverflowCount());
+            Assert.assertEquals(1, stats.getUriStatsList().size());
+            Assert.assertEquals("https://b", stats.getUriStatsList().get(0).getEndpoint());
+            Assert.assertEquals(1, stats.getEndpointStatsList().size());
+            Assert.assertEquals("https://b", stats.getEndpointStatsList().get(0).getEndpoint());
+            for (UriStats uriStats : collector.getStats(StatsWindow.LIFETIME).getUriStatsList()) {
+                Assert.assertNotEquals("https://a", uriStats.getEndpoint());
+            }
+
+            //an evicted endpoint comes back as a new series
+            calc.invoke(collector);
+            calc.invoke(collector);
+            recorder.record("https://a", MetricsResult.SUCCESS, 20);
+            calc.invoke(collector);
+            stats = collector.getStats();
+            Assert.assertEquals(0, stats.getOverflowCount());
+            Assert.assertEquals(1, stats.getUriStatsList().size());
+            Assert.assertEquals("https://a", stats.getUriStatsList().get(0).getEndpoint());
+            Assert.assertEquals(20, stats.getUriStatsList().get(0).getMax());
+        } finally {
+            collector.shutdown();
+        }
+    }
+
+    @Test
+    public void testEvictIdleUri() throws Exception {
+        MetricsConfig config = new MetricsConfig();
+        config.setCollectIntervalSeconds(3600);
+        config.setMaxSeries(1);
+        YunxinApiSdkMetricsCollector collector = new YunxinApiSdkMetricsCollector(BizName.IM, config);
+        Method calc = YunxinApiSdkMetricsCollector.class.getDeclaredMethod("calc");
+        calc.setAccessible(true);
+        try {
+            MetricsRecorder a = collector.recorder(HttpMethod.POST, ContextType.json, ApiVersion.V2, "/a");
+            a.record("https://a", MetricsResult.SUCCESS, 10);
+            //the only uri slot is taken
+            Assert.assertEquals(YunxinApiSdkMetricsCollector.OVERFLOW,
+                    collector.recorder(HttpMethod.POST, ContextType.json, ApiVersion.V2, "/b").getUri());
+
+            //the endpoint of /a is evicted first, then /a itself, which releases the uri slot
+            calc.invoke(collector);
+            calc.invoke(collector);
+            calc.invoke(collector);
+            MetricsRecorder b = collector.recorder(HttpMethod.POST, ContextType.json, ApiVersion.V2, "/b");
+            Assert.assertEquals("/b", b.getUri());
+            b.record("https://a", MetricsResult.SUCCESS, 20);
+            calc.invoke(collector);
+            Stats stats = collector.getStats();
+            Assert.assertEquals(0, stats.getOverflowCount());
+            Assert.assertEquals(1, stats.getUriStatsList().size());
+            Assert.assertEquals("/b", stats.getUriStatsList().get(0).getUri());
+
+            //a cached recorder of an evicted uri writes to the current recorder of that uri
+            calc.invoke(collector);
+            calc.invoke(collector);
+            a.record("https://a", MetricsResult.SUCCESS, 30);
+            calc.invoke(collector);
+            stats = collector.getStats();
+            Assert.assertEquals(0, stats.getOverflowCount());
+            Assert.assertEquals(1, stats.getUriStatsList().size());
+            Assert.assertEquals("/a", stats.getUriStatsList().get(0).getUri());
+            Assert.assertEquals(30, stats.getUriStatsList().get(0).getMax());
+        } finally {
+            collector.shutdown();
+        }
+    }
+
+    @Test
+    public void testRecorder() throws Exception {
+        MetricsConfig config = new MetricsConfig();
+        config.setCollectIntervalSeconds(1);
+        YunxinApiSdkMetricsCollector collector = new YunxinApiSdkMetricsCollector(BizName.IM, config);
+        try {
+            MetricsRecorder recorder = collector.recorder(HttpMethod.POST, ContextType.json, ApiVersion.V2, "/im/v2/accounts");
+            Assert.assertSame(recorder, collector.recorder(HttpMethod.POST, ContextType.json, ApiVersion.V2, "/im/v2/accounts"));
+            Assert.assertNotSame(recorder, collector.recorder(HttpMethod.GET, ContextType.json, ApiVersion.V2, "/im/v2/accounts"));
+            Stats initial = collector.getStats();
+            for (int i = 0; i < 10; i++) {
+                recorder.record("https://a", MetricsResult.SUCCESS, i);
+                recorder.record("https://b", MetricsResult.HTTP_CODE_502, i);
+            }
+            Stats stats = initial;
+            for (int i = 0; i < 50 && stats == initial; i++) {
+                Thread.sleep(100);
+                stats = collector.getStats();
+            }
+            Assert.assertEquals(2, stats.getUriStatsList().size());
+            Assert.assertEquals(2, stats.getEndpointStatsList().size());
+            for (UriStats uriStats : stats.getUriStatsList()) {
+                Assert.assertEquals("/im/v2/accounts", uriStats.getUri());
+                Assert.assertEquals(HttpMethod.POST, uriStats.getMethod());
+                Assert.assertEquals(10, uriStats.getCount());
+                Assert.assertEquals(uriStats.getEndpoint().equals("https://a") ? "success" : "http_code_502", uriStats.getResult());
+            }
+            Assert.assertEquals(0, stats.getOverflowCount());
+        } finally {
+            collector.shutdown();
+        }
+    }
+
+    @Test
+    public void testNoLostSample() throws Exception {
+        AtomicLong callbackCount = new AtomicLong();
+        MetricsConfig config = new MetricsConfig();
+        config.setCollectIntervalSeconds(1);
+        config.setMetricsCallback(stats -> {
+            for (UriStats uriStats : stats.getUriStatsList()) {
+                callbackCount.addAndGet(uriStats.getCount());
+            }
+        });
+        YunxinApiSdkMetricsCollector collector = new YunxinApiSdkMetricsCollector(BizName.IM, config);
+        try {
+            MetricsRecorder recorder = collector.recorder(HttpMethod.POST, ContextType.json, ApiVersion.V2, "/im/v2/messages");
+            AtomicLong recorded = new AtomicLong();
+            long deadline = System.currentTimeMillis() + 1500;
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                String endpoint = "https://endpoint" + (i % 2);
+                threads[i] = new Thread(() -> {
+                    long count = 0;
+                    while (System.currentTimeMillis() < deadline) {
+                        recorder.record(endpoint, MetricsResult.SUCCESS, count % 100);
+                        count++;
+                    }
+                    recorded.addAndGet(count);
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            for (int i = 0; i < 50 && callbackCount.get() != recorded.get(); i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(recorded.get(), callbackCount.get());
+        } finally {
+            collector.shutdown();
+        }
+    }
+
+    @Test
+    public void testRollingWindow() throws Exception {
+        MetricsConfig config = new MetricsConfig();
+        config.setCollectIntervalSeconds(1);
+        YunxinApiSdkMetricsCollector collector = new YunxinApiSdkMetricsCollector(BizName.IM, config);
+        try {
+            MetricsRecorder recorder = collector.recorder(HttpMethod.POST, ContextType.json, ApiVersion.V2, "/im/v2/messages");
+            for (int i = 0; i < 10; i++) {
+                recorder.record("https://endpoint", MetricsResult.SUCCESS, 10);
+            }
+            waitCount(collector, 10);
+            for (int i = 0; i < 5; i++) {
+                recorder.record("https://endpoint", MetricsResult.SUCCESS, 500);
+            }
+            waitCount(collector, 15);
+            for (StatsWindow window : new StatsWindow[] {StatsWindow.ONE_MINUTE, StatsWindow.FIVE_MINUTES, StatsWindow.FIFTEEN_MINUTES, StatsWindow.LIFETIME}) {
+                Stats stats = collector.getStats(window);
+                Assert.assertEquals(window, stats.getWindow());
+                Assert.assertTrue(stats.getDurationSeconds() >= 2);
+                Assert.assertEquals(1, stats.getUriStatsList().size());
+                UriStats uriStats = stats.getUriStatsList().get(0);
+                Assert.assertEquals(15, uriStats.getCount());
+                Assert.assertEquals(500, uriStats.getMax());
+                Assert.assertEquals(10, uriStats.getP50());
+                Assert.assertEquals(15, stats.getEndpointStatsList().get(0).getCount());
+            }
+            //reading a window does not disturb the others
+            Assert.assertEquals(15, collector.getStats(StatsWindow.ONE_MINUTE).getUriStatsList().get(0).getCount());
+            Assert.assertEquals(StatsWindow.INTERVAL, collector.getStats(StatsWindow.INTERVAL).getWindow());
+        } finally {
+            collector.shutdown();
+        }
+    }
+
+    @Test
+    public void testDefaultStatsWindow() {
+        //an HttpClient implemented outside the sdk only has getStats()
+        HttpClient httpClient = new HttpClient() {
+            @Override
+            public HttpResponse execute(HttpMethod method, ContextType contextType, ApiVersion apiVersion,
+                                        String uri, String path, Map<String, String> queryString, String data) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public Stats getStats() {
+                return null;
+            }
+        };
+        Assert.assertNull(httpClient.getStats(StatsWindow.INTERVAL));
+        try {
+            httpClient.getStats(StatsWindow.ONE_MINUTE);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testSlowCallback() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Stats> delivered = new CopyOnWriteArrayList<>();
+        MetricsConfig slowConfig = new MetricsConfig();
+        slowConfig.setCollectIntervalSeconds(1);
+        slowConfig.setCallbackQueueSize(1);
+        slowConfig.setMetricsCallback(stats -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignore) {
+            }
+            delivered.add(stats);
+        });
+        AtomicLong fastCount = new AtomicLong();
+        MetricsConfig fastConfig = new MetricsConfig();
+        fastConfig.setCollectIntervalSeconds(1);
+        fastConfig.setMetricsCallback(stats -> fastCount.incrementAndGet());
+        YunxinApiSdkMetricsCollector slow = new YunxinApiSdkMetricsCollector(BizName.IM, slowConfig);
+        YunxinApiSdkMetricsCollector fast = new YunxinApiSdkMetricsCollector(BizName.IM, fastConfig);
+        try {
+            Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            //one stats is in the callback, one is queued, the older queued ones are dropped
+            for (int i = 0; i < 50 && slow.getDroppedCallbackCount() < 2; i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertTrue(slow.getDroppedCallbackCount() >= 2);
+            //a slow callback does not hold back other collectors
+            Assert.assertTrue(fastCount.get() >= 2);
+            release.countDown();
+            for (int i = 0; i < 50 && delivered.size() < 3; i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertTrue(delivered.size() >= 3);
+            Assert.assertEquals(0, delivered.get(0).getDroppedCallbackCount());
+            Assert.assertTrue(delivered.get(delivered.size() - 1).getDroppedCallbackCount() >= 1);
+            Assert.assertEquals(0, fast.getDroppedCallbackCount());
+        } finally {
+            release.countDown();
+            slow.shutdown();
+            fast.shutdown();
+        }
+    }
+
+    @Test
+    public void testSloBurnRate() throws Exception {
+        List<SloAlert> alerts = new CopyOnWriteArrayList<>();
+        MetricsConfig config = new MetricsConfig();
+        config.setCollectIntervalSeconds(1);
+        config.setSloObjectives(Arrays.asList(
+                SloObjective.latency("/im/v2/messages", 100, 0.99),
+                SloObjective.availability("/im/v2/users", 0.99),
+                SloObjective.availability("/im/v2/teams", 0.9)));
+        config.setSloCallback(alerts::add);
+        YunxinApiSdkMetricsCollector collector = new YunxinApiSdkMetricsCollector(BizName.IM, config);
+        try {
+            MetricsRecorder messages = collector.recorder(HttpMethod.POST, ContextType.json, ApiVersion.V2, "/im/v2/messages");
+            MetricsRecorder users = collector.recorder(HttpMethod.GET, ContextType.json, ApiVersion.V2, "/im/v2/users");
+            MetricsRecorder teams = collector.recorder(HttpMethod.GET, ContextType.json, ApiVersion.V2, "/im/v2/teams");
+            for (int i = 0; i < 100; i++) {
+                //half of the requests are slower than 100ms
+                messages.record("https://endpoint", MetricsResult.SUCCESS, i % 2 == 0 ? 10 : 500);
+                //10% errors, burn rate is 10 for 0.99 and 1 for 0.9
+                users.record("https://endpoint", i % 10 == 0 ? MetricsResult.HTTP_CODE_5XX : MetricsResult.SUCCESS, 10);
+                teams.record("https://endpoint", i % 10 == 0 ? MetricsResult.CONNECT_ERROR : MetricsResult.SUCCESS, 10);
+            }
+            for (int i = 0; i < 50 && alerts.size() < 3; i++) {
+                Thread.sleep(100);
+            }
+            //messages fires both rules (burn rate 50), users fires only the slow rule (10 > 6, 10 < 14.4)
+            Assert.assertEquals(3, alerts.size());
+            for (SloAlert alert : alerts) {
+                Assert.assertTrue(alert.isFiring());
+                Assert.assertEquals(BizName.IM, alert.getBizName());
+                Assert.assertNotEquals("/im/v2/teams", alert.getObjective().getUri());
+                if (alert.getObjective().getUri().equals("/im/v2/messages")) {
+                    Assert.assertEquals(50, alert.getLongBurnRate(), 0.01);
+                    Assert.assertEquals(50, alert.getShortBurnRate(), 0.01);
+                } else {
+                    Assert.assertEquals(6, alert.getRule().getBurnRate(), 0.01);
+                    Assert.assertEquals(10, alert.getLongBurnRate(), 0.01);
+                }
+            }
+            List<SloAlert> status = collector.getSloStatus();
+            Assert.assertEquals(6, status.size());
+            for (SloAlert alert : status) {
+                if (alert.getObjective().getUri().equals("/im/v2/teams")) {
+                    Assert.assertFalse(alert.isFiring());
+                    Assert.assertEquals(1, alert.getLongBurnRate(), 0.01);
+                }
+            }
+        } finally {
+            collector.shutdown();
+        }
+    }
+
+    @Test
+    public void testSloConfig() {
+        try {
+            SloObjective.availability("/im/v2/users", 1);
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+        try {
+            SloObjective.latency("/im/v2/users", 0, 0.99);
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+        try {
+            new SloBurnRule(StatsWindow.ONE_MINUTE, StatsWindow.FIVE_MINUTES, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+        try {
+            new SloBurnRule(StatsWindow.LIFETIME, StatsWindow.ONE_MINUTE, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+        YunxinApiSdkMetricsCollector collector = new YunxinApiSdkMetricsCollector(BizName.IM, new MetricsConfig());
+        try {
+            Assert.assertTrue(collector.getSloStatus().isEmpty());
+        } finally {
+            collector.shutdown();
+        }
+    }
+
+    private static void waitCount(YunxinApiSdkMetricsCollector collector, long count) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            List<UriStats> list = collector.getStats(StatsWindow.LIFETIME).getUriStatsList();
+            if (!list.isEmpty() && list.get(0).getCount() == count) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        Assert.fail();
+    }
+}
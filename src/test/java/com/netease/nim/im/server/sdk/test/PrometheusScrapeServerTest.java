@@ -0,0 +1,124 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.metrics.PrometheusScrapeServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+public class PrometheusScrapeServerTest {
+
+    private LoopbackServer server;
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer();
+    }
+
+    @After
+    public void stop() {
+        server.close();
+    }
+
+    @Test
+    public void test() throws Exception {
+        String endpoint = server.endpoint();
+        YunxinApiHttpClient client1 = null;
+        YunxinApiHttpClient client2 = null;
+        PrometheusScrapeServer scrapeServer = null;
+        try {
+            client1 = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey1", "appsecret")
+                    .endpoint(endpoint).metricCollectIntervalSeconds(1).build();
+            client2 = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey2", "appsecret")
+                    .endpoint(endpoint).metricCollectIntervalSeconds(1).build();
+            scrapeServer = PrometheusScrapeServer.start(new InetSocketAddress("127.0.0.1", 0));
+            scrapeServer.register(client1).register(client2).register(client1);
+            for (int i = 0; i < 3; i++) {
+                client1.execute(HttpMethod.POST, ContextType.json, "/v2/users/{id}", "/v2/users/" + i, null, "{}");
+            }
+            client2.execute(HttpMethod.GET, ContextType.json, "/v2/\"quoted\"", "/v2/quoted", null, null);
+
+            String uri1 = "yunxin_sdk_uri_request_duration_seconds_bucket{biz=\"CUSTOM\",appkey=\"appkey1\",endpoint=\"" + endpoint
+                    + "\",result=\"success\",method=\"POST\",context_type=\"json\",api_version=\"V1\",uri=\"/v2/users/{id}\",le=\"+Inf\"} 3\n";
+            String text = null;
+            for (int i = 0; i < 50; i++) {
+                text = scrapeServer.scrape(false);
+                if (text.contains(uri1) && text.contains("uri=\"/v2/\\\"quoted\\\"\"")) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            Assert.assertTrue(text, text.contains(uri1));
+            Assert.assertTrue(text, text.contains("uri=\"/v2/\\\"quoted\\\"\""));
+            Assert.assertTrue(text, text.contains("yunxin_sdk_endpoint_request_duration_seconds_count{biz=\"CUSTOM\",appkey=\"appkey1\",endpoint=\"" + endpoint + "\",result=\"success\"} 3\n"));
+            Assert.assertTrue(text, text.contains("le=\"60.0\"} 3\n"));
+            Assert.assertTrue(text, text.contains("# TYPE yunxin_sdk_metrics_overflow_total counter\n"));
+            Assert.assertTrue(text, text.contains("yunxin_sdk_metrics_series{biz=\"CUSTOM\",appkey=\"appkey2\",dimension=\"uri\"} 1\n"));
+            Assert.assertEquals(1, count(text, "# TYPE yunxin_sdk_uri_request_duration_seconds histogram"));
+            Assert.assertEquals(1, count(text, "yunxin_sdk_metrics_overflow_total{biz=\"CUSTOM\",appkey=\"appkey1\"}"));
+            Assert.assertFalse(text.contains("# EOF"));
+            Assert.assertTrue(text, text.contains("yunxin_sdk_http_calls{biz=\"CUSTOM\",appkey=\"appkey1\",state=\"running\"} 0\n"));
+            Assert.assertTrue(text, text.contains("yunxin_sdk_http_in_flight_requests{biz=\"CUSTOM\",appkey=\"appkey1\",endpoint=\"" + endpoint + "\"} 0\n"));
+            Assert.assertTrue(text, text.contains("yunxin_sdk_http_pending_retries{biz=\"CUSTOM\",appkey=\"appkey2\"} 0\n"));
+            Assert.assertTrue(text, text.contains("yunxin_sdk_uri_payload_bytes_sum{biz=\"CUSTOM\",appkey=\"appkey1\",method=\"POST\",context_type=\"json\",api_version=\"V1\",uri=\"/v2/users/{id}\",direction=\"request\"} 6\n"));
+            Assert.assertTrue(text, text.contains("yunxin_sdk_endpoint_payload_bytes_total{biz=\"CUSTOM\",appkey=\"appkey1\",endpoint=\"" + endpoint + "\",direction=\"request\"} 6\n"));
+
+            URL url = new URL("http://127.0.0.1:" + scrapeServer.getAddress().getPort() + PrometheusScrapeServer.PATH);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestProperty("Accept", "application/openmetrics-text;version=1.0.0,text/plain;version=0.0.4;q=0.5");
+            Assert.assertEquals(200, connection.getResponseCode());
+            Assert.assertTrue(connection.getContentType().startsWith("application/openmetrics-text"));
+            String openMetrics = read(connection.getInputStream());
+            Assert.assertTrue(openMetrics, openMetrics.endsWith("# EOF\n"));
+            Assert.assertTrue(openMetrics, openMetrics.contains("# UNIT yunxin_sdk_uri_request_duration_seconds seconds\n"));
+            Assert.assertTrue(openMetrics, openMetrics.contains("# UNIT yunxin_sdk_uri_payload_bytes bytes\n"));
+            Assert.assertTrue(openMetrics, openMetrics.contains("# TYPE yunxin_sdk_metrics_overflow counter\n"));
+            Assert.assertTrue(openMetrics, openMetrics.contains(uri1));
+
+            scrapeServer.unregister(client2);
+            Assert.assertFalse(scrapeServer.scrape(false).contains("appkey2"));
+        } finally {
+            if (scrapeServer != null) {
+                scrapeServer.stop();
+            }
+            if (client2 != null) {
+                client2.shutdown();
+            }
+            if (client1 != null) {
+                client1.shutdown();
+            }
+        }
+    }
+
+    private static int count(String text, String sub) {
+        int count = 0;
+        int index = 0;
+        while ((index = text.indexOf(sub, index)) >= 0) {
+            count++;
+            index += sub.length();
+        }
+        return count;
+    }
+
+    private static String read(InputStream in) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[4096];
+        int n;
+        while ((n = in.read(buf)) > 0) {
+            out.write(buf, 0, n);
+        }
+        in.close();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
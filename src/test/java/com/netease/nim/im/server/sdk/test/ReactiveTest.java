@@ -0,0 +1,312 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.Result;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.YunxinApiResponse;
+import com.netease.nim.server.sdk.core.bulkhead.BulkheadConfig;
+import com.netease.nim.server.sdk.core.endpoint.ExecuteContext;
+import com.netease.nim.server.sdk.core.endpoint.RetryPolicy;
+import com.netease.nim.server.sdk.core.endpoint.ServerResponse;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.metrics.GaugeStats;
+import com.netease.nim.server.sdk.core.metrics.StatsWindow;
+import com.netease.nim.server.sdk.core.reactive.Publisher;
+import com.netease.nim.server.sdk.core.reactive.Subscriber;
+import com.netease.nim.server.sdk.core.reactive.Subscription;
+import com.netease.nim.server.sdk.core.trace.YunxinTraceId;
+import com.netease.nim.server.sdk.im.v2.YunxinV2ApiServices;
+import com.netease.nim.server.sdk.im.v2.message.request.QueryMessagesByPageRequestV2;
+import com.netease.nim.server.sdk.im.v2.message.response.QueryMessagesByPageResponseV2;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ReactiveTest {
+
+    private LoopbackServer server;
+    private final List<String> pageTokens = new CopyOnWriteArrayList<>();
+    private final CountDownLatch block = new CountDownLatch(1);
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer()
+                .route("/slow/a", (exchange, body) -> {
+                    LoopbackServer.await(block);
+                    return null;
+                })
+                .route("/", (exchange, body) -> {
+                    if (!exchange.getRequestURI().getPath().endsWith("/messages")) {
+                        return null;
+                    }
+                    String pageToken = "";
+                    for (String param : exchange.getRequestURI().getQuery().split("&")) {
+                        if (param.startsWith("page_token=")) {
+                            pageToken = param.substring("page_token=".length());
+                        }
+                    }
+                    pageTokens.add(pageToken);
+                    String next = pageToken.isEmpty() ? "p2" : pageToken.equals("p2") ? "p3" : "";
+                    return LoopbackServer.Reply.ok("{\"code\":200,\"data\":{\"has_more\":" + !next.isEmpty() + ",\"next_token\":\"" + next + "\",\"items\":[]}}");
+                });
+    }
+
+    @After
+    public void stop() {
+        block.countDown();
+        server.close();
+    }
+
+    @Test
+    public void testCallPublisher() throws Exception {
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricEnable(false)
+                .build();
+        try {
+            YunxinTraceId.set("publisher-trace-id");
+            Publisher<YunxinApiResponse> publisher = client.executePublisher(HttpMethod.POST, ContextType.json, "/ok", "/ok", null, "{}");
+            Assert.assertNull(YunxinTraceId.get());
+
+            TestSubscriber<YunxinApiResponse> subscriber = new TestSubscriber<>(0);
+            publisher.subscribe(subscriber);
+            //nothing is sent before request
+            Thread.sleep(100);
+            Assert.assertEquals(0, server.requests());
+            subscriber.request(1);
+            subscriber.await();
+            Assert.assertTrue(subscriber.completed);
+            Assert.assertEquals(1, subscriber.values.size());
+            Assert.assertEquals(200, subscriber.values.get(0).getHttpCode());
+            Assert.assertEquals("publisher-trace-id", subscriber.values.get(0).getTraceId());
+
+            //cold, every subscription sends a request
+            TestSubscriber<YunxinApiResponse> again = new TestSubscriber<>(Long.MAX_VALUE);
+            publisher.subscribe(again);
+            again.await();
+            Assert.assertEquals(1, again.values.size());
+            Assert.assertEquals(2, server.requests());
+
+            TestSubscriber<YunxinApiResponse> illegal = new TestSubscriber<>(0);
+            publisher.subscribe(illegal);
+            illegal.request(0);
+            illegal.await();
+            Assert.assertTrue(illegal.error instanceof IllegalArgumentException);
+            Assert.assertEquals(2, server.requests());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        BulkheadConfig config = new BulkheadConfig("slow");
+        config.setMaxConcurrentRequests(1);
+        config.setMaxWaitMillis(2000);
+        config.addUriPattern("/slow/*");
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricEnable(false)
+                .bulkhead(config)
+                .build();
+        try {
+            TestSubscriber<YunxinApiResponse> subscriber = new TestSubscriber<>(1);
+            client.executePublisher(HttpMethod.POST, ContextType.json, "/slow/a", "/slow/a", null, "{}").subscribe(subscriber);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (server.requests() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            subscriber.subscription.cancel();
+            //the http call is aborted and the only permit is released, instead of being held until the server responds
+            YunxinApiResponse response = client.executeAsync(HttpMethod.POST, ContextType.json, "/slow/b", "/slow/b", null, "{}")
+                    .get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(200, response.getHttpCode());
+            Assert.assertEquals(2, server.requests());
+            Assert.assertTrue(subscriber.values.isEmpty());
+            Assert.assertFalse(subscriber.completed);
+            Assert.assertNull(subscriber.error);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancelQueued() throws Exception {
+        BulkheadConfig config = new BulkheadConfig("slow");
+        config.setMaxConcurrentRequests(1);
+        config.setMaxQueuedRequests(1);
+        config.setMaxWaitMillis(5000);
+        config.addUriPattern("/slow/*");
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricEnable(false)
+                .bulkhead(config)
+                .build();
+        try {
+            CompletableFuture<YunxinApiResponse> running = client.executeAsync(HttpMethod.POST, ContextType.json, "/slow/a", "/slow/a", null, "{}");
+            awaitRequests(1);
+            //waits for the permit without holding a thread
+            TestSubscriber<YunxinApiResponse> subscriber = new TestSubscriber<>(1);
+            client.executePublisher(HttpMethod.POST, ContextType.json, "/slow/b", "/slow/b", null, "{}").subscribe(subscriber);
+            subscriber.subscription.cancel();
+            //the cancelled waiter leaves the queue at once, so the queue has room for another call
+            CompletableFuture<YunxinApiResponse> queued = client.executeAsync(HttpMethod.POST, ContextType.json, "/slow/c", "/slow/c", null, "{}");
+            block.countDown();
+            Assert.assertEquals(200, running.get(5, TimeUnit.SECONDS).getHttpCode());
+            Assert.assertEquals(200, queued.get(5, TimeUnit.SECONDS).getHttpCode());
+            Assert.assertEquals(2, server.requests());
+            Assert.assertTrue(subscriber.values.isEmpty());
+            Assert.assertNull(subscriber.error);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancelBackoff() throws Exception {
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricCollectIntervalSeconds(1)
+                .retryPolicy(new RetryPolicy() {
+                    @Override
+                    public RetryAction onResponse(ExecuteContext retryContext, int retry, ServerResponse response) {
+                        return RetryAction.retryCurrent(10_000);
+                    }
+                })
+                .build();
+        try {
+            TestSubscriber<YunxinApiResponse> subscriber = new TestSubscriber<>(1);
+            client.executePublisher(HttpMethod.POST, ContextType.json, "/ok", "/ok", null, "{}").subscribe(subscriber);
+            awaitRequests(1);
+            GaugeStats gaugeStats = null;
+            for (int i = 0; i < 50; i++) {
+                gaugeStats = client.getStats(StatsWindow.ONE_MINUTE).getGaugeStats();
+                if (gaugeStats.getPendingRetries() == 1) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            //the backoff is a scheduled task, not a sleeping thread, and cancel removes it
+            Assert.assertEquals(1, gaugeStats.getPendingRetries());
+            subscriber.subscription.cancel();
+            for (int i = 0; i < 50 && gaugeStats.getPendingRetries() != 0; i++) {
+                Thread.sleep(10);
+                gaugeStats = client.getStats(StatsWindow.ONE_MINUTE).getGaugeStats();
+            }
+            Assert.assertEquals(0, gaugeStats.getPendingRetries());
+            Assert.assertEquals(1, server.requests());
+            Assert.assertTrue(subscriber.values.isEmpty());
+            Assert.assertNull(subscriber.error);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private void awaitRequests(int n) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.requests() < n && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(n, server.requests());
+    }
+
+    @Test
+    public void testPages() throws Exception {
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.IM, "reactive-test-appkey", "appsecret")
+                .endpoint(server.endpoint()).metricEnable(false)
+                .build();
+        try {
+            YunxinV2ApiServices services = new YunxinV2ApiServices(client);
+            QueryMessagesByPageRequestV2 request = new QueryMessagesByPageRequestV2("1|1|2", 0L, 1000L, 100);
+            Publisher<Result<QueryMessagesByPageResponseV2>> publisher = services.getMessageService().queryMessagesByPagePublisher(request);
+
+            TestSubscriber<Result<QueryMessagesByPageResponseV2>> subscriber = new TestSubscriber<>(1);
+            publisher.subscribe(subscriber);
+            subscriber.awaitValues(1);
+            //no prefetch without demand
+            Thread.sleep(100);
+            Assert.assertEquals(1, pageTokens.size());
+            Assert.assertEquals("p2", subscriber.values.get(0).getResponse().getNextToken());
+
+            subscriber.request(Long.MAX_VALUE);
+            subscriber.await();
+            Assert.assertTrue(subscriber.completed);
+            Assert.assertEquals(3, subscriber.values.size());
+            Assert.assertFalse(subscriber.values.get(2).getResponse().getHasMore());
+            Assert.assertEquals("[, p2, p3]", pageTokens.toString());
+
+            //cancel between pages
+            pageTokens.clear();
+            TestSubscriber<Result<QueryMessagesByPageResponseV2>> cancelled = new TestSubscriber<>(1);
+            publisher.subscribe(cancelled);
+            cancelled.awaitValues(1);
+            cancelled.subscription.cancel();
+            cancelled.request(1);
+            Thread.sleep(100);
+            Assert.assertEquals(1, pageTokens.size());
+            Assert.assertEquals(1, cancelled.values.size());
+            Assert.assertFalse(cancelled.completed);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static class TestSubscriber<T> implements Subscriber<T> {
+
+        private final long initialRequest;
+        private final List<T> values = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Subscription subscription;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        void await() throws InterruptedException {
+            Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+
+        void awaitValues(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (values.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(count, values.size());
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            values.add(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+    }
+}
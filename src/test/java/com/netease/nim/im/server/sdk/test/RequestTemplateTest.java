@@ -0,0 +1,103 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.YunxinApiResponse;
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class RequestTemplateTest {
+
+    private LoopbackServer server;
+    private final BlockingQueue<String[]> requests = new LinkedBlockingQueue<>();
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer().route("/", (exchange, body) -> {
+            requests.add(new String[] {exchange.getRequestMethod(), exchange.getRequestURI().toString(),
+                    exchange.getRequestHeaders().getFirst("Content-Type"), exchange.getRequestHeaders().getFirst("AppKey"),
+                    exchange.getRequestHeaders().getFirst("RequestId"), exchange.getRequestHeaders().getFirst("X-custom-traceid"),
+                    exchange.getRequestHeaders().getFirst("CheckSum"), new String(body, StandardCharsets.UTF_8)});
+            return null;
+        });
+    }
+
+    @After
+    public void stop() {
+        server.close();
+    }
+
+    @Test
+    public void test() throws Exception {
+        String endpoint = server.endpoint() + "/nimserver";
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.IM, "appkey", "appsecret")
+                .endpoint(endpoint).metricEnable(false).build();
+        try {
+            for (int i = 0; i < 2; i++) {
+                YunxinApiResponse response = client.executeV1Api("/user/create.action", new FormUrlEncodedWriter().add("accid", "a b"));
+                Assert.assertEquals(200, response.getHttpCode());
+                String[] request = requests.poll(5, TimeUnit.SECONDS);
+                Assert.assertNotNull(request);
+                Assert.assertEquals("POST", request[0]);
+                Assert.assertEquals("/nimserver/user/create.action", request[1]);
+                Assert.assertEquals("application/x-www-form-urlencoded;charset=UTF-8", request[2]);
+                Assert.assertEquals("appkey", request[3]);
+                Assert.assertEquals(response.getTraceId(), request[4]);
+                Assert.assertNull(request[5]);
+                Assert.assertEquals(40, request[6].length());
+                Assert.assertEquals("accid=a+b", request[7]);
+            }
+
+            Map<String, String> queryString = new LinkedHashMap<>();
+            queryString.put("type", "1");
+            queryString.put("name", "张 三");
+            YunxinApiResponse response = client.executeV2Api(HttpMethod.GET, "/im/v2/accounts/{account_id}",
+                    "/im/v2/accounts/acc 1", queryString, null);
+            Assert.assertEquals(200, response.getHttpCode());
+            String[] request = requests.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(request);
+            Assert.assertEquals("GET", request[0]);
+            Assert.assertEquals("/nimserver/im/v2/accounts/acc%201?type=1&name=%E5%BC%A0+%E4%B8%89", request[1]);
+            Assert.assertNull(request[4]);
+            Assert.assertEquals(response.getTraceId(), request[5]);
+
+            client.executeJson(HttpMethod.PATCH, "/im/v2/accounts", null, "{\"a\":1}");
+            request = requests.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(request);
+            Assert.assertEquals("PATCH", request[0]);
+            Assert.assertEquals("/nimserver/im/v2/accounts", request[1]);
+            Assert.assertEquals("application/json;charset=UTF-8", request[2]);
+            Assert.assertEquals("{\"a\":1}", request[7]);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testEndpointWithoutPath() throws Exception {
+        String endpoint = server.endpoint();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.RTC, "appkey", "appsecret")
+                .endpoint(endpoint).metricEnable(false).build();
+        try {
+            YunxinApiResponse response = client.executeJson(HttpMethod.GET, "/v3/api/rooms/{cid}", "/v3/api/rooms/123", null, null);
+            Assert.assertEquals(200, response.getHttpCode());
+            String[] request = requests.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(request);
+            Assert.assertEquals("/v3/api/rooms/123", request[1]);
+            Assert.assertEquals(response.getTraceId(), request[5]);
+        } finally {
+            client.shutdown();
+        }
+    }
+}
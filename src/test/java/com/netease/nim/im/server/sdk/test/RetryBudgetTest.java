@@ -0,0 +1,174 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.endpoint.ExecuteContext;
+import com.netease.nim.server.sdk.core.endpoint.RetryBudget;
+import com.netease.nim.server.sdk.core.endpoint.RetryBudgetConfig;
+import com.netease.nim.server.sdk.core.endpoint.RetryPolicy;
+import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.metrics.StatsWindow;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryBudgetTest {
+
+    private static final RetryPolicy RETRY_3 = new RetryPolicy() {
+        @Override
+        public int maxRetry() {
+            return 3;
+        }
+
+        @Override
+        public long retryInterval(ExecuteContext retryContext, int retry) {
+            return 0;
+        }
+
+        @Override
+        public RetryAction onError(ExecuteContext retryContext, int retry, Throwable error) {
+            return RetryAction.RETRY_CURRENT;
+        }
+    };
+
+    private LoopbackServer server;
+    private final AtomicInteger failRequests = new AtomicInteger();
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer().route("/fail", (exchange, body) -> {
+            failRequests.incrementAndGet();
+            LoopbackServer.sleep(300);
+            return null;
+        });
+    }
+
+    @After
+    public void stop() {
+        server.close();
+    }
+
+    @Test
+    public void testBudget() {
+        RetryBudget budget = new RetryBudget(0.2, 0, 100);
+        Assert.assertFalse(budget.tryWithdraw());
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+        Assert.assertEquals(2, budget.tokens(), 0.001);
+        Assert.assertTrue(budget.tryWithdraw());
+        Assert.assertTrue(budget.tryWithdraw());
+        Assert.assertFalse(budget.tryWithdraw());
+
+        //tokens are capped
+        RetryBudget capped = new RetryBudget(1, 0, 3);
+        for (int i = 0; i < 10; i++) {
+            capped.deposit();
+        }
+        Assert.assertEquals(3, capped.tokens(), 0.001);
+
+        //minRetriesPerSecond allows retries without successful traffic
+        RetryBudget reserve = new RetryBudget(0.2, 2, 100);
+        Assert.assertTrue(reserve.tryWithdraw());
+        Assert.assertTrue(reserve.tryWithdraw());
+        Assert.assertFalse(reserve.tryWithdraw());
+
+        //refunds go back where they came from and never exceed the cap
+        RetryBudget refund = new RetryBudget(1, 1, 2);
+        refund.deposit();
+        refund.deposit();
+        RetryBudget.Withdrawal bucket = refund.withdraw();
+        Assert.assertEquals(RetryBudget.Withdrawal.BUCKET, bucket);
+        refund.deposit();
+        refund.refund(bucket);
+        Assert.assertEquals(2, refund.tokens(), 0.001);
+        refund.withdraw();
+        refund.withdraw();
+        RetryBudget.Withdrawal fromReserve = refund.withdraw();
+        Assert.assertEquals(RetryBudget.Withdrawal.RESERVE, fromReserve);
+        Assert.assertNull(refund.withdraw());
+        refund.refund(fromReserve);
+        Assert.assertEquals(0, refund.tokens(), 0.001);
+        Assert.assertEquals(RetryBudget.Withdrawal.RESERVE, refund.withdraw());
+
+        try {
+            new RetryBudget(1.5, 0, 100);
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+    }
+
+    @Test
+    public void testSuppressRetry() throws Exception {
+        RetryBudgetConfig config = new RetryBudgetConfig();
+        config.setEnable(true);
+        config.setRatio(0.5);
+        config.setMinRetriesPerSecond(0);
+        String endpoint = server.endpoint();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(endpoint).timeoutMillis(100).retryPolicy(RETRY_3).retryBudgetConfig(config)
+                .metricCollectIntervalSeconds(1).build();
+        try {
+            //no successful traffic yet, the retry is suppressed
+            fail(client);
+            Assert.assertEquals(1, failRequests.get());
+            //4 successes deposit 2 tokens
+            for (int i = 0; i < 4; i++) {
+                client.execute(HttpMethod.POST, ContextType.json, "/ok", "/ok", null, "{}");
+            }
+            failRequests.set(0);
+            fail(client);
+            Assert.assertEquals(3, failRequests.get());
+            long suppressed = 0;
+            for (int i = 0; i < 50 && suppressed < 2; i++) {
+                suppressed = client.getStats(StatsWindow.LIFETIME).getRetrySuppressedCount();
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(2, suppressed);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testDefaultDisabled() {
+        String endpoint = server.endpoint();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(endpoint).timeoutMillis(100).retryPolicy(RETRY_3).build();
+        try {
+            //no successful traffic, every retry still goes out
+            fail(client);
+            Assert.assertEquals(4, failRequests.get());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+        RetryBudgetConfig config = new RetryBudgetConfig();
+        config.setEnable(false);
+        String endpoint = server.endpoint();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(endpoint).timeoutMillis(100).retryPolicy(RETRY_3).retryBudgetConfig(config).build();
+        try {
+            fail(client);
+            Assert.assertEquals(4, failRequests.get());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static void fail(YunxinApiHttpClient client) {
+        try {
+            client.execute(HttpMethod.POST, ContextType.json, "/fail", "/fail", null, "{}");
+            Assert.fail();
+        } catch (YunxinSdkException ignore) {
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.YunxinApiResponse;
+import com.netease.nim.server.sdk.core.endpoint.ExecuteContext;
+import com.netease.nim.server.sdk.core.endpoint.RetryPolicy;
+import com.netease.nim.server.sdk.core.endpoint.ServerHintBackoffRetryPolicy;
+import com.netease.nim.server.sdk.core.endpoint.ServerResponse;
+import com.netease.nim.server.sdk.core.exception.HttpCodeException;
+import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.metrics.Stats;
+import com.netease.nim.server.sdk.core.metrics.StatsWindow;
+import com.netease.nim.server.sdk.core.metrics.UriStats;
+import com.netease.nim.server.sdk.core.trace.ApiVersion;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServerHintBackoffTest {
+
+    private LoopbackServer server;
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer()
+                .route("/freq", (exchange, body) -> server.requests() <= 2
+                        ? LoopbackServer.Reply.ok("{\"data\":{\"code\":200},\"code\":416,\"msg\":\"frequency control\"}") : null)
+                .route("/busy", (exchange, body) -> {
+                    if (server.requests() > 1) {
+                        return null;
+                    }
+                    exchange.getResponseHeaders().add("Retry-After", "1");
+                    return LoopbackServer.Reply.of(503, LoopbackServer.OK);
+                })
+                .route("/down", (exchange, body) -> {
+                    exchange.getResponseHeaders().add("Retry-After", "120");
+                    return LoopbackServer.Reply.of(503, LoopbackServer.OK);
+                });
+    }
+
+    @After
+    public void stop() {
+        server.close();
+    }
+
+    private YunxinApiHttpClient client() {
+        return new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricEnable(false)
+                .retryPolicy(new ServerHintBackoffRetryPolicy(3, false, 10, 5000,
+                        ServerHintBackoffRetryPolicy.DEFAULT_RETRY_CODES, ServerHintBackoffRetryPolicy.DEFAULT_RETRY_HTTP_CODES))
+                .build();
+    }
+
+    @Test
+    public void testFrequencyControl() {
+        YunxinApiHttpClient client = client();
+        try {
+            YunxinApiResponse response = client.execute(HttpMethod.POST, ContextType.json, "/freq", "/freq", null, "{}");
+            Assert.assertEquals("{\"code\":200}", response.getData());
+            Assert.assertEquals(3, server.requests());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testThrottledResult() throws Exception {
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricCollectIntervalSeconds(1)
+                .retryPolicy(new ServerHintBackoffRetryPolicy(3, false, 10, 5000,
+                        ServerHintBackoffRetryPolicy.DEFAULT_RETRY_CODES, ServerHintBackoffRetryPolicy.DEFAULT_RETRY_HTTP_CODES))
+                .build();
+        try {
+            client.execute(HttpMethod.POST, ContextType.json, "/freq", "/freq", null, "{}");
+            Assert.assertEquals(3, server.requests());
+            Map<String, Long> counts = new HashMap<>();
+            for (int i = 0; i < 50 && counts.size() < 2; i++) {
+                Thread.sleep(100);
+                counts.clear();
+                Stats stats = client.getStats(StatsWindow.LIFETIME);
+                for (UriStats uriStats : stats.getUriStatsList()) {
+                    counts.put(uriStats.getResult(), uriStats.getCount());
+                }
+            }
+            //throttled attempts are not counted as success
+            Assert.assertEquals(Long.valueOf(2), counts.get("throttled"));
+            Assert.assertEquals(Long.valueOf(1), counts.get("success"));
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testPolicyError() {
+        AtomicInteger errors = new AtomicInteger();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).metricEnable(false)
+                .retryPolicy(new RetryPolicy() {
+                    @Override
+                    public int maxRetry() {
+                        return 3;
+                    }
+
+                    @Override
+                    public RetryAction onError(ExecuteContext retryContext, int retry, Throwable error) {
+                        errors.incrementAndGet();
+                        return RetryAction.RETRY_CURRENT;
+                    }
+
+                    @Override
+                    public RetryAction onResponse(ExecuteContext retryContext, int retry, ServerResponse response) {
+                        throw new IllegalStateException("policy error");
+                    }
+                })
+                .build();
+        try {
+            client.execute(HttpMethod.POST, ContextType.json, "/ok", "/ok", null, "{}");
+            Assert.fail();
+        } catch (YunxinSdkException e) {
+            //a failing policy is not treated as a failed request and resent
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            Assert.assertEquals(1, server.requests());
+            Assert.assertEquals(0, errors.get());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetryAfter() {
+        YunxinApiHttpClient client = client();
+        try {
+            long start = System.currentTimeMillis();
+            YunxinApiResponse response = client.execute(HttpMethod.POST, ContextType.json, "/busy", "/busy", null, "{}");
+            Assert.assertEquals(200, response.getHttpCode());
+            Assert.assertEquals(2, server.requests());
+            Assert.assertTrue(System.currentTimeMillis() - start >= 1000);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testInterruptedBackoff() throws Exception {
+        YunxinApiHttpClient client = client();
+        try {
+            Thread caller = Thread.currentThread();
+            Thread interrupter = new Thread(() -> {
+                long deadline = System.currentTimeMillis() + 5000;
+                while (server.requests() == 0 && System.currentTimeMillis() < deadline) {
+                    Thread.yield();
+                }
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ignore) {
+                    return;
+                }
+                caller.interrupt();
+            });
+            interrupter.start();
+            try {
+                //Retry-After is 1s
+                client.execute(HttpMethod.POST, ContextType.json, "/busy", "/busy", null, "{}");
+                Assert.fail();
+            } catch (YunxinSdkException e) {
+                Assert.assertTrue(e.getCause() instanceof InterruptedException);
+                //the interrupt is kept for the caller and the retry is not sent
+                Assert.assertTrue(Thread.interrupted());
+                Assert.assertEquals(1, server.requests());
+            }
+            interrupter.join();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetryAfterTooLong() {
+        YunxinApiHttpClient client = client();
+        try {
+            //the server asks for more than capMillis, give up and return the response
+            YunxinApiResponse response = client.execute(HttpMethod.POST, ContextType.json, "/down", "/down", null, "{}");
+            Assert.assertEquals(503, response.getHttpCode());
+            Assert.assertEquals(1, server.requests());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testPolicy() {
+        ServerHintBackoffRetryPolicy policy = new ServerHintBackoffRetryPolicy(3, true);
+        ExecuteContext context = new ExecuteContext(BizName.IM, "https://endpoint", HttpMethod.POST, ContextType.json,
+                ApiVersion.V2, "/im/v2/messages", "/im/v2/messages", null, "{}", "trace");
+        //decorrelated jitter grows from base and never exceeds cap
+        for (int i = 0; i < 100; i++) {
+            long interval = policy.retryInterval(context, i);
+            Assert.assertTrue(interval >= 100 && interval <= Math.min(10000, Math.max(100, context.getLastRetryInterval()) * 3));
+            context.setLastRetryInterval(interval);
+        }
+        Assert.assertTrue(context.getLastRetryInterval() <= 10000);
+
+        HttpCodeException exception = new HttpCodeException(BizName.IM, "https://endpoint", 429, "",
+                Collections.singletonMap("retry-after", Collections.singletonList("2")));
+        RetryPolicy.RetryAction action = policy.onError(context, 0, exception);
+        Assert.assertTrue(action.isRetry());
+        Assert.assertFalse(action.isNextEndpoint());
+        Assert.assertTrue(action.getIntervalMillis() >= 2000 && action.getIntervalMillis() <= 2100);
+        //the jitter added to Retry-After never goes beyond cap
+        ServerHintBackoffRetryPolicy capped = new ServerHintBackoffRetryPolicy(3, true, 100, 2050,
+                ServerHintBackoffRetryPolicy.DEFAULT_RETRY_CODES, ServerHintBackoffRetryPolicy.DEFAULT_RETRY_HTTP_CODES);
+        for (int i = 0; i < 100; i++) {
+            action = capped.onError(context, 0, exception);
+            Assert.assertTrue(action.isRetry());
+            Assert.assertTrue(action.getIntervalMillis() >= 2000 && action.getIntervalMillis() <= 2050);
+        }
+        Assert.assertTrue(policy.onError(context, 0, new HttpCodeException(BizName.IM, "https://endpoint", 502, "")).isNextEndpoint());
+        Assert.assertFalse(policy.onError(context, 0, new HttpCodeException(BizName.IM, "https://endpoint", 500, "")).isRetry());
+
+        Assert.assertFalse(policy.onResponse(context, 0, new ServerResponse("https://endpoint", 200, "{\"code\":200}", null)).isRetry());
+        Assert.assertTrue(policy.onResponse(context, 0, new ServerResponse("https://endpoint", 200, "{\"code\":416}", null)).isRetry());
+        //default policies never retry on a response
+        Assert.assertFalse(new RetryPolicy() {}.onResponse(context, 0, new ServerResponse("https://endpoint", 200, "{\"code\":416}", null)).isRetry());
+    }
+
+    @Test
+    public void testServerResponse() {
+        Assert.assertEquals(416, new ServerResponse("e", 200, "{\"data\":{\"code\":1,\"list\":[1,2]},\"code\":416}", null).getCode());
+        Assert.assertEquals(-1, new ServerResponse("e", 200, "{\"data\":{\"code\":1}}", null).getCode());
+        Assert.assertEquals(-1, new ServerResponse("e", 200, "not json", null).getCode());
+        Assert.assertEquals(-1, new ServerResponse("e", 200, "", null).getCode());
+
+        Assert.assertEquals(3000, ServerResponse.retryAfterMillis("3"));
+        Assert.assertEquals(-1, ServerResponse.retryAfterMillis(null));
+        Assert.assertEquals(-1, ServerResponse.retryAfterMillis("soon"));
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        long millis = ServerResponse.retryAfterMillis(format.format(new Date(System.currentTimeMillis() + 10_000)));
+        Assert.assertTrue(millis > 8000 && millis <= 10_000);
+        Assert.assertEquals(0, ServerResponse.retryAfterMillis(format.format(new Date(System.currentTimeMillis() - 10_000))));
+    }
+}
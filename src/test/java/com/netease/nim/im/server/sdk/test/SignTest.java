@@ -0,0 +1,61 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.trace.TraceIdUtils;
+import com.netease.nim.server.sdk.core.utils.CheckSumBuilder;
+import com.netease.nim.server.sdk.core.utils.CurTimeUtils;
+import com.netease.nim.server.sdk.core.utils.RandomUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.Set;
+
+public class SignTest {
+
+    @Test
+    public void testCheckSum() throws Exception {
+        String[][] samples = {{"secret", "nonce", "1733800000"}, {"", "", ""},
+                {"d0c4f2b8e1a9", RandomUtils.randomHex128(), CurTimeUtils.curTime()},
+                {"密钥", "abc", "1"}, {longString(300), "abc", "1"}};
+        for (String[] sample : samples) {
+            Assert.assertEquals(sha1(sample[0] + sample[1] + sample[2]), CheckSumBuilder.getCheckSum(sample[0], sample[1], sample[2]));
+        }
+    }
+
+    @Test
+    public void testRandomHex() {
+        Set<String> set = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            String nonce = RandomUtils.randomHex128();
+            Assert.assertTrue(nonce.matches("[0-9a-f]{32}"));
+            Assert.assertTrue(set.add(nonce));
+            Assert.assertTrue(set.add(TraceIdUtils.gen()));
+        }
+    }
+
+    @Test
+    public void testCurTime() {
+        long before = System.currentTimeMillis() / 1000;
+        long curTime = Long.parseLong(CurTimeUtils.curTime());
+        long after = System.currentTimeMillis() / 1000;
+        Assert.assertTrue(curTime >= before && curTime <= after);
+    }
+
+    private static String longString(int len) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < len; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        return builder.toString();
+    }
+
+    private static String sha1(String value) throws Exception {
+        byte[] bytes = MessageDigest.getInstance("sha1").digest(value.getBytes());
+        StringBuilder builder = new StringBuilder();
+        for (byte b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,174 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.trace.SlowRequestConfig;
+import com.netease.nim.server.sdk.core.trace.SlowRequestRecord;
+import com.netease.nim.server.sdk.core.utils.MpscRingBuffer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SlowRequestTest {
+
+    private static final String RESPONSE = "{\"code\":200,\"data\":\"0123456789\"}";
+
+    private LoopbackServer server;
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer()
+                .route("/slow", (exchange, body) -> {
+                    Thread.sleep(200);
+                    return LoopbackServer.Reply.ok(RESPONSE);
+                })
+                .route("/", (exchange, body) -> LoopbackServer.Reply.ok(RESPONSE));
+    }
+
+    @After
+    public void stop() {
+        server.close();
+    }
+
+    @Test
+    public void testSlowRequest() throws Exception {
+        List<SlowRequestRecord> records = new CopyOnWriteArrayList<>();
+        SlowRequestConfig config = new SlowRequestConfig();
+        config.setThresholdMillis(10_000);
+        config.setUriThresholdMillis(Collections.singletonMap("/slow/{id}", 100L));
+        config.setMaxPayloadLength(16);
+        config.setListener(records::add);
+        String endpoint = server.endpoint();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(endpoint).slowRequestConfig(config).build();
+        try {
+            String data = "{\"accid\":\"0123456789abcdef\"}";
+            client.execute(HttpMethod.POST, ContextType.json, "/fast/{id}", "/fast/1", null, data);
+            client.execute(HttpMethod.POST, ContextType.json, "/slow/{id}", "/slow/1", null, data);
+            for (int i = 0; i < 50 && records.isEmpty(); i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(1, records.size());
+            SlowRequestRecord record = records.get(0);
+            Assert.assertTrue(record.isSlow());
+            Assert.assertEquals("/slow/{id}", record.getUri());
+            Assert.assertEquals("/slow/1", record.getPath());
+            Assert.assertEquals(endpoint, record.getEndpoint());
+            Assert.assertEquals(200, record.getHttpCode());
+            Assert.assertEquals("success", record.getResult());
+            Assert.assertTrue(record.getSpendMs() >= 100);
+            Assert.assertNotNull(record.getTraceId());
+            Assert.assertEquals(data.substring(0, 16), record.getRequestBody());
+            Assert.assertEquals("{\"code\":200,\"dat", record.getResponseBody());
+            Assert.assertEquals(1, client.getSlowRequestCapture().getCapturedCount());
+            Assert.assertEquals(0, client.getSlowRequestCapture().getDroppedCount());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testErrorAndSampling() throws Exception {
+        List<SlowRequestRecord> records = new CopyOnWriteArrayList<>();
+        SlowRequestConfig config = new SlowRequestConfig();
+        config.setListener(records::add);
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint("http://127.0.0.1:1").slowRequestConfig(config).build();
+        try {
+            client.execute(HttpMethod.GET, ContextType.json, "/v2/users", "/v2/users", null, null);
+            Assert.fail();
+        } catch (YunxinSdkException expected) {
+            //connect refused
+        } finally {
+            client.shutdown();
+        }
+        for (int i = 0; i < 50 && records.isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        Assert.assertFalse(records.isEmpty());
+        SlowRequestRecord record = records.get(0);
+        Assert.assertFalse(record.isSlow());
+        Assert.assertEquals(0, record.getAttempt());
+        Assert.assertEquals(0, record.getHttpCode());
+        Assert.assertEquals("connect_error", record.getResult());
+        Assert.assertNotNull(record.getError());
+
+        //sampleRate = 0 and errors are not captured
+        List<SlowRequestRecord> none = new CopyOnWriteArrayList<>();
+        config = new SlowRequestConfig();
+        config.setThresholdMillis(0);
+        config.setSampleRate(0);
+        config.setListener(none::add);
+        client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).slowRequestConfig(config).build();
+        try {
+            client.execute(HttpMethod.GET, ContextType.json, "/v2/users", "/v2/users", null, null);
+        } finally {
+            client.shutdown();
+        }
+        Thread.sleep(200);
+        Assert.assertTrue(none.isEmpty());
+    }
+
+    @Test
+    public void testRingBuffer() throws Exception {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(100);
+        Assert.assertEquals(128, ringBuffer.capacity());
+        for (int i = 0; i < 128; i++) {
+            Assert.assertTrue(ringBuffer.offer(i));
+        }
+        Assert.assertFalse(ringBuffer.offer(128));
+        Assert.assertEquals(Integer.valueOf(0), ringBuffer.poll());
+        Assert.assertTrue(ringBuffer.offer(128));
+        for (int i = 1; i <= 128; i++) {
+            Assert.assertEquals(Integer.valueOf(i), ringBuffer.poll());
+        }
+        Assert.assertNull(ringBuffer.poll());
+        Assert.assertTrue(ringBuffer.isEmpty());
+
+        //4 producers, 1 consumer, every element is received exactly once
+        int producers = 4;
+        int perProducer = 50_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ringBuffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[p].start();
+        }
+        Set<Integer> received = new HashSet<>();
+        List<Integer> last = new ArrayList<>(Collections.nCopies(producers, -1));
+        while (received.size() < producers * perProducer) {
+            Integer e = ringBuffer.poll();
+            if (e == null) {
+                Thread.yield();
+                continue;
+            }
+            Assert.assertTrue(received.add(e));
+            //per-producer order is kept
+            int p = e / perProducer;
+            Assert.assertTrue(e > last.get(p));
+            last.set(p, e);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertTrue(ringBuffer.isEmpty());
+    }
+}
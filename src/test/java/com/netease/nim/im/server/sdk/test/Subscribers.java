@@ -0,0 +1,45 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.reactive.Publisher;
+import com.netease.nim.server.sdk.core.reactive.Subscriber;
+import com.netease.nim.server.sdk.core.reactive.Subscription;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 测试用，把 Publisher 转成 future
+ */
+public final class Subscribers {
+
+    private Subscribers() {
+    }
+
+    /**
+     * 订阅并 request(1)
+     * @return 第一个元素，失败时为 onError 的异常
+     */
+    public static <T> CompletableFuture<T> first(Publisher<T> publisher) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        publisher.subscribe(new Subscriber<T>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(T t) {
+                future.complete(t);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                future.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        return future;
+    }
+}
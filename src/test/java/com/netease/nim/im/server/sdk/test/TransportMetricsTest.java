@@ -0,0 +1,202 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.YunxinApiResponse;
+import com.netease.nim.server.sdk.core.YunxinHttpClientConfig;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.metrics.ConnectionStats;
+import com.netease.nim.server.sdk.core.metrics.EndpointPayloadStats;
+import com.netease.nim.server.sdk.core.metrics.GaugeStats;
+import com.netease.nim.server.sdk.core.metrics.PayloadDirection;
+import com.netease.nim.server.sdk.core.metrics.PayloadStats;
+import com.netease.nim.server.sdk.core.metrics.Stats;
+import com.netease.nim.server.sdk.core.metrics.StatsWindow;
+import com.netease.nim.server.sdk.core.metrics.TransportPhase;
+import com.netease.nim.server.sdk.core.metrics.TransportStats;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TransportMetricsTest {
+
+    private LoopbackServer server;
+    private final CountDownLatch slow = new CountDownLatch(1);
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer().route("/slow", (exchange, body) -> {
+            LoopbackServer.await(slow);
+            return null;
+        });
+    }
+
+    @After
+    public void stop() {
+        slow.countDown();
+        server.close();
+    }
+
+    @Test
+    public void test() throws Exception {
+        String endpoint = server.endpoint();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(endpoint).metricCollectIntervalSeconds(1).build();
+        try {
+            for (int i = 0; i < 3; i++) {
+                client.execute(HttpMethod.POST, ContextType.json, "/v2/users", "/v2/users", null, "{\"accid\":\"" + i + "\"}");
+            }
+            Stats stats = null;
+            for (int i = 0; i < 50; i++) {
+                stats = client.getStats(StatsWindow.LIFETIME);
+                if (!stats.getConnectionStatsList().isEmpty()) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(1, stats.getConnectionStatsList().size());
+            ConnectionStats connectionStats = stats.getConnectionStatsList().get(0);
+            Assert.assertEquals(endpoint, connectionStats.getEndpoint());
+            Assert.assertEquals(1, connectionStats.getCreated());
+            Assert.assertEquals(2, connectionStats.getReused());
+
+            Map<String, Long> counts = new HashMap<>();
+            for (TransportStats transportStats : stats.getTransportStatsList()) {
+                Assert.assertEquals(endpoint, transportStats.getEndpoint());
+                counts.put(transportStats.getPhase(), transportStats.getCount());
+            }
+            Assert.assertEquals(Long.valueOf(3), counts.get(TransportPhase.CONNECTION_ACQUIRE.getLabel()));
+            Assert.assertEquals(Long.valueOf(1), counts.get(TransportPhase.CONNECT.getLabel()));
+            Assert.assertEquals(Long.valueOf(3), counts.get(TransportPhase.REQUEST_WRITE.getLabel()));
+            Assert.assertEquals(Long.valueOf(3), counts.get(TransportPhase.TTFB.getLabel()));
+            Assert.assertEquals(Long.valueOf(3), counts.get(TransportPhase.RESPONSE_READ.getLabel()));
+            Assert.assertNull(counts.get(TransportPhase.TLS.getLabel()));
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testPayload() throws Exception {
+        String endpoint = server.endpoint();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(endpoint).metricCollectIntervalSeconds(1).build();
+        try {
+            for (int i = 0; i < 3; i++) {
+                client.execute(HttpMethod.POST, ContextType.json, "/v2/users", "/v2/users", null, "{\"accid\":\"" + i + "\"}");
+            }
+            client.execute(HttpMethod.POST, ContextType.json, "/v2/users", "/v2/users", null, "{\"accid\":\"abcdefghij\"}");
+            Stats stats = null;
+            for (int i = 0; i < 50; i++) {
+                stats = client.getStats(StatsWindow.LIFETIME);
+                if (!stats.getEndpointPayloadStatsList().isEmpty()) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(1, stats.getEndpointPayloadStatsList().size());
+            EndpointPayloadStats endpointPayloadStats = stats.getEndpointPayloadStatsList().get(0);
+            Assert.assertEquals(endpoint, endpointPayloadStats.getEndpoint());
+            Assert.assertEquals(3 * 13 + 22, endpointPayloadStats.getRequestBytes());
+            Assert.assertEquals(4 * 12, endpointPayloadStats.getResponseBytes());
+
+            Assert.assertEquals(2, stats.getPayloadStatsList().size());
+            for (PayloadStats payloadStats : stats.getPayloadStatsList()) {
+                Assert.assertEquals("/v2/users", payloadStats.getUri());
+                Assert.assertEquals(HttpMethod.POST, payloadStats.getMethod());
+                Assert.assertEquals(4, payloadStats.getCount());
+                if (payloadStats.getDirection().equals(PayloadDirection.REQUEST.getLabel())) {
+                    Assert.assertEquals(3 * 13 + 22, payloadStats.getSum());
+                    Assert.assertEquals(13, payloadStats.getP50());
+                    Assert.assertEquals(22, payloadStats.getMax());
+                } else {
+                    Assert.assertEquals(PayloadDirection.RESPONSE.getLabel(), payloadStats.getDirection());
+                    Assert.assertEquals(4 * 12, payloadStats.getSum());
+                    Assert.assertEquals(12, payloadStats.getMax());
+                }
+            }
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testGauges() throws Exception {
+        String endpoint = server.endpoint();
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(endpoint).metricCollectIntervalSeconds(1).build();
+        try {
+            client.execute(HttpMethod.GET, ContextType.json, "/v2/users", "/v2/users", null, null);
+            Thread thread = new Thread(() -> client.execute(HttpMethod.GET, ContextType.json, "/slow", "/slow", null, null));
+            thread.start();
+            GaugeStats gaugeStats = null;
+            for (int i = 0; i < 50; i++) {
+                gaugeStats = client.getStats(StatsWindow.ONE_MINUTE).getGaugeStats();
+                if (gaugeStats.getInFlightRequests() == 1) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(1, gaugeStats.getInFlightRequests());
+            Assert.assertEquals(Integer.valueOf(1), gaugeStats.getEndpointInFlightRequests().get(endpoint));
+            Assert.assertEquals(1, gaugeStats.getRunningCalls());
+            Assert.assertEquals(0, gaugeStats.getQueuedCalls());
+            Assert.assertEquals(0, gaugeStats.getPendingRetries());
+            Assert.assertTrue(gaugeStats.getConnections() >= 1);
+            slow.countDown();
+            thread.join();
+            gaugeStats = client.getStats(StatsWindow.ONE_MINUTE).getGaugeStats();
+            Assert.assertEquals(0, gaugeStats.getInFlightRequests());
+            Assert.assertEquals(0, gaugeStats.getRunningCalls());
+            Assert.assertTrue(gaugeStats.getIdleConnections() >= 1);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testDispatcherQueue() throws Exception {
+        YunxinHttpClientConfig config = new YunxinHttpClientConfig();
+        config.setMaxRequests(1);
+        YunxinApiHttpClient client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .httpClientConfig(config)
+                .endpoint(server.endpoint()).metricCollectIntervalSeconds(1).build();
+        try {
+            CompletableFuture<YunxinApiResponse> running = Subscribers.first(client.executePublisher(HttpMethod.GET, ContextType.json, "/slow", "/slow", null, null));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (server.requests() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            //waits in the dispatcher queue behind the running call
+            CompletableFuture<YunxinApiResponse> queued = Subscribers.first(client.executePublisher(HttpMethod.POST, ContextType.json, "/v2/users", "/v2/users", null, "{}"));
+            Thread.sleep(500);
+            slow.countDown();
+            Assert.assertEquals(200, running.get(5, TimeUnit.SECONDS).getHttpCode());
+            Assert.assertEquals(200, queued.get(5, TimeUnit.SECONDS).getHttpCode());
+            TransportStats acquire = null;
+            for (int i = 0; i < 50 && (acquire == null || acquire.getCount() < 2); i++) {
+                Thread.sleep(100);
+                for (TransportStats transportStats : client.getStats(StatsWindow.LIFETIME).getTransportStatsList()) {
+                    if (transportStats.getPhase().equals(TransportPhase.CONNECTION_ACQUIRE.getLabel())) {
+                        acquire = transportStats;
+                    }
+                }
+            }
+            Assert.assertNotNull(acquire);
+            Assert.assertEquals(2, acquire.getCount());
+            //the time spent in the dispatcher queue is not counted as acquiring a connection
+            Assert.assertTrue(String.valueOf(acquire.getMax()), acquire.getMax() < 400);
+        } finally {
+            slow.countDown();
+            client.shutdown();
+        }
+    }
+}
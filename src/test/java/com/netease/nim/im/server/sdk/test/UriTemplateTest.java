@@ -0,0 +1,47 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class UriTemplateTest {
+
+    @Test
+    public void test() {
+        UriTemplate template = UriTemplate.compile("/im/v2/conversations/{conversation_id}/messages/{message_server_id}");
+        Assert.assertEquals("/im/v2/conversations/{conversation_id}/messages/{message_server_id}", template.getTemplate());
+        Assert.assertEquals(Arrays.asList("conversation_id", "message_server_id"), template.getVariables());
+        Assert.assertEquals("/im/v2/conversations/a%7C1%7Cb/messages/123", template.expand("a|1|b", "123"));
+        Assert.assertEquals("/im/v2/conversations/a%2Fb%3Fc%23d%25/messages/%E5%BC%A0%20%F0%9F%98%80",
+                template.expand("a/b?c#d%", "张 😀"));
+        Assert.assertEquals("/im/v2/conversations/a-._~!$&'()*+,;=:@z/messages/1", template.expand("a-._~!$&'()*+,;=:@z", "1"));
+
+        UriTemplate suffix = UriTemplate.compile("/v2/api/kicklist/{cid}/members/{uid}/{duration}");
+        Assert.assertEquals("/v2/api/kicklist/1/members/2/3", suffix.expand("1", "2", "3"));
+
+        UriTemplate plain = UriTemplate.compile("/im/v2/accounts");
+        Assert.assertSame(plain.getTemplate(), plain.expand());
+    }
+
+    @Test
+    public void testIllegal() {
+        UriTemplate template = UriTemplate.compile("/im/v2/accounts/{account_id}");
+        try {
+            template.expand();
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+        try {
+            template.expand((String) null);
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+        try {
+            UriTemplate.compile("/im/v2/accounts/{account_id");
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+    }
+}
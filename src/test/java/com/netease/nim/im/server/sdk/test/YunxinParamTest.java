@@ -1,10 +1,14 @@
 package com.netease.nim.im.server.sdk.test;
 
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParam;
 import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
+import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamWriter;
+import com.netease.nim.server.sdk.im.v1.message.request.SendBatchMessageRequestV1;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -33,6 +37,48 @@ public class YunxinParamTest {
         Assert.assertFalse(map.containsKey("h"));
         Assert.assertEquals(map.get("i"), "4");
         Assert.assertEquals(map.get("j"), "0");
+
+        //nested class has no generated writer, fallback to reflection
+        FormUrlEncodedWriter form = YunxinParamUtils.encode(request);
+        Assert.assertEquals(7, form.params());
+        Assert.assertEquals("a=p1&c=1&e=2&f=0&g=3&i=4&j=0", form.toString());
+    }
+
+    @Test
+    public void testGeneratedWriter() {
+        SendBatchMessageRequestV1 request = new SendBatchMessageRequestV1();
+        request.setFromAccid("zhangsan");
+        request.setToAccids(Arrays.asList("lisi", "wangwu"));
+        request.setType(0);
+        request.setBody("{\"msg\":\"你好 & hello\"}");
+        request.setReturnMsgid(true);
+
+        YunxinParamWriter<Object> writer = YunxinParamUtils.writer(SendBatchMessageRequestV1.class);
+        Assert.assertEquals(SendBatchMessageRequestV1.class.getName() + YunxinParamWriter.SUFFIX, writer.getClass().getName());
+
+        FormUrlEncodedWriter generated = new FormUrlEncodedWriter();
+        writer.write(request, generated);
+        FormUrlEncodedWriter reflective = new FormUrlEncodedWriter();
+        YunxinParamUtils.reflectiveWriter(SendBatchMessageRequestV1.class).write(request, reflective);
+        Assert.assertEquals(reflective.toString(), generated.toString());
+        Assert.assertEquals("fromAccid=zhangsan&type=0&body=%7B%22msg%22%3A%22%E4%BD%A0%E5%A5%BD+%26+hello%22%7D&returnMsgid=true",
+                generated.toString());
+    }
+
+    @Test
+    public void testFormSet() {
+        FormUrlEncodedWriter form = new FormUrlEncodedWriter();
+        form.add("a", "1").add("b", "2").add("c", "3");
+        form.set("b", "[\"x\"]");
+        Assert.assertEquals("a=1&c=3&b=%5B%22x%22%5D", form.toString());
+        form.set("b", "4");
+        form.set("a", "5");
+        Assert.assertEquals("c=3&b=4&a=5", form.toString());
+        Assert.assertEquals(3, form.params());
+        FormUrlEncodedWriter single = new FormUrlEncodedWriter();
+        single.add("ab", "1").set("a", "2");
+        single.set("ab", "3");
+        Assert.assertEquals("a=2&ab=3", single.toString());
     }
 
     public static class Request {
@@ -0,0 +1,96 @@
+package com.netease.nim.im.server.sdk.test.benchmark;
+
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
+import com.netease.nim.server.sdk.core.http.ParamBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * form encoding of v1 sendBatchMessage / sendAttachMsg like params
+ * legacyParamBuilder is a copy of ParamBuilder before FormUrlEncoder (URLEncoder + StringBuilder + HashMap)
+ * run main method, benchmarks are not executed by mvn test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormUrlEncoderBenchmark {
+
+    private final Map<String, String> params = new LinkedHashMap<>();
+
+    @Setup
+    public void setup() {
+        StringBuilder toAccids = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                toAccids.append(',');
+            }
+            toAccids.append("\"user_").append(i).append('"');
+        }
+        toAccids.append(']');
+        params.put("fromAccid", "system_notice");
+        params.put("toAccids", toAccids.toString());
+        params.put("type", "0");
+        params.put("body", "{\"msg\":\"您的订单已发货，请注意查收 order=20241210 & status=shipped\"}");
+        params.put("option", "{\"push\":true,\"roam\":true,\"history\":true,\"sendersync\":false}");
+        params.put("pushContent", "您有一条新消息");
+        params.put("payload", "{\"pushTitle\":\"通知\",\"sound\":\"default\"}");
+        params.put("returnMsgid", "true");
+    }
+
+    @Benchmark
+    public byte[] legacyParamBuilder() throws UnsupportedEncodingException {
+        Map<String, String> map = new HashMap<>();
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            builder.append(URLEncoder.encode(entry.getKey(), "utf-8")).append("=")
+                    .append(URLEncoder.encode(entry.getValue(), "utf-8")).append("&");
+        }
+        if (builder.length() > 0) {
+            builder.deleteCharAt(builder.length() - 1);
+        }
+        //RequestBody.create(String) encodes again
+        return builder.toString().getBytes("utf-8");
+    }
+
+    @Benchmark
+    public byte[] paramBuilder() throws UnsupportedEncodingException {
+        ParamBuilder builder = new ParamBuilder();
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            builder.addParam(entry.getKey(), entry.getValue());
+        }
+        return builder.build().getBytes("utf-8");
+    }
+
+    @Benchmark
+    public FormUrlEncodedWriter formUrlEncodedWriter() {
+        FormUrlEncodedWriter writer = new FormUrlEncodedWriter(1024);
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            writer.add(entry.getKey(), entry.getValue());
+        }
+        return writer;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FormUrlEncoderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
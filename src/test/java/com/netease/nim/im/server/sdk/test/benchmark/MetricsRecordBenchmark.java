@@ -0,0 +1,155 @@
+package com.netease.nim.im.server.sdk.test.benchmark;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.metrics.MetricsRecorder;
+import com.netease.nim.server.sdk.core.metrics.MetricsResult;
+import com.netease.nim.server.sdk.core.metrics.PayloadDirection;
+import com.netease.nim.server.sdk.core.metrics.Statistics;
+import com.netease.nim.server.sdk.core.metrics.YunxinApiSdkMetricsCollector;
+import com.netease.nim.server.sdk.core.trace.ApiVersion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * per request metrics recording overhead
+ * legacy is a copy of YunxinApiSdkMetricsCollector.collect before MetricsRecorder (Key1/Key2 + Objects.hash + 2 map lookups)
+ * collect resolves the recorder by uri on every call, recorder uses a pre-resolved MetricsRecorder
+ * request is what one request costs through the public MetricsRecorder api: the result and both payload sizes, three phaser entries
+ * run main method (1, 16 and 64 threads, the phaser and histograms are shared by all threads), benchmarks are not executed by mvn test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsRecordBenchmark {
+
+    private final String endpoint = "https://api-cn.yunxinapi.com/nimserver";
+    private final String uri = "/msg/sendMsg.action";
+
+    private final ConcurrentHashMap<Key1, Statistics> map1 = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key2, Statistics> map2 = new ConcurrentHashMap<>();
+
+    private YunxinApiSdkMetricsCollector collector;
+    private MetricsRecorder recorder;
+
+    @Setup
+    public void setup() {
+        collector = new YunxinApiSdkMetricsCollector(BizName.IM, 3600, null);
+        recorder = collector.recorder(HttpMethod.POST, ContextType.form_url_encoded, ApiVersion.V1, uri);
+    }
+
+    @TearDown
+    public void tearDown() {
+        collector.shutdown();
+    }
+
+    @Benchmark
+    public void legacy() {
+        Key1 key1 = new Key1(endpoint, HttpMethod.POST, ContextType.form_url_encoded, ApiVersion.V1, uri, "success");
+        Statistics statistics1 = map1.get(key1);
+        if (statistics1 == null) {
+            statistics1 = map1.computeIfAbsent(key1, k -> new Statistics());
+        }
+        statistics1.update(15);
+        Key2 key2 = new Key2(endpoint, "success");
+        Statistics statistics2 = map2.get(key2);
+        if (statistics2 == null) {
+            statistics2 = map2.computeIfAbsent(key2, k -> new Statistics());
+        }
+        statistics2.update(15);
+    }
+
+    @Benchmark
+    public void collect() {
+        collector.collect(endpoint, HttpMethod.POST, ContextType.form_url_encoded, ApiVersion.V1, uri, MetricsResult.SUCCESS, 15);
+    }
+
+    @Benchmark
+    public void recorder() {
+        recorder.record(endpoint, MetricsResult.SUCCESS, 15);
+    }
+
+    @Benchmark
+    public void request() {
+        recorder.record(endpoint, MetricsResult.SUCCESS, 15);
+        recorder.recordPayload(PayloadDirection.REQUEST, 512);
+        recorder.recordPayload(PayloadDirection.RESPONSE, 2048);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 16, 64}) {
+            Options options = new OptionsBuilder()
+                    .include(MetricsRecordBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler("gc")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    private static class Key1 {
+        private final String endpoint;
+        private final HttpMethod method;
+        private final ContextType contextType;
+        private final ApiVersion apiVersion;
+        private final String uri;
+        private final String result;
+
+        Key1(String endpoint, HttpMethod method, ContextType contextType, ApiVersion apiVersion, String uri, String result) {
+            this.endpoint = endpoint;
+            this.method = method;
+            this.contextType = contextType;
+            this.apiVersion = apiVersion;
+            this.uri = uri;
+            this.result = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key1 key1 = (Key1) o;
+            return Objects.equals(endpoint, key1.endpoint) && method == key1.method && contextType == key1.contextType
+                    && apiVersion == key1.apiVersion && Objects.equals(uri, key1.uri) && Objects.equals(result, key1.result);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, method, contextType, apiVersion, uri, result);
+        }
+    }
+
+    private static class Key2 {
+        private final String endpoint;
+        private final String result;
+
+        Key2(String endpoint, String result) {
+            this.endpoint = endpoint;
+            this.result = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key2 key2 = (Key2) o;
+            return Objects.equals(endpoint, key2.endpoint) && Objects.equals(result, key2.result);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, result);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.netease.nim.im.server.sdk.test.benchmark;
+
+import okhttp3.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * okhttp Request construction per attempt
+ * legacy is a copy of YunxinHttpClient before RequestTemplate (MediaType.parse + endpoint + url + constant headers every attempt)
+ * template mirrors RequestTemplate (pre-parsed HttpUrl, shared MediaType, prebuilt static Headers)
+ * signing headers are constant here, see SignBenchmark
+ * run main method, benchmarks are not executed by mvn test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBuildBenchmark {
+
+    private final String endpoint = "https://api-cn.yunxinapi.com/nimserver";
+    private final String uri = "/im/v2/conversations/{conversation_id}/stick_top";
+    private final String staticUri = "/msg/sendMsg.action";
+    private final String path = "/im/v2/conversations/acc1|1|acc2/stick_top";
+    private final String contentType = "application/x-www-form-urlencoded;charset=UTF-8";
+    private final byte[] body = "from=acc1&ope=0&to=acc2&type=0&body=%7B%22msg%22%3A%22hello%22%7D".getBytes(StandardCharsets.US_ASCII);
+
+    private HttpUrl base;
+    private HttpUrl staticUrl;
+    private MediaType mediaType;
+    private Headers headers;
+
+    @Setup
+    public void setup() {
+        base = HttpUrl.get(endpoint);
+        staticUrl = HttpUrl.get(endpoint + staticUri);
+        mediaType = MediaType.get(contentType);
+        headers = new Headers.Builder().add("AppKey", "a1b2c3d4e5f6").add("User-Agent", "yunxin-server-sdk/1.0.0").build();
+    }
+
+    @Benchmark
+    public Request legacyStaticUri() {
+        return legacy(staticUri);
+    }
+
+    @Benchmark
+    public Request templateStaticUri() {
+        return template(staticUrl);
+    }
+
+    @Benchmark
+    public Request legacyPathVariable() {
+        return legacy(path);
+    }
+
+    @Benchmark
+    public Request templatePathVariable() {
+        return template(base.newBuilder().encodedPath(base.encodedPath() + path).build());
+    }
+
+    private Request legacy(String url) {
+        Request.Builder builder = new Request.Builder();
+        builder.method("POST", RequestBody.create(MediaType.parse(contentType), body, 0, body.length));
+        builder.url(endpoint + url);
+        builder.addHeader("AppKey", "a1b2c3d4e5f6");
+        addSignHeaders(builder);
+        builder.addHeader("User-Agent", "yunxin-server-sdk/" + "1.0.0");
+        return builder.build();
+    }
+
+    private Request template(HttpUrl url) {
+        Request.Builder builder = new Request.Builder().url(url).headers(headers);
+        builder.method("POST", RequestBody.create(body, mediaType, 0, body.length));
+        addSignHeaders(builder);
+        return builder.build();
+    }
+
+    private void addSignHeaders(Request.Builder builder) {
+        builder.addHeader("CurTime", "1733800000");
+        builder.addHeader("Nonce", "0123456789abcdef0123456789abcdef");
+        builder.addHeader("CheckSum", "0123456789abcdef0123456789abcdef01234567");
+        builder.addHeader("RequestId", "fedcba9876543210fedcba9876543210");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RequestBuildBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
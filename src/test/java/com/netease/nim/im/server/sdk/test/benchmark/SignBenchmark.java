@@ -0,0 +1,73 @@
+package com.netease.nim.im.server.sdk.test.benchmark;
+
+import com.netease.nim.server.sdk.core.trace.TraceIdUtils;
+import com.netease.nim.server.sdk.core.utils.CheckSumBuilder;
+import com.netease.nim.server.sdk.core.utils.CurTimeUtils;
+import com.netease.nim.server.sdk.core.utils.RandomUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * per request signing: CurTime + Nonce + CheckSum + trace-id
+ * legacy is a copy of YunxinHttpClient.addHeaders / CheckSumBuilder / TraceIdUtils before the thread-local digest
+ * run main method (1, 4, 16, 64 threads), benchmarks are not executed by mvn test
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignBenchmark {
+
+    private static final char[] HEX_DIGITS = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+    private final String appSecret = "d0c4f2b8e1a9";
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) throws Exception {
+        String curTime = String.valueOf(System.currentTimeMillis() / 1000);
+        String nonce = UUID.randomUUID().toString().replace("-", "");
+        MessageDigest messageDigest = MessageDigest.getInstance("sha1");
+        messageDigest.update((appSecret + nonce + curTime).getBytes());
+        byte[] bytes = messageDigest.digest();
+        StringBuilder buf = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            buf.append(HEX_DIGITS[(b >> 4) & 0x0f]);
+            buf.append(HEX_DIGITS[b & 0x0f]);
+        }
+        blackhole.consume(curTime);
+        blackhole.consume(nonce);
+        blackhole.consume(buf.toString());
+        blackhole.consume(UUID.randomUUID().toString().replace("-", ""));
+    }
+
+    @Benchmark
+    public void current(Blackhole blackhole) {
+        String curTime = CurTimeUtils.curTime();
+        String nonce = RandomUtils.randomHex128();
+        blackhole.consume(curTime);
+        blackhole.consume(nonce);
+        blackhole.consume(CheckSumBuilder.getCheckSum(appSecret, nonce, curTime));
+        blackhole.consume(TraceIdUtils.gen());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 4, 16, 64}) {
+            Options options = new OptionsBuilder()
+                    .include(SignBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler("gc")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
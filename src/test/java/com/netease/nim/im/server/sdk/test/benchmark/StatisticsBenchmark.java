@@ -0,0 +1,92 @@
+package com.netease.nim.im.server.sdk.test.benchmark;
+
+import com.netease.nim.server.sdk.core.metrics.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * latency recording of one series shared by all threads
+ * legacy is a copy of Statistics.update before LogLinearHistogram (256 AtomicLong buckets)
+ * run main method (1, 4, 16, 64 threads), benchmarks are not executed by mvn test
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatisticsBenchmark {
+
+    private final LegacyStatistics legacyStatistics = new LegacyStatistics();
+    private final Statistics statistics = new Statistics();
+
+    @Benchmark
+    public void legacy() {
+        legacyStatistics.update(ThreadLocalRandom.current().nextInt(20, 300));
+    }
+
+    @Benchmark
+    public void logLinear() {
+        statistics.update(ThreadLocalRandom.current().nextInt(20, 300));
+    }
+
+    private static class LegacyStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLong[] distribute = new AtomicLong[256];
+
+        LegacyStatistics() {
+            for (int i = 0; i < distribute.length; i++) {
+                distribute[i] = new AtomicLong(0);
+            }
+        }
+
+        void update(long value) {
+            count.increment();
+            sum.add(value);
+            while (true) {
+                long oldValue = max.get();
+                if (value <= oldValue || max.compareAndSet(oldValue, value)) {
+                    break;
+                }
+            }
+            AtomicLong distributeCounter;
+            if (value <= 100) {
+                distributeCounter = distribute[(int) value];
+            } else if (value <= 200) {
+                distributeCounter = distribute[(int) (101 + (value - 101) / 5)];
+            } else if (value <= 500) {
+                distributeCounter = distribute[(int) (121 + (value - 201) / 10)];
+            } else if (value <= 3000) {
+                distributeCounter = distribute[(int) (151 + (value - 501) / 50)];
+            } else if (value <= 10000) {
+                distributeCounter = distribute[(int) (201 + (value - 3001) / 200)];
+            } else if (value <= 30000) {
+                distributeCounter = distribute[(int) (236 + (value - 10001) / 1000)];
+            } else {
+                distributeCounter = distribute[255];
+            }
+            distributeCounter.incrementAndGet();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 4, 16, 64}) {
+            Options options = new OptionsBuilder()
+                    .include(StatisticsBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler("gc")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.netease.nim.im.server.sdk.test.benchmark;
+
+import com.netease.nim.server.sdk.core.http.UriTemplate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * v2 path expansion, chained String.replace (no encoding) vs UriTemplate.expand (with encoding)
+ * run main method, benchmarks are not executed by mvn test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UriTemplateBenchmark {
+
+    private static final String WITHDRAW_MESSAGE = "/im/v2/conversations/{conversation_id}/messages/{message_server_id}";
+    private static final UriTemplate WITHDRAW_MESSAGE_TEMPLATE = UriTemplate.compile(WITHDRAW_MESSAGE);
+
+    private final String conversationId = "user_10001|1|user_10002";
+    private final Long messageServerId = 8745632190123L;
+
+    @Benchmark
+    public String replace() {
+        return WITHDRAW_MESSAGE.replace("{conversation_id}", conversationId)
+                .replace("{message_server_id}", String.valueOf(messageServerId));
+    }
+
+    @Benchmark
+    public String expand() {
+        return WITHDRAW_MESSAGE_TEMPLATE.expand(conversationId, String.valueOf(messageServerId));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(UriTemplateBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.netease.nim.im.server.sdk.test.benchmark;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.ExecutionMode;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.YunxinApiResponse;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import com.netease.nim.server.sdk.core.utils.VirtualThreads;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * concurrency callers blocked on a 20ms server, platform threads vs virtual threads
+ * VIRTUAL_THREAD needs java 21 and the multi-release jar (mvn package -Djava21.skip=false), target/classes only has the fallback
+ * run main method, benchmarks are not executed by mvn test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final int CALLS = 10000;
+
+    @Param({"PLATFORM", "VIRTUAL_THREAD"})
+    private ExecutionMode mode;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ScheduledExecutorService scheduler;
+    private YunxinApiHttpClient client;
+
+    @Setup
+    public void setup() throws Exception {
+        if (mode == ExecutionMode.VIRTUAL_THREAD && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("virtual threads are not loaded, run on java 21 with the multi-release jar");
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), CALLS);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        scheduler = Executors.newScheduledThreadPool(4);
+        server.setExecutor(serverExecutor);
+        byte[] response = "{\"code\":200}".getBytes(StandardCharsets.UTF_8);
+        server.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                while (in.read() >= 0) {
+                    //drain
+                }
+            }
+            //simulated 20ms server latency without holding a server thread
+            scheduler.schedule(() -> {
+                try {
+                    exchange.sendResponseHeaders(200, response.length);
+                    exchange.getResponseBody().write(response);
+                } catch (Exception ignore) {
+                    //client gone
+                } finally {
+                    exchange.close();
+                }
+            }, 20, TimeUnit.MILLISECONDS);
+        });
+        server.start();
+        String endpoint = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = new YunxinApiHttpClient.Builder(BizName.CUSTOM, "appkey", "appsecret")
+                .endpoint(endpoint).metricEnable(false)
+                .timeoutMillis(30000)
+                .executionMode(mode)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public int concurrentCalls() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<YunxinApiResponse>[] futures = new CompletableFuture[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+            futures[i] = client.executeAsync(HttpMethod.POST, ContextType.json, "/bench", "/bench", null, "{}");
+        }
+        int ok = 0;
+        for (CompletableFuture<YunxinApiResponse> future : futures) {
+            if (future.join().getHttpCode() == 200) {
+                ok++;
+            }
+        }
+        return ok;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(VirtualThreadBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.netease.nim.im.server.sdk.test.benchmark;
+
+import com.netease.nim.server.sdk.core.http.FormUrlEncodedWriter;
+import com.netease.nim.server.sdk.core.http.ParamBuilder;
+import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamUtils;
+import com.netease.nim.server.sdk.im.v1.annotation.YunxinParamWriter;
+import com.netease.nim.server.sdk.im.v1.message.request.SendMessageRequestV1;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * generated YunxinParamWriter vs reflection, for v1 form requests
+ * run main method, benchmarks are not executed by mvn test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class YunxinParamCodecBenchmark {
+
+    private SendMessageRequestV1 request;
+    private YunxinParamWriter<Object> generated;
+    private YunxinParamWriter<Object> reflective;
+
+    @Setup
+    public void setup() {
+        request = new SendMessageRequestV1();
+        request.setFrom("zhangsan");
+        request.setOpe(0);
+        request.setTo("lisi");
+        request.setType(0);
+        request.setBody("{\"msg\":\"hello world, 你好\"}");
+        request.setAntispam(false);
+        request.setOption("{\"push\":false,\"roam\":true,\"history\":false,\"sendersync\":true}");
+        request.setPushContent("hello");
+        request.setPayload("{\"k\":\"v\"}");
+        request.setExt("{\"ext\":1}");
+        request.setBid("bid");
+        generated = YunxinParamUtils.writer(SendMessageRequestV1.class);
+        reflective = YunxinParamUtils.reflectiveWriter(SendMessageRequestV1.class);
+    }
+
+    @Benchmark
+    public byte[] legacyConvertAndParamBuilder() {
+        Map<String, String> map = YunxinParamUtils.convert(request);
+        ParamBuilder builder = new ParamBuilder();
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            builder.addParam(entry.getKey(), entry.getValue());
+        }
+        return builder.build().getBytes();
+    }
+
+    @Benchmark
+    public FormUrlEncodedWriter reflectiveWriter() {
+        FormUrlEncodedWriter writer = new FormUrlEncodedWriter();
+        reflective.write(request, writer);
+        return writer;
+    }
+
+    @Benchmark
+    public FormUrlEncodedWriter generatedWriter() {
+        FormUrlEncodedWriter writer = new FormUrlEncodedWriter();
+        generated.write(request, writer);
+        return writer;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(YunxinParamCodecBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
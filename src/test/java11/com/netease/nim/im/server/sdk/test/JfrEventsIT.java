@@ -0,0 +1,115 @@
+package com.netease.nim.im.server.sdk.test;
+
+import com.netease.nim.server.sdk.core.BizName;
+import com.netease.nim.server.sdk.core.YunxinApiHttpClient;
+import com.netease.nim.server.sdk.core.exception.YunxinSdkException;
+import com.netease.nim.server.sdk.core.http.ContextType;
+import com.netease.nim.server.sdk.core.http.HttpMethod;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * jfr 事件只在 multi-release jar 的 java11 层中实现，由 failsafe 针对打包后的 jar 运行
+ */
+public class JfrEventsIT {
+
+    private static final String ATTEMPT = "com.netease.yunxin.sdk.Attempt";
+    private static final String RETRY = "com.netease.yunxin.sdk.Retry";
+    private static final String RESPONSE = "{\"code\":200,\"data\":\"0123456789\"}";
+
+    private LoopbackServer server;
+    //IM treats a non-200 http code as an error
+    private YunxinApiHttpClient client;
+
+    @Before
+    public void start() throws Exception {
+        server = new LoopbackServer()
+                .route("/chunked", (exchange, body) -> LoopbackServer.Reply.chunked(RESPONSE))
+                .route("/error", (exchange, body) -> LoopbackServer.Reply.of(500, "error"))
+                .route("/", (exchange, body) -> LoopbackServer.Reply.ok(RESPONSE));
+        client = new YunxinApiHttpClient.Builder(BizName.IM, "appkey", "appsecret")
+                .endpoint(server.endpoint()).build();
+    }
+
+    @After
+    public void stop() {
+        if (client != null) {
+            client.shutdown();
+        }
+        server.close();
+    }
+
+    @Test
+    public void testEvents() throws Exception {
+        String data = "{\"accid\":\"0123456789abcdef\"}";
+        int requestBytes = data.getBytes(StandardCharsets.UTF_8).length;
+        int responseBytes = RESPONSE.getBytes(StandardCharsets.UTF_8).length;
+        Path file = Files.createTempFile("yunxin-sdk", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(ATTEMPT);
+                recording.enable(RETRY);
+                recording.start();
+                client.execute(HttpMethod.POST, ContextType.json, "/fixed", "/fixed", null, data);
+                client.execute(HttpMethod.POST, ContextType.json, "/chunked", "/chunked", null, data);
+                try {
+                    client.execute(HttpMethod.POST, ContextType.json, "/error", "/error", null, data);
+                    Assert.fail();
+                } catch (YunxinSdkException expected) {
+                }
+                recording.stop();
+                recording.dump(file);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> attempts = events.stream()
+                    .filter(event -> event.getEventType().getName().equals(ATTEMPT))
+                    .collect(Collectors.toList());
+            Assert.assertEquals(3, attempts.size());
+
+            RecordedEvent fixed = attempt(attempts, "/fixed");
+            Assert.assertEquals(server.endpoint(), fixed.getString("endpoint"));
+            Assert.assertNotNull(fixed.getString("traceId"));
+            Assert.assertEquals(0, fixed.getInt("attempt"));
+            Assert.assertEquals("success", fixed.getString("result"));
+            Assert.assertEquals(requestBytes, fixed.getLong("requestBytes"));
+            Assert.assertEquals(responseBytes, fixed.getLong("responseBytes"));
+
+            //no content-length, the size is taken from the bytes read
+            RecordedEvent chunked = attempt(attempts, "/chunked");
+            Assert.assertEquals("success", chunked.getString("result"));
+            Assert.assertEquals(responseBytes, chunked.getLong("responseBytes"));
+
+            RecordedEvent error = attempt(attempts, "/error");
+            Assert.assertNotEquals("success", error.getString("result"));
+            Assert.assertEquals(-1, error.getLong("responseBytes"));
+
+            List<RecordedEvent> retries = events.stream()
+                    .filter(event -> event.getEventType().getName().equals(RETRY))
+                    .collect(Collectors.toList());
+            Assert.assertEquals(1, retries.size());
+            Assert.assertEquals("/error", retries.get(0).getString("uri"));
+            Assert.assertFalse(retries.get(0).getBoolean("retry"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent attempt(List<RecordedEvent> attempts, String uri) {
+        List<RecordedEvent> list = attempts.stream()
+                .filter(event -> uri.equals(event.getString("uri")))
+                .collect(Collectors.toList());
+        Assert.assertEquals(1, list.size());
+        return list.get(0);
+    }
+}